@@ -0,0 +1,271 @@
+package com.unnamed.conectareparo.attachment.controller;
+
+import com.unnamed.conectareparo.attachment.dto.AttachmentResponseDto;
+import com.unnamed.conectareparo.attachment.service.AttachmentService;
+import com.unnamed.conectareparo.attachment.storage.ContentServer;
+import com.unnamed.conectareparo.common.exception.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1")
+@ConditionalOnProperty(prefix = "conectareparo.attachment", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Tag(name = "Attachment", description = "Endpoints for photos of maintenances and actions")
+public class AttachmentController {
+
+    /** Suffix of the thumbnail's ETag, so it never validates a cached copy of the photo or the other way round. */
+    private static final String THUMBNAIL_TAG = "-thumb";
+
+    private final AttachmentService attachmentService;
+    private final ContentServer contentServer;
+
+    public AttachmentController(AttachmentService attachmentService, ContentServer contentServer) {
+        this.attachmentService = attachmentService;
+        this.contentServer = contentServer;
+    }
+
+    @Operation(
+        summary = "Attaches a photo to a maintenance.",
+        description = "Uploads a JPEG or PNG photo as the multipart part 'file'. Identical photos are stored once. " +
+                "The thumbnail is generated in the background."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "Photo attached successfully.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = AttachmentResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Missing, empty, too large or not a JPEG or PNG image.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Maintenance not found.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    @PostMapping(value = "/maintenances/{maintenancePublicId}/attachments", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<AttachmentResponseDto> addMaintenanceAttachment(
+            @PathVariable UUID maintenancePublicId,
+            @RequestPart("file") MultipartFile file) {
+        return created(attachmentService.addToMaintenance(maintenancePublicId, file));
+    }
+
+    @Operation(
+        summary = "Attaches a photo to a maintenance action.",
+        description = "Uploads a JPEG or PNG photo as the multipart part 'file'. Identical photos are stored once. " +
+                "The thumbnail is generated in the background."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "Photo attached successfully.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = AttachmentResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Missing, empty, too large or not a JPEG or PNG image.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Maintenance or action not found.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    @PostMapping(value = "/maintenances/{maintenancePublicId}/actions/{actionPublicId}/attachments",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<AttachmentResponseDto> addActionAttachment(
+            @PathVariable UUID maintenancePublicId,
+            @PathVariable UUID actionPublicId,
+            @RequestPart("file") MultipartFile file) {
+        return created(attachmentService.addToAction(maintenancePublicId, actionPublicId, file));
+    }
+
+    @Operation(
+        summary = "Lists the photos of a maintenance.",
+        description = "Returns the photos of the maintenance and of its actions, oldest first, also for archived maintenances."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Photos retrieved successfully.",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = AttachmentResponseDto.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Maintenance not found.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    @GetMapping("/maintenances/{maintenancePublicId}/attachments")
+    public ResponseEntity<List<AttachmentResponseDto>> getMaintenanceAttachments(@PathVariable UUID maintenancePublicId) {
+        return ResponseEntity.ok(attachmentService.getMaintenanceAttachments(maintenancePublicId));
+    }
+
+    @Operation(
+        summary = "Lists the photos of a maintenance action.",
+        description = "Returns the photos of the action, oldest first, also for archived maintenances."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Photos retrieved successfully.",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = AttachmentResponseDto.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Maintenance or action not found.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    @GetMapping("/maintenances/{maintenancePublicId}/actions/{actionPublicId}/attachments")
+    public ResponseEntity<List<AttachmentResponseDto>> getActionAttachments(
+            @PathVariable UUID maintenancePublicId,
+            @PathVariable UUID actionPublicId) {
+        return ResponseEntity.ok(attachmentService.getActionAttachments(maintenancePublicId, actionPublicId));
+    }
+
+    @Operation(
+        summary = "Retrieves a photo's details.",
+        description = "Returns the details of an attachment without its content."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Attachment retrieved successfully.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = AttachmentResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Attachment not found.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    @GetMapping("/attachments/{attachmentPublicId}")
+    public ResponseEntity<AttachmentResponseDto> getAttachment(@PathVariable UUID attachmentPublicId) {
+        return ResponseEntity.ok(attachmentService.getAttachment(attachmentPublicId));
+    }
+
+    @Operation(
+        summary = "Downloads a photo.",
+        description = "Serves the photo with a strong ETag and immutable caching headers. A single byte range " +
+                "may be requested with the Range header."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "The whole photo."),
+        @ApiResponse(responseCode = "206", description = "The requested range of the photo."),
+        @ApiResponse(responseCode = "304", description = "The client's copy, named by If-None-Match, is current."),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Attachment not found.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(responseCode = "416", description = "The range lies outside the photo.")
+    })
+    @GetMapping("/attachments/{attachmentPublicId}/content")
+    public void getAttachmentContent(@PathVariable UUID attachmentPublicId,
+                                     HttpServletRequest request, HttpServletResponse response) throws IOException {
+        AttachmentResponseDto attachment = attachmentService.getAttachment(attachmentPublicId);
+        contentServer.serve(attachmentService.getContentFile(attachment), attachment.contentHash(),
+                attachment.contentType(), attachment.fileName(), request, response);
+    }
+
+    @Operation(
+        summary = "Downloads a photo's thumbnail.",
+        description = "Serves a JPEG thumbnail with a strong ETag and immutable caching headers."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "The thumbnail."),
+        @ApiResponse(responseCode = "304", description = "The client's copy, named by If-None-Match, is current."),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Attachment not found, or its thumbnail is not ready yet.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    @GetMapping("/attachments/{attachmentPublicId}/thumbnail")
+    public void getAttachmentThumbnail(@PathVariable UUID attachmentPublicId,
+                                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        AttachmentResponseDto attachment = attachmentService.getAttachment(attachmentPublicId);
+        contentServer.serve(attachmentService.getThumbnailFile(attachment), attachment.contentHash() + THUMBNAIL_TAG,
+                MediaType.IMAGE_JPEG_VALUE, "thumbnail-" + attachment.fileName(), request, response);
+    }
+
+    private static ResponseEntity<AttachmentResponseDto> created(AttachmentResponseDto attachment) {
+        URI resourceLocation = ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path("/api/v1/attachments/{attachmentPublicId}")
+                .buildAndExpand(attachment.id())
+                .toUri();
+        return ResponseEntity.status(HttpStatus.CREATED).location(resourceLocation).body(attachment);
+    }
+}
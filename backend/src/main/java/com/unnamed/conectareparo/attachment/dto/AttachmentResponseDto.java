@@ -0,0 +1,29 @@
+package com.unnamed.conectareparo.attachment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@Schema(description = "Photo attached to a maintenance or to one of its actions")
+public record AttachmentResponseDto(
+        @Schema(description = "Unique identifier of the attachment", example = "0199a1b2-7c3d-7e4f-8a9b-0c1d2e3f4a5b")
+        UUID id,
+        @Schema(description = "Maintenance the photo belongs to", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
+        UUID maintenanceId,
+        @Schema(description = "Action the photo belongs to; null for photos of the maintenance itself", example = "null", nullable = true)
+        UUID actionId,
+        @Schema(description = "File name given at upload", example = "telhado-antes.jpg")
+        String fileName,
+        @Schema(description = "Media type detected from the content", example = "image/jpeg")
+        String contentType,
+        @Schema(description = "Size in bytes", example = "482133")
+        long size,
+        @Schema(description = "Hex SHA-256 of the content", example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+        String contentHash,
+        @Schema(description = "Whether the thumbnail has been generated", example = "true")
+        boolean thumbnailReady,
+        @Schema(description = "When the photo was uploaded", example = "2025-10-01T10:15:30Z")
+        ZonedDateTime createdAt
+) {
+}
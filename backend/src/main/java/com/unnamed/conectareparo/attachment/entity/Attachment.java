@@ -0,0 +1,100 @@
+package com.unnamed.conectareparo.attachment.entity;
+
+import com.unnamed.conectareparo.common.id.PublicIds;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * A photo of a maintenance, or of one of its actions. The row only describes the upload; the bytes are
+ * kept once per distinct content in the content store, under {@link #getContentHash()}. Attachments are
+ * never changed after they are created.
+ */
+@Entity
+@Immutable
+@Table(name = "attachment")
+public class Attachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "public_id")
+    private UUID publicId;
+
+    @Column(name = "maintenance_public_id")
+    private UUID maintenancePublicId;
+
+    /** {@code null} for photos of the maintenance itself. */
+    @Column(name = "action_public_id")
+    private UUID actionPublicId;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "size_bytes")
+    private long size;
+
+    /** Hex SHA-256 of the content. */
+    @Column(name = "content_hash")
+    private String contentHash;
+
+    @Column(name = "created_at")
+    private ZonedDateTime createdAt;
+
+    protected Attachment() {
+    }
+
+    public Attachment(UUID maintenancePublicId, UUID actionPublicId, String fileName, String contentType, long size,
+                      String contentHash) {
+        this.publicId = PublicIds.next();
+        this.maintenancePublicId = maintenancePublicId;
+        this.actionPublicId = actionPublicId;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.size = size;
+        this.contentHash = contentHash;
+        this.createdAt = ZonedDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getPublicId() {
+        return publicId;
+    }
+
+    public UUID getMaintenancePublicId() {
+        return maintenancePublicId;
+    }
+
+    public UUID getActionPublicId() {
+        return actionPublicId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public ZonedDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,19 @@
+package com.unnamed.conectareparo.attachment.repository;
+
+import com.unnamed.conectareparo.attachment.entity.Attachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
+
+    Optional<Attachment> findByPublicId(UUID publicId);
+
+    List<Attachment> findAllByMaintenancePublicIdOrderByCreatedAtAscIdAsc(UUID maintenancePublicId);
+
+    List<Attachment> findAllByMaintenancePublicIdAndActionPublicIdOrderByCreatedAtAscIdAsc(UUID maintenancePublicId, UUID actionPublicId);
+}
@@ -0,0 +1,219 @@
+package com.unnamed.conectareparo.attachment.service;
+
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import com.unnamed.conectareparo.attachment.dto.AttachmentResponseDto;
+import com.unnamed.conectareparo.attachment.entity.Attachment;
+import com.unnamed.conectareparo.attachment.repository.AttachmentRepository;
+import com.unnamed.conectareparo.attachment.storage.AttachmentProperties;
+import com.unnamed.conectareparo.attachment.storage.ContentStore;
+import com.unnamed.conectareparo.attachment.storage.StoredContent;
+import com.unnamed.conectareparo.attachment.storage.ThumbnailGenerator;
+import com.unnamed.conectareparo.common.exception.ResourceNotFoundException;
+import com.unnamed.conectareparo.maintenance.service.MaintenanceService;
+import com.unnamed.conectareparo.maintenanceaction.service.MaintenanceActionService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Before and after photos of maintenances and their actions.
+ * <p>
+ * Uploads are not transactional: the owner is checked, the photo is streamed into the {@link ContentStore}
+ * without holding a connection, and only then is the attachment row inserted. A failed insert leaves the
+ * content behind, which costs disk but is harmless, as identical uploads share it anyway.
+ */
+@Service
+@ConditionalOnProperty(prefix = "conectareparo.attachment", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AttachmentService {
+
+    private static final int MAX_FILE_NAME_LENGTH = 255;
+    private static final int SNIFF_LENGTH = 8;
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final AttachmentRepository attachmentRepository;
+    private final ContentStore contentStore;
+    private final ThumbnailGenerator thumbnailGenerator;
+    private final MaintenanceService maintenanceService;
+    private final MaintenanceActionService maintenanceActionService;
+    private final AttachmentProperties properties;
+
+    public AttachmentService(AttachmentRepository attachmentRepository, ContentStore contentStore,
+                             ThumbnailGenerator thumbnailGenerator, MaintenanceService maintenanceService,
+                             MaintenanceActionService maintenanceActionService, AttachmentProperties properties) {
+        this.attachmentRepository = attachmentRepository;
+        this.contentStore = contentStore;
+        this.thumbnailGenerator = thumbnailGenerator;
+        this.maintenanceService = maintenanceService;
+        this.maintenanceActionService = maintenanceActionService;
+        this.properties = properties;
+    }
+
+    /**
+     * Attaches a photo to a maintenance.
+     *
+     * @param maintenancePublicId The public UUID of the maintenance.
+     * @param file A JPEG or PNG photo.
+     * @return The new attachment; its thumbnail is generated in the background.
+     * @throws ResourceNotFoundException if the maintenance is not found.
+     * @throws BadRequestException if the file is empty, too large or not a JPEG or PNG image.
+     */
+    public AttachmentResponseDto addToMaintenance(UUID maintenancePublicId, MultipartFile file) {
+        maintenanceService.getMaintenanceByPublicId(maintenancePublicId, false);
+        return add(maintenancePublicId, null, file);
+    }
+
+    /**
+     * Attaches a photo to an action of a maintenance.
+     *
+     * @param maintenancePublicId The public UUID of the maintenance.
+     * @param actionPublicId The public UUID of the action.
+     * @param file A JPEG or PNG photo.
+     * @return The new attachment; its thumbnail is generated in the background.
+     * @throws ResourceNotFoundException if the maintenance or the action is not found.
+     * @throws BadRequestException if the file is empty, too large or not a JPEG or PNG image.
+     */
+    public AttachmentResponseDto addToAction(UUID maintenancePublicId, UUID actionPublicId, MultipartFile file) {
+        maintenanceActionService.getSingleMaintenanceAction(maintenancePublicId, actionPublicId, false);
+        return add(maintenancePublicId, actionPublicId, file);
+    }
+
+    /**
+     * Lists the photos of a maintenance, including those of its actions, oldest first.
+     *
+     * @throws ResourceNotFoundException if the maintenance is not found, archived or not.
+     */
+    @Transactional(readOnly = true)
+    public List<AttachmentResponseDto> getMaintenanceAttachments(UUID maintenancePublicId) {
+        maintenanceService.getMaintenanceByPublicId(maintenancePublicId, true);
+        return attachmentRepository.findAllByMaintenancePublicIdOrderByCreatedAtAscIdAsc(maintenancePublicId).stream()
+                .map(this::toResponseDto)
+                .toList();
+    }
+
+    /**
+     * Lists the photos of an action, oldest first.
+     *
+     * @throws ResourceNotFoundException if the maintenance or the action is not found, archived or not.
+     */
+    @Transactional(readOnly = true)
+    public List<AttachmentResponseDto> getActionAttachments(UUID maintenancePublicId, UUID actionPublicId) {
+        maintenanceActionService.getSingleMaintenanceAction(maintenancePublicId, actionPublicId, true);
+        return attachmentRepository.findAllByMaintenancePublicIdAndActionPublicIdOrderByCreatedAtAscIdAsc(maintenancePublicId, actionPublicId)
+                .stream()
+                .map(this::toResponseDto)
+                .toList();
+    }
+
+    /**
+     * @throws ResourceNotFoundException if the attachment is not found.
+     */
+    @Transactional(readOnly = true)
+    public AttachmentResponseDto getAttachment(UUID publicId) {
+        return attachmentRepository.findByPublicId(publicId)
+                .map(this::toResponseDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Attachment with ID " + publicId + " not found."));
+    }
+
+    /**
+     * The stored file of an attachment.
+     */
+    public Path getContentFile(AttachmentResponseDto attachment) {
+        return contentStore.content(attachment.contentHash());
+    }
+
+    /**
+     * The thumbnail file of an attachment. A missing thumbnail is queued again, for when the upload found
+     * the queue full.
+     *
+     * @throws ResourceNotFoundException if the thumbnail has not been generated yet.
+     */
+    public Path getThumbnailFile(AttachmentResponseDto attachment) {
+        Path thumbnail = contentStore.thumbnail(attachment.contentHash());
+        if (!Files.exists(thumbnail)) {
+            thumbnailGenerator.request(attachment.contentHash());
+            throw new ResourceNotFoundException("Thumbnail of attachment " + attachment.id() + " is not ready yet.");
+        }
+        return thumbnail;
+    }
+
+    private AttachmentResponseDto add(UUID maintenancePublicId, UUID actionPublicId, MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new BadRequestException("File must not be empty.");
+        }
+        StoredContent content;
+        String contentType;
+        try (InputStream in = new BufferedInputStream(file.getInputStream())) {
+            in.mark(SNIFF_LENGTH);
+            contentType = sniff(in.readNBytes(SNIFF_LENGTH));
+            in.reset();
+            content = contentStore.store(in, properties.maxSize().toBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Attachment attachment = attachmentRepository.save(new Attachment(maintenancePublicId, actionPublicId,
+                fileName(file.getOriginalFilename()), contentType, content.size(), content.hash()));
+        thumbnailGenerator.request(content.hash());
+        return toResponseDto(attachment);
+    }
+
+    /**
+     * The media type is taken from the content, never from what the client declared.
+     */
+    private static String sniff(byte[] head) {
+        if (startsWith(head, JPEG)) {
+            return MediaType.IMAGE_JPEG_VALUE;
+        }
+        if (startsWith(head, PNG)) {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        throw new BadRequestException("File must be a JPEG or PNG image.");
+    }
+
+    private static boolean startsWith(byte[] head, byte[] signature) {
+        if (head.length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (head[i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String fileName(String originalFilename) {
+        String name = StringUtils.getFilename(StringUtils.cleanPath(originalFilename == null ? "" : originalFilename));
+        name = name == null ? "" : name.replaceAll("\\p{Cntrl}", "").strip();
+        if (name.isEmpty()) {
+            return "photo";
+        }
+        return name.length() > MAX_FILE_NAME_LENGTH ? name.substring(0, MAX_FILE_NAME_LENGTH) : name;
+    }
+
+    private AttachmentResponseDto toResponseDto(Attachment attachment) {
+        return new AttachmentResponseDto(
+                attachment.getPublicId(),
+                attachment.getMaintenancePublicId(),
+                attachment.getActionPublicId(),
+                attachment.getFileName(),
+                attachment.getContentType(),
+                attachment.getSize(),
+                attachment.getContentHash(),
+                Files.exists(contentStore.thumbnail(attachment.getContentHash())),
+                attachment.getCreatedAt()
+        );
+    }
+}
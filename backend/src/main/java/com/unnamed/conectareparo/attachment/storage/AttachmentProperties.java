@@ -0,0 +1,33 @@
+package com.unnamed.conectareparo.attachment.storage;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for maintenance and action photos.
+ *
+ * @param enabled Serves the attachment endpoints and keeps the content store on disk when true.
+ * @param directory Local directory of the content store. Each distinct content is kept once, named by its hash.
+ * @param maxSize Largest photo accepted. Keep {@code spring.servlet.multipart.max-file-size} at least as large.
+ * @param maxPixels Photos with more pixels than this get no thumbnail, so a small file cannot decode into a huge image.
+ * @param thumbnailSize Longest side of a thumbnail, in pixels.
+ * @param thumbnailWorkers Threads generating thumbnails.
+ * @param thumbnailQueue Thumbnails waiting for a worker; beyond that they are generated when first requested.
+ * @param cacheMaxAge How long clients may cache content and thumbnails, which never change once written.
+ */
+@ConfigurationProperties(prefix = "conectareparo.attachment")
+public record AttachmentProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("./data/attachments") Path directory,
+        @DefaultValue("10MB") DataSize maxSize,
+        @DefaultValue("40000000") long maxPixels,
+        @DefaultValue("320") int thumbnailSize,
+        @DefaultValue("2") int thumbnailWorkers,
+        @DefaultValue("100") int thumbnailQueue,
+        @DefaultValue("365d") Duration cacheMaxAge
+) {
+}
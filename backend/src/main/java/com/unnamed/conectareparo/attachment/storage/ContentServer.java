@@ -0,0 +1,135 @@
+package com.unnamed.conectareparo.attachment.storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes files of the {@link ContentStore} to HTTP responses. Stored files never change, so a tag derived
+ * from the content hash is a strong ETag and responses may be cached as immutable. A single byte range is answered with 206;
+ * several ranges are answered with the whole file, as HTTP allows.
+ * <p>
+ * On Tomcat the body is handed to the connector's sendfile, which copies the file to the socket in the
+ * kernel without passing it through the heap. Elsewhere it is copied with {@link FileChannel#transferTo}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "conectareparo.attachment", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ContentServer {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final String cacheControl;
+
+    public ContentServer(AttachmentProperties properties) {
+        this.cacheControl = CacheControl.maxAge(properties.cacheMaxAge()).cachePublic().immutable().getHeaderValue();
+    }
+
+    /**
+     * Answers a GET or HEAD request with a stored file, or the requested range of it.
+     *
+     * @param file The file to send.
+     * @param tag Unquoted ETag of the file: the content hash, suffixed for files derived from the content, so
+     *            that no two representations share a tag.
+     * @param contentType Media type of the file.
+     * @param fileName Name offered to clients that save the file.
+     */
+    public void serve(Path file, String tag, String contentType, String fileName,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = Files.size(file);
+        String etag = "\"" + tag + "\"";
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        boolean partial = false;
+        List<HttpRange> ranges = ranges(request, etag);
+        if (ranges.size() == 1) {
+            start = ranges.get(0).getRangeStart(length);
+            end = ranges.get(0).getRangeEnd(length);
+            if (start >= length || start > end) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            partial = true;
+        }
+        long count = end - start + 1;
+        response.setStatus(partial ? HttpStatus.PARTIAL_CONTENT.value() : HttpStatus.OK.value());
+        if (partial) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        response.setContentType(contentType);
+        response.setContentLengthLong(count);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.inline().filename(fileName, StandardCharsets.UTF_8).build().toString());
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    throw new IOException("File " + file.getFileName() + " ended before " + (end + 1) + " bytes.");
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * The requested ranges, or none when the whole file is to be sent: no or a malformed {@code Range}
+     * header, or an {@code If-Range} naming another version.
+     */
+    private static List<HttpRange> ranges(HttpServletRequest request, String etag) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null) {
+            return List.of();
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+}
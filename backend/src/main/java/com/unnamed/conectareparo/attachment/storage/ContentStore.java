@@ -0,0 +1,151 @@
+package com.unnamed.conectareparo.attachment.storage;
+
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed file store on local disk. Uploads are streamed through a small buffer into a temporary
+ * file and hashed on the way, then renamed to their SHA-256, so a content is kept once however often it is
+ * uploaded and a half-written upload is never visible under a hash. Files are never changed once named.
+ * <p>
+ * Layout: {@code objects/ab/abcd...} for contents, {@code thumbnails/ab/abcd....jpg} for their thumbnails
+ * and {@code tmp/} for writes in progress, all on one file system so the rename is atomic.
+ */
+@Component
+@EnableConfigurationProperties(AttachmentProperties.class)
+@ConditionalOnProperty(prefix = "conectareparo.attachment", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ContentStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path objects;
+    private final Path thumbnails;
+    private final Path tmp;
+
+    public ContentStore(AttachmentProperties properties) {
+        Path root = properties.directory().toAbsolutePath().normalize();
+        this.objects = root.resolve("objects");
+        this.thumbnails = root.resolve("thumbnails");
+        this.tmp = root.resolve("tmp");
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        Files.createDirectories(objects);
+        Files.createDirectories(thumbnails);
+        Files.createDirectories(tmp);
+    }
+
+    /**
+     * Streams the given content into the store.
+     *
+     * @param in Content to store; read to the end but not closed.
+     * @param maxSize Largest content accepted, in bytes.
+     * @return The hash and size of the content.
+     * @throws BadRequestException if the content is larger than {@code maxSize}.
+     */
+    public StoredContent store(InputStream in, long maxSize) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = newTempFile();
+        try {
+            long size = 0;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw new BadRequestException("File must not be larger than " + maxSize + " bytes.");
+                    }
+                    digest.update(buffer, 0, read);
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        out.write(chunk);
+                    }
+                }
+                out.force(true);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            return new StoredContent(hash, size, publish(temp, content(hash)));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Path of a stored content.
+     *
+     * @throws IllegalArgumentException if the hash is malformed.
+     */
+    public Path content(String hash) {
+        return shard(objects, hash, "");
+    }
+
+    /**
+     * Path the thumbnail of a content is, or will be, kept at.
+     *
+     * @throws IllegalArgumentException if the hash is malformed.
+     */
+    public Path thumbnail(String hash) {
+        return shard(thumbnails, hash, ".jpg");
+    }
+
+    /**
+     * Creates an empty file for a write in progress, to be {@link #publish published} or deleted by the caller.
+     */
+    Path newTempFile() throws IOException {
+        return Files.createTempFile(tmp, "write-", ".part");
+    }
+
+    /**
+     * Renames a finished write to its final name, unless a file already has that name.
+     *
+     * @return Whether the file was renamed.
+     */
+    boolean publish(Path temp, Path target) throws IOException {
+        if (Files.exists(target)) {
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            // A concurrent upload of the same content won the rename.
+            return false;
+        }
+    }
+
+    private static Path shard(Path base, String hash, String suffix) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Invalid content hash.");
+        }
+        return base.resolve(hash.substring(0, 2)).resolve(hash + suffix);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.unnamed.conectareparo.attachment.storage;
+
+/**
+ * Content written to the {@link ContentStore}.
+ *
+ * @param hash Hex SHA-256 of the content, which is also its name in the store.
+ * @param size Length in bytes.
+ * @param created {@code false} when the same content was already stored and the upload was dropped.
+ */
+public record StoredContent(String hash, long size, boolean created) {
+}
@@ -0,0 +1,192 @@
+package com.unnamed.conectareparo.attachment.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates JPEG thumbnails of stored photos on a small pool of worker threads with a bounded queue, so
+ * uploads never wait for image decoding. A thumbnail is made once per content and kept next to it in the
+ * {@link ContentStore}.
+ * <p>
+ * When the queue is full the request is dropped; the thumbnail is requested again the first time a client
+ * asks for it. Images are decoded subsampled to about twice the thumbnail size, and images with more than
+ * {@link AttachmentProperties#maxPixels()} pixels are skipped before decoding.
+ */
+@Component
+@ConditionalOnProperty(prefix = "conectareparo.attachment", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ThumbnailGenerator {
+
+    static final String METRIC_NAME = "conectareparo.attachment.thumbnails";
+    static final String QUEUE_METRIC = "conectareparo.attachment.thumbnail_queue";
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailGenerator.class);
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private final ContentStore contentStore;
+    private final AttachmentProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Counter generated;
+    private final Counter failed;
+    private final Counter rejected;
+
+    public ThumbnailGenerator(ContentStore contentStore, AttachmentProperties properties, MeterRegistry meterRegistry) {
+        this.contentStore = contentStore;
+        this.properties = properties;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.thumbnailWorkers(), properties.thumbnailWorkers(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.thumbnailQueue()), runnable -> {
+                    Thread thread = new Thread(runnable, "attachment-thumbnail-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.generated = meterRegistry.counter(METRIC_NAME, "outcome", "generated");
+        this.failed = meterRegistry.counter(METRIC_NAME, "outcome", "failed");
+        this.rejected = meterRegistry.counter(METRIC_NAME, "outcome", "rejected");
+        Gauge.builder(QUEUE_METRIC, executor, pool -> pool.getQueue().size()).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues the thumbnail of a stored content, unless it exists or is already queued.
+     */
+    public void request(String hash) {
+        if (Files.exists(contentStore.thumbnail(hash)) || !pending.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(hash);
+                } finally {
+                    pending.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(hash);
+            rejected.increment();
+        }
+    }
+
+    /**
+     * Writes the thumbnail of a stored content.
+     *
+     * @return Whether a thumbnail was written.
+     */
+    boolean generate(String hash) {
+        Path thumbnail = contentStore.thumbnail(hash);
+        if (Files.exists(thumbnail)) {
+            return false;
+        }
+        try {
+            BufferedImage image = read(contentStore.content(hash));
+            if (image == null) {
+                failed.increment();
+                return false;
+            }
+            Path temp = contentStore.newTempFile();
+            try {
+                write(scale(image), temp);
+                contentStore.publish(temp, thumbnail);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            generated.increment();
+            return true;
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            log.warn("Could not generate the thumbnail of {}", hash, e);
+            return false;
+        }
+    }
+
+    private BufferedImage read(Path content) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(content.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > properties.maxPixels()) {
+                    log.info("Skipped the thumbnail of {}: {}x{} pixels", content.getFileName(), width, height);
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.max(width, height) / (2 * properties.thumbnailSize()));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage image) {
+        double ratio = Math.min(1.0, (double) properties.thumbnailSize() / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            // JPEG has no transparency; transparent pixels become white instead of black.
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static void write(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.unnamed.conectareparo.common.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that learns from latency, in the manner of a gradient limiter. Every finished call
+ * compares its latency with a long-term average: while calls run about as fast as usual the limit grows
+ * by roughly its square root, when they slow down because work queues for connections or locks it shrinks
+ * in proportion, and a call that could not get a connection at all halves it. The limit only grows while
+ * at least half of it is in use, so an idle service does not drift to the maximum.
+ * <p>
+ * Calls over the limit may wait briefly in a bounded queue; when the queue is full or the wait runs out
+ * they are refused, so overload is shed instead of piling up in front of the connection pool.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int longWindow;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private volatile double limit;
+    private double longRtt;
+    private long samples;
+    private int inFlight;
+    private int queued;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        if (properties.minLimit() < 1 || properties.maxLimit() < properties.minLimit()
+                || properties.initialLimit() < properties.minLimit() || properties.initialLimit() > properties.maxLimit()) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min-limit <= initial-limit <= max-limit.");
+        }
+        if (properties.tolerance() < 1 || properties.smoothing() <= 0 || properties.smoothing() > 1
+                || properties.longWindow() < 1 || properties.maxQueue() < 0 || properties.maxWait().isNegative()) {
+            throw new IllegalArgumentException("Tolerance must be at least 1, smoothing in (0, 1], long window positive, "
+                    + "queue and wait not negative.");
+        }
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.tolerance = properties.tolerance();
+        this.smoothing = properties.smoothing();
+        this.longWindow = properties.longWindow();
+        this.maxQueue = properties.maxQueue();
+        this.maxWaitNanos = properties.maxWait().toNanos();
+        this.limit = properties.initialLimit();
+    }
+
+    /**
+     * Takes a slot, waiting in the queue if the limit is reached and the queue has room.
+     *
+     * @return {@code true} when admitted; the caller must then {@link #release} the slot.
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                inFlight++;
+                return true;
+            }
+            if (queued >= maxQueue) {
+                return false;
+            }
+            queued++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= currentLimit()) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives a slot back and adjusts the limit to how the call went.
+     *
+     * @param rttNanos How long the call held the slot.
+     * @param dropped Whether the call failed for lack of capacity, such as a connection pool timeout.
+     */
+    public void release(long rttNanos, boolean dropped) {
+        lock.lock();
+        try {
+            int inFlightAtSample = inFlight;
+            inFlight--;
+            update(Math.max(1, rttNanos), inFlightAtSample, dropped);
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Current limit, rounded down.
+     */
+    public int currentLimit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Long-term average latency the samples are compared with.
+     */
+    long longRtt(TimeUnit unit) {
+        lock.lock();
+        try {
+            return unit.convert((long) longRtt, TimeUnit.NANOSECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long rtt, int inFlightAtSample, boolean dropped) {
+        samples++;
+        longRtt = samples == 1 ? rtt : longRtt + (rtt - longRtt) / Math.min(samples, longWindow);
+        // After a long stretch of overload the average is inflated; pull it back so it can recover.
+        if (longRtt > 2.0 * rtt) {
+            longRtt *= 0.95;
+        }
+        if (dropped) {
+            limit = Math.max(minLimit, limit * MIN_GRADIENT);
+            return;
+        }
+        if (inFlightAtSample < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / rtt));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - smoothing) + estimate * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+}
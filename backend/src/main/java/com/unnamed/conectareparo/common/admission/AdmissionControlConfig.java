@@ -0,0 +1,46 @@
+package com.unnamed.conectareparo.common.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Registers {@link AdmissionControlFilter} on the public create endpoints. The write concurrency cap is the
+ * connection pool size minus the connections reserved for reads.
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+@ConditionalOnProperty(prefix = "conectareparo.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    static final List<String> CREATE_ENDPOINTS = List.of(
+            "/api/v1/pledges",
+            "/api/v1/maintenances"
+    );
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            AdmissionControlProperties properties,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper) {
+        TokenBucketRateLimiter clientLimiter = new TokenBucketRateLimiter(
+                properties.clientCapacity(), properties.clientRefillPerSecond(), properties.stripes());
+        TokenBucketRateLimiter endpointLimiter = new TokenBucketRateLimiter(
+                properties.endpointCapacity(), properties.endpointRefillPerSecond(), properties.stripes());
+        int maxConcurrentWrites = Math.max(1, poolSize - properties.reservedConnections());
+
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(CREATE_ENDPOINTS, clientLimiter, endpointLimiter, maxConcurrentWrites,
+                        meterRegistry, objectMapper));
+        registration.addUrlPatterns(CREATE_ENDPOINTS.toArray(String[]::new));
+        return registration;
+    }
+}
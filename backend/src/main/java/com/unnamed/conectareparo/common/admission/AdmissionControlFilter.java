@@ -0,0 +1,117 @@
+package com.unnamed.conectareparo.common.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unnamed.conectareparo.common.exception.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the public create endpoints. A request must get a token from its client's bucket and
+ * from the endpoint's bucket, and then a slot of the global write concurrency cap; otherwise it is answered
+ * with 429 and a {@code Retry-After} header before it reaches the connection pool.
+ * <p>
+ * Buckets and meters are keyed by the endpoint pattern the request matched, never by the raw URI: a context
+ * path, {@code ;params} or a different encoding of the same path would otherwise each get fresh buckets.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    static final String METRIC_NAME = "conectareparo.admission.requests";
+
+    private final List<String> pathPatterns;
+    private final TokenBucketRateLimiter clientLimiter;
+    private final TokenBucketRateLimiter endpointLimiter;
+    private final Semaphore concurrentWrites;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public AdmissionControlFilter(List<String> pathPatterns, TokenBucketRateLimiter clientLimiter,
+                                  TokenBucketRateLimiter endpointLimiter, int maxConcurrentWrites,
+                                  MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.pathPatterns = List.copyOf(pathPatterns);
+        this.clientLimiter = clientLimiter;
+        this.endpointLimiter = endpointLimiter;
+        this.concurrentWrites = new Semaphore(maxConcurrentWrites);
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || endpoint(request).isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String endpoint = endpoint(request).orElseThrow();
+
+        long retryAfterNanos = clientLimiter.tryAcquire(request.getRemoteAddr() + " " + endpoint);
+        if (retryAfterNanos > 0) {
+            reject(request, response, endpoint, "client_rate", retryAfterNanos);
+            return;
+        }
+        retryAfterNanos = endpointLimiter.tryAcquire(endpoint);
+        if (retryAfterNanos > 0) {
+            reject(request, response, endpoint, "endpoint_rate", retryAfterNanos);
+            return;
+        }
+        if (!concurrentWrites.tryAcquire()) {
+            reject(request, response, endpoint, "concurrency", TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        try {
+            meterRegistry.counter(METRIC_NAME, "endpoint", endpoint, "outcome", "admitted", "reason", "none").increment();
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrentWrites.release();
+        }
+    }
+
+    /**
+     * The pattern matching the request's path within the application, which is decoded and stripped of the
+     * context path and of {@code ;params}.
+     */
+    private Optional<String> endpoint(HttpServletRequest request) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        return pathPatterns.stream()
+                .filter(pattern -> pathMatcher.match(pattern, path))
+                .findFirst();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String endpoint, String reason,
+                        long retryAfterNanos) throws IOException {
+        meterRegistry.counter(METRIC_NAME, "endpoint", endpoint, "outcome", "rejected", "reason", reason).increment();
+        long retryAfterSeconds = Math.max(1, (retryAfterNanos + 999_999_999) / 1_000_000_000);
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                "Too many requests, retry in " + retryAfterSeconds + " second(s).",
+                endpoint
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
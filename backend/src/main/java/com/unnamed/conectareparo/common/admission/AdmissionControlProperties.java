@@ -0,0 +1,27 @@
+package com.unnamed.conectareparo.common.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits applied to the public write endpoints.
+ *
+ * @param enabled Turns admission control on or off.
+ * @param clientCapacity Burst size allowed per client IP and endpoint.
+ * @param clientRefillPerSecond Sustained requests per second per client IP and endpoint.
+ * @param endpointCapacity Burst size allowed per endpoint across all clients.
+ * @param endpointRefillPerSecond Sustained requests per second per endpoint across all clients.
+ * @param reservedConnections Pool connections kept free for reads; the rest bound concurrent writes.
+ * @param stripes Number of lock stripes of the bucket maps.
+ */
+@ConfigurationProperties(prefix = "conectareparo.admission")
+public record AdmissionControlProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10") double clientCapacity,
+        @DefaultValue("1") double clientRefillPerSecond,
+        @DefaultValue("200") double endpointCapacity,
+        @DefaultValue("50") double endpointRefillPerSecond,
+        @DefaultValue("4") int reservedConnections,
+        @DefaultValue("64") int stripes
+) {
+}
@@ -0,0 +1,58 @@
+package com.unnamed.conectareparo.common.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Puts {@link ConcurrencyLimitInterceptor} around every {@link Transactional} method that opens a transaction,
+ * see {@link TransactionStartingPointcut}, ahead of the transaction advice, so a shed request never takes a
+ * connection. The current limit, the calls in flight
+ * and the calls queued for a slot are published as gauges.
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "conectareparo.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    static final String LIMIT_METRIC = "conectareparo.concurrency.limit";
+    static final String IN_FLIGHT_METRIC = "conectareparo.concurrency.in_flight";
+    static final String QUEUED_METRIC = "conectareparo.concurrency.queued";
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+        Gauge.builder(LIMIT_METRIC, limiter, AdaptiveConcurrencyLimiter::currentLimit).register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, limiter, AdaptiveConcurrencyLimiter::inFlight).register(meterRegistry);
+        Gauge.builder(QUEUED_METRIC, limiter, AdaptiveConcurrencyLimiter::queued).register(meterRegistry);
+        return limiter;
+    }
+
+    @Bean
+    public ConcurrencyLimitInterceptor concurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter, MeterRegistry meterRegistry) {
+        return new ConcurrencyLimitInterceptor(limiter, meterRegistry);
+    }
+
+    /**
+     * Static, and with a lazy interceptor, so creating the advisor early for auto-proxying does not pull the
+     * meter registry in before it is configured.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor concurrencyLimitAdvisor(@Lazy ConcurrencyLimitInterceptor interceptor) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new TransactionStartingPointcut(), interceptor);
+        // The transaction advisor keeps the lowest precedence, so this one runs outside the transaction.
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,11 @@
+package com.unnamed.conectareparo.common.admission;
+
+/**
+ * Thrown when a request is shed because the adaptive concurrency limit is reached.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
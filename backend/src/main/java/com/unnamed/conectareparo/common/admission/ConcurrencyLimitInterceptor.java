@@ -0,0 +1,71 @@
+package com.unnamed.conectareparo.common.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Runs the outermost transactional service call of a web request under {@link AdaptiveConcurrencyLimiter}.
+ * Nested transactional calls share the slot of the outer one, and calls outside a request, such as
+ * scheduled jobs, are not limited. A call that fails to get a connection counts as a drop.
+ */
+public class ConcurrencyLimitInterceptor implements MethodInterceptor {
+
+    static final String METRIC_NAME = "conectareparo.concurrency.requests";
+
+    private static final ThreadLocal<Boolean> ADMITTED = new ThreadLocal<>();
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final LongSupplier nanoClock;
+    private final Counter admitted;
+    private final Counter rejected;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter, MeterRegistry meterRegistry) {
+        this(limiter, meterRegistry, System::nanoTime);
+    }
+
+    ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.limiter = limiter;
+        this.nanoClock = nanoClock;
+        this.admitted = meterRegistry.counter(METRIC_NAME, "outcome", "admitted");
+        this.rejected = meterRegistry.counter(METRIC_NAME, "outcome", "rejected");
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (ADMITTED.get() != null || RequestContextHolder.getRequestAttributes() == null) {
+            return invocation.proceed();
+        }
+        if (!acquire()) {
+            rejected.increment();
+            throw new ConcurrencyLimitExceededException("The service is at capacity, retry shortly.");
+        }
+        admitted.increment();
+        ADMITTED.set(Boolean.TRUE);
+        long start = nanoClock.getAsLong();
+        boolean dropped = false;
+        try {
+            return invocation.proceed();
+        } catch (CannotCreateTransactionException e) {
+            dropped = true;
+            throw e;
+        } finally {
+            ADMITTED.remove();
+            limiter.release(nanoClock.getAsLong() - start, dropped);
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return limiter.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
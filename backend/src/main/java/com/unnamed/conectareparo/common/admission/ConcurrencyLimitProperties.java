@@ -0,0 +1,33 @@
+package com.unnamed.conectareparo.common.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Adaptive limit on the service-layer transactions that web requests run at the same time.
+ *
+ * @param enabled Turns the limiter on or off.
+ * @param initialLimit Limit used until latency samples move it.
+ * @param minLimit The limit never drops below this.
+ * @param maxLimit The limit never grows past this.
+ * @param tolerance How much slower than the long-term latency a transaction may run before the limit shrinks.
+ * @param smoothing Weight of each new estimate in the limit, between 0 and 1.
+ * @param longWindow Number of samples the long-term latency averages over.
+ * @param maxQueue Requests allowed to wait for a slot once the limit is reached; beyond that they are shed.
+ * @param maxWait How long a queued request waits for a slot before it is shed.
+ */
+@ConfigurationProperties(prefix = "conectareparo.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10") int initialLimit,
+        @DefaultValue("2") int minLimit,
+        @DefaultValue("40") int maxLimit,
+        @DefaultValue("1.5") double tolerance,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("500") int longWindow,
+        @DefaultValue("20") int maxQueue,
+        @DefaultValue("50ms") Duration maxWait
+) {
+}
@@ -0,0 +1,67 @@
+package com.unnamed.conectareparo.common.admission;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Keyed token buckets spread over lock stripes, so requests for different keys rarely contend on the same
+ * lock. Buckets that have refilled completely are dropped when a stripe grows past its limit.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final int MAX_BUCKETS_PER_STRIPE = 1024;
+
+    private final double capacity;
+    private final double tokensPerSecond;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock[] locks;
+    private final Map<String, TokenBucket>[] buckets;
+
+    public TokenBucketRateLimiter(double capacity, double tokensPerSecond, int stripes) {
+        this(capacity, tokensPerSecond, stripes, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    TokenBucketRateLimiter(double capacity, double tokensPerSecond, int stripes, LongSupplier nanoClock) {
+        if (capacity < 1 || tokensPerSecond <= 0 || stripes < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1, refill rate and stripes must be positive.");
+        }
+        this.capacity = capacity;
+        this.tokensPerSecond = tokensPerSecond;
+        this.nanoClock = nanoClock;
+        this.locks = new ReentrantLock[stripes];
+        this.buckets = new Map[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+            buckets[i] = new HashMap<>();
+        }
+    }
+
+    /**
+     * Takes one token from the bucket of the given key.
+     *
+     * @return 0 when admitted, otherwise the nanos until the key may retry.
+     */
+    public long tryAcquire(String key) {
+        int stripe = Math.floorMod(key.hashCode(), locks.length);
+        ReentrantLock lock = locks[stripe];
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            Map<String, TokenBucket> stripeBuckets = buckets[stripe];
+            TokenBucket bucket = stripeBuckets.get(key);
+            if (bucket == null) {
+                if (stripeBuckets.size() >= MAX_BUCKETS_PER_STRIPE) {
+                    stripeBuckets.values().removeIf(existing -> existing.isFull(now));
+                }
+                bucket = new TokenBucket(capacity, tokensPerSecond, now);
+                stripeBuckets.put(key, bucket);
+            }
+            return bucket.tryAcquire(now);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.unnamed.conectareparo.common.admission;
+
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+import static org.springframework.transaction.TransactionDefinition.PROPAGATION_NESTED;
+import static org.springframework.transaction.TransactionDefinition.PROPAGATION_REQUIRED;
+import static org.springframework.transaction.TransactionDefinition.PROPAGATION_REQUIRES_NEW;
+
+/**
+ * Matches the methods whose {@code @Transactional} attribute opens a transaction when none is running, which
+ * is when the call takes a connection. {@code SUPPORTS} reads such as
+ * {@code MaintenanceService.getAllMaintenances} can be answered from memory and {@code MANDATORY} ones always
+ * run inside a caller that was already matched, so neither is limited.
+ */
+class TransactionStartingPointcut extends StaticMethodMatcherPointcut {
+
+    private static final Set<Integer> STARTS_TRANSACTION = Set.of(PROPAGATION_REQUIRED, PROPAGATION_REQUIRES_NEW, PROPAGATION_NESTED);
+
+    private final TransactionAttributeSource attributeSource = new AnnotationTransactionAttributeSource();
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        TransactionAttribute attribute = attributeSource.getTransactionAttribute(method, targetClass);
+        return attribute != null && STARTS_TRANSACTION.contains(attribute.getPropagationBehavior());
+    }
+}
@@ -0,0 +1,12 @@
+package com.unnamed.conectareparo.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs such as the replica lag check, maintenance archival and housekeeping.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
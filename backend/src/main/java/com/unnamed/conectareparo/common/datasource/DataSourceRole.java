@@ -0,0 +1,9 @@
+package com.unnamed.conectareparo.common.datasource;
+
+/**
+ * Lookup keys used by {@link ReplicaRoutingDataSource}.
+ */
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
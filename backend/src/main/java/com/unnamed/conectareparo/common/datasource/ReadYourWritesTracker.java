@@ -0,0 +1,54 @@
+package com.unnamed.conectareparo.common.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers which clients wrote recently. Their reads are pinned to the primary until the sticky window
+ * expires, so they never read a replica that has not replayed their own write yet.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int MAX_TRACKED_CLIENTS = 10_000;
+
+    private final long stickyWindowNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration stickyWindow) {
+        this(stickyWindow, System::nanoTime);
+    }
+
+    ReadYourWritesTracker(Duration stickyWindow, LongSupplier nanoClock) {
+        this.stickyWindowNanos = stickyWindow.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public void recordWrite(String clientKey) {
+        if (clientKey == null || stickyWindowNanos <= 0) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        if (stickyUntil.size() >= MAX_TRACKED_CLIENTS) {
+            stickyUntil.values().removeIf(deadline -> deadline - now <= 0);
+        }
+        stickyUntil.put(clientKey, now + stickyWindowNanos);
+    }
+
+    public boolean isSticky(String clientKey) {
+        if (clientKey == null) {
+            return false;
+        }
+        Long deadline = stickyUntil.get(clientKey);
+        if (deadline == null) {
+            return false;
+        }
+        if (deadline - nanoClock.getAsLong() > 0) {
+            return true;
+        }
+        stickyUntil.remove(clientKey, deadline);
+        return false;
+    }
+}
@@ -0,0 +1,73 @@
+package com.unnamed.conectareparo.common.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Periodically samples the replication lag of the replica. Reads are only routed to the replica while the
+ * last sample succeeded and stayed within the configured tolerance. The check is registered with the
+ * scheduler here rather than through {@code @Scheduled}, so its interval comes from {@link ReplicaProperties}.
+ */
+public class ReplicaLagMonitor implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    /**
+     * Lag in milliseconds. A replica that has replayed everything it received reports zero, otherwise an idle
+     * primary would make the replica look further behind the longer nothing is written.
+     */
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END::bigint
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMillis;
+    private final Duration checkInterval;
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, Duration maxLag, Duration checkInterval) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLagMillis = maxLag.toMillis();
+        this.checkInterval = checkInterval;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::check, checkInterval);
+    }
+
+    public void check() {
+        try {
+            Long lagMillis = replicaJdbcTemplate.queryForObject(LAG_QUERY, Long.class);
+            updateLag(lagMillis == null ? 0 : lagMillis);
+        } catch (DataAccessException e) {
+            if (replicaUsable) {
+                log.warn("Replica lag check failed, routing reads to the primary: {}", e.getMessage());
+            }
+            replicaUsable = false;
+        }
+    }
+
+    void updateLag(long lagMillis) {
+        boolean usable = lagMillis <= maxLagMillis;
+        if (usable != replicaUsable) {
+            log.info("Replica lag {} ms, routing reads to the {}", lagMillis, usable ? "replica" : "primary");
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+}
@@ -0,0 +1,31 @@
+package com.unnamed.conectareparo.common.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the optional read replica.
+ *
+ * @param enabled Routes read-only transactions to the replica when true.
+ * @param url JDBC url of the replica.
+ * @param username Replica user name.
+ * @param password Replica password.
+ * @param maximumPoolSize Size of the replica connection pool.
+ * @param maxLag Replication lag above which reads fall back to the primary.
+ * @param lagCheckInterval How often the replica lag is sampled.
+ * @param stickyWindow How long a client keeps reading from the primary after one of its writes.
+ */
+@ConfigurationProperties(prefix = "conectareparo.datasource.replica")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("5s") Duration lagCheckInterval,
+        @DefaultValue("5s") Duration stickyWindow
+) {
+}
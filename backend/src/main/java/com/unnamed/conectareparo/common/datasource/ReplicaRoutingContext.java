@@ -0,0 +1,25 @@
+package com.unnamed.conectareparo.common.datasource;
+
+/**
+ * Holds the identity of the client served by the current thread, so that routing decisions can honour
+ * read-your-writes for that client. Populated by {@link ReplicaStickinessFilter} for the duration of a request.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<String> CLIENT_KEY = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void setClientKey(String clientKey) {
+        CLIENT_KEY.set(clientKey);
+    }
+
+    public static String getClientKey() {
+        return CLIENT_KEY.get();
+    }
+
+    public static void clear() {
+        CLIENT_KEY.remove();
+    }
+}
@@ -0,0 +1,45 @@
+package com.unnamed.conectareparo.common.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the primary.
+ * <p>
+ * The decision is made when a connection is actually requested, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; otherwise the connection is
+ * fetched before the transaction has been flagged read-only. Reads fall back to the primary while the replica
+ * lags too far behind, and while the current client is inside its read-your-writes window.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker writesTracker;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReplicaLagMonitor lagMonitor, ReadYourWritesTracker writesTracker) {
+        this.lagMonitor = lagMonitor;
+        this.writesTracker = writesTracker;
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String clientKey = ReplicaRoutingContext.getClientKey();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                writesTracker.recordWrite(clientKey);
+            }
+            return DataSourceRole.PRIMARY;
+        }
+        if (writesTracker.isSticky(clientKey) || !lagMonitor.isReplicaUsable()) {
+            return DataSourceRole.PRIMARY;
+        }
+        return DataSourceRole.REPLICA;
+    }
+}
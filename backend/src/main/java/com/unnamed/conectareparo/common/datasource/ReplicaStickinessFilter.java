@@ -0,0 +1,32 @@
+package com.unnamed.conectareparo.common.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Identifies the client behind each request so {@link ReplicaRoutingDataSource} can keep its reads on the
+ * primary right after it wrote. Clients may send a stable {@value #CLIENT_ID_HEADER}; otherwise the remote
+ * address is used.
+ */
+public class ReplicaStickinessFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        ReplicaRoutingContext.setClientKey(StringUtils.hasText(clientId) ? clientId : request.getRemoteAddr());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.unnamed.conectareparo.common.exception;
+
+/**
+ * Thrown when a request parameter is invalid. Answered with 400; any other exception is a server error.
+ */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+package com.unnamed.conectareparo.common.fields;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.util.List;
+
+/**
+ * A resolved {@code ?fields=} selection: the response field names, in output order, and the entity attributes
+ * they are selected from. The names are kept pre-encoded, so serializing a row does not re-escape them.
+ */
+public final class FieldSelection {
+
+    private final List<String> names;
+    private final List<String> attributes;
+    private final SerializableString[] serializedNames;
+
+    FieldSelection(List<String> names, List<String> attributes) {
+        this.names = List.copyOf(names);
+        this.attributes = List.copyOf(attributes);
+        this.serializedNames = names.stream().map(SerializedString::new).toArray(SerializableString[]::new);
+    }
+
+    public List<String> names() {
+        return names;
+    }
+
+    public List<String> attributes() {
+        return attributes;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    SerializableString serializedName(int index) {
+        return serializedNames[index];
+    }
+}
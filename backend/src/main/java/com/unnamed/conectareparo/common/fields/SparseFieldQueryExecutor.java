@@ -0,0 +1,74 @@
+package com.unnamed.conectareparo.common.fields;
+
+import com.unnamed.conectareparo.common.pagination.CountKey;
+import com.unnamed.conectareparo.common.pagination.CountMode;
+import com.unnamed.conectareparo.common.pagination.PageQueryExecutor;
+import com.unnamed.conectareparo.common.pagination.PageResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a paginated specification query that selects only the columns of a {@link FieldSelection}, so large
+ * columns nobody asked for are neither read nor serialized. Counting follows {@link PageQueryExecutor}.
+ */
+@Component
+public class SparseFieldQueryExecutor {
+
+    private final EntityManager entityManager;
+    private final PageQueryExecutor pageQueryExecutor;
+
+    public SparseFieldQueryExecutor(EntityManager entityManager, PageQueryExecutor pageQueryExecutor) {
+        this.entityManager = entityManager;
+        this.pageQueryExecutor = pageQueryExecutor;
+    }
+
+    public <T> PageResponse<SparseRow> findAll(Class<T> domainClass, JpaSpecificationExecutor<T> repository,
+                                               Specification<T> spec, FieldSelection fields, Pageable pageable,
+                                               CountMode countMode, CountKey countKey) {
+        return pageQueryExecutor.findRows(
+                (offset, limit) -> fetch(domainClass, spec, fields, pageable.getSort(), offset, limit),
+                () -> repository.count(spec),
+                pageable, countMode, countKey);
+    }
+
+    private <T> List<SparseRow> fetch(Class<T> domainClass, Specification<T> spec, FieldSelection fields, Sort sort,
+                                      int offset, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+        Root<T> root = query.from(domainClass);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String attribute : fields.attributes()) {
+            selections.add(root.get(attribute));
+        }
+        query.multiselect(selections);
+        Predicate predicate = spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        List<Object[]> results = entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+        List<SparseRow> rows = new ArrayList<>(results.size());
+        for (Object[] values : results) {
+            rows.add(new SparseRow(fields, values));
+        }
+        return rows;
+    }
+}
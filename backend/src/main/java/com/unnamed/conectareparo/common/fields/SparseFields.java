@@ -0,0 +1,85 @@
+package com.unnamed.conectareparo.common.fields;
+
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The fields a list endpoint offers through {@code ?fields=}, each mapped to the entity attribute it is read
+ * from. The first field is the identifier and is always returned. Parsed selections are cached, so the few
+ * field sets the frontend uses are resolved once.
+ */
+public final class SparseFields {
+
+    private static final int MAX_CACHED_SELECTIONS = 256;
+
+    private final Map<String, String> attributesByField;
+    private final Map<String, FieldSelection> selections = new ConcurrentHashMap<>();
+
+    private SparseFields(Map<String, String> attributesByField) {
+        this.attributesByField = attributesByField;
+    }
+
+    /**
+     * @param fieldAttributePairs Response field name followed by its entity attribute, for every field, starting
+     *                            with the identifier.
+     */
+    public static SparseFields of(String... fieldAttributePairs) {
+        if (fieldAttributePairs.length == 0 || fieldAttributePairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Fields must be given as field/attribute pairs.");
+        }
+        Map<String, String> attributesByField = new LinkedHashMap<>();
+        for (int i = 0; i < fieldAttributePairs.length; i += 2) {
+            attributesByField.put(fieldAttributePairs[i], fieldAttributePairs[i + 1]);
+        }
+        return new SparseFields(attributesByField);
+    }
+
+    /**
+     * Resolves a comma-separated field list. Fields are returned in declaration order whatever order they were
+     * requested in, and the identifier is always included.
+     *
+     * @throws BadRequestException if a field is not offered by the endpoint.
+     */
+    public FieldSelection select(String fields) {
+        FieldSelection cached = selections.get(fields);
+        if (cached != null) {
+            return cached;
+        }
+        FieldSelection selection = parse(fields);
+        if (selections.size() < MAX_CACHED_SELECTIONS) {
+            selections.put(fields, selection);
+        }
+        return selection;
+    }
+
+    private FieldSelection parse(String fields) {
+        List<String> requested = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!attributesByField.containsKey(name)) {
+                throw new BadRequestException("Unknown field '" + name + "'. Allowed fields: "
+                        + String.join(", ", attributesByField.keySet()) + ".");
+            }
+            requested.add(name);
+        }
+
+        List<String> names = new ArrayList<>();
+        List<String> attributes = new ArrayList<>();
+        boolean identifier = true;
+        for (Map.Entry<String, String> entry : attributesByField.entrySet()) {
+            if (identifier || requested.contains(entry.getKey())) {
+                names.add(entry.getKey());
+                attributes.add(entry.getValue());
+            }
+            identifier = false;
+        }
+        return new FieldSelection(names, attributes);
+    }
+}
@@ -0,0 +1,48 @@
+package com.unnamed.conectareparo.common.fields;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.IOException;
+
+/**
+ * One row of a sparse list response: the values of the selected fields, written as a JSON object with exactly
+ * those fields. The values array is the one returned by the projection query, so a row costs one small object
+ * on top of it.
+ */
+@Schema(description = "Object containing the identifier and the fields requested with the fields parameter")
+@JsonSerialize(using = SparseRow.Serializer.class)
+public final class SparseRow {
+
+    private final FieldSelection selection;
+    private final Object[] values;
+
+    public SparseRow(FieldSelection selection, Object[] values) {
+        if (values.length != selection.size()) {
+            throw new IllegalArgumentException("Expected " + selection.size() + " values but got " + values.length + ".");
+        }
+        this.selection = selection;
+        this.values = values;
+    }
+
+    public Object get(String field) {
+        int index = selection.names().indexOf(field);
+        return index < 0 ? null : values[index];
+    }
+
+    static class Serializer extends JsonSerializer<SparseRow> {
+
+        @Override
+        public void serialize(SparseRow row, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(row);
+            for (int i = 0; i < row.values.length; i++) {
+                generator.writeFieldName(row.selection.serializedName(i));
+                provider.defaultSerializeValue(row.values[i], generator);
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.unnamed.conectareparo.common.housekeeping;
+
+/**
+ * A background clean-up that works off its backlog in small chunks. {@link HousekeepingRunner} calls
+ * {@link #runChunk(int)} until it returns less than the chunk size.
+ * <p>
+ * Every chunk must be its own transaction that claims its rows with {@code FOR UPDATE SKIP LOCKED}: rows
+ * another node is working on are skipped instead of waited on, so all nodes can run the same job at the
+ * same time and split the backlog between them.
+ */
+public interface HousekeepingJob {
+
+    /**
+     * Stable name used for the job's settings under {@code conectareparo.housekeeping.jobs} and its metrics.
+     */
+    String name();
+
+    /**
+     * Processes up to {@code chunkSize} rows in one transaction.
+     *
+     * @return The number of rows processed; less than {@code chunkSize} once no unclaimed row is left.
+     */
+    int runChunk(int chunkSize);
+}
@@ -0,0 +1,58 @@
+package com.unnamed.conectareparo.common.housekeeping;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings for the chunked housekeeping jobs.
+ *
+ * @param enabled Schedules the jobs when true.
+ * @param interval Pause between the end of one run of all jobs and the start of the next.
+ * @param chunkSize Rows claimed per transaction.
+ * @param maxChunks Upper bound of chunks per job and run, so a large backlog is worked off over several runs.
+ * @param chunkPause Pause between two chunks of a job, which keeps a backlog from saturating the database.
+ * @param stalePledgeAge How long after a maintenance's scheduled date its OFFERED and PENDING pledges expire.
+ * @param overdueGrace How long after its scheduled date an OPEN maintenance is flagged as overdue.
+ * @param jobs Overrides of {@code enabled}, {@code chunkSize}, {@code maxChunks} and {@code chunkPause} per job name.
+ */
+@ConfigurationProperties(prefix = "conectareparo.housekeeping")
+public record HousekeepingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5m") Duration interval,
+        @DefaultValue("200") int chunkSize,
+        @DefaultValue("50") int maxChunks,
+        @DefaultValue("100ms") Duration chunkPause,
+        @DefaultValue("90d") Duration stalePledgeAge,
+        @DefaultValue("1d") Duration overdueGrace,
+        @DefaultValue Map<String, Job> jobs
+) {
+
+    /**
+     * Settings of one job; unset values fall back to the shared ones.
+     */
+    public record Job(Boolean enabled, Integer chunkSize, Integer maxChunks, Duration chunkPause) {
+    }
+
+    boolean enabled(String job) {
+        Job settings = jobs.get(job);
+        return settings == null || settings.enabled() == null || settings.enabled();
+    }
+
+    int chunkSize(String job) {
+        Job settings = jobs.get(job);
+        return settings == null || settings.chunkSize() == null ? chunkSize : settings.chunkSize();
+    }
+
+    int maxChunks(String job) {
+        Job settings = jobs.get(job);
+        return settings == null || settings.maxChunks() == null ? maxChunks : settings.maxChunks();
+    }
+
+    Duration chunkPause(String job) {
+        Job settings = jobs.get(job);
+        return settings == null || settings.chunkPause() == null ? chunkPause : settings.chunkPause();
+    }
+}
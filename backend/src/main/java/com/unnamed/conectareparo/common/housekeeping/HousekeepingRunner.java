@@ -0,0 +1,96 @@
+package com.unnamed.conectareparo.common.housekeeping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every {@link HousekeepingJob} one after the other, each in chunks until its backlog is empty or
+ * {@link HousekeepingProperties#maxChunks()} is reached, pausing between chunks. Not transactional: every
+ * chunk commits, and releases its row locks, before the next one starts. A failing chunk ends that job's
+ * run without affecting the other jobs; its rows are claimed again by the next run.
+ * <p>
+ * Records per job the time of every chunk ({@value #CHUNK_METRIC}), the rows processed
+ * ({@value #ROWS_METRIC}) and the failed runs ({@value #FAILURES_METRIC}).
+ */
+@Component
+@EnableConfigurationProperties(HousekeepingProperties.class)
+@ConditionalOnProperty(prefix = "conectareparo.housekeeping", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HousekeepingRunner {
+
+    static final String CHUNK_METRIC = "conectareparo.housekeeping.chunk";
+    static final String ROWS_METRIC = "conectareparo.housekeeping.rows";
+    static final String FAILURES_METRIC = "conectareparo.housekeeping.failures";
+
+    private static final Logger log = LoggerFactory.getLogger(HousekeepingRunner.class);
+
+    private final List<HousekeepingJob> jobs;
+    private final HousekeepingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public HousekeepingRunner(List<HousekeepingJob> jobs, HousekeepingProperties properties, MeterRegistry meterRegistry) {
+        this.jobs = jobs;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${conectareparo.housekeeping.interval:5m}",
+            initialDelayString = "${conectareparo.housekeeping.interval:5m}")
+    public void run() {
+        for (HousekeepingJob job : jobs) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            if (properties.enabled(job.name())) {
+                run(job);
+            }
+        }
+    }
+
+    /**
+     * Works off the backlog of one job.
+     *
+     * @return The number of rows processed.
+     */
+    int run(HousekeepingJob job) {
+        String name = job.name();
+        int chunkSize = properties.chunkSize(name);
+        int maxChunks = properties.maxChunks(name);
+        Duration pause = properties.chunkPause(name);
+        Timer timer = Timer.builder(CHUNK_METRIC).tag("job", name).register(meterRegistry);
+        int total = 0;
+        try {
+            for (int chunk = 0; chunk < maxChunks; chunk++) {
+                long start = System.nanoTime();
+                int processed = job.runChunk(chunkSize);
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                meterRegistry.counter(ROWS_METRIC, "job", name).increment(processed);
+                total += processed;
+                if (processed < chunkSize) {
+                    break;
+                }
+                if (!pause.isZero()) {
+                    Thread.sleep(pause.toMillis());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            meterRegistry.counter(FAILURES_METRIC, "job", name).increment();
+            log.warn("Housekeeping job {} failed after {} rows", name, total, e);
+        }
+        if (total > 0) {
+            log.info("Housekeeping job {} processed {} rows", name, total);
+        }
+        return total;
+    }
+}
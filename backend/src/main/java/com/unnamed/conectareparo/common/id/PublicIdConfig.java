@@ -0,0 +1,25 @@
+package com.unnamed.conectareparo.common.id;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.UUID;
+
+/**
+ * Creates the configured {@link PublicIdGenerator} and installs it in {@link PublicIds} for the entities.
+ */
+@Configuration
+@EnableConfigurationProperties(PublicIdProperties.class)
+public class PublicIdConfig {
+
+    @Bean
+    public PublicIdGenerator publicIdGenerator(PublicIdProperties properties) {
+        PublicIdGenerator generator = switch (properties.version()) {
+            case V4 -> UUID::randomUUID;
+            case V7 -> new UuidV7Generator();
+        };
+        PublicIds.use(generator);
+        return generator;
+    }
+}
@@ -0,0 +1,12 @@
+package com.unnamed.conectareparo.common.id;
+
+import java.util.UUID;
+
+/**
+ * Source of the {@code publicId} of new entities.
+ */
+@FunctionalInterface
+public interface PublicIdGenerator {
+
+    UUID next();
+}
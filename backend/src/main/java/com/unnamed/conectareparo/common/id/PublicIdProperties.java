@@ -0,0 +1,20 @@
+package com.unnamed.conectareparo.common.id;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the public id generation.
+ *
+ * @param version UUID version of new public ids: {@code V7} (time-ordered) or {@code V4} (random).
+ */
+@ConfigurationProperties(prefix = "conectareparo.public-id")
+public record PublicIdProperties(
+        @DefaultValue("V7") Version version
+) {
+
+    public enum Version {
+        V4,
+        V7
+    }
+}
@@ -0,0 +1,26 @@
+package com.unnamed.conectareparo.common.id;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Entry point the entities use to create their {@code publicId}. Entities are created with {@code new}, not
+ * by Spring, so the generator is held statically; {@link PublicIdConfig} installs the configured one at
+ * startup and UUIDv7 is used until then. Ids already stored keep working whatever their version, since the
+ * column and the lookups treat them as opaque UUIDs.
+ */
+public final class PublicIds {
+
+    private static volatile PublicIdGenerator generator = new UuidV7Generator();
+
+    private PublicIds() {
+    }
+
+    public static UUID next() {
+        return generator.next();
+    }
+
+    public static void use(PublicIdGenerator publicIdGenerator) {
+        generator = Objects.requireNonNull(publicIdGenerator);
+    }
+}
@@ -0,0 +1,52 @@
+package com.unnamed.conectareparo.common.id;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDv7 (RFC 9562): 48 bits of Unix milliseconds, a 12-bit sequence and 62 random bits.
+ * Ids created later sort after earlier ones, so inserts append to the right edge of the {@code public_id}
+ * indexes instead of splitting random pages.
+ * <p>
+ * Ids are strictly increasing per JVM: the timestamp and sequence are kept in one {@link AtomicLong} and
+ * advanced with a CAS, and when more than 4096 ids are asked for in one millisecond the sequence carries into
+ * the timestamp, which then runs slightly ahead of the clock until the clock catches up (RFC 9562, 6.2
+ * method 1). A clock that moves backwards never makes ids go backwards for the same reason.
+ * <p>
+ * The random bits come from {@link ThreadLocalRandom} rather than a shared {@code SecureRandom}; together
+ * with the exposed creation time this makes the ids identifiers, not secrets.
+ */
+public class UuidV7Generator implements PublicIdGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_4122 = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private final Clock clock;
+    // Unix millis << 12 | sequence of the last id handed out.
+    private final AtomicLong lastTimestampAndSequence = new AtomicLong();
+
+    public UuidV7Generator() {
+        this(Clock.systemUTC());
+    }
+
+    UuidV7Generator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID next() {
+        long floor = clock.millis() << SEQUENCE_BITS;
+        long timestampAndSequence = lastTimestampAndSequence.accumulateAndGet(floor,
+                (last, now) -> Math.max(last + 1, now));
+
+        long mostSigBits = (timestampAndSequence >>> SEQUENCE_BITS) << 16
+                | VERSION_7
+                | (timestampAndSequence & ((1L << SEQUENCE_BITS) - 1));
+        long leastSigBits = VARIANT_RFC_4122 | (ThreadLocalRandom.current().nextLong() & RANDOM_B_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,45 @@
+package com.unnamed.conectareparo.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+/**
+ * Registers {@link IdempotencyFilter} on the create endpoints.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+@ConditionalOnProperty(prefix = "conectareparo.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    static final List<String> CREATE_ENDPOINTS = List.of(
+            "/api/v1/pledges",
+            "/api/v1/maintenances",
+            "/api/v1/maintenances/*/actions"
+    );
+
+    @Bean
+    public IdempotencyStore idempotencyStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                             IdempotencyProperties properties) {
+        return new IdempotencyStore(jdbcTemplate, transactionManager, properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore idempotencyStore,
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyStore, CREATE_ENDPOINTS, meterRegistry, objectMapper));
+        registration.addUrlPatterns("/api/v1/*");
+        return registration;
+    }
+}
@@ -0,0 +1,253 @@
+package com.unnamed.conectareparo.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unnamed.conectareparo.common.exception.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Makes the create endpoints safe to retry. A POST carrying an {@code Idempotency-Key} header claims the key
+ * before it executes and stores its response afterwards; a later POST with the same key and body gets the
+ * stored response replayed, with {@code Idempotent-Replayed: true}, without running the service again.
+ * Reusing a key with a different body is answered with 422, and a retry that arrives while the first request
+ * is still running with 409. Server errors and rejections are not stored, so those requests can be retried
+ * with the same key. Requests without the header are passed through unchanged.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final String METRIC_NAME = "conectareparo.idempotency.requests";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final List<String> pathPatterns;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyFilter(IdempotencyStore store, List<String> pathPatterns, MeterRegistry meterRegistry,
+                             ObjectMapper objectMapper) {
+        this.store = store;
+        this.pathPatterns = List.copyOf(pathPatterns);
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return pathPatterns.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            reject(request, response, HttpStatus.BAD_REQUEST, "invalid_key",
+                    IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters.");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        String requestHash = sha256(body);
+        // The concrete URI, not the pattern: a key reused for another maintenance's actions is another request.
+        String scope = request.getMethod() + " " + request.getRequestURI();
+
+        Optional<StoredResponse> existing = store.find(scope, key);
+        if (existing.isEmpty()) {
+            if (store.claim(scope, key, requestHash)) {
+                execute(new CachedBodyRequest(request, body), response, filterChain, scope, key, requestHash);
+                return;
+            }
+            existing = store.find(scope, key);
+        }
+        if (existing.isEmpty()) {
+            // The key was claimed and released between our two lookups.
+            reject(request, response, HttpStatus.CONFLICT, "in_progress",
+                    "A request with this " + IDEMPOTENCY_KEY_HEADER + " is being processed, retry later.");
+            return;
+        }
+
+        StoredResponse stored = existing.get();
+        if (!stored.requestHash().equals(requestHash)) {
+            reject(request, response, HttpStatus.UNPROCESSABLE_ENTITY, "mismatch",
+                    IDEMPOTENCY_KEY_HEADER + " was already used with a different request body.");
+        } else if (!stored.isCompleted()) {
+            reject(request, response, HttpStatus.CONFLICT, "in_progress",
+                    "A request with this " + IDEMPOTENCY_KEY_HEADER + " is being processed, retry later.");
+        } else {
+            replay(request, response, stored);
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String scope, String key, String requestHash) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } catch (ServletException | IOException | RuntimeException e) {
+            store.release(scope, key);
+            throw e;
+        }
+
+        int status = responseWrapper.getStatus();
+        if (status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            store.release(scope, key);
+            count(request, "released");
+        } else {
+            store.complete(scope, key, requestHash, status, responseWrapper.getContentType(),
+                    responseWrapper.getHeader(HttpHeaders.LOCATION),
+                    new String(responseWrapper.getContentAsByteArray(), StandardCharsets.UTF_8));
+            count(request, "stored");
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response, StoredResponse stored)
+            throws IOException {
+        count(request, "replayed");
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        if (stored.body() != null) {
+            response.getOutputStream().write(stored.body().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String outcome,
+                        String message) throws IOException {
+        count(request, outcome);
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                request.getRequestURI()
+        );
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private void count(HttpServletRequest request, String outcome) {
+        meterRegistry.counter(METRIC_NAME, "endpoint", endpoint(request), "outcome", outcome).increment();
+    }
+
+    /**
+     * Tags by route, never by the concrete URI, which holds ids and would create new meters for every
+     * maintenance. Before the request is dispatched, as for replays and rejections, the route is the create
+     * endpoint pattern the filter matched.
+     */
+    private String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return pathPatterns.stream()
+                .filter(candidate -> pathMatcher.match(candidate, path))
+                .findFirst()
+                .orElse("UNMATCHED");
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Serves the already consumed body again to the rest of the chain.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.unnamed.conectareparo.common.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the {@code Idempotency-Key} handling on the create endpoints.
+ *
+ * @param enabled Turns idempotency key handling on or off.
+ * @param ttl How long a stored response is replayed for its key.
+ * @param inProgressTimeout Age after which a claim without a response is considered abandoned and can be taken over.
+ * @param cacheMaxEntries Maximum number of completed responses kept in memory in front of the database.
+ * @param purgeInterval Delay between purges of expired keys from the database.
+ */
+@ConfigurationProperties(prefix = "conectareparo.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("1m") Duration inProgressTimeout,
+        @DefaultValue("10000") int cacheMaxEntries,
+        @DefaultValue("1h") Duration purgeInterval
+) {
+}
@@ -0,0 +1,156 @@
+package com.unnamed.conectareparo.common.idempotency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Idempotency keys kept in the {@code idempotency_key} table, so every node sees the keys claimed by the
+ * others. The primary key on (scope, key) makes {@link #claim} an atomic test-and-set. Completed responses
+ * never change until they expire, so they are also cached in memory and repeated replays skip the database.
+ * <p>
+ * Every operation commits on its own, whatever transaction the caller is in: the pool does not auto-commit,
+ * so a claim made outside a transaction would be rolled back when its connection is returned, and a claim
+ * made inside the request's transaction would stay invisible to other nodes until the request finished.
+ */
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyProperties properties;
+    private final Clock clock;
+    private final Map<String, StoredResponse> completed = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            IdempotencyProperties properties) {
+        this(jdbcTemplate, transactionManager, properties, Clock.systemUTC());
+    }
+
+    IdempotencyStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                     IdempotencyProperties properties, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Looks up a key that has not expired yet, either completed or still in progress.
+     */
+    public Optional<StoredResponse> find(String scope, String key) {
+        Instant now = clock.instant();
+        StoredResponse cached = completed.get(cacheKey(scope, key));
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(now)) {
+                return Optional.of(cached);
+            }
+            completed.remove(cacheKey(scope, key));
+        }
+        Optional<StoredResponse> stored = transactionTemplate.execute(status -> jdbcTemplate.query(
+                "SELECT request_hash, response_status, response_content_type, response_location, response_body, expires_at " +
+                        "FROM idempotency_key WHERE scope = ? AND idempotency_key = ? AND expires_at > ?",
+                (rs, rowNum) -> new StoredResponse(
+                        rs.getString("request_hash"),
+                        (Integer) rs.getObject("response_status"),
+                        rs.getString("response_content_type"),
+                        rs.getString("response_location"),
+                        rs.getString("response_body"),
+                        rs.getObject("expires_at", OffsetDateTime.class).toInstant()),
+                scope, key, toTimestamp(now)
+        ).stream().findFirst());
+        stored.filter(StoredResponse::isCompleted).ifPresent(response -> cache(scope, key, response));
+        return stored;
+    }
+
+    /**
+     * Claims a key for a request that is about to execute. Expired keys and claims abandoned for longer than
+     * the in-progress timeout are removed first, so they can be claimed again.
+     *
+     * @return {@code true} if this caller now owns the key, {@code false} if another request holds it.
+     */
+    public boolean claim(String scope, String key, String requestHash) {
+        Instant now = clock.instant();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "DELETE FROM idempotency_key WHERE scope = ? AND idempotency_key = ? " +
+                        "AND (expires_at <= ? OR (response_status IS NULL AND created_at <= ?))",
+                scope, key, toTimestamp(now), toTimestamp(now.minus(properties.inProgressTimeout()))));
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                    "INSERT INTO idempotency_key (scope, idempotency_key, request_hash, created_at, expires_at) " +
+                            "VALUES (?, ?, ?, ?, ?)",
+                    scope, key, requestHash, toTimestamp(now), toTimestamp(now.plus(properties.ttl()))));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Stores the response of a claimed key, which is replayed from now on until the key expires.
+     */
+    public void complete(String scope, String key, String requestHash, int status, String contentType,
+                         String location, String body) {
+        Instant expiresAt = clock.instant().plus(properties.ttl());
+        transactionTemplate.executeWithoutResult(transaction -> jdbcTemplate.update(
+                "UPDATE idempotency_key SET response_status = ?, response_content_type = ?, response_location = ?, " +
+                        "response_body = ?, expires_at = ? WHERE scope = ? AND idempotency_key = ?",
+                status, contentType, location, body, toTimestamp(expiresAt), scope, key));
+        cache(scope, key, new StoredResponse(requestHash, status, contentType, location, body, expiresAt));
+    }
+
+    /**
+     * Gives up a claim without storing a response, so the request can be retried with the same key.
+     */
+    public void release(String scope, String key) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "DELETE FROM idempotency_key WHERE scope = ? AND idempotency_key = ? AND response_status IS NULL",
+                scope, key));
+    }
+
+    @Scheduled(fixedDelayString = "${conectareparo.idempotency.purge-interval:1h}")
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        completed.values().removeIf(response -> !response.expiresAt().isAfter(now));
+        Integer purged = transactionTemplate.execute(status ->
+                jdbcTemplate.update("DELETE FROM idempotency_key WHERE expires_at <= ?", toTimestamp(now)));
+        if (purged != null && purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private void cache(String scope, String key, StoredResponse response) {
+        if (completed.size() >= properties.cacheMaxEntries()) {
+            Instant now = clock.instant();
+            completed.values().removeIf(cached -> !cached.expiresAt().isAfter(now));
+            if (completed.size() >= properties.cacheMaxEntries()) {
+                // Every entry is still valid in the database, so dropping them only costs extra lookups.
+                completed.clear();
+            }
+        }
+        completed.put(cacheKey(scope, key), response);
+    }
+
+    private static String cacheKey(String scope, String key) {
+        return scope + '\n' + key;
+    }
+
+    private static OffsetDateTime toTimestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,28 @@
+package com.unnamed.conectareparo.common.idempotency;
+
+import java.time.Instant;
+
+/**
+ * The state of an idempotency key. A key whose {@code status} is {@code null} has been claimed by a request
+ * that has not finished yet.
+ *
+ * @param requestHash SHA-256 of the request body the key was first used with.
+ * @param status HTTP status of the stored response, or {@code null} while the request is in progress.
+ * @param contentType Content type of the stored response.
+ * @param location Location header of the stored response.
+ * @param body Body of the stored response.
+ * @param expiresAt When the key stops being honoured.
+ */
+public record StoredResponse(
+        String requestHash,
+        Integer status,
+        String contentType,
+        String location,
+        String body,
+        Instant expiresAt
+) {
+
+    public boolean isCompleted() {
+        return status != null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.unnamed.conectareparo.common.pagination;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Identifies the filtered set behind a list request, so its estimated count can be cached.
+ *
+ * @param table The table being listed, also used for the planner row estimate.
+ * @param filters The filter values in a fixed order; {@code null} or blank values mean "not filtered".
+ */
+public record CountKey(String table, List<String> filters) {
+
+    public static CountKey of(String table, Object... filters) {
+        return new CountKey(table, Arrays.stream(filters).map(value -> Objects.toString(value, null)).toList());
+    }
+
+    public boolean isUnfiltered() {
+        return filters.stream().allMatch(value -> value == null || value.isBlank());
+    }
+}
@@ -0,0 +1,41 @@
+package com.unnamed.conectareparo.common.pagination;
+
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Locale;
+
+/**
+ * How a list endpoint computes the total number of matching rows.
+ * <p>Possible values:</p>
+ * <ul>
+ *   <li><b>EXACT</b> – Runs a {@code COUNT(*)} over the filtered set. Default.</li>
+ *   <li><b>ESTIMATED</b> – Uses the planner row estimate for unfiltered lists, or a short-lived cached count per filter.</li>
+ *   <li><b>NONE</b> – Skips counting entirely; only {@code hasNext} is reported.</li>
+ * </ul>
+ */
+@Schema(description = "How the total number of matching rows was computed")
+public enum CountMode {
+    @Schema(description = "Exact COUNT(*) over the filtered set.")
+    EXACT,
+    @Schema(description = "Planner estimate or cached per-filter count.")
+    ESTIMATED,
+    @Schema(description = "No count; only hasNext is reported.")
+    NONE;
+
+    /**
+     * Parses the {@code count} query parameter case-insensitively. A missing value means {@link #EXACT}.
+     *
+     * @throws BadRequestException if the value is not one of exact, estimated or none.
+     */
+    public static CountMode fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return CountMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid count mode '" + value + "'. Accepted values are: exact, estimated, none");
+        }
+    }
+}
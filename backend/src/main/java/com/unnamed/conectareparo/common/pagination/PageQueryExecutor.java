@@ -0,0 +1,92 @@
+package com.unnamed.conectareparo.common.pagination;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs a paginated specification query according to the requested {@link CountMode}.
+ * <ul>
+ *   <li>{@link CountMode#EXACT} keeps Spring Data's regular page query plus {@code COUNT(*)}.</li>
+ *   <li>{@link CountMode#NONE} fetches one extra row to derive {@code hasNext} and never counts.</li>
+ *   <li>{@link CountMode#ESTIMATED} fetches like NONE and asks {@link RowCountEstimator} for the total. When the
+ *   slice turns out to be the last one, the total is known exactly and the response reports EXACT instead.</li>
+ * </ul>
+ */
+@Component
+public class PageQueryExecutor {
+
+    private final RowCountEstimator rowCountEstimator;
+
+    public PageQueryExecutor(RowCountEstimator rowCountEstimator) {
+        this.rowCountEstimator = rowCountEstimator;
+    }
+
+    /**
+     * @param fetch Lazy attributes to load together with the rows. They only apply to the slice query; the
+     *              EXACT page goes through the repository's {@code findAll(Specification, Pageable)}, which should
+     *              declare the same attributes in an {@code @EntityGraph}.
+     */
+    public <T> PageResponse<T> findAll(JpaSpecificationExecutor<T> repository, Specification<T> spec, Pageable pageable,
+                                       CountMode countMode, CountKey countKey, String... fetch) {
+        if (countMode == CountMode.EXACT || pageable.isUnpaged()) {
+            return PageResponse.of(repository.findAll(spec, pageable), CountMode.EXACT);
+        }
+
+        Slice<T> slice = repository.findBy(spec, query -> query.project(fetch).slice(pageable));
+        return fromSlice(slice, pageable, countMode, countKey, () -> repository.count(spec));
+    }
+
+    /**
+     * Same as {@link #findAll(JpaSpecificationExecutor, Specification, Pageable, CountMode, CountKey, String...)} for queries
+     * that do not go through a repository, such as column projections.
+     *
+     * @param rows Returns at most {@code limit} rows starting at {@code offset}, in page order.
+     * @param count Exact number of matching rows.
+     */
+    public <R> PageResponse<R> findRows(RowFetcher<R> rows, LongSupplier count, Pageable pageable,
+                                        CountMode countMode, CountKey countKey) {
+        if (pageable.isUnpaged()) {
+            return PageResponse.of(new PageImpl<>(rows.fetch(0, Integer.MAX_VALUE)), CountMode.EXACT);
+        }
+        int offset = Math.toIntExact(pageable.getOffset());
+        if (countMode == CountMode.EXACT) {
+            List<R> content = rows.fetch(offset, pageable.getPageSize());
+            return PageResponse.of(PageableExecutionUtils.getPage(content, pageable, count), CountMode.EXACT);
+        }
+
+        List<R> content = rows.fetch(offset, pageable.getPageSize() + 1);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        Slice<R> slice = new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+        return fromSlice(slice, pageable, countMode, countKey, count);
+    }
+
+    private <R> PageResponse<R> fromSlice(Slice<R> slice, Pageable pageable, CountMode countMode, CountKey countKey,
+                                          LongSupplier count) {
+        if (countMode == CountMode.NONE) {
+            return PageResponse.withoutCount(slice);
+        }
+
+        long seen = pageable.getOffset() + slice.getNumberOfElements();
+        if (!slice.hasNext() && (slice.hasContent() || pageable.getOffset() == 0)) {
+            return PageResponse.of(new PageImpl<>(slice.getContent(), pageable, seen), CountMode.EXACT);
+        }
+        long estimate = rowCountEstimator.estimate(countKey, count);
+        long total = Math.max(estimate, slice.hasNext() ? seen + 1 : seen);
+        return PageResponse.withEstimatedTotal(slice, total);
+    }
+
+    @FunctionalInterface
+    public interface RowFetcher<R> {
+
+        List<R> fetch(int offset, int limit);
+    }
+}
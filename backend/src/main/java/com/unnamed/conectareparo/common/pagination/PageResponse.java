@@ -0,0 +1,89 @@
+package com.unnamed.conectareparo.common.pagination;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * <p>Stable JSON envelope for paginated list responses.</p>
+ * <p>Keeps the field names clients already read from Spring's {@code Page} serialization, adds {@code hasNext}
+ * and reports which {@link CountMode} produced the totals. Totals are {@code null} when no count was taken.</p>
+ */
+@Schema(description = "Paginated list response")
+public record PageResponse<T>(
+        @Schema(description = "Items of the requested page")
+        List<T> content,
+        @Schema(description = "Zero-based page number", example = "0")
+        int number,
+        @Schema(description = "Requested page size", example = "20")
+        int size,
+        @Schema(description = "Number of items in this page", example = "20")
+        int numberOfElements,
+        @Schema(description = "Whether this is the first page", example = "true")
+        boolean first,
+        @Schema(description = "Whether this is the last page", example = "false")
+        boolean last,
+        @Schema(description = "Whether a following page exists", example = "true")
+        boolean hasNext,
+        @Schema(description = "Total number of matching items; approximate when countMode is ESTIMATED, null when NONE", example = "125")
+        Long totalElements,
+        @Schema(description = "Total number of pages; approximate when countMode is ESTIMATED, null when NONE", example = "7")
+        Integer totalPages,
+        @Schema(description = "How the totals were computed", example = "EXACT")
+        CountMode countMode
+) {
+
+    public static <T> PageResponse<T> of(Page<T> page, CountMode countMode) {
+        return new PageResponse<>(
+                page.getContent(),
+                page.getNumber(),
+                page.getSize(),
+                page.getNumberOfElements(),
+                page.isFirst(),
+                page.isLast(),
+                page.hasNext(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                countMode
+        );
+    }
+
+    public static <T> PageResponse<T> withoutCount(Slice<T> slice) {
+        return new PageResponse<>(
+                slice.getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                slice.getNumberOfElements(),
+                slice.isFirst(),
+                slice.isLast(),
+                slice.hasNext(),
+                null,
+                null,
+                CountMode.NONE
+        );
+    }
+
+    public static <T> PageResponse<T> withEstimatedTotal(Slice<T> slice, long estimatedTotal) {
+        int totalPages = slice.getSize() == 0 ? 1 : (int) Math.ceil((double) estimatedTotal / (double) slice.getSize());
+        return new PageResponse<>(
+                slice.getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                slice.getNumberOfElements(),
+                slice.isFirst(),
+                slice.isLast(),
+                slice.hasNext(),
+                estimatedTotal,
+                totalPages,
+                CountMode.ESTIMATED
+        );
+    }
+
+    public <R> PageResponse<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mappedContent = content.stream().<R>map(mapper).toList();
+        return new PageResponse<>(mappedContent, number, size, numberOfElements, first, last, hasNext, totalElements, totalPages, countMode);
+    }
+}
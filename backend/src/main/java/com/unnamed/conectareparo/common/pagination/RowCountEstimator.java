@@ -0,0 +1,87 @@
+package com.unnamed.conectareparo.common.pagination;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Supplies approximate row counts for {@link CountMode#ESTIMATED}.
+ * Unfiltered lists on PostgreSQL read the planner's {@code pg_class.reltuples}; everything else falls back to
+ * an exact count cached per {@link CountKey} for a short time, so repeated page flips over the same filter
+ * count once instead of on every request. Writes do not evict cached counts: a change cannot tell which
+ * filters it affects, and dropping every count of its table would recount a busy table on nearly every
+ * request. An estimate may trail the table by up to the TTL.
+ */
+@Component
+public class RowCountEstimator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long cacheTtlMillis;
+    private final int cacheMaxEntries;
+    private final Map<CountKey, CachedCount> cachedCounts = new ConcurrentHashMap<>();
+    private volatile Boolean postgres;
+
+    public RowCountEstimator(
+            JdbcTemplate jdbcTemplate,
+            @Value("${conectareparo.pagination.count-cache-ttl:60s}") Duration cacheTtl,
+            @Value("${conectareparo.pagination.count-cache-max-entries:1000}") int cacheMaxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheTtlMillis = cacheTtl.toMillis();
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    /**
+     * Returns an approximate number of rows for the given key.
+     *
+     * @param key The filtered set to estimate.
+     * @param exactCount Computes the exact count when no estimate is available or the cached one expired.
+     */
+    public long estimate(CountKey key, LongSupplier exactCount) {
+        if (key.isUnfiltered()) {
+            Long plannerEstimate = plannerEstimate(key.table());
+            if (plannerEstimate != null) {
+                return plannerEstimate;
+            }
+        }
+        long now = System.currentTimeMillis();
+        CachedCount cached = cachedCounts.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.count();
+        }
+        long count = exactCount.getAsLong();
+        if (cachedCounts.size() >= cacheMaxEntries) {
+            cachedCounts.clear();
+        }
+        cachedCounts.put(key, new CachedCount(count, now + cacheTtlMillis));
+        return count;
+    }
+
+    private Long plannerEstimate(String table) {
+        if (!isPostgres()) {
+            return null;
+        }
+        Long reltuples = jdbcTemplate.queryForObject(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, table);
+        // reltuples is -1 until the table has been vacuumed or analyzed at least once.
+        return reltuples != null && reltuples >= 0 ? reltuples : null;
+    }
+
+    private boolean isPostgres() {
+        Boolean detected = postgres;
+        if (detected == null) {
+            detected = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+            postgres = detected;
+        }
+        return Boolean.TRUE.equals(detected);
+    }
+
+    private record CachedCount(long count, long expiresAt) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.unnamed.conectareparo.common.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates the monthly partitions of {@code pledge} and {@code maintenance_action} before rows need them.
+ * The work is done by the {@code ensure_monthly_partitions} database function, which is idempotent, so
+ * the job runs once at startup and then daily. Rows that still arrive without a partition land in the
+ * table's default partition.
+ * <p>
+ * PostgreSQL DDL is transactional and the pool does not auto-commit, so each table's partitions are created
+ * in a transaction of their own; otherwise they would be rolled back when the connection is returned.
+ */
+@Component
+@EnableConfigurationProperties(PartitioningProperties.class)
+@ConditionalOnProperty(prefix = "conectareparo.partitioning", name = "enabled", havingValue = "true")
+public class MonthlyPartitionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthlyPartitionJob.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PartitioningProperties properties;
+
+    public MonthlyPartitionJob(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               PartitioningProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${conectareparo.partitioning.cron:0 0 2 * * *}")
+    public void ensurePartitions() {
+        for (String table : properties.tables()) {
+            Integer created = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(
+                    "SELECT ensure_monthly_partitions(to_regclass(?), CURRENT_DATE, ?)",
+                    Integer.class, table, properties.monthsAhead()));
+            if (created != null && created > 0) {
+                log.info("Created {} monthly partitions for {}", created, table);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.unnamed.conectareparo.common.partition;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Settings for keeping the monthly partitions of the range-partitioned tables ahead of time.
+ *
+ * @param enabled Runs the partition job when true. Requires PostgreSQL and the V8 migration.
+ * @param cron When the job runs.
+ * @param monthsAhead How many future months must already have a partition.
+ * @param tables The range-partitioned tables to maintain.
+ */
+@ConfigurationProperties(prefix = "conectareparo.partitioning")
+public record PartitioningProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0 0 2 * * *") String cron,
+        @DefaultValue("3") int monthsAhead,
+        @DefaultValue({"pledge", "maintenance_action"}) List<String> tables
+) {
+}
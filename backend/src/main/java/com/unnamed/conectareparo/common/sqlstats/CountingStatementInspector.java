@@ -0,0 +1,15 @@
+package com.unnamed.conectareparo.common.sqlstats;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares, including lazy loads, without changing it.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementStats.recordStatement(sql);
+        return sql;
+    }
+}
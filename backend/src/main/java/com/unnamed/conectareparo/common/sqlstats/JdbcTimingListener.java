@@ -0,0 +1,32 @@
+package com.unnamed.conectareparo.common.sqlstats;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Measures the time Hibernate spends in JDBC executes. Hibernate creates one instance per session, and a
+ * session is used by one thread at a time, so the start time needs no synchronization.
+ */
+public class JdbcTimingListener implements SessionEventListener {
+
+    private long executeStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementStats.recordExecution(System.nanoTime() - executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementStats.recordExecution(System.nanoTime() - executeStart);
+    }
+}
@@ -0,0 +1,17 @@
+package com.unnamed.conectareparo.common.sqlstats;
+
+/**
+ * SQL work done while serving one HTTP request.
+ *
+ * @param statements Number of SQL statements Hibernate prepared.
+ * @param dbTimeNanos Time spent executing them on the database.
+ * @param mostRepeatedSql The statement prepared most often, or {@code null} when there was none.
+ * @param mostRepeatedCount How often {@code mostRepeatedSql} was prepared. A high count for the same
+ *                          statement is the signature of an N+1 query.
+ */
+public record RequestSqlStats(int statements, long dbTimeNanos, String mostRepeatedSql, int mostRepeatedCount) {
+
+    public double dbTimeMillis() {
+        return dbTimeNanos / 1_000_000.0;
+    }
+}
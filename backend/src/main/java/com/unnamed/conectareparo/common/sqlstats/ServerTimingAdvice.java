@@ -0,0 +1,40 @@
+package com.unnamed.conectareparo.common.sqlstats;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+/**
+ * Adds the SQL work of the request as a {@code Server-Timing} header, e.g.
+ * {@code db;dur=4.2;desc="statements=3"}, right before the body is written. By then every query has run,
+ * since open-in-view is off and serialization cannot trigger lazy loads. Does nothing when
+ * {@link SqlStatsFilter} is not active.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestSqlStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            response.getHeaders().add(SERVER_TIMING_HEADER,
+                    String.format(Locale.ROOT, "db;dur=%.1f;desc=\"statements=%d\"", stats.dbTimeMillis(), stats.statements()));
+        }
+        return body;
+    }
+}
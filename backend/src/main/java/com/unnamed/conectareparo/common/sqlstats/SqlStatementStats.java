@@ -0,0 +1,83 @@
+package com.unnamed.conectareparo.common.sqlstats;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collects the SQL statements of the request handled by the current thread. {@link SqlStatsFilter} opens and
+ * closes the scope; {@link CountingStatementInspector} and {@link JdbcTimingListener} feed it. Statements run
+ * outside a request, such as scheduled jobs, are not recorded.
+ */
+public final class SqlStatementStats {
+
+    /** Distinct statements tracked per request for repeat detection; further ones are only counted. */
+    static final int MAX_DISTINCT_STATEMENTS = 256;
+
+    private static final ThreadLocal<Recorder> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementStats() {
+    }
+
+    static void begin() {
+        CURRENT.set(new Recorder());
+    }
+
+    /**
+     * Closes the scope of the current thread.
+     *
+     * @return The statistics of the scope, or {@code null} if none was open.
+     */
+    static RequestSqlStats end() {
+        Recorder recorder = CURRENT.get();
+        CURRENT.remove();
+        return recorder == null ? null : recorder.snapshot();
+    }
+
+    /**
+     * @return The statistics so far of the current thread's scope, or {@code null} if none is open.
+     */
+    public static RequestSqlStats current() {
+        Recorder recorder = CURRENT.get();
+        return recorder == null ? null : recorder.snapshot();
+    }
+
+    static void recordStatement(String sql) {
+        Recorder recorder = CURRENT.get();
+        if (recorder != null) {
+            recorder.statement(sql);
+        }
+    }
+
+    static void recordExecution(long nanos) {
+        Recorder recorder = CURRENT.get();
+        if (recorder != null) {
+            recorder.dbTimeNanos += nanos;
+        }
+    }
+
+    private static final class Recorder {
+        private final Map<String, Integer> countsBySql = new HashMap<>();
+        private int statements;
+        private long dbTimeNanos;
+        private String mostRepeatedSql;
+        private int mostRepeatedCount;
+
+        void statement(String sql) {
+            statements++;
+            Integer seen = countsBySql.get(sql);
+            if (seen == null && countsBySql.size() >= MAX_DISTINCT_STATEMENTS) {
+                return;
+            }
+            int count = seen == null ? 1 : seen + 1;
+            countsBySql.put(sql, count);
+            if (count > mostRepeatedCount) {
+                mostRepeatedCount = count;
+                mostRepeatedSql = sql;
+            }
+        }
+
+        RequestSqlStats snapshot() {
+            return new RequestSqlStats(statements, dbTimeNanos, mostRepeatedSql, mostRepeatedCount);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.unnamed.conectareparo.common.sqlstats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Hooks statement counting and JDBC timing into Hibernate and registers {@link SqlStatsFilter} on the API.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlStatsProperties.class)
+@ConditionalOnProperty(prefix = "conectareparo.sql-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatsHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingListener.class.getName());
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter(SqlStatsProperties properties, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlStatsFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatsFilter(meterRegistry, properties.warnStatements(), properties.warnRepeats()));
+        registration.addUrlPatterns("/api/*");
+        // Outermost, so Hibernate work done by other filters is counted too.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,76 @@
+package com.unnamed.conectareparo.common.sqlstats;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the SQL statements and database time of each API request. The totals are published as metrics,
+ * exposed to tests through {@link #STATS_ATTRIBUTE}, and logged when a request runs suspiciously many
+ * statements or the same statement over and over. The {@code Server-Timing} header is written by
+ * {@link ServerTimingAdvice}, because the response is already committed when this filter regains control.
+ */
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    public static final String STATS_ATTRIBUTE = SqlStatsFilter.class.getName() + ".STATS";
+    static final String STATEMENTS_METRIC = "conectareparo.sql.statements";
+    static final String TIME_METRIC = "conectareparo.sql.time";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int warnStatements;
+    private final int warnRepeats;
+
+    public SqlStatsFilter(MeterRegistry meterRegistry, int warnStatements, int warnRepeats) {
+        this.meterRegistry = meterRegistry;
+        this.warnStatements = warnStatements;
+        this.warnRepeats = warnRepeats;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestSqlStats stats = SqlStatementStats.end();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, RequestSqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Unmatched requests share one tag so arbitrary URLs cannot create new meters.
+        String endpoint = pattern != null ? pattern.toString() : "UNMATCHED";
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .tags("method", request.getMethod(), "endpoint", endpoint)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder(TIME_METRIC)
+                .tags("method", request.getMethod(), "endpoint", endpoint)
+                .register(meterRegistry)
+                .record(stats.dbTimeNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.mostRepeatedCount() > warnRepeats) {
+            log.warn("Likely N+1 on {} {}: same statement prepared {} times ({} statements in total): {}",
+                    request.getMethod(), endpoint, stats.mostRepeatedCount(), stats.statements(), stats.mostRepeatedSql());
+        } else if (stats.statements() > warnStatements) {
+            log.warn("{} {} ran {} SQL statements in {} ms", request.getMethod(), endpoint, stats.statements(),
+                    String.format("%.1f", stats.dbTimeMillis()));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.unnamed.conectareparo.common.sqlstats;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for per-request SQL statistics.
+ *
+ * @param enabled Counts statements per request and reports them when true.
+ * @param warnStatements Requests running more statements than this are logged as a warning.
+ * @param warnRepeats Requests preparing the same statement more often than this are logged as a likely N+1.
+ */
+@ConfigurationProperties(prefix = "conectareparo.sql-stats")
+public record SqlStatsProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("25") int warnStatements,
+        @DefaultValue("5") int warnRepeats
+) {
+}
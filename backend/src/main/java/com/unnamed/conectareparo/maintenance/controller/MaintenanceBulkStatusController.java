@@ -0,0 +1,60 @@
+package com.unnamed.conectareparo.maintenance.controller;
+
+import com.unnamed.conectareparo.common.exception.ErrorResponse;
+import com.unnamed.conectareparo.maintenance.dto.BulkStatusResponseDto;
+import com.unnamed.conectareparo.maintenance.dto.BulkStatusUpdateDto;
+import com.unnamed.conectareparo.maintenance.service.MaintenanceBulkStatusService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("api/v1/maintenances")
+@Tag(name = "Maintenance", description = "Endpoints for managing maintenances")
+public class MaintenanceBulkStatusController {
+
+    private final MaintenanceBulkStatusService maintenanceBulkStatusService;
+
+    public MaintenanceBulkStatusController(MaintenanceBulkStatusService maintenanceBulkStatusService) {
+        this.maintenanceBulkStatusService = maintenanceBulkStatusService;
+    }
+
+    @Operation(
+        summary = "Changes the status of several maintenances at once.",
+        description = "Moves up to 500 maintenances to one status in a single transaction, applying the same rules as a " +
+                "single update: COMPLETED and CANCELED maintenances cannot change and IN_PROGRESS cannot go back to OPEN. " +
+                "Maintenances that break a rule are reported and left untouched while the others change. Moving to " +
+                "COMPLETED or CANCELED also cancels the maintenance's OFFERED and PENDING pledges."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Request processed; see the outcome of each maintenance.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = BulkStatusResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Missing or too many ids, or invalid status.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    @PostMapping("/bulk-status")
+    public ResponseEntity<BulkStatusResponseDto> updateStatuses(@Valid @RequestBody BulkStatusUpdateDto request) {
+        return ResponseEntity.ok(maintenanceBulkStatusService.updateStatuses(request));
+    }
+}
@@ -1,10 +1,13 @@
 package com.unnamed.conectareparo.maintenance.controller;
 
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceCalendarDayDto;
 import com.unnamed.conectareparo.maintenance.dto.MaintenanceDto;
 import com.unnamed.conectareparo.maintenance.dto.MaintenanceResponseDto;
 import com.unnamed.conectareparo.maintenance.dto.MaintenanceUpdateDto;
 import com.unnamed.conectareparo.maintenance.service.MaintenanceService;
 import com.unnamed.conectareparo.common.exception.ErrorResponse;
+import com.unnamed.conectareparo.common.pagination.CountMode;
+import com.unnamed.conectareparo.common.pagination.PageResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,14 +17,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -69,29 +75,80 @@ public class MaintenanceController {
 
     @Operation(
         summary = "Retrieves all maintenances.",
-        description = "Fetches a paginated list of all maintenances in the system."
+        description = "Fetches a paginated list of all maintenances in the system. " +
+                "The count parameter (exact, estimated, none) controls how totals are computed; the mode used is reported in countMode. " +
+                "Archived maintenances are only included when includeArchived is true. " +
+                "The fields parameter (e.g. fields=title,status) limits each item to the id and the listed fields."
     )
-    @ApiResponse(
-        responseCode = "200",
-        description = "Maintenances retrieved successfully.",
-        content = @Content(
-            mediaType = "application/json",
-            array = @ArraySchema(schema = @Schema(implementation = MaintenanceResponseDto.class))
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Maintenances retrieved successfully.",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = MaintenanceResponseDto.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Unknown field in the fields parameter.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
         )
-    )
+    })
     @GetMapping
-    public ResponseEntity<Page<MaintenanceResponseDto>> getMaintenances(
+    public ResponseEntity<PageResponse<?>> getMaintenances(
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(name = "count", required = false) String count,
+            @RequestParam(required = false) String fields,
             @ParameterObject Pageable pageable) {
-        Page<MaintenanceResponseDto> foundMaintenances = maintenanceService.getAllMaintenances(status, category, search, pageable);
+        if (fields != null) {
+            return ResponseEntity.ok(maintenanceService.getMaintenanceFields(fields, status, category, search, includeArchived, CountMode.fromParameter(count), pageable));
+        }
+        PageResponse<MaintenanceResponseDto> foundMaintenances = maintenanceService.getAllMaintenances(status, category, search, includeArchived, CountMode.fromParameter(count), pageable);
         return ResponseEntity.ok(foundMaintenances);
     }
 
+    @Operation(
+        summary = "Retrieves the maintenance calendar.",
+        description = "Fetches maintenances scheduled between two days (inclusive), grouped by day in the given time zone."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Calendar retrieved successfully.",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = MaintenanceCalendarDayDto.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid date window or time zone.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    @GetMapping("/calendar")
+    public ResponseEntity<List<MaintenanceCalendarDayDto>> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "UTC") ZoneId zone) {
+        List<MaintenanceCalendarDayDto> calendar = maintenanceService.getCalendar(from, to, zone);
+        return ResponseEntity.ok(calendar);
+    }
+
     @Operation(
         summary = "Retrieve a maintenance by its public ID.",
-        description = "Retrieves the details of a specific maintenance using its public UUID."
+        description = "Retrieves the details of a specific maintenance using its public UUID. " +
+                "Set includeArchived to also find maintenances that were moved to the archive."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -120,8 +177,10 @@ public class MaintenanceController {
         )
     })
     @GetMapping("/{publicId}")
-    public ResponseEntity<MaintenanceResponseDto> getMaintenanceByPublicId(@PathVariable UUID publicId) {
-        MaintenanceResponseDto foundMaintenance = maintenanceService.getMaintenanceByPublicId(publicId);
+    public ResponseEntity<MaintenanceResponseDto> getMaintenanceByPublicId(
+            @PathVariable UUID publicId,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        MaintenanceResponseDto foundMaintenance = maintenanceService.getMaintenanceByPublicId(publicId, includeArchived);
         return ResponseEntity.ok(foundMaintenance);
     }
 
@@ -0,0 +1,15 @@
+package com.unnamed.conectareparo.maintenance.dto;
+
+/**
+ * What a bulk status change did to one maintenance.
+ * - UPDATED: The maintenance moved to the requested status.
+ * - UNCHANGED: The maintenance already had the requested status.
+ * - REJECTED: The transition is not allowed, see the accompanying message.
+ * - NOT_FOUND: No maintenance has this id.
+ */
+public enum BulkStatusOutcome {
+    UPDATED,
+    UNCHANGED,
+    REJECTED,
+    NOT_FOUND
+}
@@ -0,0 +1,19 @@
+package com.unnamed.conectareparo.maintenance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the response of a bulk status change.
+ */
+@Schema(description = "Outcomes of a bulk status change, in request order")
+public record BulkStatusResponseDto(
+        @Schema(description = "Number of maintenances moved to the requested status", example = "12")
+        int updated,
+        @Schema(description = "Number of open pledges canceled because their maintenance was closed", example = "5")
+        int canceledPledges,
+        @Schema(description = "One outcome per distinct requested id")
+        List<BulkStatusResultDto> results
+) {
+}
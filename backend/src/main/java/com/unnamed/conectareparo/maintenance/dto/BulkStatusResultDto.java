@@ -0,0 +1,26 @@
+package com.unnamed.conectareparo.maintenance.dto;
+
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for the outcome of a bulk status change for one maintenance.
+ */
+@Schema(description = "Outcome of a bulk status change for one maintenance")
+public record BulkStatusResultDto(
+        @Schema(description = "Public id of the maintenance", example = "123e4567-e89b-12d3-a456-426614174000")
+        UUID id,
+        @Schema(description = "What the request did to this maintenance", example = "UPDATED")
+        BulkStatusOutcome outcome,
+        @Schema(description = "Status before the request; null when not found", example = "IN_PROGRESS")
+        MaintenanceStatus previousStatus,
+        @Schema(description = "Status after the request; null when not found", example = "COMPLETED")
+        MaintenanceStatus status,
+        @Schema(description = "Open pledges (OFFERED or PENDING) canceled because the maintenance was closed", example = "2")
+        int canceledPledges,
+        @Schema(description = "Why the change was rejected; null otherwise", example = "Cannot change status of a completed maintenance.")
+        String message
+) {
+}
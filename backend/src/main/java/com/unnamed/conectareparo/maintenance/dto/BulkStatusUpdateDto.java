@@ -0,0 +1,25 @@
+package com.unnamed.conectareparo.maintenance.dto;
+
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for moving many maintenances to one status in a single request.
+ */
+@Schema(description = "Data Transfer Object for changing the status of several maintenances at once")
+public record BulkStatusUpdateDto(
+        @Schema(description = "Public ids of the maintenances to change; duplicates are ignored", example = "[\"123e4567-e89b-12d3-a456-426614174000\"]")
+        @NotEmpty(message = "At least one maintenance id is required.")
+        @Size(max = 500, message = "At most 500 maintenances can be changed per request.")
+        List<@NotNull(message = "Maintenance ids must not be null.") UUID> ids,
+        @Schema(description = "Status to move the maintenances to", example = "COMPLETED")
+        @NotNull(message = "Status is required.")
+        MaintenanceStatus status
+) {
+}
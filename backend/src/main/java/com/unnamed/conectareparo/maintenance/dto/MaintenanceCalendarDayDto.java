@@ -0,0 +1,20 @@
+package com.unnamed.conectareparo.maintenance.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * <p>One day of the maintenance calendar, with its entries ordered by scheduled time.</p>
+ */
+@Schema(description = "Maintenances scheduled on a single calendar day")
+public record MaintenanceCalendarDayDto(
+        @Schema(description = "Calendar day in the requested time zone", example = "2025-10-10")
+        LocalDate date,
+        @Schema(description = "Number of maintenances scheduled on this day", example = "2")
+        int total,
+        @Schema(description = "Maintenances scheduled on this day, ordered by scheduled time")
+        List<MaintenanceCalendarEntryDto> maintenances
+) {
+}
@@ -0,0 +1,27 @@
+package com.unnamed.conectareparo.maintenance.dto;
+
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * <p>Compact view of a {@link com.unnamed.conectareparo.maintenance.entity.Maintenance} used by the calendar endpoint.</p>
+ * <p>Carries only the columns a month view renders, so the description is never read.</p>
+ */
+@Schema(description = "Compact maintenance entry for calendar views")
+public record MaintenanceCalendarEntryDto(
+        @Schema(description = "Unique identifier of the maintenance request", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
+        UUID id,
+        @Schema(description = "Title of the maintenance request", example = "Vazamento na pia da cozinha")
+        String title,
+        @Schema(description = "Category of the maintenance issue", example = "PLUMBING")
+        MaintenanceCategory category,
+        @Schema(description = "Current status of the maintenance request", example = "OPEN")
+        MaintenanceStatus status,
+        @Schema(description = "Scheduled date and time in the requested time zone, ISO 8601 format.", example = "2025-10-10T07:10:10-03:00")
+        ZonedDateTime scheduledDate
+) {
+}
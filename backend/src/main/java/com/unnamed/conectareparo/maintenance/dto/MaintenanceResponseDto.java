@@ -27,6 +27,8 @@ public record MaintenanceResponseDto(
         @Schema(description = "Timestamp when the maintenance request was created in ISO 8601 format.", example = "2025-10-10T10:10:10Z")
         ZonedDateTime createdAt,
         @Schema(description = "Timestamp when the maintenance request was last updated in ISO 8601 format.", example = "2025-10-10T10:10:10Z")
-        ZonedDateTime updatedAt
+        ZonedDateTime updatedAt,
+        @Schema(description = "When the maintenance was found still OPEN after its scheduled date, or null if it never was.", example = "2025-10-11T10:10:10Z")
+        ZonedDateTime overdueSince
 ) {
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.unnamed.conectareparo.maintenance.entity;
 
+import com.unnamed.conectareparo.common.id.PublicIds;
 import jakarta.persistence.*;
 
 import java.time.ZonedDateTime;
@@ -29,6 +30,7 @@ public class Maintenance {
     @Column(name = "public_id")
     private UUID publicId;
     private String title;
+    @Basic(fetch = FetchType.LAZY)
     private String description;
     @Enumerated(EnumType.STRING)
     private MaintenanceCategory category;
@@ -36,16 +38,20 @@ public class Maintenance {
     private ZonedDateTime scheduledDate;
     @Enumerated(EnumType.STRING)
     private MaintenanceStatus status;
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false)
     private ZonedDateTime createdAt;
     @Column(name = "updated_at")
     private ZonedDateTime updatedAt;
+    @Column(name = "actions_not_before", nullable = false, updatable = false)
+    private ZonedDateTime actionsNotBefore;
+    @Column(name = "overdue_since")
+    private ZonedDateTime overdueSince;
 
     public Maintenance() {
     }
 
     public Maintenance(String title, String description, MaintenanceCategory category, ZonedDateTime scheduledDate) {
-        this.publicId = UUID.randomUUID();
+        this.publicId = PublicIds.next();
         this.title = title;
         this.description = description;
         this.category = category;
@@ -53,6 +59,7 @@ public class Maintenance {
         this.status = MaintenanceStatus.OPEN;
         this.createdAt = ZonedDateTime.now();
         this.updatedAt = ZonedDateTime.now();
+        this.actionsNotBefore = this.createdAt;
     }
 
     public Long getId() {
@@ -82,21 +89,44 @@ public class Maintenance {
     public ZonedDateTime getUpdatedAt() {
         return updatedAt;
     }
+    /**
+     * No action of this maintenance was created before this time: its creation time, or the earliest of its
+     * actions where rows migrated from before partitioning predate it.
+     */
+    public ZonedDateTime getActionsNotBefore() {
+        return actionsNotBefore;
+    }
+    public ZonedDateTime getOverdueSince() {
+        return overdueSince;
+    }
 
     public void changeStatus(MaintenanceStatus statusUpdate) {
         if (statusUpdate == null) {
             return;
         }
-        if (this.status == MaintenanceStatus.COMPLETED){
-            throw new IllegalStateException("Cannot change status of a completed maintenance.");
+        String violation = statusChangeViolation(this.status, statusUpdate);
+        if (violation != null) {
+            throw new IllegalStateException(violation);
         }
-        if (this.status == MaintenanceStatus.CANCELED){
-            throw new IllegalStateException("Cannot change status of a cancelled maintenance.");
+        this.status = statusUpdate;
+    }
+
+    /**
+     * The rule {@link #changeStatus} enforces, for callers that change statuses without loading entities.
+     *
+     * @return Why a maintenance in {@code from} cannot move to {@code to}, or {@code null} if it can.
+     */
+    public static String statusChangeViolation(MaintenanceStatus from, MaintenanceStatus to) {
+        if (from == MaintenanceStatus.COMPLETED){
+            return "Cannot change status of a completed maintenance.";
         }
-        if (this.status == MaintenanceStatus.IN_PROGRESS && statusUpdate == MaintenanceStatus.OPEN){
-            throw new IllegalStateException("Cannot revert status from IN_PROGRESS to OPEN.");
+        if (from == MaintenanceStatus.CANCELED){
+            return "Cannot change status of a cancelled maintenance.";
         }
-        this.status = statusUpdate;
+        if (from == MaintenanceStatus.IN_PROGRESS && to == MaintenanceStatus.OPEN){
+            return "Cannot revert status from IN_PROGRESS to OPEN.";
+        }
+        return null;
     }
 
     public boolean isCompleted(){
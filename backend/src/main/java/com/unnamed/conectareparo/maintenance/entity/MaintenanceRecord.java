@@ -0,0 +1,100 @@
+package com.unnamed.conectareparo.maintenance.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Read-only view of a maintenance that may live either in the hot {@code maintenance} table or in
+ * {@code maintenance_archive}. Archived rows keep their original id, so both halves of the union can be
+ * joined by children the same way. Used only by the {@code includeArchived} read path; every write goes
+ * through {@link Maintenance}.
+ */
+@Entity
+@Immutable
+@Subselect("""
+        SELECT m.id, m.public_id, m.title, m.description, m.category, m.scheduled_date, m.status,
+               m.created_at, m.updated_at, m.overdue_since, FALSE AS archived
+        FROM maintenance m
+        UNION ALL
+        SELECT a.id, a.public_id, a.title, a.description, a.category, a.scheduled_date, a.status,
+               a.created_at, a.updated_at, a.overdue_since, TRUE AS archived
+        FROM maintenance_archive a
+        """)
+@Synchronize({"maintenance", "maintenance_archive"})
+public class MaintenanceRecord {
+
+    @Id
+    private Long id;
+    @Column(name = "public_id")
+    private UUID publicId;
+    private String title;
+    private String description;
+    @Enumerated(EnumType.STRING)
+    private MaintenanceCategory category;
+    @Column(name = "scheduled_date")
+    private ZonedDateTime scheduledDate;
+    @Enumerated(EnumType.STRING)
+    private MaintenanceStatus status;
+    @Column(name = "created_at")
+    private ZonedDateTime createdAt;
+    @Column(name = "updated_at")
+    private ZonedDateTime updatedAt;
+    @Column(name = "overdue_since")
+    private ZonedDateTime overdueSince;
+    private boolean archived;
+
+    protected MaintenanceRecord() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+    public UUID getPublicId() {
+        return publicId;
+    }
+    public String getTitle() {
+        return title;
+    }
+    public String getDescription() {
+        return description;
+    }
+    public MaintenanceCategory getCategory() {
+        return category;
+    }
+    public ZonedDateTime getScheduledDate() {
+        return scheduledDate;
+    }
+    public MaintenanceStatus getStatus() {
+        return status;
+    }
+    public ZonedDateTime getCreatedAt() {
+        return createdAt;
+    }
+    public ZonedDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    public ZonedDateTime getOverdueSince() {
+        return overdueSince;
+    }
+    public boolean isArchived() {
+        return archived;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        MaintenanceRecord that = (MaintenanceRecord) o;
+        return Objects.equals(publicId, that.publicId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(publicId);
+    }
+}
@@ -0,0 +1,249 @@
+package com.unnamed.conectareparo.maintenance.index;
+
+import com.unnamed.conectareparo.common.pagination.CountMode;
+import com.unnamed.conectareparo.common.pagination.PageResponse;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceResponseDto;
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.maintenance.mapper.MaintenanceMapper;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.invalidation.InvalidatableCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory read model of the active (OPEN and IN_PROGRESS) maintenances, the small and constantly
+ * queried part of the table. Active-list requests are answered from an immutable
+ * {@link ActiveMaintenanceSnapshot} without a database round trip.
+ * <p>
+ * Writes of this instance are applied right after they commit. {@link ActiveMaintenanceIndexLoader} fills
+ * the index at startup and then tails the sync change log for writes of other instances, so reads may lag
+ * those by about one refresh interval. The log only yields a change once every older transaction has
+ * ended; the maintenances other instances announce through the
+ * {@link com.unnamed.conectareparo.sync.invalidation.CacheInvalidationBus} are reloaded on the next run
+ * regardless, so a long transaction elsewhere does not hold them back.
+ * <p>
+ * {@link #find} returns empty, and the caller queries the database, whenever the request reaches outside
+ * the working set: a status filter that includes terminal maintenances, a sort the snapshot does not keep,
+ * a search term containing LIKE wildcards (the specification passes them through unescaped), or while the
+ * index is not loaded.
+ */
+@Component
+@EnableConfigurationProperties(ActiveMaintenanceIndexProperties.class)
+public class ActiveMaintenanceIndex implements InvalidatableCache {
+
+    static final Set<MaintenanceStatus> ACTIVE = EnumSet.of(MaintenanceStatus.OPEN, MaintenanceStatus.IN_PROGRESS);
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveMaintenanceIndex.class);
+
+    private final MaintenanceMapper maintenanceMapper;
+    private final ActiveMaintenanceIndexProperties properties;
+    private final Map<UUID, ActiveMaintenanceSnapshot.Entry> entries = new HashMap<>();
+    private final Set<UUID> pendingReloads = ConcurrentHashMap.newKeySet();
+    private volatile ActiveMaintenanceSnapshot snapshot;
+
+    public ActiveMaintenanceIndex(MaintenanceMapper maintenanceMapper, ActiveMaintenanceIndexProperties properties) {
+        this.maintenanceMapper = maintenanceMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Answers a maintenance list request from the index, with the same filters as
+     * {@link com.unnamed.conectareparo.maintenance.specification.MaintenanceSpecification}.
+     * Totals are always exact.
+     *
+     * @return The page, or empty when the request has to go to the database.
+     */
+    public Optional<PageResponse<MaintenanceResponseDto>> find(String status, String category, String search, Pageable pageable) {
+        ActiveMaintenanceSnapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+        Set<MaintenanceStatus> statuses = statuses(status);
+        if (statuses == null || !isSortable(pageable.getSort())) {
+            return Optional.empty();
+        }
+        String term = null;
+        if (search != null && !search.trim().isEmpty()) {
+            term = search.toLowerCase(Locale.ROOT).trim();
+            if (term.indexOf('%') >= 0 || term.indexOf('_') >= 0 || term.indexOf('\\') >= 0) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(PageResponse.of(current.find(statuses, categories(category), term, pageable), CountMode.EXACT));
+    }
+
+    /**
+     * Applies the state of a created or updated maintenance once the current transaction commits, or right
+     * away outside a transaction. A maintenance that is no longer active leaves the index.
+     */
+    public void applyAfterCommit(Maintenance maintenance) {
+        applyAfterCommit(List.of(maintenance));
+    }
+
+    /**
+     * Same as {@link #applyAfterCommit(Maintenance)} for several maintenances written in one transaction.
+     */
+    public void applyAfterCommit(Collection<Maintenance> maintenances) {
+        if (snapshot == null || maintenances.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(maintenances, List.of());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    apply(maintenances, List.of());
+                } catch (RuntimeException e) {
+                    // The write is committed; drop the index and let the loader rebuild it rather than fail the request.
+                    log.warn("Could not apply {} maintenances to the active index, reloading it", maintenances.size(), e);
+                    clear();
+                }
+            }
+        });
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Queues changed maintenances for {@link ActiveMaintenanceIndexLoader} to reload on its next run.
+     */
+    @Override
+    public void evict(SyncEntityType entityType, Collection<UUID> entityPublicIds) {
+        if (entityType == SyncEntityType.MAINTENANCE && isLoaded()) {
+            pendingReloads.addAll(entityPublicIds);
+        }
+    }
+
+    /**
+     * Nothing to drop: the loader tails the change log, which keeps every change, missed notifications included.
+     */
+    @Override
+    public void evictAll() {
+    }
+
+    /**
+     * Takes the maintenances queued by {@link #evict} since the last call.
+     */
+    Set<UUID> takePendingReloads() {
+        Set<UUID> taken = new HashSet<>(pendingReloads);
+        pendingReloads.removeAll(taken);
+        return taken;
+    }
+
+    public int size() {
+        ActiveMaintenanceSnapshot current = snapshot;
+        return current == null ? 0 : current.size();
+    }
+
+    /**
+     * Replaces the whole index with the given active maintenances.
+     */
+    synchronized void load(Collection<Maintenance> active) {
+        entries.clear();
+        snapshot = null;
+        apply(active, List.of(), true);
+    }
+
+    /**
+     * Applies the current state of changed maintenances and drops the ones that no longer exist.
+     * Does nothing until the index is loaded.
+     */
+    synchronized void apply(Collection<Maintenance> changed, Collection<UUID> removed) {
+        if (snapshot != null) {
+            apply(changed, removed, false);
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        snapshot = null;
+    }
+
+    private void apply(Collection<Maintenance> changed, Collection<UUID> removed, boolean loading) {
+        for (Maintenance maintenance : changed) {
+            if (ACTIVE.contains(maintenance.getStatus())) {
+                entries.put(maintenance.getPublicId(),
+                        ActiveMaintenanceSnapshot.Entry.of(maintenance.getId(), maintenanceMapper.toResponseDto(maintenance)));
+            } else {
+                entries.remove(maintenance.getPublicId());
+            }
+        }
+        removed.forEach(entries::remove);
+        if (entries.size() > properties.maxSize()) {
+            log.warn("{} active maintenances exceed the index limit of {}; serving them from the database",
+                    entries.size(), properties.maxSize());
+            clear();
+            return;
+        }
+        if (loading || !changed.isEmpty() || !removed.isEmpty()) {
+            snapshot = new ActiveMaintenanceSnapshot(entries.values());
+        }
+    }
+
+    /**
+     * The statuses selected by a status filter, or {@code null} when it selects anything outside the active set.
+     */
+    private static Set<MaintenanceStatus> statuses(String status) {
+        if (status == null || status.equalsIgnoreCase("all") || status.equalsIgnoreCase("inactive")) {
+            return null;
+        }
+        if (status.equalsIgnoreCase("active")) {
+            return ACTIVE;
+        }
+        try {
+            MaintenanceStatus statusEnum = MaintenanceStatus.valueOf(status.toUpperCase(Locale.ROOT));
+            return ACTIVE.contains(statusEnum) ? EnumSet.of(statusEnum) : null;
+        } catch (IllegalArgumentException e) {
+            // The specification ignores an unknown status, which includes terminal maintenances.
+            return null;
+        }
+    }
+
+    private static Set<MaintenanceCategory> categories(String category) {
+        if (category == null || category.isEmpty()) {
+            return EnumSet.allOf(MaintenanceCategory.class);
+        }
+        Set<MaintenanceCategory> matching = EnumSet.noneOf(MaintenanceCategory.class);
+        for (MaintenanceCategory value : MaintenanceCategory.values()) {
+            if (value.name().equalsIgnoreCase(category)) {
+                matching.add(value);
+            }
+        }
+        return matching;
+    }
+
+    private static boolean isSortable(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!ActiveMaintenanceSnapshot.SORTABLE.contains(order.getProperty())
+                    || order.getNullHandling() != Sort.NullHandling.NATIVE) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,113 @@
+package com.unnamed.conectareparo.maintenance.index;
+
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceRepository;
+import com.unnamed.conectareparo.sync.entity.SyncChange;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.repository.SyncChangeRepository;
+import com.unnamed.conectareparo.sync.repository.SyncPosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps {@link ActiveMaintenanceIndex} in step with the database. The first run loads every active
+ * maintenance; later runs read the maintenance changes recorded in the sync change log since then and
+ * reload just those rows. Only settled changes are read, so one committed late by a slow transaction is
+ * picked up by a later run rather than skipped. Each run first reloads the maintenances the index was told
+ * about through {@link ActiveMaintenanceIndex#evict}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "conectareparo.active-index", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ActiveMaintenanceIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveMaintenanceIndexLoader.class);
+
+    private final ActiveMaintenanceIndex index;
+    private final MaintenanceRepository maintenanceRepository;
+    private final SyncChangeRepository syncChangeRepository;
+    private final ActiveMaintenanceIndexProperties properties;
+
+    /** Last change known to be reflected in the index. Only touched by the scheduler thread. */
+    private SyncPosition position = SyncPosition.START;
+    private boolean oversized;
+
+    public ActiveMaintenanceIndexLoader(ActiveMaintenanceIndex index, MaintenanceRepository maintenanceRepository,
+                                        SyncChangeRepository syncChangeRepository, ActiveMaintenanceIndexProperties properties) {
+        this.index = index;
+        this.maintenanceRepository = maintenanceRepository;
+        this.syncChangeRepository = syncChangeRepository;
+        this.properties = properties;
+    }
+
+    @Transactional(readOnly = true)
+    @Scheduled(fixedDelayString = "${conectareparo.active-index.refresh-interval:2s}")
+    public void refresh() {
+        if (index.isLoaded()) {
+            reload(index.takePendingReloads());
+            catchUp();
+        } else {
+            load();
+        }
+    }
+
+    private void load() {
+        long active = maintenanceRepository.countByStatusIn(ActiveMaintenanceIndex.ACTIVE);
+        if (active > properties.maxSize()) {
+            if (!oversized) {
+                log.warn("{} active maintenances exceed the index limit of {}; serving them from the database",
+                        active, properties.maxSize());
+            }
+            oversized = true;
+            return;
+        }
+        oversized = false;
+        // Taken before the rows, so changes committed while they load are replayed by the next run.
+        position = syncChangeRepository.findSettledPosition();
+        List<Maintenance> maintenances = maintenanceRepository
+                .findByStatusIn(List.copyOf(ActiveMaintenanceIndex.ACTIVE), Pageable.unpaged())
+                .getContent();
+        index.load(maintenances);
+        log.info("Loaded {} active maintenances into the in-memory index", index.size());
+    }
+
+    private void catchUp() {
+        while (index.isLoaded()) {
+            List<SyncChange> changes = syncChangeRepository.findSettledAfter(position, properties.batchSize());
+            if (changes.isEmpty()) {
+                return;
+            }
+            Set<UUID> changed = new LinkedHashSet<>();
+            for (SyncChange change : changes) {
+                if (change.getEntityType() == SyncEntityType.MAINTENANCE) {
+                    changed.add(change.getEntityPublicId());
+                }
+            }
+            reload(changed);
+            position = SyncPosition.of(changes.get(changes.size() - 1));
+            if (changes.size() < properties.batchSize()) {
+                return;
+            }
+        }
+    }
+
+    private void reload(Set<UUID> publicIds) {
+        if (publicIds.isEmpty()) {
+            return;
+        }
+        List<Maintenance> found = maintenanceRepository.findAllByPublicIdIn(publicIds);
+        Set<UUID> removed = new HashSet<>(publicIds);
+        found.forEach(maintenance -> removed.remove(maintenance.getPublicId()));
+        index.apply(found, removed);
+    }
+}
@@ -0,0 +1,24 @@
+package com.unnamed.conectareparo.maintenance.index;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory index of active maintenances.
+ *
+ * @param enabled Loads the index and serves active-list requests from it when true.
+ * @param refreshInterval How often changes written by other instances are read from the sync change log.
+ *                        Writes of this instance show up as soon as they commit.
+ * @param maxSize Upper bound of indexed maintenances. A larger active set is left to the database.
+ * @param batchSize Sync changes read per query while catching up.
+ */
+@ConfigurationProperties(prefix = "conectareparo.active-index")
+public record ActiveMaintenanceIndexProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("2s") Duration refreshInterval,
+        @DefaultValue("20000") int maxSize,
+        @DefaultValue("500") int batchSize
+) {
+}
@@ -0,0 +1,181 @@
+package com.unnamed.conectareparo.maintenance.index;
+
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceResponseDto;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Immutable, column-oriented copy of the active maintenances. Sort keys live in primitive arrays and every
+ * status and category has a bitset of the rows that carry it, so a filtered page costs a few bitset
+ * operations, a scan of the remaining rows for the search term, and a sort of their positions.
+ * <p>
+ * Filters follow {@link com.unnamed.conectareparo.maintenance.specification.MaintenanceSpecification}, and
+ * ordering follows PostgreSQL: enums compare by name, and missing timestamps sort last ascending and first
+ * descending. Ties are broken by id.
+ */
+final class ActiveMaintenanceSnapshot {
+
+    static final Set<String> SORTABLE = Set.of("id", "createdAt", "updatedAt", "scheduledDate", "status", "category");
+
+    private static final MaintenanceStatus[] STATUSES = MaintenanceStatus.values();
+    private static final MaintenanceCategory[] CATEGORIES = MaintenanceCategory.values();
+
+    private final MaintenanceResponseDto[] rows;
+    private final long[] ids;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+    private final long[] scheduledDate;
+    private final String[] title;
+    private final String[] description;
+    private final BitSet[] byStatus;
+    private final BitSet[] byCategory;
+
+    ActiveMaintenanceSnapshot(Collection<Entry> entries) {
+        int size = entries.size();
+        rows = new MaintenanceResponseDto[size];
+        ids = new long[size];
+        createdAt = new long[size];
+        updatedAt = new long[size];
+        scheduledDate = new long[size];
+        title = new String[size];
+        description = new String[size];
+        byStatus = new BitSet[STATUSES.length];
+        byCategory = new BitSet[CATEGORIES.length];
+        Arrays.setAll(byStatus, i -> new BitSet(size));
+        Arrays.setAll(byCategory, i -> new BitSet(size));
+
+        int row = 0;
+        for (Entry entry : entries) {
+            MaintenanceResponseDto maintenance = entry.maintenance();
+            rows[row] = maintenance;
+            ids[row] = entry.id();
+            createdAt[row] = sortKey(maintenance.createdAt());
+            updatedAt[row] = sortKey(maintenance.updatedAt());
+            scheduledDate[row] = sortKey(maintenance.scheduledDate());
+            title[row] = entry.title();
+            description[row] = entry.description();
+            if (maintenance.status() != null) {
+                byStatus[maintenance.status().ordinal()].set(row);
+            }
+            if (maintenance.category() != null) {
+                byCategory[maintenance.category().ordinal()].set(row);
+            }
+            row++;
+        }
+    }
+
+    int size() {
+        return rows.length;
+    }
+
+    /**
+     * @param statuses Rows must have one of these statuses.
+     * @param categories Rows must have one of these categories; empty when the requested category does not exist.
+     * @param term Lowercase substring of the title, description or category name, or {@code null}.
+     * @param pageable Page and sort; every sort property must be in {@link #SORTABLE}.
+     */
+    Page<MaintenanceResponseDto> find(Set<MaintenanceStatus> statuses, Set<MaintenanceCategory> categories, String term,
+                                      Pageable pageable) {
+        BitSet matches = new BitSet(rows.length);
+        statuses.forEach(status -> matches.or(byStatus[status.ordinal()]));
+        if (categories.size() < CATEGORIES.length) {
+            BitSet inCategories = new BitSet(rows.length);
+            categories.forEach(category -> inCategories.or(byCategory[category.ordinal()]));
+            matches.and(inCategories);
+        }
+        if (term != null) {
+            for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+                if (!contains(row, term)) {
+                    matches.clear(row);
+                }
+            }
+        }
+
+        Integer[] positions = matches.stream().boxed().toArray(Integer[]::new);
+        Arrays.sort(positions, comparator(pageable.getSort()));
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(content(positions, 0, positions.length));
+        }
+        int from = (int) Math.min(pageable.getOffset(), positions.length);
+        int to = Math.min(from + pageable.getPageSize(), positions.length);
+        return new PageImpl<>(content(positions, from, to), pageable, positions.length);
+    }
+
+    private boolean contains(int row, String term) {
+        MaintenanceCategory category = rows[row].category();
+        return (title[row] != null && title[row].contains(term))
+                || (description[row] != null && description[row].contains(term))
+                || (category != null && category.name().toLowerCase(Locale.ROOT).contains(term));
+    }
+
+    private List<MaintenanceResponseDto> content(Integer[] positions, int from, int to) {
+        List<MaintenanceResponseDto> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            content.add(rows[positions[i]]);
+        }
+        return content;
+    }
+
+    private Comparator<Integer> comparator(Sort sort) {
+        Comparator<Integer> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Integer> next = switch (order.getProperty()) {
+                case "id" -> Comparator.comparingLong(row -> ids[row]);
+                case "createdAt" -> Comparator.comparingLong(row -> createdAt[row]);
+                case "updatedAt" -> Comparator.comparingLong(row -> updatedAt[row]);
+                case "scheduledDate" -> Comparator.comparingLong(row -> scheduledDate[row]);
+                case "status" -> Comparator.comparing(row -> name(rows[row].status()), Comparator.nullsLast(Comparator.naturalOrder()));
+                case "category" -> Comparator.comparing(row -> name(rows[row].category()), Comparator.nullsLast(Comparator.naturalOrder()));
+                default -> throw new IllegalArgumentException("Cannot sort active maintenances by " + order.getProperty());
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<Integer> byId = Comparator.comparingLong(row -> ids[row]);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    /**
+     * Microseconds since the epoch, the precision of the timestamp columns. A missing value sorts after
+     * every other one, as NULL does in PostgreSQL.
+     */
+    private static long sortKey(ZonedDateTime value) {
+        return value == null ? Long.MAX_VALUE : ChronoUnit.MICROS.between(Instant.EPOCH, value.toInstant());
+    }
+
+    /**
+     * One indexed maintenance with its search text lowercased once, when it enters the index.
+     */
+    record Entry(long id, MaintenanceResponseDto maintenance, String title, String description) {
+
+        static Entry of(long id, MaintenanceResponseDto maintenance) {
+            return new Entry(id, maintenance, lower(maintenance.title()), lower(maintenance.description()));
+        }
+
+        private static String lower(String value) {
+            return value == null ? null : value.toLowerCase(Locale.ROOT);
+        }
+    }
+}
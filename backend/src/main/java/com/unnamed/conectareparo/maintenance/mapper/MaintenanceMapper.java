@@ -1,13 +1,31 @@
 package com.unnamed.conectareparo.maintenance.mapper;
 
+import com.unnamed.conectareparo.common.fields.SparseFields;
 import com.unnamed.conectareparo.maintenance.dto.MaintenanceDto;
 import com.unnamed.conectareparo.maintenance.dto.MaintenanceResponseDto;
 import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceRecord;
 import org.springframework.stereotype.Component;
 
 @Component
 public class MaintenanceMapper {
 
+    /**
+     * Fields of {@link MaintenanceResponseDto} that can be selected with {@code ?fields=}, and the attributes of
+     * {@link Maintenance} and {@link MaintenanceRecord} they are read from.
+     */
+    public static final SparseFields SPARSE_FIELDS = SparseFields.of(
+            "id", "publicId",
+            "title", "title",
+            "description", "description",
+            "category", "category",
+            "scheduledDate", "scheduledDate",
+            "status", "status",
+            "createdAt", "createdAt",
+            "updatedAt", "updatedAt",
+            "overdueSince", "overdueSince"
+    );
+
     public Maintenance toEntity(MaintenanceDto maintenanceRequestDto) {
         return new Maintenance(
                 maintenanceRequestDto.title(),
@@ -26,7 +44,22 @@ public class MaintenanceMapper {
                 maintenance.getScheduledDate(),
                 maintenance.getStatus(),
                 maintenance.getCreatedAt(),
-                maintenance.getUpdatedAt()
+                maintenance.getUpdatedAt(),
+                maintenance.getOverdueSince()
+        );
+    }
+
+    public MaintenanceResponseDto fromRecord(MaintenanceRecord maintenance){
+        return new MaintenanceResponseDto(
+                maintenance.getPublicId(),
+                maintenance.getTitle(),
+                maintenance.getDescription(),
+                maintenance.getCategory(),
+                maintenance.getScheduledDate(),
+                maintenance.getStatus(),
+                maintenance.getCreatedAt(),
+                maintenance.getUpdatedAt(),
+                maintenance.getOverdueSince()
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.unnamed.conectareparo.maintenance.repository;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * The database check that turns away pledges and actions of a COMPLETED or CANCELED maintenance. Services
+ * test their own status first; the check catches the writes whose maintenance was closed after that test.
+ */
+public final class ClosedMaintenanceConstraint {
+
+    public static final String NAME = "maintenance_not_closed";
+
+    private ClosedMaintenanceConstraint() {
+    }
+
+    /**
+     * Whether the write was rejected because its maintenance is closed, as opposed to any other constraint.
+     */
+    public static boolean isViolatedBy(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains(NAME)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
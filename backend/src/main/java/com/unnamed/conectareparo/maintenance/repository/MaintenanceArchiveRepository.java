@@ -0,0 +1,73 @@
+package com.unnamed.conectareparo.maintenance.repository;
+
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Moves terminal maintenances and their pledges, actions and materials from the hot tables into the
+ * {@code *_archive} tables. Copies run parents-last and deletes run children-first so no statement
+ * ever sees a dangling foreign key. All statements are set-based over one chunk of maintenance ids.
+ */
+public interface MaintenanceArchiveRepository extends Repository<Maintenance, Long> {
+
+    /**
+     * Locks the next chunk of archivable maintenances. Rows already locked by a concurrent archival run
+     * are skipped instead of waited on.
+     */
+    @Query(value = "SELECT id FROM maintenance WHERE status IN ('COMPLETED', 'CANCELED') AND updated_at < :cutoff " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockArchivableIds(@Param("cutoff") ZonedDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO action_material_archive " +
+            "(id, public_id, maintenance_action_id, item_name, quantity, unit_of_measure, created_at, updated_at, archived_at) " +
+            "SELECT am.id, am.public_id, am.maintenance_action_id, am.item_name, am.quantity, am.unit_of_measure, am.created_at, am.updated_at, CURRENT_TIMESTAMP " +
+            "FROM action_material am JOIN maintenance_action ma ON ma.id = am.maintenance_action_id " +
+            "WHERE ma.maintenance_id IN (:ids)", nativeQuery = true)
+    int copyMaterials(@Param("ids") Collection<Long> maintenanceIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO maintenance_action_archive " +
+            "(id, public_id, maintenance_id, executed_by, start_date, completion_date, action_description, outcome_status, created_at, updated_at, archived_at) " +
+            "SELECT id, public_id, maintenance_id, executed_by, start_date, completion_date, action_description, outcome_status, created_at, updated_at, CURRENT_TIMESTAMP " +
+            "FROM maintenance_action WHERE maintenance_id IN (:ids)", nativeQuery = true)
+    int copyActions(@Param("ids") Collection<Long> maintenanceIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO pledge_archive " +
+            "(id, public_id, maintenance_id, volunteer_name, volunteer_contact, description, type, status, created_at, updated_at, archived_at) " +
+            "SELECT id, public_id, maintenance_id, volunteer_name, volunteer_contact, description, type, status, created_at, updated_at, CURRENT_TIMESTAMP " +
+            "FROM pledge WHERE maintenance_id IN (:ids)", nativeQuery = true)
+    int copyPledges(@Param("ids") Collection<Long> maintenanceIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO maintenance_archive " +
+            "(id, public_id, title, description, category, scheduled_date, status, created_at, updated_at, overdue_since, archived_at) " +
+            "SELECT id, public_id, title, description, category, scheduled_date, status, created_at, updated_at, overdue_since, CURRENT_TIMESTAMP " +
+            "FROM maintenance WHERE id IN (:ids)", nativeQuery = true)
+    int copyMaintenances(@Param("ids") Collection<Long> maintenanceIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM action_material WHERE maintenance_action_id IN " +
+            "(SELECT id FROM maintenance_action WHERE maintenance_id IN (:ids))", nativeQuery = true)
+    int deleteMaterials(@Param("ids") Collection<Long> maintenanceIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM maintenance_action WHERE maintenance_id IN (:ids)", nativeQuery = true)
+    int deleteActions(@Param("ids") Collection<Long> maintenanceIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM pledge WHERE maintenance_id IN (:ids)", nativeQuery = true)
+    int deletePledges(@Param("ids") Collection<Long> maintenanceIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM maintenance WHERE id IN (:ids)", nativeQuery = true)
+    int deleteMaintenances(@Param("ids") Collection<Long> maintenanceIds);
+}
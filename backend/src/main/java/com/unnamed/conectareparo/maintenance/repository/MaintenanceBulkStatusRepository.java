@@ -0,0 +1,75 @@
+package com.unnamed.conectareparo.maintenance.repository;
+
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based status changes over many maintenances and the open pledges of the ones being closed. The rows
+ * are locked in id order before they are changed, so concurrent bulk changes never deadlock and the statuses
+ * read are the ones the updates see.
+ * <p>
+ * {@code pledge} is range-partitioned by month on {@code created_at}. The pledge statements are not bounded
+ * on it: rows copied from before partitioning may predate their maintenance's creation time. Each partition
+ * answers them through its index on the open pledges of a maintenance instead.
+ */
+public interface MaintenanceBulkStatusRepository extends Repository<Maintenance, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m.id AS id, m.publicId AS publicId, m.status AS status FROM Maintenance m " +
+            "WHERE m.publicId IN :publicIds ORDER BY m.id")
+    List<StatusRow> lockStatuses(@Param("publicIds") Collection<UUID> publicIds);
+
+    /**
+     * {@link #lockStatuses} for a change to COMPLETED or CANCELED. The rows are locked FOR UPDATE, which
+     * {@code reject_child_of_closed_maintenance} waits on; Hibernate's pessimistic write lock is FOR NO KEY
+     * UPDATE on PostgreSQL, which it does not. The public id is read as text, which every database converts
+     * to a UUID the same way.
+     */
+    @Query(value = "SELECT id AS \"id\", CAST(public_id AS VARCHAR(36)) AS \"publicId\", status AS \"status\" FROM maintenance " +
+            "WHERE public_id IN (:publicIds) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<StatusRow> lockStatusesForClosing(@Param("publicIds") Collection<UUID> publicIds);
+
+    /**
+     * Moves the maintenances still in one of the {@code from} statuses to {@code status}.
+     */
+    @Modifying
+    @Query(value = "UPDATE maintenance SET status = :status, updated_at = :now WHERE id IN (:ids) AND status IN (:from)",
+            nativeQuery = true)
+    int updateStatuses(@Param("ids") Collection<Long> maintenanceIds, @Param("from") Collection<String> fromStatuses,
+                       @Param("status") String status, @Param("now") ZonedDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id AS id, p.publicId AS publicId, p.maintenance.id AS maintenanceId, p.status AS status FROM Pledge p " +
+            "WHERE p.maintenance.id IN :ids AND p.status IN (com.unnamed.conectareparo.pledge.entity.PledgeStatus.OFFERED, " +
+            "com.unnamed.conectareparo.pledge.entity.PledgeStatus.PENDING) ORDER BY p.id")
+    List<PledgeStatusRow> lockOpenPledges(@Param("ids") Collection<Long> maintenanceIds);
+
+    @Modifying
+    @Query(value = "UPDATE pledge SET status = 'CANCELED', updated_at = :now WHERE id IN (:pledgeIds)", nativeQuery = true)
+    int cancelPledges(@Param("pledgeIds") Collection<Long> pledgeIds, @Param("now") ZonedDateTime now);
+
+    interface StatusRow {
+        Long getId();
+        UUID getPublicId();
+        MaintenanceStatus getStatus();
+    }
+
+    interface PledgeStatusRow {
+        Long getId();
+        UUID getPublicId();
+        Long getMaintenanceId();
+        PledgeStatus getStatus();
+    }
+}
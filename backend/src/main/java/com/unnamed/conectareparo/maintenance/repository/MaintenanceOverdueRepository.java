@@ -0,0 +1,30 @@
+package com.unnamed.conectareparo.maintenance.repository;
+
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based flagging of OPEN maintenances whose scheduled date has passed. Candidates are served by the
+ * partial index {@code idx_maintenance_overdue_candidates}, which flagged rows leave.
+ */
+public interface MaintenanceOverdueRepository extends Repository<Maintenance, Long> {
+
+    /**
+     * Locks the next chunk of unflagged overdue maintenances, oldest schedule first. Rows already locked by
+     * another node, or by a request that is changing them, are skipped instead of waited on.
+     */
+    @Query(value = "SELECT id FROM maintenance WHERE status = 'OPEN' AND overdue_since IS NULL AND scheduled_date < :cutoff " +
+            "ORDER BY scheduled_date, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockOverdueIds(@Param("cutoff") ZonedDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE maintenance SET overdue_since = :now, updated_at = :now WHERE id IN (:ids)", nativeQuery = true)
+    int flagOverdue(@Param("ids") Collection<Long> maintenanceIds, @Param("now") ZonedDateTime now);
+}
@@ -0,0 +1,15 @@
+package com.unnamed.conectareparo.maintenance.repository;
+
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceRecord;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads maintenances across the hot and archive tables. Read-only: there is no save or delete.
+ */
+public interface MaintenanceRecordRepository extends Repository<MaintenanceRecord, Long>, JpaSpecificationExecutor<MaintenanceRecord> {
+    Optional<MaintenanceRecord> findByPublicId(UUID publicId);
+}
@@ -1,21 +1,63 @@
 package com.unnamed.conectareparo.maintenance.repository;
 
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceCalendarEntryDto;
 import com.unnamed.conectareparo.maintenance.entity.Maintenance;
 import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * {@code description} is lazily loaded. Queries whose results are mapped to DTOs fetch it in the same
+ * statement through {@link #DETAILS}; the {@code Reference} lookups leave it out for callers that only
+ * attach children to a maintenance or check its status.
+ */
 @Repository
 public interface MaintenanceRepository extends JpaRepository<Maintenance, Long>, JpaSpecificationExecutor<Maintenance> {
+    String DETAILS = "description";
+
+    @EntityGraph(attributePaths = DETAILS)
     Optional<Maintenance> findByPublicId(UUID uuid);
+    Optional<Maintenance> findReferenceByPublicId(UUID uuid);
+    /**
+     * Reads the maintenance FOR UPDATE before a request closes it. {@code reject_child_of_closed_maintenance}
+     * waits on that lock, so it must be taken before the status changes, not after. Hibernate's pessimistic
+     * write lock is FOR NO KEY UPDATE on PostgreSQL, which the trigger does not wait on, hence the native query.
+     */
+    @Query(value = "SELECT * FROM maintenance WHERE public_id = :publicId FOR UPDATE", nativeQuery = true)
+    Optional<Maintenance> findForClosingByPublicId(@Param("publicId") UUID publicId);
+    @EntityGraph(attributePaths = DETAILS)
+    List<Maintenance> findAllByPublicIdIn(Collection<UUID> publicIds);
+    List<Maintenance> findAllReferencesByPublicIdIn(Collection<UUID> publicIds);
+    @EntityGraph(attributePaths = DETAILS)
     Page<Maintenance> findAll(Specification spec, Pageable pageable);
+    @EntityGraph(attributePaths = DETAILS)
     Page<Maintenance> findByStatusIn(List<MaintenanceStatus> status, Pageable pageable);
-}
\ No newline at end of file
+    long countByStatusIn(Collection<MaintenanceStatus> status);
+    @EntityGraph(attributePaths = DETAILS)
+    List<Maintenance> findAllByIdIn(Collection<Long> ids);
+    @EntityGraph(attributePaths = DETAILS)
+    List<Maintenance> findByIdGreaterThanOrderByIdAsc(long afterId, Limit limit);
+
+    /**
+     * Projects the maintenances scheduled inside {@code [start, end)} straight into calendar entries.
+     * Only columns covered by {@code idx_maintenance_scheduled_date} are selected, so PostgreSQL can
+     * answer with a single index range scan.
+     */
+    @Query("SELECT new com.unnamed.conectareparo.maintenance.dto.MaintenanceCalendarEntryDto(m.publicId, m.title, m.category, m.status, m.scheduledDate) " +
+            "FROM Maintenance m WHERE m.scheduledDate >= :start AND m.scheduledDate < :end ORDER BY m.scheduledDate")
+    List<MaintenanceCalendarEntryDto> findCalendarEntries(@Param("start") ZonedDateTime start, @Param("end") ZonedDateTime end);
+}
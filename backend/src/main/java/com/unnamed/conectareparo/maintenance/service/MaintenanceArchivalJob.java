@@ -0,0 +1,46 @@
+package com.unnamed.conectareparo.maintenance.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Periodically works off the archival backlog one chunk at a time. The job itself is not transactional:
+ * every chunk commits before the next one starts.
+ */
+@Component
+@EnableConfigurationProperties(MaintenanceArchivalProperties.class)
+@ConditionalOnProperty(prefix = "conectareparo.archival", name = "enabled", havingValue = "true")
+public class MaintenanceArchivalJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MaintenanceArchivalJob.class);
+
+    private final MaintenanceArchivalService maintenanceArchivalService;
+    private final MaintenanceArchivalProperties properties;
+
+    public MaintenanceArchivalJob(MaintenanceArchivalService maintenanceArchivalService, MaintenanceArchivalProperties properties) {
+        this.maintenanceArchivalService = maintenanceArchivalService;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${conectareparo.archival.cron:0 30 3 * * *}")
+    public void run() {
+        ZonedDateTime cutoff = ZonedDateTime.now().minus(properties.minAge());
+        int total = 0;
+        for (int chunk = 0; chunk < properties.maxChunks(); chunk++) {
+            int archived = maintenanceArchivalService.archiveChunk(cutoff, properties.chunkSize());
+            total += archived;
+            if (archived < properties.chunkSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} maintenances last updated before {}", total, cutoff);
+        }
+    }
+}
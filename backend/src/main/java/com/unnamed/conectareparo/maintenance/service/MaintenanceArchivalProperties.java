@@ -0,0 +1,25 @@
+package com.unnamed.conectareparo.maintenance.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for moving terminal maintenances into the archive tables.
+ *
+ * @param enabled Schedules the archival job when true.
+ * @param cron When the job runs.
+ * @param minAge How long a maintenance must have been COMPLETED or CANCELED before it is archived.
+ * @param chunkSize Maintenances moved per transaction, together with all of their children.
+ * @param maxChunks Upper bound of chunks per run, so a large backlog is worked off over several nights.
+ */
+@ConfigurationProperties(prefix = "conectareparo.archival")
+public record MaintenanceArchivalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0 30 3 * * *") String cron,
+        @DefaultValue("180d") Duration minAge,
+        @DefaultValue("200") int chunkSize,
+        @DefaultValue("100") int maxChunks
+) {
+}
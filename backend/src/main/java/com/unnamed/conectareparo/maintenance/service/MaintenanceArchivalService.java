@@ -0,0 +1,55 @@
+package com.unnamed.conectareparo.maintenance.service;
+
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceArchiveRepository;
+import com.unnamed.conectareparo.sync.service.SyncChangeLog;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Moves terminal maintenances and everything that hangs off them into the archive tables.
+ * Each call is its own short transaction over a bounded chunk, so row locks are released as soon as
+ * the chunk is copied and deleted instead of being held for the whole backlog.
+ */
+@Service
+public class MaintenanceArchivalService {
+
+    private final MaintenanceArchiveRepository maintenanceArchiveRepository;
+    private final SyncChangeLog syncChangeLog;
+
+    public MaintenanceArchivalService(MaintenanceArchiveRepository maintenanceArchiveRepository, SyncChangeLog syncChangeLog) {
+        this.maintenanceArchiveRepository = maintenanceArchiveRepository;
+        this.syncChangeLog = syncChangeLog;
+    }
+
+    /**
+     * Archives up to {@code chunkSize} maintenances that reached COMPLETED or CANCELED before {@code cutoff}.
+     *
+     * @param cutoff Only maintenances last updated before this instant are archived.
+     * @param chunkSize Maximum number of maintenances moved by this call.
+     * @return The number of maintenances archived; less than {@code chunkSize} once the backlog is empty.
+     * @throws IllegalArgumentException if the chunk size is not positive.
+     */
+    @Transactional
+    public int archiveChunk(ZonedDateTime cutoff, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Archival chunk size must be positive.");
+        }
+        List<Long> ids = maintenanceArchiveRepository.lockArchivableIds(cutoff, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        maintenanceArchiveRepository.copyMaintenances(ids);
+        maintenanceArchiveRepository.copyPledges(ids);
+        maintenanceArchiveRepository.copyActions(ids);
+        maintenanceArchiveRepository.copyMaterials(ids);
+        syncChangeLog.recordArchived(ids);
+        maintenanceArchiveRepository.deleteMaterials(ids);
+        maintenanceArchiveRepository.deleteActions(ids);
+        maintenanceArchiveRepository.deletePledges(ids);
+        maintenanceArchiveRepository.deleteMaintenances(ids);
+        return ids.size();
+    }
+}
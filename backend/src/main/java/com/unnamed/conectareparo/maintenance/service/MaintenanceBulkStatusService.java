@@ -0,0 +1,130 @@
+package com.unnamed.conectareparo.maintenance.service;
+
+import com.unnamed.conectareparo.maintenance.dto.BulkStatusOutcome;
+import com.unnamed.conectareparo.maintenance.dto.BulkStatusResponseDto;
+import com.unnamed.conectareparo.maintenance.dto.BulkStatusResultDto;
+import com.unnamed.conectareparo.maintenance.dto.BulkStatusUpdateDto;
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.maintenance.index.ActiveMaintenanceIndex;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceBulkStatusRepository;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceBulkStatusRepository.StatusRow;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceRepository;
+import com.unnamed.conectareparo.statustransition.entity.StatusEntityType;
+import com.unnamed.conectareparo.statustransition.service.StatusTransitionService;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.service.SyncChangeLog;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Moves many maintenances to one status with a handful of set-based statements instead of loading and
+ * flushing each entity. The transition rules of {@link Maintenance#changeStatus} become the set of statuses
+ * the UPDATE accepts, and closing a maintenance cancels its open pledges in the same transaction. Status
+ * history, the sync change log and the in-memory indexes are kept as a single update would keep them.
+ */
+@Service
+public class MaintenanceBulkStatusService {
+
+    private static final Set<MaintenanceStatus> CLOSED = EnumSet.of(MaintenanceStatus.COMPLETED, MaintenanceStatus.CANCELED);
+
+    private final MaintenanceBulkStatusRepository bulkStatusRepository;
+    private final MaintenanceRepository maintenanceRepository;
+    private final StatusTransitionService statusTransitionService;
+    private final SyncChangeLog syncChangeLog;
+    private final ActiveMaintenanceIndex activeMaintenanceIndex;
+    private final OpenPledgeCanceller openPledgeCanceller;
+
+    public MaintenanceBulkStatusService(MaintenanceBulkStatusRepository bulkStatusRepository,
+                                        MaintenanceRepository maintenanceRepository,
+                                        StatusTransitionService statusTransitionService, SyncChangeLog syncChangeLog,
+                                        ActiveMaintenanceIndex activeMaintenanceIndex, OpenPledgeCanceller openPledgeCanceller) {
+        this.bulkStatusRepository = bulkStatusRepository;
+        this.maintenanceRepository = maintenanceRepository;
+        this.statusTransitionService = statusTransitionService;
+        this.syncChangeLog = syncChangeLog;
+        this.activeMaintenanceIndex = activeMaintenanceIndex;
+        this.openPledgeCanceller = openPledgeCanceller;
+    }
+
+    /**
+     * Moves the given maintenances to one status. Maintenances the rules do not allow to move are left
+     * untouched and reported, the others change together. Moving to COMPLETED or CANCELED also cancels
+     * their OFFERED and PENDING pledges.
+     *
+     * @param request The maintenances and the status to move them to.
+     * @return One outcome per distinct id, in request order.
+     */
+    @Transactional
+    public BulkStatusResponseDto updateStatuses(BulkStatusUpdateDto request) {
+        MaintenanceStatus target = request.status();
+        Set<UUID> requested = new LinkedHashSet<>(request.ids());
+        Map<UUID, StatusRow> rows = new HashMap<>();
+        (CLOSED.contains(target) ? bulkStatusRepository.lockStatusesForClosing(requested) : bulkStatusRepository.lockStatuses(requested))
+                .forEach(row -> rows.put(row.getPublicId(), row));
+
+        Set<MaintenanceStatus> allowedFrom = EnumSet.noneOf(MaintenanceStatus.class);
+        for (MaintenanceStatus from : MaintenanceStatus.values()) {
+            if (from != target && Maintenance.statusChangeViolation(from, target) == null) {
+                allowedFrom.add(from);
+            }
+        }
+        Map<UUID, MaintenanceStatus> changed = new LinkedHashMap<>();
+        List<Long> changedIds = new ArrayList<>();
+        for (StatusRow row : rows.values()) {
+            if (allowedFrom.contains(row.getStatus())) {
+                changed.put(row.getPublicId(), row.getStatus());
+                changedIds.add(row.getId());
+            }
+        }
+
+        ZonedDateTime now = ZonedDateTime.now();
+        if (!changedIds.isEmpty()) {
+            int updated = bulkStatusRepository.updateStatuses(changedIds, allowedFrom.stream().map(Enum::name).toList(), target.name(), now);
+            if (updated != changedIds.size()) {
+                throw new IllegalStateException("Expected to update " + changedIds.size() + " maintenances but updated " + updated + ".");
+            }
+            statusTransitionService.recordChanges(StatusEntityType.MAINTENANCE, changed, target);
+            syncChangeLog.recordChanges(SyncEntityType.MAINTENANCE, changed.keySet());
+            if (activeMaintenanceIndex.isLoaded()) {
+                activeMaintenanceIndex.applyAfterCommit(maintenanceRepository.findAllByPublicIdIn(changed.keySet()));
+            }
+        }
+        Map<Long, Integer> canceledPerMaintenance = CLOSED.contains(target) && !changedIds.isEmpty()
+                ? openPledgeCanceller.cancelOpenPledges(changedIds, now)
+                : Map.of();
+
+        List<BulkStatusResultDto> results = new ArrayList<>(requested.size());
+        int canceledPledges = 0;
+        for (UUID id : requested) {
+            StatusRow row = rows.get(id);
+            if (row == null) {
+                results.add(new BulkStatusResultDto(id, BulkStatusOutcome.NOT_FOUND, null, null, 0, null));
+                continue;
+            }
+            MaintenanceStatus current = row.getStatus();
+            if (changed.containsKey(id)) {
+                int canceled = canceledPerMaintenance.getOrDefault(row.getId(), 0);
+                canceledPledges += canceled;
+                results.add(new BulkStatusResultDto(id, BulkStatusOutcome.UPDATED, current, target, canceled, null));
+            } else if (current == target) {
+                results.add(new BulkStatusResultDto(id, BulkStatusOutcome.UNCHANGED, current, current, 0, null));
+            } else {
+                results.add(new BulkStatusResultDto(id, BulkStatusOutcome.REJECTED, current, current, 0,
+                        Maintenance.statusChangeViolation(current, target)));
+            }
+        }
+        return new BulkStatusResponseDto(changed.size(), canceledPledges, results);
+    }
+}
@@ -1,22 +1,51 @@
 package com.unnamed.conectareparo.maintenance.service;
 
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceCalendarDayDto;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceCalendarEntryDto;
 import com.unnamed.conectareparo.maintenance.dto.MaintenanceDto;
 import com.unnamed.conectareparo.maintenance.dto.MaintenanceResponseDto;
 import com.unnamed.conectareparo.maintenance.dto.MaintenanceUpdateDto;
 import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceRecord;
 import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.maintenance.index.ActiveMaintenanceIndex;
 import com.unnamed.conectareparo.maintenance.mapper.MaintenanceMapper;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceRecordRepository;
 import com.unnamed.conectareparo.maintenance.repository.MaintenanceRepository;
 import com.unnamed.conectareparo.maintenance.specification.MaintenanceSpecification;
 import com.unnamed.conectareparo.common.exception.ResourceNotFoundException;
+import com.unnamed.conectareparo.common.fields.FieldSelection;
+import com.unnamed.conectareparo.common.fields.SparseFieldQueryExecutor;
+import com.unnamed.conectareparo.common.fields.SparseRow;
+import com.unnamed.conectareparo.common.pagination.CountKey;
+import com.unnamed.conectareparo.common.pagination.CountMode;
+import com.unnamed.conectareparo.common.pagination.PageQueryExecutor;
+import com.unnamed.conectareparo.common.pagination.PageResponse;
+import com.unnamed.conectareparo.statustransition.entity.StatusEntityType;
+import com.unnamed.conectareparo.statustransition.service.StatusTransitionService;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.service.SyncChangeLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service layer responsible for business logic related to Maintenance tasks.
@@ -27,12 +56,36 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class MaintenanceService {
 
+    /**
+     * Largest window accepted by {@link #getCalendar}. A month view with leading and trailing
+     * weeks spans at most 42 days; the extra room allows two-month layouts.
+     */
+    static final long MAX_CALENDAR_DAYS = 62;
+
     private final MaintenanceRepository maintenanceRepository;
+    private final MaintenanceRecordRepository maintenanceRecordRepository;
     private final MaintenanceMapper maintenanceMapper;
+    private final PageQueryExecutor pageQueryExecutor;
+    private final SparseFieldQueryExecutor sparseFieldQueryExecutor;
+    private final StatusTransitionService statusTransitionService;
+    private final SyncChangeLog syncChangeLog;
+    private final ActiveMaintenanceIndex activeMaintenanceIndex;
+    private final OpenPledgeCanceller openPledgeCanceller;
 
-    public MaintenanceService(MaintenanceRepository maintenanceRepository, MaintenanceMapper maintenanceMapper) {
+    public MaintenanceService(MaintenanceRepository maintenanceRepository, MaintenanceRecordRepository maintenanceRecordRepository,
+                              MaintenanceMapper maintenanceMapper, PageQueryExecutor pageQueryExecutor,
+                              SparseFieldQueryExecutor sparseFieldQueryExecutor, StatusTransitionService statusTransitionService,
+                              SyncChangeLog syncChangeLog, ActiveMaintenanceIndex activeMaintenanceIndex,
+                              OpenPledgeCanceller openPledgeCanceller) {
         this.maintenanceRepository = maintenanceRepository;
+        this.maintenanceRecordRepository = maintenanceRecordRepository;
         this.maintenanceMapper = maintenanceMapper;
+        this.pageQueryExecutor = pageQueryExecutor;
+        this.sparseFieldQueryExecutor = sparseFieldQueryExecutor;
+        this.statusTransitionService = statusTransitionService;
+        this.syncChangeLog = syncChangeLog;
+        this.activeMaintenanceIndex = activeMaintenanceIndex;
+        this.openPledgeCanceller = openPledgeCanceller;
     }
 
     /**
@@ -51,30 +104,80 @@ public class MaintenanceService {
                 maintenanceDTO.scheduledDate()
         );
         maintenanceRepository.save(maintenance);
+        statusTransitionService.recordCreation(StatusEntityType.MAINTENANCE, maintenance.getPublicId(),
+                maintenance.getStatus(), maintenance.getCreatedAt());
+        syncChangeLog.recordChange(SyncEntityType.MAINTENANCE, maintenance.getPublicId());
+        activeMaintenanceIndex.applyAfterCommit(maintenance);
         return maintenanceMapper.toResponseDto(maintenance);
     }
 
     /**
      * Retrieves a paginated list of all Maintenance tasks.
-     * This operation is performed in a read-only transaction for performance.
+     * Requests limited to active maintenances are answered by the {@link ActiveMaintenanceIndex} when it can.
+     * The method does not open a transaction of its own, so a request served from memory never takes a
+     * connection; database reads still run read-only.
      *
+     * @param includeArchived Also searches maintenances that were moved to the archive tables.
+     * @param countMode How the total number of matching maintenances is computed.
      * @param pageable The pagination information (page number, size, and sorting).
-     * @return A {@link Page} of DTOs representing the maintenance tasks.
+     * @return A {@link PageResponse} of DTOs representing the maintenance tasks.
      */
-    public Page<MaintenanceResponseDto> getAllMaintenances(String status, String category, String search, Pageable pageable) {
-        Specification<Maintenance> spec = Specification
-                .allOf(List.of(MaintenanceSpecification.hasStatus(status), MaintenanceSpecification.hasCategory(category), MaintenanceSpecification.searchByTerm(search)));
-        return maintenanceRepository.findAll(spec, pageable).map(maintenanceMapper::toResponseDto);
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public PageResponse<MaintenanceResponseDto> getAllMaintenances(String status, String category, String search, boolean includeArchived,
+                                                                   CountMode countMode, Pageable pageable) {
+        if (includeArchived) {
+            CountKey countKey = CountKey.of("maintenance", status, category, search, "archived");
+            return pageQueryExecutor.findAll(maintenanceRecordRepository, filters(status, category, search), pageable, countMode, countKey)
+                    .map(maintenanceMapper::fromRecord);
+        }
+        Optional<PageResponse<MaintenanceResponseDto>> indexed = activeMaintenanceIndex.find(status, category, search, pageable);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+        CountKey countKey = CountKey.of("maintenance", status, category, search);
+        return pageQueryExecutor.findAll(maintenanceRepository, filters(status, category, search), pageable, countMode, countKey,
+                        MaintenanceRepository.DETAILS)
+                .map(maintenanceMapper::toResponseDto);
+    }
+
+    /**
+     * Same as {@link #getAllMaintenances} but selects and returns only the requested fields, plus the id.
+     *
+     * @param fields Comma-separated names of {@link MaintenanceResponseDto} fields.
+     * @throws BadRequestException if a field does not exist.
+     */
+    public PageResponse<SparseRow> getMaintenanceFields(String fields, String status, String category, String search,
+                                                        boolean includeArchived, CountMode countMode, Pageable pageable) {
+        FieldSelection selection = MaintenanceMapper.SPARSE_FIELDS.select(fields);
+        if (includeArchived) {
+            CountKey countKey = CountKey.of("maintenance", status, category, search, "archived");
+            return sparseFieldQueryExecutor.findAll(MaintenanceRecord.class, maintenanceRecordRepository,
+                    filters(status, category, search), selection, pageable, countMode, countKey);
+        }
+        CountKey countKey = CountKey.of("maintenance", status, category, search);
+        return sparseFieldQueryExecutor.findAll(Maintenance.class, maintenanceRepository,
+                filters(status, category, search), selection, pageable, countMode, countKey);
+    }
+
+    private static <T> Specification<T> filters(String status, String category, String search) {
+        return Specification.allOf(List.of(
+                MaintenanceSpecification.hasStatus(status),
+                MaintenanceSpecification.hasCategory(category),
+                MaintenanceSpecification.searchByTerm(search)));
     }
 
     /**
      * Retrieves a single Maintenance task by its public ID.
      *
      * @param publicId The public UUID of the maintenance task to retrieve.
+     * @param includeArchived Also looks in the archive tables.
      * @return A DTO representing the requested maintenance task.
      * @throws ResourceNotFoundException if no maintenance task with the given public ID is found.
      */
-    public MaintenanceResponseDto getMaintenanceByPublicId(UUID publicId) {
+    public MaintenanceResponseDto getMaintenanceByPublicId(UUID publicId, boolean includeArchived) {
+        if (includeArchived) {
+            return maintenanceMapper.fromRecord(getMaintenanceRecordByPublicId(publicId));
+        }
         Maintenance maintenance = maintenanceRepository.findByPublicId(publicId)
                 .orElseThrow(() -> new ResourceNotFoundException("Maintenance not found"));
         return maintenanceMapper.toResponseDto(maintenance);
@@ -83,6 +186,8 @@ public class MaintenanceService {
     /**
      * Updates an existing Maintenance task with the provided data.
      * This method delegates the update logic to the rich domain model of the Maintenance entity.
+     * When the maintenance moves to COMPLETED or CANCELED, its OFFERED and PENDING pledges are canceled; it is
+     * then read FOR UPDATE, so that no pledge or action added concurrently commits after it is closed.
      * This operation is performed in a writable transaction.
      *
      * @param publicId The public UUID of the maintenance task to update.
@@ -93,17 +198,60 @@ public class MaintenanceService {
      */
     @Transactional
     public MaintenanceResponseDto updateMaintenance(UUID publicId, MaintenanceUpdateDto updateDto){
-        Maintenance maintenance = maintenanceRepository.findByPublicId(publicId)
+        boolean closing = updateDto.status() == MaintenanceStatus.COMPLETED || updateDto.status() == MaintenanceStatus.CANCELED;
+        Maintenance maintenance = (closing
+                ? maintenanceRepository.findForClosingByPublicId(publicId)
+                : maintenanceRepository.findByPublicId(publicId))
                 .orElseThrow(() -> new ResourceNotFoundException("Maintenance not found"));
         maintenance.updateDetails(
                 updateDto.title(),
                 updateDto.description(),
                 updateDto.category());
+        MaintenanceStatus previousStatus = maintenance.getStatus();
         maintenance.changeStatus(updateDto.status());
         Maintenance updatedMaintenance = maintenanceRepository.save(maintenance);
+        statusTransitionService.recordChange(StatusEntityType.MAINTENANCE, publicId, previousStatus, updatedMaintenance.getStatus());
+        syncChangeLog.recordChange(SyncEntityType.MAINTENANCE, publicId);
+        activeMaintenanceIndex.applyAfterCommit(updatedMaintenance);
+        if (closing && previousStatus != updatedMaintenance.getStatus()) {
+            openPledgeCanceller.cancelOpenPledges(List.of(updatedMaintenance.getId()), ZonedDateTime.now());
+        }
         return maintenanceMapper.toResponseDto(updatedMaintenance);
     }
 
+    /**
+     * Retrieves the maintenances scheduled between two calendar days (both inclusive), grouped by day.
+     * Days are resolved in the caller's time zone, so a maintenance at 01:00Z lands on the previous
+     * day for a caller in UTC-3. Only days that have at least one maintenance are returned.
+     *
+     * @param from The first calendar day of the window.
+     * @param to The last calendar day of the window.
+     * @param zone The time zone used to resolve day boundaries and to render scheduled dates.
+     * @return The non-empty days of the window in chronological order.
+     * @throws BadRequestException if the window is inverted or wider than {@value #MAX_CALENDAR_DAYS} days.
+     */
+    public List<MaintenanceCalendarDayDto> getCalendar(LocalDate from, LocalDate to, ZoneId zone) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("Calendar 'to' date must not be before 'from' date.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_DAYS) {
+            throw new BadRequestException("Calendar window must not exceed " + MAX_CALENDAR_DAYS + " days.");
+        }
+        ZonedDateTime start = from.atStartOfDay(zone);
+        ZonedDateTime end = to.plusDays(1).atStartOfDay(zone);
+
+        Map<LocalDate, List<MaintenanceCalendarEntryDto>> entriesByDay = new LinkedHashMap<>();
+        for (MaintenanceCalendarEntryDto entry : maintenanceRepository.findCalendarEntries(start, end)) {
+            ZonedDateTime localScheduledDate = entry.scheduledDate().withZoneSameInstant(zone);
+            entriesByDay.computeIfAbsent(localScheduledDate.toLocalDate(), day -> new ArrayList<>())
+                    .add(new MaintenanceCalendarEntryDto(entry.id(), entry.title(), entry.category(), entry.status(), localScheduledDate));
+        }
+
+        List<MaintenanceCalendarDayDto> days = new ArrayList<>(entriesByDay.size());
+        entriesByDay.forEach((day, entries) -> days.add(new MaintenanceCalendarDayDto(day, entries.size(), entries)));
+        return days;
+    }
+
     public Page<MaintenanceResponseDto> getActiveMaintenances(){
         List<MaintenanceStatus> statusFilters = List.of(
                 MaintenanceStatus.OPEN,
@@ -119,13 +267,55 @@ public class MaintenanceService {
      * Retrieves the raw {@link Maintenance} entity by its public ID.
      * This method is intended for internal use by other services within the same package
      * that need to work with the entity itself (e.g., for establishing relationships).
+     * The description is not loaded until it is read.
      *
      * @param publicId The public UUID of the maintenance entity to retrieve.
      * @return The raw {@link Maintenance} entity.
      * @throws ResourceNotFoundException if no maintenance task with the given public ID is found.
      */
     public Maintenance getMaintenanceEntityByPublicId(UUID publicId) {
-        return maintenanceRepository.findByPublicId(publicId)
+        return maintenanceRepository.findReferenceByPublicId(publicId)
+                .orElseThrow(() -> new ResourceNotFoundException("Maintenance not found"));
+    }
+
+    /**
+     * Retrieves the raw {@link Maintenance} entities for a set of public IDs in a single query.
+     * IDs without a matching maintenance are simply absent from the result.
+     *
+     * @param publicIds The public UUIDs of the maintenance entities to retrieve.
+     * @return The found entities, keyed by public ID.
+     */
+    public Map<UUID, Maintenance> getMaintenanceEntitiesByPublicIds(Collection<UUID> publicIds) {
+        return maintenanceRepository.findAllReferencesByPublicIdIn(publicIds).stream()
+                .collect(Collectors.toMap(Maintenance::getPublicId, Function.identity()));
+    }
+
+    /**
+     * Retrieves the maintenances with the given public IDs in a single query. IDs without a maintenance in the
+     * hot table are skipped.
+     *
+     * @param publicIds The public UUIDs to look up.
+     * @return DTOs of the found maintenances, in no particular order.
+     */
+    public List<MaintenanceResponseDto> getMaintenancesByPublicIds(Collection<UUID> publicIds) {
+        if (publicIds.isEmpty()) {
+            return List.of();
+        }
+        return maintenanceRepository.findAllByPublicIdIn(publicIds).stream()
+                .map(maintenanceMapper::toResponseDto)
+                .toList();
+    }
+
+    /**
+     * Retrieves the read-only {@link MaintenanceRecord} for a public ID, whether the maintenance is still
+     * in the hot table or has been archived.
+     *
+     * @param publicId The public UUID of the maintenance.
+     * @return The maintenance record.
+     * @throws ResourceNotFoundException if no maintenance with the given public ID exists in either table.
+     */
+    public MaintenanceRecord getMaintenanceRecordByPublicId(UUID publicId) {
+        return maintenanceRecordRepository.findByPublicId(publicId)
                 .orElseThrow(() -> new ResourceNotFoundException("Maintenance not found"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+package com.unnamed.conectareparo.maintenance.service;
+
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceBulkStatusRepository;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceBulkStatusRepository.PledgeStatusRow;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import com.unnamed.conectareparo.pledge.matching.MaterialPledgeIndex;
+import com.unnamed.conectareparo.statustransition.entity.StatusEntityType;
+import com.unnamed.conectareparo.statustransition.service.StatusTransitionService;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.service.SyncChangeLog;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cancels the OFFERED and PENDING pledges of closed maintenances, keeping the status history, the sync change
+ * log and the material index in step.
+ * <p>
+ * Callers lock the maintenances FOR UPDATE before changing their status. A pledge checked by
+ * {@code reject_child_of_closed_maintenance} before that lock was granted has committed by the time the open
+ * pledges are read, and one checked after it waits for the closing transaction and is rejected, so none is
+ * left open. Taken after the status UPDATE, the lock would not wait for the earlier pledges.
+ */
+@Service
+public class OpenPledgeCanceller {
+
+    private final MaintenanceBulkStatusRepository bulkStatusRepository;
+    private final StatusTransitionService statusTransitionService;
+    private final SyncChangeLog syncChangeLog;
+    private final MaterialPledgeIndex materialPledgeIndex;
+
+    public OpenPledgeCanceller(MaintenanceBulkStatusRepository bulkStatusRepository,
+                               StatusTransitionService statusTransitionService, SyncChangeLog syncChangeLog,
+                               MaterialPledgeIndex materialPledgeIndex) {
+        this.bulkStatusRepository = bulkStatusRepository;
+        this.statusTransitionService = statusTransitionService;
+        this.syncChangeLog = syncChangeLog;
+        this.materialPledgeIndex = materialPledgeIndex;
+    }
+
+    /**
+     * Cancels the open pledges of the given maintenances in the caller's transaction, which must have locked
+     * them FOR UPDATE before closing them.
+     *
+     * @param maintenanceIds The internal ids of the closed maintenances.
+     * @param now The time recorded as the pledges' update time.
+     * @return The number of cancelled pledges per maintenance id; maintenances without any are absent.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, Integer> cancelOpenPledges(Collection<Long> maintenanceIds, ZonedDateTime now) {
+        Map<Long, Integer> canceledPerMaintenance = new HashMap<>();
+        List<PledgeStatusRow> pledges = bulkStatusRepository.lockOpenPledges(maintenanceIds);
+        if (pledges.isEmpty()) {
+            return canceledPerMaintenance;
+        }
+        Map<UUID, PledgeStatus> previous = new LinkedHashMap<>();
+        List<Long> pledgeIds = new ArrayList<>(pledges.size());
+        for (PledgeStatusRow pledge : pledges) {
+            previous.put(pledge.getPublicId(), pledge.getStatus());
+            pledgeIds.add(pledge.getId());
+            canceledPerMaintenance.merge(pledge.getMaintenanceId(), 1, Integer::sum);
+        }
+        bulkStatusRepository.cancelPledges(pledgeIds, now);
+        statusTransitionService.recordChanges(StatusEntityType.PLEDGE, previous, PledgeStatus.CANCELED);
+        syncChangeLog.recordChanges(SyncEntityType.PLEDGE, previous.keySet());
+        materialPledgeIndex.removeAfterCommit(List.copyOf(previous.keySet()));
+        return canceledPerMaintenance;
+    }
+}
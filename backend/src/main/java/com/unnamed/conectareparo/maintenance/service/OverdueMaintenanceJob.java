@@ -0,0 +1,65 @@
+package com.unnamed.conectareparo.maintenance.service;
+
+import com.unnamed.conectareparo.common.housekeeping.HousekeepingJob;
+import com.unnamed.conectareparo.common.housekeeping.HousekeepingProperties;
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.index.ActiveMaintenanceIndex;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceOverdueRepository;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceRepository;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.service.SyncChangeLog;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Sets {@code overdueSince} on OPEN maintenances still waiting more than
+ * {@link HousekeepingProperties#overdueGrace()} after their scheduled date. The flag stays once set, also
+ * when the maintenance is picked up later. Sync clients and the active-maintenance index see the change
+ * like any other update.
+ */
+@Component
+@EnableConfigurationProperties(HousekeepingProperties.class)
+public class OverdueMaintenanceJob implements HousekeepingJob {
+
+    private final MaintenanceOverdueRepository maintenanceOverdueRepository;
+    private final MaintenanceRepository maintenanceRepository;
+    private final SyncChangeLog syncChangeLog;
+    private final ActiveMaintenanceIndex activeMaintenanceIndex;
+    private final HousekeepingProperties properties;
+
+    public OverdueMaintenanceJob(MaintenanceOverdueRepository maintenanceOverdueRepository, MaintenanceRepository maintenanceRepository,
+                                 SyncChangeLog syncChangeLog, ActiveMaintenanceIndex activeMaintenanceIndex,
+                                 HousekeepingProperties properties) {
+        this.maintenanceOverdueRepository = maintenanceOverdueRepository;
+        this.maintenanceRepository = maintenanceRepository;
+        this.syncChangeLog = syncChangeLog;
+        this.activeMaintenanceIndex = activeMaintenanceIndex;
+        this.properties = properties;
+    }
+
+    @Override
+    public String name() {
+        return "flag-overdue-maintenances";
+    }
+
+    @Override
+    @Transactional
+    public int runChunk(int chunkSize) {
+        ZonedDateTime now = ZonedDateTime.now();
+        List<Long> ids = maintenanceOverdueRepository.lockOverdueIds(now.minus(properties.overdueGrace()), chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        maintenanceOverdueRepository.flagOverdue(ids, now);
+        List<Maintenance> flagged = maintenanceRepository.findAllByIdIn(ids);
+        syncChangeLog.recordChanges(SyncEntityType.MAINTENANCE, flagged.stream().map(Maintenance::getPublicId).toList());
+        if (activeMaintenanceIndex.isLoaded()) {
+            activeMaintenanceIndex.applyAfterCommit(flagged);
+        }
+        return ids.size();
+    }
+}
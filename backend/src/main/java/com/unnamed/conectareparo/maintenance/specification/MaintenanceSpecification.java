@@ -1,15 +1,17 @@
 package com.unnamed.conectareparo.maintenance.specification;
 
-import com.unnamed.conectareparo.maintenance.entity.Maintenance;
 import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
 import org.springframework.data.jpa.domain.Specification;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+/**
+ * Filters shared by {@link com.unnamed.conectareparo.maintenance.entity.Maintenance} and
+ * {@link com.unnamed.conectareparo.maintenance.entity.MaintenanceRecord}, which expose the same attributes.
+ */
 public class MaintenanceSpecification {
 
-    public static Specification<Maintenance> hasStatus(String status) {
+    public static <T> Specification<T> hasStatus(String status) {
         return (root, query, cb) -> {
             if (status == null || status.equalsIgnoreCase("all")) {
                 return null;
@@ -33,7 +35,7 @@ public class MaintenanceSpecification {
         };
     }
 
-    public static Specification<Maintenance> searchByTerm(String search) {
+    public static <T> Specification<T> searchByTerm(String search) {
         return (root, query, cb) -> {
             if (search == null || search.trim().isEmpty()) {
                 return null;
@@ -49,7 +51,7 @@ public class MaintenanceSpecification {
         };
     }
 
-    public static Specification<Maintenance> hasCategory(String category) {
+    public static <T> Specification<T> hasCategory(String category) {
         return (root, query, cb) -> {
             if (category == null || category.isEmpty()) {
                 return null;
@@ -58,16 +60,7 @@ public class MaintenanceSpecification {
         };
     }
 
-    public static Specification<Maintenance> scheduledBetween(LocalDate startDate, LocalDate endDate) {
-        return (root, query, cb) -> {
-            if (startDate == null || endDate == null) {
-                return null;
-            }
-            return cb.between(root.get("scheduledDate"), startDate, endDate);
-        };
-    }
-
-    public static Specification<Maintenance> createdAfter(LocalDateTime date) {
+    public static <T> Specification<T> createdAfter(LocalDateTime date) {
         return (root, query, cb) -> {
             if (date == null) {
                 return null;
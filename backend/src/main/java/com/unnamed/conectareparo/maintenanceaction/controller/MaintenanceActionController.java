@@ -23,7 +23,7 @@ import java.util.List;
 import java.util.UUID;
 
 @RestController
-@RequestMapping("/api/v1/maintenances/{maintenancePublicId}/actions")
+@RequestMapping("/api/v1")
 @Tag(name = "Maintenance Action", description = "Endpoints for managing maintenance actions")
 public class MaintenanceActionController {
 
@@ -45,7 +45,7 @@ public class MaintenanceActionController {
             array = @ArraySchema(schema = @Schema(implementation = MaintenanceActionResponseDto.class))
         )
     )
-    @GetMapping("/api/v1/actions")
+    @GetMapping("/actions")
     public ResponseEntity<List<MaintenanceActionResponseDto>> getAllActions() {
         List<MaintenanceActionResponseDto> actionsList = maintenanceActionService.getAllActions();
         return ResponseEntity.ok(actionsList);
@@ -73,7 +73,7 @@ public class MaintenanceActionController {
             )
         ),
     })
-    @PostMapping
+    @PostMapping("/maintenances/{maintenancePublicId}/actions")
     public ResponseEntity<MaintenanceActionResponseDto> createMaintenanceAction(
             @PathVariable UUID maintenancePublicId,
             @Valid @RequestBody MaintenanceActionDto maintenanceActionDto) {
@@ -88,7 +88,8 @@ public class MaintenanceActionController {
 
     @Operation(
         summary = "Retrieves maintenance actions for a specific maintenance ID.",
-        description = "Fetches a list of actions associated with the given maintenance ID."
+        description = "Fetches a list of actions associated with the given maintenance ID. " +
+                "Set includeArchived to also list the actions of an archived maintenance."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -117,15 +118,18 @@ public class MaintenanceActionController {
         ),
 
     })
-    @GetMapping
-    public ResponseEntity<List<MaintenanceActionResponseDto>> getMaintenanceActions(@PathVariable UUID maintenancePublicId) {
-        List<MaintenanceActionResponseDto> actionsList = maintenanceActionService.getMaintenanceActions(maintenancePublicId);
+    @GetMapping("/maintenances/{maintenancePublicId}/actions")
+    public ResponseEntity<List<MaintenanceActionResponseDto>> getMaintenanceActions(
+            @PathVariable UUID maintenancePublicId,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<MaintenanceActionResponseDto> actionsList = maintenanceActionService.getMaintenanceActions(maintenancePublicId, includeArchived);
         return ResponseEntity.ok(actionsList);
     }
 
     @Operation(
         summary = "Retrieves a specific maintenance action by its ID.",
-        description = "Fetches the details of a specific action using its public UUID within a maintenance."
+        description = "Fetches the details of a specific action using its public UUID within a maintenance. " +
+                "Set includeArchived to also find actions of an archived maintenance."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -154,11 +158,12 @@ public class MaintenanceActionController {
         ),
 
     })
-    @GetMapping("/{actionPublicId}")
+    @GetMapping("/maintenances/{maintenancePublicId}/actions/{actionPublicId}")
     public ResponseEntity<MaintenanceActionResponseDto> getSingleMaintenanceAction(
             @PathVariable UUID maintenancePublicId,
-            @PathVariable UUID actionPublicId) {
-        MaintenanceActionResponseDto actionDto = maintenanceActionService.getSingleMaintenanceAction(maintenancePublicId, actionPublicId);
+            @PathVariable UUID actionPublicId,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        MaintenanceActionResponseDto actionDto = maintenanceActionService.getSingleMaintenanceAction(maintenancePublicId, actionPublicId, includeArchived);
         return ResponseEntity.ok(actionDto);
     }
 
@@ -192,7 +197,7 @@ public class MaintenanceActionController {
             )
         ),
     })
-    @PutMapping("/{actionPublicId}")
+    @PutMapping("/maintenances/{maintenancePublicId}/actions/{actionPublicId}")
     public ResponseEntity<MaintenanceActionResponseDto> updateMaintenanceAction(
             @PathVariable UUID maintenancePublicId,
             @PathVariable UUID actionPublicId,
@@ -1,5 +1,6 @@
 package com.unnamed.conectareparo.maintenanceaction.entity;
 
+import com.unnamed.conectareparo.common.id.PublicIds;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
@@ -25,6 +26,12 @@ public class ActionMaterial {
     @JoinColumn(name = "maintenance_action_id")
     private MaintenanceAction maintenanceAction;
 
+    /**
+     * The action's creation time, which completes the foreign key to the partitioned {@code maintenance_action}.
+     */
+    @Column(name = "maintenance_action_created_at")
+    private ZonedDateTime maintenanceActionCreatedAt;
+
     @Column(name = "item_name")
     private String itemName;
 
@@ -44,7 +51,7 @@ public class ActionMaterial {
     }
 
     public ActionMaterial(String itemName, BigDecimal quantity, String unitOfMeasure) {
-        this.publicId = UUID.randomUUID();
+        this.publicId = PublicIds.next();
         this.itemName = itemName;
         this.quantity = quantity;
         this.unitOfMeasure = unitOfMeasure;
@@ -92,6 +99,7 @@ public class ActionMaterial {
 
     protected void setMaintenanceAction(MaintenanceAction maintenanceAction) {
         this.maintenanceAction = maintenanceAction;
+        this.maintenanceActionCreatedAt = maintenanceAction.getCreatedAt();
     }
 
     @PreUpdate
@@ -0,0 +1,77 @@
+package com.unnamed.conectareparo.maintenanceaction.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only view of a material from either the hot {@code action_material} table or
+ * {@code action_material_archive}.
+ */
+@Entity
+@Immutable
+@Subselect("""
+        SELECT am.id, am.public_id, am.maintenance_action_id, am.item_name, am.quantity, am.unit_of_measure,
+               am.created_at, am.updated_at
+        FROM action_material am
+        UNION ALL
+        SELECT a.id, a.public_id, a.maintenance_action_id, a.item_name, a.quantity, a.unit_of_measure,
+               a.created_at, a.updated_at
+        FROM action_material_archive a
+        """)
+@Synchronize({"action_material", "action_material_archive"})
+public class ActionMaterialRecord {
+
+    @Id
+    private Long id;
+
+    @Column(name = "public_id")
+    private UUID publicId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "maintenance_action_id")
+    private MaintenanceActionRecord maintenanceAction;
+
+    @Column(name = "item_name")
+    private String itemName;
+
+    @Column(name = "quantity")
+    private BigDecimal quantity;
+
+    @Column(name = "unit_of_measure")
+    private String unitOfMeasure;
+
+    @Column(name = "created_at")
+    private ZonedDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private ZonedDateTime updatedAt;
+
+    protected ActionMaterialRecord() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getPublicId() {
+        return publicId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public BigDecimal getQuantity() {
+        return quantity;
+    }
+
+    public String getUnitOfMeasure() {
+        return unitOfMeasure;
+    }
+}
@@ -1,5 +1,6 @@
 package com.unnamed.conectareparo.maintenanceaction.entity;
 
+import com.unnamed.conectareparo.common.id.PublicIds;
 import com.unnamed.conectareparo.maintenance.entity.Maintenance;
 import jakarta.persistence.*;
 
@@ -43,6 +44,7 @@ public class MaintenanceAction {
     private String executedBy;
     private ZonedDateTime startDate;
     private ZonedDateTime completionDate;
+    @Basic(fetch = FetchType.LAZY)
     private String actionDescription;
 
     @Enumerated(EnumType.STRING)
@@ -59,15 +61,26 @@ public class MaintenanceAction {
     }
 
     public MaintenanceAction(Maintenance maintenance, String executedBy, ZonedDateTime startDate, ZonedDateTime completionDate, String actionDescription, ActionStatus outcomeStatus) {
-        this.publicId = UUID.randomUUID();
+        this.publicId = PublicIds.next();
         this.maintenance = maintenance;
         this.executedBy = executedBy;
         this.startDate = startDate;
         this.completionDate = completionDate;
         this.actionDescription = actionDescription;
         this.outcomeStatus = outcomeStatus;
-        this.createdAt = ZonedDateTime.now();
-        this.updatedAt = ZonedDateTime.now();
+        this.createdAt = notBeforeMaintenance(ZonedDateTime.now(), maintenance);
+        this.updatedAt = this.createdAt;
+    }
+
+    /**
+     * An action is never dated before its maintenance, even when application clocks drift apart.
+     * {@code MaintenanceActionRepository} relies on this to bound {@code created_at} from below and skip older partitions.
+     */
+    private static ZonedDateTime notBeforeMaintenance(ZonedDateTime createdAt, Maintenance maintenance) {
+        if (maintenance == null || maintenance.getCreatedAt() == null) {
+            return createdAt;
+        }
+        return createdAt.isBefore(maintenance.getCreatedAt()) ? maintenance.getCreatedAt() : createdAt;
     }
 
     public List<ActionMaterial> getMaterialsUsed() {
@@ -135,7 +148,7 @@ public class MaintenanceAction {
 
     public void updateMaterialsUsed(List<ActionMaterial> newMaterials) {
         this.materialsUsed.clear();
-        this.materialsUsed.addAll(newMaterials);
+        newMaterials.forEach(this::addMaterial);
     }
 
     @PreUpdate
@@ -0,0 +1,113 @@
+package com.unnamed.conectareparo.maintenanceaction.entity;
+
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceRecord;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read-only view of a maintenance action from either the hot {@code maintenance_action} table or
+ * {@code maintenance_action_archive}. Used only by the {@code includeArchived} read path; every write goes
+ * through {@link MaintenanceAction}.
+ */
+@Entity
+@Immutable
+@Subselect("""
+        SELECT ma.id, ma.public_id, ma.maintenance_id, ma.executed_by, ma.start_date, ma.completion_date,
+               ma.action_description, ma.outcome_status, ma.created_at, ma.updated_at, FALSE AS archived
+        FROM maintenance_action ma
+        UNION ALL
+        SELECT a.id, a.public_id, a.maintenance_id, a.executed_by, a.start_date, a.completion_date,
+               a.action_description, a.outcome_status, a.created_at, a.updated_at, TRUE AS archived
+        FROM maintenance_action_archive a
+        """)
+@Synchronize({"maintenance_action", "maintenance_action_archive"})
+public class MaintenanceActionRecord {
+
+    @Id
+    private Long id;
+
+    @Column(name = "public_id")
+    private UUID publicId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "maintenance_id")
+    private MaintenanceRecord maintenance;
+
+    @OneToMany(mappedBy = "maintenanceAction")
+    private List<ActionMaterialRecord> materialsUsed = new ArrayList<>();
+
+    @Column(name = "executed_by")
+    private String executedBy;
+    @Column(name = "start_date")
+    private ZonedDateTime startDate;
+    @Column(name = "completion_date")
+    private ZonedDateTime completionDate;
+    @Column(name = "action_description")
+    private String actionDescription;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "outcome_status")
+    private ActionStatus outcomeStatus;
+
+    @Column(name = "created_at")
+    private ZonedDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private ZonedDateTime updatedAt;
+
+    private boolean archived;
+
+    protected MaintenanceActionRecord() {
+    }
+
+    public List<ActionMaterialRecord> getMaterialsUsed() {
+        return materialsUsed;
+    }
+
+    public UUID getPublicId() {
+        return publicId;
+    }
+
+    public MaintenanceRecord getMaintenance() {
+        return maintenance;
+    }
+
+    public String getExecutedBy() {
+        return executedBy;
+    }
+
+    public ZonedDateTime getStartDate() {
+        return startDate;
+    }
+
+    public ZonedDateTime getCompletionDate() {
+        return completionDate;
+    }
+
+    public String getActionDescription() {
+        return actionDescription;
+    }
+
+    public ActionStatus getOutcomeStatus() {
+        return outcomeStatus;
+    }
+
+    public ZonedDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public ZonedDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+}
@@ -1,12 +1,15 @@
 package com.unnamed.conectareparo.maintenanceaction.mapper;
 
 import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceRecord;
 import com.unnamed.conectareparo.maintenanceaction.dto.MaintenanceActionDto;
 import com.unnamed.conectareparo.maintenanceaction.dto.MaintenanceActionResponseDto;
 import com.unnamed.conectareparo.maintenanceaction.dto.MaterialDto;
 import com.unnamed.conectareparo.maintenanceaction.dto.MaterialResponseDto;
 import com.unnamed.conectareparo.maintenanceaction.entity.ActionMaterial;
+import com.unnamed.conectareparo.maintenanceaction.entity.ActionMaterialRecord;
 import com.unnamed.conectareparo.maintenanceaction.entity.MaintenanceAction;
+import com.unnamed.conectareparo.maintenanceaction.entity.MaintenanceActionRecord;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -42,6 +45,33 @@ public class MaintenanceActionMapper {
         );
     }
 
+    public MaintenanceActionResponseDto fromRecord(MaintenanceActionRecord action) {
+        if (action == null) {
+            return null;
+        }
+
+        List<MaterialResponseDto> materialDtos = action.getMaterialsUsed()
+                .stream()
+                .map(this::fromMaterialRecord)
+                .collect(Collectors.toList());
+
+        MaintenanceRecord maintenance = action.getMaintenance();
+
+        return new MaintenanceActionResponseDto(
+                action.getPublicId(),
+                maintenance != null ? maintenance.getPublicId() : null,
+                maintenance != null ? maintenance.getTitle() : null,
+                action.getExecutedBy(),
+                action.getStartDate(),
+                action.getCompletionDate(),
+                action.getActionDescription(),
+                materialDtos,
+                action.getOutcomeStatus(),
+                action.getCreatedAt(),
+                action.getUpdatedAt()
+        );
+    }
+
     public MaintenanceAction toEntity(MaintenanceActionDto dto, Maintenance maintenance) {
         if (dto == null) {
             return null;
@@ -75,6 +105,15 @@ public class MaintenanceActionMapper {
         );
     }
 
+    public MaterialResponseDto fromMaterialRecord(ActionMaterialRecord material) {
+        return new MaterialResponseDto(
+                material.getPublicId(),
+                material.getItemName(),
+                material.getQuantity(),
+                material.getUnitOfMeasure()
+        );
+    }
+
     public ActionMaterial toMaterialEntity(MaterialDto materialDto) {
         return new ActionMaterial(
                 materialDto.itemName(),
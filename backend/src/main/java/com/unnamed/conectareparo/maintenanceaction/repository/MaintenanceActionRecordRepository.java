@@ -0,0 +1,24 @@
+package com.unnamed.conectareparo.maintenanceaction.repository;
+
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceRecord;
+import com.unnamed.conectareparo.maintenanceaction.entity.MaintenanceActionRecord;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads maintenance actions across the hot and archive tables. Read-only: there is no save or delete.
+ */
+public interface MaintenanceActionRecordRepository extends Repository<MaintenanceActionRecord, Long> {
+    @Query("SELECT ma FROM MaintenanceActionRecord ma LEFT JOIN FETCH ma.materialsUsed WHERE ma.maintenance = :maintenance ORDER BY ma.createdAt DESC")
+    List<MaintenanceActionRecord> findAllByMaintenanceWithMaterials(@Param("maintenance") MaintenanceRecord maintenance);
+
+    @Query("SELECT ma FROM MaintenanceActionRecord ma LEFT JOIN FETCH ma.materialsUsed WHERE ma.maintenance = :maintenance AND ma.publicId = :actionPublicId")
+    Optional<MaintenanceActionRecord> findByMaintenanceAndActionPublicId(
+            @Param("maintenance") MaintenanceRecord maintenance,
+            @Param("actionPublicId") UUID actionPublicId);
+}
@@ -2,25 +2,91 @@ package com.unnamed.conectareparo.maintenanceaction.repository;
 
 import com.unnamed.conectareparo.maintenance.entity.Maintenance;
 import com.unnamed.conectareparo.maintenanceaction.entity.MaintenanceAction;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * {@code action_description} is lazily loaded; every query here returns actions that are mapped to DTOs,
+ * so each one fetches it in the same statement through {@link #DETAILS}.
+ * <p>
+ * {@code maintenance_action} is range-partitioned by month on {@code created_at}. Lookups scoped to a
+ * maintenance pass {@link Maintenance#getActionsNotBefore()} as a lower bound, which no action of it predates,
+ * so PostgreSQL only visits the partitions from that month on. A maintenance without the bound, such as one
+ * built outside the persistence context, gives none, and its lookups read every partition.
+ */
 @Repository
 public interface MaintenanceActionRepository extends JpaRepository<MaintenanceAction, Long> {
-    @Query("SELECT ma FROM MaintenanceAction ma LEFT JOIN FETCH ma.materialsUsed WHERE ma.maintenance = :maintenance ORDER BY ma.createdAt DESC")
-    List<MaintenanceAction> findAllByMaintenanceWithMaterials(@Param("maintenance") Maintenance maintenance);
+    String DETAILS = "actionDescription";
 
-    @Query("SELECT ma FROM MaintenanceAction ma LEFT JOIN FETCH ma.materialsUsed WHERE ma.maintenance = :maintenance AND ma.publicId = :actionPublicId")
+    @EntityGraph(attributePaths = DETAILS)
+    @Query("SELECT ma FROM MaintenanceAction ma LEFT JOIN FETCH ma.materialsUsed " +
+            "WHERE ma.maintenance = :maintenance AND ma.createdAt >= :notBefore ORDER BY ma.createdAt DESC")
+    List<MaintenanceAction> findAllByMaintenanceWithMaterials(
+            @Param("maintenance") Maintenance maintenance,
+            @Param("notBefore") ZonedDateTime notBefore);
+
+    @EntityGraph(attributePaths = DETAILS)
+    @Query("SELECT ma FROM MaintenanceAction ma LEFT JOIN FETCH ma.materialsUsed " +
+            "WHERE ma.maintenance = :maintenance ORDER BY ma.createdAt DESC")
+    List<MaintenanceAction> findAllByMaintenanceWithMaterialsUnbounded(@Param("maintenance") Maintenance maintenance);
+
+    default List<MaintenanceAction> findAllByMaintenanceWithMaterials(Maintenance maintenance) {
+        if (maintenance.getActionsNotBefore() == null) {
+            return findAllByMaintenanceWithMaterialsUnbounded(maintenance);
+        }
+        return findAllByMaintenanceWithMaterials(maintenance, maintenance.getActionsNotBefore());
+    }
+
+    @EntityGraph(attributePaths = DETAILS)
+    @Query("SELECT ma FROM MaintenanceAction ma LEFT JOIN FETCH ma.materialsUsed " +
+            "WHERE ma.maintenance = :maintenance AND ma.publicId = :actionPublicId AND ma.createdAt >= :notBefore")
     Optional<MaintenanceAction> findByMaintenanceAndActionPublicId(
+            @Param("maintenance") Maintenance maintenance,
+            @Param("actionPublicId") UUID actionPublicId,
+            @Param("notBefore") ZonedDateTime notBefore);
+
+    @EntityGraph(attributePaths = DETAILS)
+    @Query("SELECT ma FROM MaintenanceAction ma LEFT JOIN FETCH ma.materialsUsed " +
+            "WHERE ma.maintenance = :maintenance AND ma.publicId = :actionPublicId")
+    Optional<MaintenanceAction> findByMaintenanceAndActionPublicIdUnbounded(
             @Param("maintenance") Maintenance maintenance,
             @Param("actionPublicId") UUID actionPublicId);
 
-    @Query("SELECT ma FROM MaintenanceAction ma LEFT JOIN FETCH ma.materialsUsed ORDER BY ma.createdAt DESC")
+    default Optional<MaintenanceAction> findByMaintenanceAndActionPublicId(Maintenance maintenance, UUID actionPublicId) {
+        if (maintenance.getActionsNotBefore() == null) {
+            return findByMaintenanceAndActionPublicIdUnbounded(maintenance, actionPublicId);
+        }
+        return findByMaintenanceAndActionPublicId(maintenance, actionPublicId, maintenance.getActionsNotBefore());
+    }
+
+    @EntityGraph(attributePaths = DETAILS)
+    @Query("SELECT ma FROM MaintenanceAction ma JOIN FETCH ma.maintenance LEFT JOIN FETCH ma.materialsUsed ORDER BY ma.createdAt DESC")
     List<MaintenanceAction> findAllWithMaterials();
-}
\ No newline at end of file
+
+    @EntityGraph(attributePaths = DETAILS)
+    @Query("SELECT DISTINCT ma FROM MaintenanceAction ma JOIN FETCH ma.maintenance LEFT JOIN FETCH ma.materialsUsed " +
+            "WHERE ma.publicId IN :publicIds")
+    List<MaintenanceAction> findAllWithMaterialsByPublicIdIn(@Param("publicIds") Collection<UUID> publicIds);
+
+    /**
+     * Pages through the ids of all actions in id order. Fetching the materials in the same statement would
+     * make Hibernate apply the limit in memory, so callers load each page with {@link #findAllWithMaterialsByIdIn}.
+     */
+    @Query("SELECT ma.id FROM MaintenanceAction ma WHERE ma.id > :afterId ORDER BY ma.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = DETAILS)
+    @Query("SELECT DISTINCT ma FROM MaintenanceAction ma JOIN FETCH ma.maintenance LEFT JOIN FETCH ma.materialsUsed " +
+            "WHERE ma.id IN :ids")
+    List<MaintenanceAction> findAllWithMaterialsByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -1,20 +1,28 @@
 package com.unnamed.conectareparo.maintenanceaction.service;
 
 import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceRecord;
 import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
 import com.unnamed.conectareparo.maintenanceaction.dto.MaintenanceActionDto;
 import com.unnamed.conectareparo.maintenanceaction.dto.MaintenanceActionResponseDto;
 import com.unnamed.conectareparo.maintenanceaction.dto.MaintenanceActionUpdateDto;
 import com.unnamed.conectareparo.maintenanceaction.entity.ActionMaterial;
 import com.unnamed.conectareparo.maintenanceaction.entity.MaintenanceAction;
+import com.unnamed.conectareparo.maintenanceaction.entity.MaintenanceActionRecord;
 import com.unnamed.conectareparo.maintenance.exception.MaintenanceAlreadyCompletedException;
+import com.unnamed.conectareparo.maintenance.repository.ClosedMaintenanceConstraint;
 import com.unnamed.conectareparo.maintenanceaction.mapper.MaintenanceActionMapper;
+import com.unnamed.conectareparo.maintenanceaction.repository.MaintenanceActionRecordRepository;
 import com.unnamed.conectareparo.maintenanceaction.repository.MaintenanceActionRepository;
 import com.unnamed.conectareparo.common.exception.ResourceNotFoundException;
 import com.unnamed.conectareparo.maintenance.service.MaintenanceService;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.service.SyncChangeLog;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,18 +36,25 @@ import java.util.UUID;
 public class MaintenanceActionService {
 
     MaintenanceActionRepository maintenanceActionRepository;
+    MaintenanceActionRecordRepository maintenanceActionRecordRepository;
     MaintenanceService maintenanceService;
     MaintenanceActionMapper maintenanceActionMapper;
+    SyncChangeLog syncChangeLog;
 
-    public MaintenanceActionService(MaintenanceActionRepository maintenanceActionRepository, MaintenanceService maintenanceService, MaintenanceActionMapper maintenanceActionMapper) {
+    public MaintenanceActionService(MaintenanceActionRepository maintenanceActionRepository, MaintenanceActionRecordRepository maintenanceActionRecordRepository,
+                                    MaintenanceService maintenanceService, MaintenanceActionMapper maintenanceActionMapper,
+                                    SyncChangeLog syncChangeLog) {
         this.maintenanceActionRepository = maintenanceActionRepository;
+        this.maintenanceActionRecordRepository = maintenanceActionRecordRepository;
         this.maintenanceService = maintenanceService;
         this.maintenanceActionMapper = maintenanceActionMapper;
+        this.syncChangeLog = syncChangeLog;
     }
 
     /**
      * Creates a new maintenance action record for a given maintenance task.
      * Business rule: Actions can only be added to maintenance tasks that are not in a terminal state (e.g., COMPLETED).
+     * The database enforces the rule as well, for a maintenance closed after its status was read here.
      *
      * @param maintenancePublicId The public ID of the parent Maintenance task.
      * @param maintenanceActionDto The DTO containing the data for the new action.
@@ -54,7 +69,16 @@ public class MaintenanceActionService {
             throw new MaintenanceAlreadyCompletedException("Cannot add action to a completed or canceled maintenance.");
         }
         MaintenanceAction newMaintenanceAction = maintenanceActionMapper.toEntity(maintenanceActionDto, existingMaintenance);
-        MaintenanceAction savedMaintenance = maintenanceActionRepository.save(newMaintenanceAction);
+        MaintenanceAction savedMaintenance;
+        try {
+            savedMaintenance = maintenanceActionRepository.save(newMaintenanceAction);
+        } catch (DataIntegrityViolationException e) {
+            if (ClosedMaintenanceConstraint.isViolatedBy(e)) {
+                throw new MaintenanceAlreadyCompletedException("Cannot add action to a completed or canceled maintenance.");
+            }
+            throw e;
+        }
+        syncChangeLog.recordChange(SyncEntityType.ACTION, savedMaintenance.getPublicId());
         return maintenanceActionMapper.toResponseDto(savedMaintenance);
     }
 
@@ -70,15 +94,38 @@ public class MaintenanceActionService {
                 .toList();
     }
 
+    /**
+     * Retrieves the maintenance actions with the given public IDs, with their materials, in a single query.
+     * IDs without an action in the hot table are skipped.
+     *
+     * @param publicIds The public UUIDs to look up.
+     * @return DTOs of the found actions, in no particular order.
+     */
+    public List<MaintenanceActionResponseDto> getActionsByPublicIds(Collection<UUID> publicIds) {
+        if (publicIds.isEmpty()) {
+            return List.of();
+        }
+        return maintenanceActionRepository.findAllWithMaterialsByPublicIdIn(publicIds).stream()
+                .map(maintenanceActionMapper::toResponseDto)
+                .toList();
+    }
+
     /**
      * Retrieves a list of all maintenance actions associated with a specific maintenance task.
      * The associated materials for each action are eagerly fetched to prevent N+1 query issues.
      *
      * @param maintenancePublicId The public ID of the parent Maintenance task.
+     * @param includeArchived Also returns the actions of an archived maintenance.
      * @return A list of DTOs representing the maintenance actions.
      * @throws ResourceNotFoundException if the parent Maintenance is not found.
      */
-    public List<MaintenanceActionResponseDto> getMaintenanceActions(UUID maintenancePublicId) {
+    public List<MaintenanceActionResponseDto> getMaintenanceActions(UUID maintenancePublicId, boolean includeArchived) {
+        if (includeArchived) {
+            MaintenanceRecord maintenance = maintenanceService.getMaintenanceRecordByPublicId(maintenancePublicId);
+            return maintenanceActionRecordRepository.findAllByMaintenanceWithMaterials(maintenance).stream()
+                    .map(maintenanceActionMapper::fromRecord)
+                    .toList();
+        }
         Maintenance existingMaintenance = maintenanceService.getMaintenanceEntityByPublicId(maintenancePublicId);
         List<MaintenanceAction> actionsList = maintenanceActionRepository.findAllByMaintenanceWithMaterials(existingMaintenance);
         return actionsList.stream()
@@ -91,10 +138,17 @@ public class MaintenanceActionService {
      *
      * @param maintenancePublicId The public ID of the parent Maintenance task.
      * @param actionPublicId The public ID of the MaintenanceAction to retrieve.
+     * @param includeArchived Also looks in the archive tables.
      * @return A DTO representing the requested maintenance action.
      * @throws ResourceNotFoundException if the Maintenance or the specific MaintenanceAction is not found for the given parent.
      */
-    public MaintenanceActionResponseDto getSingleMaintenanceAction(UUID maintenancePublicId, UUID actionPublicId) {
+    public MaintenanceActionResponseDto getSingleMaintenanceAction(UUID maintenancePublicId, UUID actionPublicId, boolean includeArchived) {
+        if (includeArchived) {
+            MaintenanceRecord maintenance = maintenanceService.getMaintenanceRecordByPublicId(maintenancePublicId);
+            MaintenanceActionRecord action = maintenanceActionRecordRepository.findByMaintenanceAndActionPublicId(maintenance, actionPublicId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Action with ID " + actionPublicId + " not found for the specified maintenance."));
+            return maintenanceActionMapper.fromRecord(action);
+        }
         Maintenance existingMaintenance = maintenanceService.getMaintenanceEntityByPublicId(maintenancePublicId);
         MaintenanceAction action = maintenanceActionRepository.findByMaintenanceAndActionPublicId(existingMaintenance, actionPublicId)
                 .orElseThrow(() -> new ResourceNotFoundException("Action with ID " + actionPublicId + " not found for the specified maintenance."));
@@ -105,6 +159,7 @@ public class MaintenanceActionService {
      * Updates an existing maintenance action by replacing its state with the provided data.
      * This method follows a PUT-like semantic, replacing the list of materials entirely.
      * Business rule: Actions cannot be updated if the parent maintenance task is in a terminal state.
+     * The database enforces the rule as well, for a maintenance closed after its status was read here.
      *
      * @param maintenancePublicId The public ID of the parent Maintenance task.
      * @param actionPublicId The public ID of the MaintenanceAction to update.
@@ -132,7 +187,16 @@ public class MaintenanceActionService {
                 .map(maintenanceActionMapper::toMaterialEntity)
                 .toList();
         existingAction.updateMaterialsUsed(newMaterials);
-        MaintenanceAction updatedAction = maintenanceActionRepository.save(existingAction);
+        MaintenanceAction updatedAction;
+        try {
+            updatedAction = maintenanceActionRepository.saveAndFlush(existingAction);
+        } catch (DataIntegrityViolationException e) {
+            if (ClosedMaintenanceConstraint.isViolatedBy(e)) {
+                throw new MaintenanceAlreadyCompletedException("Cannot update action of a completed or canceled maintenance.");
+            }
+            throw e;
+        }
+        syncChangeLog.recordChange(SyncEntityType.ACTION, actionPublicId);
         return maintenanceActionMapper.toResponseDto(updatedAction);
     }
 }
\ No newline at end of file
@@ -2,9 +2,13 @@ package com.unnamed.conectareparo.pledge.controller;
 
 import com.unnamed.conectareparo.pledge.dto.PledgeDto;
 import com.unnamed.conectareparo.pledge.dto.PledgeResponseDto;
+import com.unnamed.conectareparo.pledge.dto.PledgeSubmissionDto;
 import com.unnamed.conectareparo.pledge.dto.PledgeUpdateDto;
 import com.unnamed.conectareparo.common.exception.ErrorResponse;
+import com.unnamed.conectareparo.common.pagination.CountMode;
+import com.unnamed.conectareparo.common.pagination.PageResponse;
 import com.unnamed.conectareparo.pledge.service.PledgeService;
+import com.unnamed.conectareparo.pledge.service.PledgeWriteBehindQueue;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,12 +18,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -28,14 +36,17 @@ import java.util.UUID;
 public class PledgeController {
 
     private final PledgeService pledgeService;
+    private final PledgeWriteBehindQueue pledgeWriteBehindQueue;
 
-    public PledgeController(PledgeService pledgeService) {
+    public PledgeController(PledgeService pledgeService, PledgeWriteBehindQueue pledgeWriteBehindQueue) {
         this.pledgeService = pledgeService;
+        this.pledgeWriteBehindQueue = pledgeWriteBehindQueue;
     }
 
     @Operation(
         summary = "Creates a new pledge.",
-        description = "Registers a new pledge in the system."
+        description = "Registers a new pledge in the system. When write-behind is enabled the pledge is accepted with 202 " +
+                "and committed shortly after; its status can be polled at the returned statusUrl."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -46,6 +57,14 @@ public class PledgeController {
                 schema = @Schema(implementation = PledgeResponseDto.class)
             )
         ),
+        @ApiResponse(
+            responseCode = "202",
+            description = "Pledge accepted for asynchronous persistence.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = PledgeSubmissionDto.class)
+            )
+        ),
         @ApiResponse(
             responseCode = "400",
             description = "Invalid request data.",
@@ -56,32 +75,93 @@ public class PledgeController {
         )
     })
     @PostMapping
-    public ResponseEntity<PledgeResponseDto> createPledge(@Valid @RequestBody PledgeDto pledgeRequestDto) {
+    public ResponseEntity<?> createPledge(@Valid @RequestBody PledgeDto pledgeRequestDto) {
+        Optional<PledgeSubmissionDto> submission = pledgeWriteBehindQueue.submit(pledgeRequestDto);
+        if (submission.isPresent()) {
+            URI statusLocation = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path(submission.get().statusUrl())
+                    .build()
+                    .toUri();
+            return ResponseEntity.accepted().location(statusLocation).body(submission.get());
+        }
         PledgeResponseDto pledgeResponseDto = pledgeService.createPledge(pledgeRequestDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(pledgeResponseDto);
     }
 
     @Operation(
-        summary = "Retrieves all pledges.",
-        description = "Fetches a paginated list of all pledges in the system."
+        summary = "Retrieves the status of an accepted pledge.",
+        description = "Reports whether a pledge accepted with 202 is still queued, persisted or failed."
     )
-    @ApiResponse(
-        responseCode = "200",
-        description = "Pledges retrieved successfully.",
-        content = @Content(
-            mediaType = "application/json",
-            array = @ArraySchema(schema = @Schema(implementation = PledgeResponseDto.class))
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Submission status retrieved successfully.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = PledgeSubmissionDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Submission not found.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
         )
+    })
+    @GetMapping("/submissions/{pledgeId}")
+    public ResponseEntity<PledgeSubmissionDto> getSubmission(@PathVariable UUID pledgeId) {
+        return ResponseEntity.ok(pledgeWriteBehindQueue.getSubmission(pledgeId));
+    }
+
+    @Operation(
+        summary = "Retrieves all pledges.",
+        description = "Fetches a paginated list of pledges, optionally filtered by status, type, creation window and volunteer name or contact. " +
+                "The count parameter (exact, estimated, none) controls how totals are computed; the mode used is reported in countMode. " +
+                "Archived pledges are only included when includeArchived is true. " +
+                "The fields parameter (e.g. fields=volunteerName,status) limits each item to the id and the listed fields."
     )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Pledges retrieved successfully.",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = PledgeResponseDto.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Unknown field in the fields parameter.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
     @GetMapping
-    public ResponseEntity<Page<PledgeResponseDto>> getAllPledges(@ParameterObject Pageable pageable) {
-        Page<PledgeResponseDto> pledges = pledgeService.getAllPledges(pageable);
+    public ResponseEntity<PageResponse<?>> getAllPledges(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime createdTo,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(name = "count", required = false) String count,
+            @RequestParam(required = false) String fields,
+            @ParameterObject Pageable pageable) {
+        if (fields != null) {
+            return ResponseEntity.ok(pledgeService.getPledgeFields(fields, status, type, search, createdFrom, createdTo, includeArchived, CountMode.fromParameter(count), pageable));
+        }
+        PageResponse<PledgeResponseDto> pledges = pledgeService.getAllPledges(status, type, search, createdFrom, createdTo, includeArchived, CountMode.fromParameter(count), pageable);
         return ResponseEntity.ok(pledges);
     }
 
     @Operation(
         summary = "Retrieve a pledge by its public ID.",
-        description = "Retrieves the details of a specific pledge using its public UUID."
+        description = "Retrieves the details of a specific pledge using its public UUID. " +
+                "Set includeArchived to also find pledges that were moved to the archive."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -102,14 +182,17 @@ public class PledgeController {
         )
     })
     @GetMapping("/{pledgeId}")
-    public ResponseEntity<PledgeResponseDto> getPledgeByPublicId(@PathVariable UUID pledgeId) {
-        PledgeResponseDto pledge = pledgeService.getPledgeByPublicId(pledgeId);
+    public ResponseEntity<PledgeResponseDto> getPledgeByPublicId(
+            @PathVariable UUID pledgeId,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        PledgeResponseDto pledge = pledgeService.getPledgeByPublicId(pledgeId, includeArchived);
         return ResponseEntity.ok(pledge);
     }
 
     @Operation(
         summary = "Retrieves pledges for a specific maintenance ID.",
-        description = "Fetches a paginated list of pledges associated with the given maintenance ID."
+        description = "Fetches a paginated list of pledges associated with the given maintenance ID. " +
+                "Set includeArchived to also list the pledges of an archived maintenance."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -130,8 +213,12 @@ public class PledgeController {
         )
     })
     @GetMapping(params = "maintenanceId")
-    public ResponseEntity<Page<PledgeResponseDto>> getPledgesForMaintenanceId(@RequestParam UUID maintenanceId, @ParameterObject Pageable pageable) {
-        Page<PledgeResponseDto> pledges = pledgeService.getPledgesByMaintenanceId(pageable, maintenanceId);
+    public ResponseEntity<PageResponse<PledgeResponseDto>> getPledgesForMaintenanceId(
+            @RequestParam UUID maintenanceId,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(name = "count", required = false) String count,
+            @ParameterObject Pageable pageable) {
+        PageResponse<PledgeResponseDto> pledges = pledgeService.getPledgesByMaintenanceId(pageable, maintenanceId, includeArchived, CountMode.fromParameter(count));
         return ResponseEntity.ok(pledges);
     }
 
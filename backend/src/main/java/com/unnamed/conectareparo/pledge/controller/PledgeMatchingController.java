@@ -0,0 +1,80 @@
+package com.unnamed.conectareparo.pledge.controller;
+
+import com.unnamed.conectareparo.common.exception.ErrorResponse;
+import com.unnamed.conectareparo.pledge.dto.MatchingPledgeDto;
+import com.unnamed.conectareparo.pledge.service.PledgeMatchingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Pledge", description = "Endpoints for managing pledges")
+public class PledgeMatchingController {
+
+    private final PledgeMatchingService pledgeMatchingService;
+
+    public PledgeMatchingController(PledgeMatchingService pledgeMatchingService) {
+        this.pledgeMatchingService = pledgeMatchingService;
+    }
+
+    @Operation(
+        summary = "Suggests MATERIAL pledges for a maintenance.",
+        description = "Ranks the open (OFFERED or PENDING) MATERIAL pledges of every maintenance against what this maintenance needs: " +
+                "the items and units in its title and description and, with more weight, the materials its actions recorded. " +
+                "Pledges that share no item are left out. Results are best first."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Candidates retrieved successfully.",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = MatchingPledgeDto.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid limit.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Maintenance not found.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Pledge matching is disabled or still loading.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    @GetMapping("/maintenances/{maintenancePublicId}/matching-pledges")
+    public ResponseEntity<List<MatchingPledgeDto>> getMatchingPledges(
+            @PathVariable UUID maintenancePublicId,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(pledgeMatchingService.getMatchingPledges(maintenancePublicId, limit));
+    }
+}
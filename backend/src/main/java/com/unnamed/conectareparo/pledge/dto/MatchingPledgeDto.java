@@ -0,0 +1,22 @@
+package com.unnamed.conectareparo.pledge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for one MATERIAL pledge offered as a match for what a maintenance needs.
+ */
+@Schema(description = "MATERIAL pledge ranked against the needs of a maintenance.")
+public record MatchingPledgeDto(
+        @Schema(description = "The matching pledge.")
+        PledgeResponseDto pledge,
+        @Schema(description = "Maintenance the pledge was made for; may differ from the one being matched.", example = "123e4567-e89b-12d3-a456-426614174000")
+        UUID maintenanceId,
+        @Schema(description = "Relevance of the pledge; higher is better. Only comparable within one response.", example = "3.42")
+        double score,
+        @Schema(description = "Normalized item words and units the pledge shares with the maintenance's needs.", example = "[\"cimento\", \"kg\"]")
+        List<String> matchedTerms
+) {
+}
@@ -31,7 +31,7 @@ public record PledgeDto(
         String description,
         @Schema(description = "Type of pledge being made", example = "LABOR OR MATERIAL")
         PledgeCategory type,
-        @Schema(description = "Current status of the pledge", example = "OFFERED (Default), PENDING, REJECTED, COMPLETED, CANCELED")
+        @Schema(description = "Current status of the pledge", example = "OFFERED (Default), PENDING, REJECTED, COMPLETED, CANCELED, EXPIRED")
         PledgeStatus status
 ) {
 }
\ No newline at end of file
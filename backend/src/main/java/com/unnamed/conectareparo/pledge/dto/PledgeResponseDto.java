@@ -22,7 +22,7 @@ public record PledgeResponseDto(
         String description,
         @Schema(description = "Type of the pledge.", example = "LABOR OR MATERIAL")
         PledgeCategory type,
-        @Schema(description = "Current system status of the Pledge", example = "OFFERED (Default), PENDING, REJECTED, COMPLETED, CANCELED")
+        @Schema(description = "Current system status of the Pledge", example = "OFFERED (Default), PENDING, REJECTED, COMPLETED, CANCELED, EXPIRED")
         PledgeStatus status,
         @Schema(description = "Timestamp when the pledge was created in ISO 8601 format.", example = "2025-10-10T10:10:10Z")
         ZonedDateTime createdAt,
@@ -0,0 +1,21 @@
+package com.unnamed.conectareparo.pledge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object describing a pledge accepted for asynchronous persistence.
+ */
+@Schema(description = "Data Transfer Object for a pledge accepted for asynchronous persistence.")
+public record PledgeSubmissionDto(
+        @Schema(description = "Public identifier the pledge will have once persisted.", example = "123e4567-e89b-12d3-a456-426614174000")
+        UUID id,
+        @Schema(description = "Current state of the submission.", example = "QUEUED, PERSISTED or FAILED")
+        PledgeSubmissionStatus status,
+        @Schema(description = "Reason for a failed submission.", example = "Cannot create a pledge for a maintenance that is in a terminal state.")
+        String message,
+        @Schema(description = "URL to poll for the submission status.", example = "/api/v1/pledges/submissions/123e4567-e89b-12d3-a456-426614174000")
+        String statusUrl
+) {
+}
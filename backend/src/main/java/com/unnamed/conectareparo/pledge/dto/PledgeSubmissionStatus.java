@@ -0,0 +1,13 @@
+package com.unnamed.conectareparo.pledge.dto;
+
+/**
+ * Lifecycle of a pledge accepted by the write-behind queue.
+ * - QUEUED: Accepted and journaled, waiting to be committed.
+ * - PERSISTED: Committed; the pledge is available at its regular endpoint.
+ * - FAILED: Could not be committed, see the accompanying message.
+ */
+public enum PledgeSubmissionStatus {
+    QUEUED,
+    PERSISTED,
+    FAILED
+}
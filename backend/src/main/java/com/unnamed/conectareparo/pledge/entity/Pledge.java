@@ -1,5 +1,6 @@
 package com.unnamed.conectareparo.pledge.entity;
 
+import com.unnamed.conectareparo.common.id.PublicIds;
 import com.unnamed.conectareparo.maintenance.entity.Maintenance;
 import jakarta.persistence.*;
 
@@ -34,6 +35,7 @@ public class Pledge {
     private String volunteerName;
     @Column(name = "volunteer_contact")
     private String volunteerContact;
+    @Basic(fetch = FetchType.LAZY)
     private String description;
     @Enumerated(EnumType.STRING)
     private PledgeCategory type;
@@ -47,15 +49,23 @@ public class Pledge {
     Pledge() {}
 
     public Pledge(Maintenance maintenance, String volunteerName, String volunteerContact, String description, PledgeCategory type) {
-        this.publicId = UUID.randomUUID();
+        this(PublicIds.next(), maintenance, volunteerName, volunteerContact, description, type, ZonedDateTime.now());
+    }
+
+    /**
+     * Creates a pledge whose public id and creation time were fixed earlier, when the request was accepted.
+     */
+    public Pledge(UUID publicId, Maintenance maintenance, String volunteerName, String volunteerContact, String description,
+                  PledgeCategory type, ZonedDateTime createdAt) {
+        this.publicId = publicId;
         this.maintenance = maintenance;
         this.volunteerName = volunteerName;
         this.volunteerContact = volunteerContact;
         this.description = description;
         this.type = type;
         this.status = PledgeStatus.OFFERED;
-        this.createdAt = ZonedDateTime.now();
-        this.updatedAt = ZonedDateTime.now();
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
     }
 
     public Long getId() {
@@ -120,9 +130,10 @@ public class Pledge {
  * - Um compromisso cancelado não pode ter o status alterado.
  * - Um compromisso concluído não pode ter o status alterado.
  * - Um compromisso rejeitado não pode ter o status alterado.
+ * - Um compromisso expirado não pode ter o status alterado.
  * - Se o novo status for nulo, nenhuma alteração será feita.
  * @param status novo status a ser aplicado
- * @throws IllegalStateException se o compromisso estiver cancelado, concluído ou rejeitado
+ * @throws IllegalStateException se o compromisso estiver cancelado, concluído, rejeitado ou expirado
  */
 
     public void updateStatus(PledgeStatus status) {
@@ -135,6 +146,9 @@ public class Pledge {
         if(this.status == PledgeStatus.REJECTED) {
             throw new IllegalStateException("Cannot change status of a rejected pledge.");
         }
+        if(this.status == PledgeStatus.EXPIRED) {
+            throw new IllegalStateException("Cannot change status of an expired pledge.");
+        }
         if (status != null) {
             this.status = status;
         }
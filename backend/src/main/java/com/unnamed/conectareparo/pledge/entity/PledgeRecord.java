@@ -0,0 +1,111 @@
+package com.unnamed.conectareparo.pledge.entity;
+
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceRecord;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Read-only view of a pledge from either the hot {@code pledge} table or {@code pledge_archive}.
+ * Used only by the {@code includeArchived} read path; every write goes through {@link Pledge}.
+ */
+@Entity
+@Immutable
+@Subselect("""
+        SELECT p.id, p.public_id, p.maintenance_id, p.volunteer_name, p.volunteer_contact, p.description,
+               p.type, p.status, p.created_at, p.updated_at, FALSE AS archived
+        FROM pledge p
+        UNION ALL
+        SELECT a.id, a.public_id, a.maintenance_id, a.volunteer_name, a.volunteer_contact, a.description,
+               a.type, a.status, a.created_at, a.updated_at, TRUE AS archived
+        FROM pledge_archive a
+        """)
+@Synchronize({"pledge", "pledge_archive"})
+public class PledgeRecord {
+
+    @Id
+    private Long id;
+    @Column(name = "public_id")
+    private UUID publicId;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "maintenance_id")
+    private MaintenanceRecord maintenance;
+    @Column(name = "volunteer_name")
+    private String volunteerName;
+    @Column(name = "volunteer_contact")
+    private String volunteerContact;
+    private String description;
+    @Enumerated(EnumType.STRING)
+    private PledgeCategory type;
+    @Enumerated(EnumType.STRING)
+    private PledgeStatus status;
+    @Column(name = "created_at")
+    private ZonedDateTime createdAt;
+    @Column(name = "updated_at")
+    private ZonedDateTime updatedAt;
+    private boolean archived;
+
+    protected PledgeRecord() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getPublicId() {
+        return publicId;
+    }
+
+    public MaintenanceRecord getMaintenance() {
+        return maintenance;
+    }
+
+    public String getVolunteerName() {
+        return volunteerName;
+    }
+
+    public String getVolunteerContact() {
+        return volunteerContact;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public PledgeCategory getType() {
+        return type;
+    }
+
+    public PledgeStatus getStatus() {
+        return status;
+    }
+
+    public ZonedDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public ZonedDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        PledgeRecord that = (PledgeRecord) o;
+        return Objects.equals(publicId, that.publicId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(publicId);
+    }
+}
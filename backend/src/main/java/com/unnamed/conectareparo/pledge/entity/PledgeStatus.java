@@ -11,6 +11,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
  *   <li><b>REJECTED</b> – The pledge has been Rejected.</li>
  *   <li><b>COMPLETED</b> – The pledge has been Completed.</li>
  *   <li><b>CANCELED</b> – The pledge has been canceled.</li>
+ *   <li><b>EXPIRED</b> – Still open long after the maintenance's scheduled date, closed by housekeeping.</li>
  * </ul>
  */
 
@@ -25,5 +26,7 @@ public enum PledgeStatus {
     @Schema(description = "The pledge has been completed.")
     COMPLETED,
     @Schema(description = "The pledge has been canceled.")
-    CANCELED
+    CANCELED,
+    @Schema(description = "The pledge was still open long after the maintenance's scheduled date and has expired.")
+    EXPIRED
 }
\ No newline at end of file
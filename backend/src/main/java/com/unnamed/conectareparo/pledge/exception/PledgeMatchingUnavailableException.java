@@ -0,0 +1,10 @@
+package com.unnamed.conectareparo.pledge.exception;
+
+/**
+ * Thrown when pledge matching is disabled or its index has not finished loading.
+ */
+public class PledgeMatchingUnavailableException extends RuntimeException {
+    public PledgeMatchingUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1,14 +1,31 @@
 package com.unnamed.conectareparo.pledge.mapper;
 
+import com.unnamed.conectareparo.common.fields.SparseFields;
 import com.unnamed.conectareparo.maintenance.entity.Maintenance;
 import com.unnamed.conectareparo.pledge.dto.PledgeDto;
 import com.unnamed.conectareparo.pledge.dto.PledgeResponseDto;
 import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.entity.PledgeRecord;
 import org.springframework.stereotype.Component;
 
 @Component
 public class PledgeMapper {
 
+    /**
+     * Fields of {@link PledgeResponseDto} that can be selected with {@code ?fields=}, and the attributes of
+     * {@link Pledge} and {@link PledgeRecord} they are read from.
+     */
+    public static final SparseFields SPARSE_FIELDS = SparseFields.of(
+            "id", "publicId",
+            "volunteerName", "volunteerName",
+            "volunteerContact", "volunteerContact",
+            "description", "description",
+            "type", "type",
+            "status", "status",
+            "createdAt", "createdAt",
+            "updatedAt", "updatedAt"
+    );
+
     public Pledge toEntity(Maintenance maintenance, PledgeDto pledgeRequestDto) {
         return new Pledge(
                 maintenance,
@@ -32,4 +49,16 @@ public class PledgeMapper {
         );
     }
 
-}
\ No newline at end of file
+    public PledgeResponseDto fromRecord(PledgeRecord pledge){
+        return new PledgeResponseDto(
+                pledge.getPublicId(),
+                pledge.getVolunteerName(),
+                pledge.getVolunteerContact(),
+                pledge.getDescription(),
+                pledge.getType(),
+                pledge.getStatus(),
+                pledge.getCreatedAt(),
+                pledge.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,116 @@
+package com.unnamed.conectareparo.pledge.matching;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The normalized item words and units of measure found in free text such as "2 sacos de cimento 50kg".
+ * Text is lowercased and stripped of accents, numbers are split from the units glued to them, and plurals
+ * are folded to the singular, so "Tubulações" and "tubulacao" give the same token. Units are recognized
+ * from a fixed list of Portuguese and English spellings and reported in a canonical form ("quilos" is
+ * {@code kg}); numbers and filler words are dropped.
+ *
+ * @param items Normalized item words.
+ * @param units Canonical units of measure.
+ */
+public record ItemTokens(Set<String> items, Set<String> units) {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NUMBER_THEN_WORD = Pattern.compile("(\\d)([a-z])");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "de", "da", "do", "das", "dos", "para", "pra", "com", "sem", "em", "no", "na", "nos", "nas", "um", "uma",
+            "uns", "umas", "os", "as", "ou", "por", "ate", "que", "eu", "meu", "minha", "posso", "pode", "doar", "doacao",
+            "ajudar", "tenho", "oferecer", "ofereco", "levar", "entregar", "cerca", "mais", "menos", "algum", "alguns",
+            "the", "of", "for", "and", "or", "with", "to", "an", "can", "my", "have", "some", "about", "donate", "offer");
+
+    private static final Map<String, String> UNITS = unitSpellings();
+
+    public ItemTokens {
+        items = Set.copyOf(items);
+        units = Set.copyOf(units);
+    }
+
+    /**
+     * Collects the tokens of all the given texts; {@code null} texts are skipped.
+     */
+    public static ItemTokens parse(String... texts) {
+        Set<String> items = new LinkedHashSet<>();
+        Set<String> units = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null || text.isBlank()) {
+                continue;
+            }
+            String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                    .toLowerCase(Locale.ROOT);
+            normalized = NUMBER_THEN_WORD.matcher(normalized).replaceAll("$1 $2");
+            for (String word : SEPARATORS.split(normalized)) {
+                String unit = UNITS.get(word);
+                if (unit != null) {
+                    units.add(unit);
+                } else if (word.length() > 1 && !isNumber(word) && !STOPWORDS.contains(word)) {
+                    items.add(singular(word));
+                }
+            }
+        }
+        return new ItemTokens(items, units);
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty() && units.isEmpty();
+    }
+
+    /**
+     * Folds the regular plural endings of Portuguese and English, applied the same way to pledges and needs.
+     */
+    static String singular(String word) {
+        if (word.length() > 4 && (word.endsWith("oes") || word.endsWith("aes"))) {
+            return word.substring(0, word.length() - 3) + "ao";
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+
+    private static boolean isNumber(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isDigit(word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, String> unitSpellings() {
+        Map<String, String> units = new HashMap<>();
+        unit(units, "un", "un", "und", "unid", "unidade", "unidades", "pc", "pcs", "peca", "pecas", "unit", "units", "piece", "pieces");
+        unit(units, "kg", "kg", "kgs", "quilo", "quilos", "kilo", "kilos", "quilograma", "quilogramas", "kilogram", "kilograms");
+        unit(units, "g", "g", "gr", "grama", "gramas", "gram", "grams");
+        unit(units, "m", "m", "mt", "mts", "metro", "metros", "meter", "meters", "metre", "metres");
+        unit(units, "cm", "cm", "centimetro", "centimetros");
+        unit(units, "mm", "mm", "milimetro", "milimetros");
+        unit(units, "m2", "m2");
+        unit(units, "m3", "m3");
+        unit(units, "l", "l", "lt", "lts", "litro", "litros", "liter", "liters", "litre", "litres");
+        unit(units, "ml", "ml", "mililitro", "mililitros");
+        unit(units, "saco", "saco", "sacos", "bag", "bags");
+        unit(units, "caixa", "caixa", "caixas", "cx", "box", "boxes");
+        unit(units, "rolo", "rolo", "rolos", "roll", "rolls");
+        unit(units, "lata", "lata", "latas", "galao", "galoes", "gallon", "gallons");
+        unit(units, "par", "par", "pares", "pair", "pairs");
+        return Map.copyOf(units);
+    }
+
+    private static void unit(Map<String, String> units, String canonical, String... spellings) {
+        for (String spelling : spellings) {
+            units.put(spelling, canonical);
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.unnamed.conectareparo.pledge.matching;
+
+import com.unnamed.conectareparo.pledge.dto.MatchingPledgeDto;
+import com.unnamed.conectareparo.pledge.dto.PledgeResponseDto;
+import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import com.unnamed.conectareparo.pledge.mapper.PledgeMapper;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.invalidation.InvalidatableCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index of the open (OFFERED or PENDING) MATERIAL pledges, from the normalized item
+ * words of their descriptions to the pledges that mention them. Ranking a maintenance's needs against it
+ * touches only the pledges that share a word with them, so it stays fast with a large number of pledges.
+ * <p>
+ * Pledges live in numbered slots that are reused once freed, and every word keeps a compact array of the
+ * slots mentioning it. Writes of this instance are applied right after they commit;
+ * {@link MaterialPledgeIndexLoader} fills the index at startup and then tails the sync change log for
+ * writes of other instances. The pledges other instances announce through the
+ * {@link com.unnamed.conectareparo.sync.invalidation.CacheInvalidationBus} are reloaded on the loader's next
+ * run, even while a long transaction elsewhere keeps the change log from yielding them.
+ * <p>
+ * A pledge scores, for every need word it mentions, the weight of that need times the word's inverse
+ * document frequency, so rare words count more than ones most pledges mention. The sum is divided by the
+ * square root of the pledge's word count, so listing everything does not beat a precise offer, and every
+ * unit of measure shared with the needs adds {@link #UNIT_BONUS}.
+ */
+@Component
+@EnableConfigurationProperties(PledgeMatchingProperties.class)
+public class MaterialPledgeIndex implements InvalidatableCache {
+
+    static final Set<PledgeStatus> OPEN = EnumSet.of(PledgeStatus.OFFERED, PledgeStatus.PENDING);
+    static final double UNIT_BONUS = 0.5;
+
+    private static final Logger log = LoggerFactory.getLogger(MaterialPledgeIndex.class);
+
+    private final PledgeMapper pledgeMapper;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> slotsById = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Set<UUID> pendingReloads = ConcurrentHashMap.newKeySet();
+    private Entry[] slots = new Entry[64];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+    private volatile boolean loaded;
+
+    public MaterialPledgeIndex(PledgeMapper pledgeMapper) {
+        this.pledgeMapper = pledgeMapper;
+    }
+
+    /**
+     * Ranks the indexed pledges against a maintenance's needs.
+     *
+     * @param needs Normalized item words with their weight.
+     * @param units Canonical units of measure the maintenance works with.
+     * @param limit Maximum number of candidates returned.
+     * @return The best matches, best first. Pledges without a single shared item word are never returned.
+     */
+    public List<MatchingPledgeDto> match(Map<String, Double> needs, Set<String> units, int limit) {
+        lock.readLock().lock();
+        try {
+            double[] scores = new double[slotCount];
+            int[] touched = new int[Math.min(slotCount, 1024)];
+            int touchedCount = 0;
+            int size = slotsById.size();
+            for (Map.Entry<String, Double> need : needs.entrySet()) {
+                Postings mentions = postings.get(need.getKey());
+                if (mentions == null) {
+                    continue;
+                }
+                double weight = need.getValue() * Math.log(1 + (double) size / mentions.size);
+                for (int i = 0; i < mentions.size; i++) {
+                    int slot = mentions.slots[i];
+                    if (scores[slot] == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touched.length * 2);
+                        }
+                        touched[touchedCount++] = slot;
+                    }
+                    scores[slot] += weight;
+                }
+            }
+
+            Comparator<Candidate> worstFirst = Comparator.comparingDouble(Candidate::score)
+                    .thenComparing(candidate -> candidate.entry().pledge().createdAt(), Comparator.reverseOrder())
+                    .thenComparing(candidate -> candidate.entry().pledge().id(), Comparator.reverseOrder());
+            PriorityQueue<Candidate> best = new PriorityQueue<>(worstFirst);
+            for (int i = 0; i < touchedCount; i++) {
+                Entry entry = slots[touched[i]];
+                double score = scores[touched[i]] / Math.sqrt(entry.tokens().items().size());
+                for (String unit : entry.tokens().units()) {
+                    if (units.contains(unit)) {
+                        score += UNIT_BONUS;
+                    }
+                }
+                best.add(new Candidate(entry, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            List<MatchingPledgeDto> ranked = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                ranked.add(best.poll().toDto(needs.keySet(), units));
+            }
+            Collections.reverse(ranked);
+            return ranked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the state of a created or updated pledge once the current transaction commits, or right away
+     * outside a transaction. The pledge's maintenance must be loaded. A pledge that is no longer an open
+     * MATERIAL pledge leaves the index.
+     */
+    public void applyAfterCommit(Pledge pledge) {
+        applyAfterCommit(List.of(pledge));
+    }
+
+    /**
+     * Same as {@link #applyAfterCommit(Pledge)} for several pledges written in one transaction.
+     */
+    public void applyAfterCommit(Collection<Pledge> pledges) {
+        afterCommit(pledges, List.of());
+    }
+
+    /**
+     * Drops pledges that were closed without being loaded, once the current transaction commits.
+     */
+    public void removeAfterCommit(Collection<UUID> pledgeIds) {
+        afterCommit(List.of(), pledgeIds);
+    }
+
+    private void afterCommit(Collection<Pledge> changed, Collection<UUID> removed) {
+        if (!loaded || changed.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(changed, removed);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    apply(changed, removed);
+                } catch (RuntimeException e) {
+                    // The write is committed; drop the index and let the loader rebuild it rather than fail the request.
+                    log.warn("Could not apply {} pledges to the matching index, reloading it", changed.size() + removed.size(), e);
+                    clear();
+                }
+            }
+        });
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Queues changed pledges for {@link MaterialPledgeIndexLoader} to reload on its next run.
+     */
+    @Override
+    public void evict(SyncEntityType entityType, Collection<UUID> entityPublicIds) {
+        if (entityType == SyncEntityType.PLEDGE && loaded) {
+            pendingReloads.addAll(entityPublicIds);
+        }
+    }
+
+    /**
+     * Nothing to drop: the loader tails the change log, which keeps every change, missed notifications included.
+     */
+    @Override
+    public void evictAll() {
+    }
+
+    /**
+     * Takes the pledges queued by {@link #evict} since the last call.
+     */
+    Set<UUID> takePendingReloads() {
+        Set<UUID> taken = new HashSet<>(pendingReloads);
+        pendingReloads.removeAll(taken);
+        return taken;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Empties the index ahead of a full load. It answers nothing until {@link #finishLoading()}.
+     */
+    void startLoading() {
+        clear();
+    }
+
+    /**
+     * Adds one batch of a full load.
+     */
+    void loadBatch(Collection<Pledge> pledges) {
+        write(pledges, List.of());
+    }
+
+    void finishLoading() {
+        loaded = true;
+    }
+
+    /**
+     * Applies the current state of changed pledges and drops the ones that no longer exist.
+     * Does nothing until the index is loaded.
+     */
+    void apply(Collection<Pledge> changed, Collection<UUID> removed) {
+        if (loaded) {
+            write(changed, removed);
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            slotsById.clear();
+            postings.clear();
+            slots = new Entry[64];
+            freeCount = 0;
+            slotCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(Collection<Pledge> changed, Collection<UUID> removed) {
+        List<Entry> entries = new ArrayList<>(changed.size());
+        List<UUID> dropped = new ArrayList<>(removed);
+        for (Pledge pledge : changed) {
+            if (pledge.getType() == PledgeCategory.MATERIAL && OPEN.contains(pledge.getStatus())) {
+                entries.add(new Entry(pledgeMapper.toResponseDto(pledge), pledge.getMaintenanceId().getPublicId(),
+                        ItemTokens.parse(pledge.getDescription())));
+            } else {
+                dropped.add(pledge.getPublicId());
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            dropped.forEach(this::remove);
+            entries.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Entry entry) {
+        remove(entry.pledge().id());
+        if (entry.tokens().items().isEmpty()) {
+            return;
+        }
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == slots.length) {
+                slots = Arrays.copyOf(slots, slots.length * 2);
+            }
+            slot = slotCount++;
+        }
+        slots[slot] = entry;
+        slotsById.put(entry.pledge().id(), slot);
+        for (String item : entry.tokens().items()) {
+            postings.computeIfAbsent(item, word -> new Postings()).add(slot);
+        }
+    }
+
+    private void remove(UUID pledgeId) {
+        Integer slot = slotsById.remove(pledgeId);
+        if (slot == null) {
+            return;
+        }
+        for (String item : slots[slot].tokens().items()) {
+            Postings mentions = postings.get(item);
+            mentions.remove(slot);
+            if (mentions.size == 0) {
+                postings.remove(item);
+            }
+        }
+        slots[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * The slots of the pledges mentioning one word, in no particular order.
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private record Entry(PledgeResponseDto pledge, UUID maintenanceId, ItemTokens tokens) {
+    }
+
+    private record Candidate(Entry entry, double score) {
+
+        MatchingPledgeDto toDto(Set<String> needs, Set<String> units) {
+            List<String> matched = new ArrayList<>();
+            entry.tokens().items().stream().filter(needs::contains).sorted().forEach(matched::add);
+            entry.tokens().units().stream().filter(units::contains).sorted().forEach(matched::add);
+            return new MatchingPledgeDto(entry.pledge(), entry.maintenanceId(), Math.round(score * 1000) / 1000.0, matched);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.unnamed.conectareparo.pledge.matching;
+
+import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
+import com.unnamed.conectareparo.pledge.repository.PledgeRepository;
+import com.unnamed.conectareparo.sync.entity.SyncChange;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.repository.SyncChangeRepository;
+import com.unnamed.conectareparo.sync.repository.SyncPosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps {@link MaterialPledgeIndex} in step with the database. The first run loads every open MATERIAL
+ * pledge in batches; later runs read the pledge changes recorded in the sync change log since then and
+ * reload just those pledges. Only settled changes are read, so one committed late by a slow transaction is
+ * picked up by a later run rather than skipped. Each run first reloads the pledges the index was told about
+ * through {@link MaterialPledgeIndex#evict}.
+ * <p>
+ * Not transactional on purpose: every batch is read in its own short transaction, so its entities are
+ * detached and can be collected as soon as they are indexed.
+ */
+@Component
+@ConditionalOnProperty(prefix = "conectareparo.pledge-matching", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MaterialPledgeIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(MaterialPledgeIndexLoader.class);
+
+    private final MaterialPledgeIndex index;
+    private final PledgeRepository pledgeRepository;
+    private final SyncChangeRepository syncChangeRepository;
+    private final PledgeMatchingProperties properties;
+
+    /** Last change known to be reflected in the index. Only touched by the scheduler thread. */
+    private SyncPosition position = SyncPosition.START;
+
+    public MaterialPledgeIndexLoader(MaterialPledgeIndex index, PledgeRepository pledgeRepository,
+                                     SyncChangeRepository syncChangeRepository, PledgeMatchingProperties properties) {
+        this.index = index;
+        this.pledgeRepository = pledgeRepository;
+        this.syncChangeRepository = syncChangeRepository;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${conectareparo.pledge-matching.refresh-interval:2s}")
+    public void refresh() {
+        if (index.isLoaded()) {
+            reload(index.takePendingReloads());
+            catchUp();
+        } else {
+            load();
+        }
+    }
+
+    private void load() {
+        // Taken before the pledges, so changes committed while they load are replayed by the next run.
+        position = syncChangeRepository.findSettledPosition();
+        index.startLoading();
+        long afterId = 0;
+        List<Pledge> batch;
+        do {
+            batch = pledgeRepository.findWithMaintenanceByTypeAndStatusInAndIdGreaterThanOrderByIdAsc(
+                    PledgeCategory.MATERIAL, MaterialPledgeIndex.OPEN, afterId, Limit.of(properties.batchSize()));
+            index.loadBatch(batch);
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == properties.batchSize());
+        index.finishLoading();
+        log.info("Loaded {} open MATERIAL pledges into the matching index", index.size());
+    }
+
+    private void catchUp() {
+        while (index.isLoaded()) {
+            List<SyncChange> changes = syncChangeRepository.findSettledAfter(position, properties.batchSize());
+            if (changes.isEmpty()) {
+                return;
+            }
+            Set<UUID> changed = new LinkedHashSet<>();
+            for (SyncChange change : changes) {
+                if (change.getEntityType() == SyncEntityType.PLEDGE) {
+                    changed.add(change.getEntityPublicId());
+                }
+            }
+            reload(changed);
+            position = SyncPosition.of(changes.get(changes.size() - 1));
+            if (changes.size() < properties.batchSize()) {
+                return;
+            }
+        }
+    }
+
+    private void reload(Set<UUID> publicIds) {
+        if (publicIds.isEmpty()) {
+            return;
+        }
+        List<Pledge> found = pledgeRepository.findAllWithMaintenanceByPublicIdIn(publicIds);
+        Set<UUID> removed = new HashSet<>(publicIds);
+        found.forEach(pledge -> removed.remove(pledge.getPublicId()));
+        index.apply(found, removed);
+    }
+}
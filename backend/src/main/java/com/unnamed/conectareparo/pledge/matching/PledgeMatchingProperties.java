@@ -0,0 +1,26 @@
+package com.unnamed.conectareparo.pledge.matching;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for matching open MATERIAL pledges against what a maintenance needs.
+ *
+ * @param enabled Loads the in-memory pledge index and serves the matching endpoint from it when true.
+ * @param refreshInterval How often pledge changes written by other instances are read from the sync change log.
+ *                        Writes of this instance show up as soon as they commit.
+ * @param batchSize Pledges loaded, and sync changes read, per query.
+ * @param defaultLimit Candidates returned when the client does not ask for a limit.
+ * @param maxLimit Upper bound of candidates returned per request.
+ */
+@ConfigurationProperties(prefix = "conectareparo.pledge-matching")
+public record PledgeMatchingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("2s") Duration refreshInterval,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("20") int defaultLimit,
+        @DefaultValue("100") int maxLimit
+) {
+}
@@ -0,0 +1,40 @@
+package com.unnamed.conectareparo.pledge.repository;
+
+import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based expiry of OFFERED and PENDING pledges whose maintenance was scheduled long ago.
+ */
+public interface PledgeExpiryRepository extends Repository<Pledge, Long> {
+
+    /**
+     * Locks the next chunk of stale pledges. Rows already locked by another node, or by a request that
+     * is changing them, are skipped instead of waited on.
+     */
+    @Query(value = "SELECT id FROM pledge WHERE status IN ('OFFERED', 'PENDING') " +
+            "AND maintenance_id IN (SELECT id FROM maintenance WHERE scheduled_date < :cutoff) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockStaleIds(@Param("cutoff") ZonedDateTime cutoff, @Param("limit") int limit);
+
+    @Query("SELECT p.publicId AS publicId, p.status AS status FROM Pledge p WHERE p.id IN :ids")
+    List<StatusRow> findStatuses(@Param("ids") Collection<Long> pledgeIds);
+
+    @Modifying
+    @Query(value = "UPDATE pledge SET status = 'EXPIRED', updated_at = :now WHERE id IN (:ids)", nativeQuery = true)
+    int expire(@Param("ids") Collection<Long> pledgeIds, @Param("now") ZonedDateTime now);
+
+    interface StatusRow {
+        UUID getPublicId();
+        PledgeStatus getStatus();
+    }
+}
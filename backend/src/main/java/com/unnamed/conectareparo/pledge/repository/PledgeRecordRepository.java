@@ -0,0 +1,15 @@
+package com.unnamed.conectareparo.pledge.repository;
+
+import com.unnamed.conectareparo.pledge.entity.PledgeRecord;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads pledges across the hot and archive tables. Read-only: there is no save or delete.
+ */
+public interface PledgeRecordRepository extends Repository<PledgeRecord, Long>, JpaSpecificationExecutor<PledgeRecord> {
+    Optional<PledgeRecord> findByPublicId(UUID publicId);
+}
@@ -1,18 +1,58 @@
 package com.unnamed.conectareparo.pledge.repository;
 
 import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * {@code description} is lazily loaded. Queries whose results are mapped to DTOs fetch it in the same
+ * statement through {@link #DETAILS}; the {@code WithMaintenance} queries also fetch the maintenance, for
+ * callers that need its public id.
+ */
 @Repository
-public interface PledgeRepository extends JpaRepository<Pledge, Long> {
+public interface PledgeRepository extends JpaRepository<Pledge, Long>, JpaSpecificationExecutor<Pledge> {
+    String DETAILS = "description";
+    String MAINTENANCE = "maintenance";
+
+    @EntityGraph(attributePaths = DETAILS)
     Page<Pledge> findByMaintenanceId(UUID maintenanceId, Pageable pageable);
+    @EntityGraph(attributePaths = DETAILS)
     Page<Pledge> findAllByMaintenancePublicId(UUID maintenanceId, Pageable pageable);
+    @EntityGraph(attributePaths = DETAILS)
     Optional<Pledge> findByPublicId(UUID publicId);
+    @EntityGraph(attributePaths = DETAILS)
     Page<Pledge> findAll(Pageable pageable);
+    @EntityGraph(attributePaths = DETAILS)
+    Page<Pledge> findAll(Specification<Pledge> spec, Pageable pageable);
+    boolean existsByPublicId(UUID publicId);
+    @EntityGraph(attributePaths = DETAILS)
+    List<Pledge> findAllByPublicIdIn(Collection<UUID> publicIds);
+
+    @EntityGraph(attributePaths = {DETAILS, MAINTENANCE})
+    Optional<Pledge> findWithMaintenanceByPublicId(UUID publicId);
+    @EntityGraph(attributePaths = {DETAILS, MAINTENANCE})
+    List<Pledge> findAllWithMaintenanceByPublicIdIn(Collection<UUID> publicIds);
+    @EntityGraph(attributePaths = {DETAILS, MAINTENANCE})
+    List<Pledge> findWithMaintenanceByTypeAndStatusInAndIdGreaterThanOrderByIdAsc(PledgeCategory type, Collection<PledgeStatus> statuses,
+                                                                                    long afterId, Limit limit);
+    @EntityGraph(attributePaths = {DETAILS, MAINTENANCE})
+    List<Pledge> findWithMaintenanceByIdGreaterThanOrderByIdAsc(long afterId, Limit limit);
+
+    @Query("SELECT p.publicId FROM Pledge p WHERE p.publicId IN :publicIds")
+    List<UUID> findExistingPublicIds(@Param("publicIds") Collection<UUID> publicIds);
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.unnamed.conectareparo.pledge.service;
+
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.maintenance.service.MaintenanceService;
+import com.unnamed.conectareparo.pledge.dto.PledgeDto;
+import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.matching.MaterialPledgeIndex;
+import com.unnamed.conectareparo.pledge.repository.PledgeRepository;
+import com.unnamed.conectareparo.statustransition.entity.StatusEntityType;
+import com.unnamed.conectareparo.statustransition.service.StatusTransitionService;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.service.SyncChangeLog;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Commits a group of queued pledges in a single transaction, so that a campaign spike costs one commit per
+ * batch instead of one per request.
+ */
+@Service
+public class PledgeBatchWriter {
+
+    private final PledgeRepository pledgeRepository;
+    private final MaintenanceService maintenanceService;
+    private final StatusTransitionService statusTransitionService;
+    private final SyncChangeLog syncChangeLog;
+    private final MaterialPledgeIndex materialPledgeIndex;
+
+    public PledgeBatchWriter(PledgeRepository pledgeRepository, MaintenanceService maintenanceService,
+                             StatusTransitionService statusTransitionService, SyncChangeLog syncChangeLog,
+                             MaterialPledgeIndex materialPledgeIndex) {
+        this.pledgeRepository = pledgeRepository;
+        this.maintenanceService = maintenanceService;
+        this.statusTransitionService = statusTransitionService;
+        this.syncChangeLog = syncChangeLog;
+        this.materialPledgeIndex = materialPledgeIndex;
+    }
+
+    /**
+     * Persists the batch. Pledges that already exist (replayed from the journal after a crash) are skipped, and
+     * pledges whose maintenance vanished or reached a terminal state since acceptance are rejected.
+     *
+     * @param batch The queued pledges to commit.
+     * @return The rejected pledges, with the reason for each.
+     */
+    @Transactional
+    public Map<UUID, String> persist(List<QueuedPledge> batch) {
+        List<UUID> publicIds = batch.stream().map(QueuedPledge::publicId).toList();
+        Set<UUID> existing = new HashSet<>(pledgeRepository.findExistingPublicIds(publicIds));
+        Set<UUID> maintenanceIds = new HashSet<>();
+        batch.forEach(queued -> maintenanceIds.add(queued.request().maintenanceId()));
+        Map<UUID, Maintenance> maintenances = maintenanceService.getMaintenanceEntitiesByPublicIds(maintenanceIds);
+
+        Map<UUID, String> rejected = new HashMap<>();
+        List<Pledge> pledges = new ArrayList<>(batch.size());
+        for (QueuedPledge queued : batch) {
+            if (!existing.add(queued.publicId())) {
+                continue;
+            }
+            Maintenance maintenance = maintenances.get(queued.request().maintenanceId());
+            if (maintenance == null) {
+                rejected.put(queued.publicId(), "Maintenance not found");
+            } else if (maintenance.getStatus() == MaintenanceStatus.COMPLETED || maintenance.getStatus() == MaintenanceStatus.CANCELED) {
+                rejected.put(queued.publicId(), "Cannot create a pledge for a maintenance that is in a terminal state.");
+            } else {
+                pledges.add(toEntity(maintenance, queued));
+            }
+        }
+        pledgeRepository.saveAll(pledges);
+        pledges.forEach(pledge -> statusTransitionService.recordCreation(
+                StatusEntityType.PLEDGE, pledge.getPublicId(), pledge.getStatus(), pledge.getCreatedAt()));
+        syncChangeLog.recordChanges(SyncEntityType.PLEDGE, pledges.stream().map(Pledge::getPublicId).toList());
+        materialPledgeIndex.applyAfterCommit(pledges);
+        return rejected;
+    }
+
+    private static Pledge toEntity(Maintenance maintenance, QueuedPledge queued) {
+        PledgeDto request = queued.request();
+        return new Pledge(queued.publicId(), maintenance, request.volunteerName(), request.volunteerContact(),
+                request.description(), request.type(), queued.acceptedAt());
+    }
+}
@@ -0,0 +1,161 @@
+package com.unnamed.conectareparo.pledge.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Append-only local journal of accepted pledges. Every acceptance is forced to disk before the client is
+ * answered, and a completion record is appended once the pledge is committed or rejected. After a crash the
+ * pledges accepted but never completed are recovered and queued again.
+ * <p>
+ * Acceptances that arrive together are appended as a group and share a single {@code force}, and the journal
+ * is compacted with {@link #rewrite} so completed records do not pile up. A rewrite goes to a temporary file
+ * that replaces the journal by an atomic rename, so a crash leaves either the old or the new journal whole.
+ * <p>
+ * Callers serialize access; the journal itself is not thread-safe.
+ */
+class PledgeJournal implements AutoCloseable {
+
+    private record Entry(String type, QueuedPledge pledge, List<UUID> completed) {
+        static final String ACCEPTED = "ACCEPTED";
+        static final String COMPLETED = "COMPLETED";
+    }
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private FileChannel channel;
+
+    PledgeJournal(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the pledges that were accepted but not completed, in acceptance order, and rewrites the journal so
+     * that it contains only those.
+     */
+    List<QueuedPledge> open() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Map<UUID, QueuedPledge> pending = new LinkedHashMap<>();
+        if (Files.exists(path)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Entry entry;
+                    try {
+                        entry = objectMapper.readValue(line, Entry.class);
+                    } catch (IOException e) {
+                        // A torn last line from a crash mid-write was never acknowledged to a client.
+                        continue;
+                    }
+                    if (Entry.ACCEPTED.equals(entry.type())) {
+                        pending.put(entry.pledge().publicId(), entry.pledge());
+                    } else if (Entry.COMPLETED.equals(entry.type())) {
+                        entry.completed().forEach(pending::remove);
+                    }
+                }
+            }
+        }
+        List<QueuedPledge> recovered = new ArrayList<>(pending.values());
+        rewrite(recovered);
+        return recovered;
+    }
+
+    void appendAccepted(QueuedPledge pledge) {
+        appendAccepted(List.of(pledge));
+    }
+
+    /**
+     * Appends the acceptance of every given pledge and forces them to disk together.
+     */
+    void appendAccepted(Collection<QueuedPledge> pledges) {
+        append(pledges.stream().map(pledge -> new Entry(Entry.ACCEPTED, pledge, null)).toList());
+    }
+
+    void appendCompleted(Collection<UUID> publicIds) {
+        append(List.of(new Entry(Entry.COMPLETED, null, List.copyOf(publicIds))));
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Replaces the journal content with the given pending pledges, dropping every completed record. The
+     * current journal stays in place, and in use, until the new content is on disk.
+     */
+    void rewrite(List<QueuedPledge> pending) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Path temporary = directory.resolve(path.getFileName() + ".tmp");
+        try (FileChannel rewritten = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (QueuedPledge pledge : pending) {
+                write(rewritten, new Entry(Entry.ACCEPTED, pledge, null));
+            }
+            rewritten.force(false);
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        forceDirectory(directory);
+        if (channel != null) {
+            channel.close();
+        }
+        channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Makes the rename durable. Some platforms cannot open a directory; there it is as durable as the file
+     * system makes it.
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported here, see above.
+        }
+    }
+
+    private void append(List<Entry> entries) {
+        try {
+            for (Entry entry : entries) {
+                write(channel, entry);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write to the pledge journal.", e);
+        }
+    }
+
+    private void write(FileChannel channel, Entry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.unnamed.conectareparo.pledge.service;
+
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import com.unnamed.conectareparo.common.exception.ResourceNotFoundException;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceResponseDto;
+import com.unnamed.conectareparo.maintenance.service.MaintenanceService;
+import com.unnamed.conectareparo.maintenanceaction.dto.MaintenanceActionResponseDto;
+import com.unnamed.conectareparo.maintenanceaction.dto.MaterialResponseDto;
+import com.unnamed.conectareparo.maintenanceaction.service.MaintenanceActionService;
+import com.unnamed.conectareparo.pledge.dto.MatchingPledgeDto;
+import com.unnamed.conectareparo.pledge.exception.PledgeMatchingUnavailableException;
+import com.unnamed.conectareparo.pledge.matching.ItemTokens;
+import com.unnamed.conectareparo.pledge.matching.MaterialPledgeIndex;
+import com.unnamed.conectareparo.pledge.matching.PledgeMatchingProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Suggests open MATERIAL pledges for what a maintenance needs. The needs are read fresh on every request:
+ * the words of the maintenance's title and description, and the materials its actions recorded, which
+ * count the most. New actions are therefore taken into account right away. The pledges are ranked by the
+ * in-memory {@link MaterialPledgeIndex}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PledgeMatchingService {
+
+    static final double MATERIAL_WEIGHT = 2.0;
+    static final double TITLE_WEIGHT = 1.5;
+    static final double DESCRIPTION_WEIGHT = 1.0;
+
+    private final MaterialPledgeIndex materialPledgeIndex;
+    private final MaintenanceService maintenanceService;
+    private final MaintenanceActionService maintenanceActionService;
+    private final PledgeMatchingProperties properties;
+
+    public PledgeMatchingService(MaterialPledgeIndex materialPledgeIndex, MaintenanceService maintenanceService,
+                                 MaintenanceActionService maintenanceActionService, PledgeMatchingProperties properties) {
+        this.materialPledgeIndex = materialPledgeIndex;
+        this.maintenanceService = maintenanceService;
+        this.maintenanceActionService = maintenanceActionService;
+        this.properties = properties;
+    }
+
+    /**
+     * Ranks the open MATERIAL pledges, of any maintenance, against the needs of one maintenance.
+     *
+     * @param maintenanceId The public UUID of the maintenance whose needs are matched.
+     * @param limit Maximum number of candidates, defaults to {@link PledgeMatchingProperties#defaultLimit()}.
+     * @return The best candidates, best first; empty when no pledge shares an item with the needs.
+     * @throws ResourceNotFoundException if the maintenance is not found.
+     * @throws BadRequestException if the limit is out of range.
+     * @throws PledgeMatchingUnavailableException if the pledge index is disabled or still loading.
+     */
+    public List<MatchingPledgeDto> getMatchingPledges(UUID maintenanceId, Integer limit) {
+        int size = limit(limit);
+        if (!materialPledgeIndex.isLoaded()) {
+            throw new PledgeMatchingUnavailableException("Pledge matching is not available yet. Try again shortly.");
+        }
+        MaintenanceResponseDto maintenance = maintenanceService.getMaintenanceByPublicId(maintenanceId, false);
+        List<MaintenanceActionResponseDto> actions = maintenanceActionService.getMaintenanceActions(maintenanceId, false);
+
+        Map<String, Double> needs = new HashMap<>();
+        Set<String> units = new HashSet<>();
+        weigh(needs, units, ItemTokens.parse(maintenance.description()), DESCRIPTION_WEIGHT);
+        weigh(needs, units, ItemTokens.parse(maintenance.title()), TITLE_WEIGHT);
+        for (MaintenanceActionResponseDto action : actions) {
+            for (MaterialResponseDto material : action.materialsUsed()) {
+                weigh(needs, units, ItemTokens.parse(material.itemName(), material.unitOfMeasure()), MATERIAL_WEIGHT);
+            }
+        }
+        if (needs.isEmpty()) {
+            return List.of();
+        }
+        return materialPledgeIndex.match(needs, units, size);
+    }
+
+    private static void weigh(Map<String, Double> needs, Set<String> units, ItemTokens tokens, double weight) {
+        tokens.items().forEach(item -> needs.merge(item, weight, Math::max));
+        units.addAll(tokens.units());
+    }
+
+    private int limit(Integer limit) {
+        if (limit == null) {
+            return properties.defaultLimit();
+        }
+        if (limit < 1 || limit > properties.maxLimit()) {
+            throw new BadRequestException("Limit must be between 1 and " + properties.maxLimit() + ".");
+        }
+        return limit;
+    }
+}
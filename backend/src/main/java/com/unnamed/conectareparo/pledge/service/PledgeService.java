@@ -2,19 +2,40 @@ package com.unnamed.conectareparo.pledge.service;
 
 import com.unnamed.conectareparo.maintenance.entity.Maintenance;
 import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.maintenance.repository.ClosedMaintenanceConstraint;
 import com.unnamed.conectareparo.pledge.dto.PledgeDto;
 import com.unnamed.conectareparo.pledge.dto.PledgeResponseDto;
 import com.unnamed.conectareparo.pledge.dto.PledgeUpdateDto;
 import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.entity.PledgeRecord;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
 import com.unnamed.conectareparo.pledge.mapper.PledgeMapper;
+import com.unnamed.conectareparo.pledge.matching.MaterialPledgeIndex;
+import com.unnamed.conectareparo.pledge.repository.PledgeRecordRepository;
 import com.unnamed.conectareparo.pledge.repository.PledgeRepository;
+import com.unnamed.conectareparo.pledge.specification.PledgeSpecification;
 import com.unnamed.conectareparo.common.exception.ResourceNotFoundException;
+import com.unnamed.conectareparo.common.fields.FieldSelection;
+import com.unnamed.conectareparo.common.fields.SparseFieldQueryExecutor;
+import com.unnamed.conectareparo.common.fields.SparseRow;
+import com.unnamed.conectareparo.common.pagination.CountKey;
+import com.unnamed.conectareparo.common.pagination.CountMode;
+import com.unnamed.conectareparo.common.pagination.PageQueryExecutor;
+import com.unnamed.conectareparo.common.pagination.PageResponse;
 import com.unnamed.conectareparo.maintenance.service.MaintenanceService;
-import org.springframework.data.domain.Page;
+import com.unnamed.conectareparo.statustransition.entity.StatusEntityType;
+import com.unnamed.conectareparo.statustransition.service.StatusTransitionService;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.service.SyncChangeLog;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -27,19 +48,35 @@ import java.util.UUID;
 public class PledgeService {
 
     private final PledgeRepository pledgeRepository;
+    private final PledgeRecordRepository pledgeRecordRepository;
     private final PledgeMapper pledgeMapper;
     private final MaintenanceService maintenanceService;
+    private final PageQueryExecutor pageQueryExecutor;
+    private final SparseFieldQueryExecutor sparseFieldQueryExecutor;
+    private final StatusTransitionService statusTransitionService;
+    private final SyncChangeLog syncChangeLog;
+    private final MaterialPledgeIndex materialPledgeIndex;
 
-    public PledgeService(PledgeRepository pledgeRepository, PledgeMapper pledgeMapper, MaintenanceService maintenanceService) {
+    public PledgeService(PledgeRepository pledgeRepository, PledgeRecordRepository pledgeRecordRepository, PledgeMapper pledgeMapper,
+                         MaintenanceService maintenanceService, PageQueryExecutor pageQueryExecutor,
+                         SparseFieldQueryExecutor sparseFieldQueryExecutor, StatusTransitionService statusTransitionService,
+                         SyncChangeLog syncChangeLog, MaterialPledgeIndex materialPledgeIndex) {
         this.pledgeRepository = pledgeRepository;
+        this.pledgeRecordRepository = pledgeRecordRepository;
         this.pledgeMapper = pledgeMapper;
         this.maintenanceService = maintenanceService;
+        this.pageQueryExecutor = pageQueryExecutor;
+        this.sparseFieldQueryExecutor = sparseFieldQueryExecutor;
+        this.statusTransitionService = statusTransitionService;
+        this.syncChangeLog = syncChangeLog;
+        this.materialPledgeIndex = materialPledgeIndex;
     }
 
     /**
      * Creates a new pledge for a specific maintenance task.
      * It enforces the business rule that pledges cannot be added to a maintenance task
-     * that is already in a terminal state (COMPLETED or CANCELLED).
+     * that is already in a terminal state (COMPLETED or CANCELLED). The database enforces the rule as well,
+     * for a maintenance closed after its status was read here.
      *
      * @param pledgeRequestDto The DTO containing the data for the new pledge.
      * @return A DTO representing the newly created pledge.
@@ -48,34 +85,117 @@ public class PledgeService {
      */
     @Transactional
     public PledgeResponseDto createPledge(PledgeDto pledgeRequestDto) {
-        Maintenance foundMaintenance = maintenanceService.getMaintenanceEntityByPublicId(pledgeRequestDto.maintenanceId());
+        Maintenance foundMaintenance = getMaintenanceOpenForPledges(pledgeRequestDto.maintenanceId());
+        Pledge pledge = pledgeMapper.toEntity(foundMaintenance, pledgeRequestDto);
+        try {
+            pledgeRepository.save(pledge);
+        } catch (DataIntegrityViolationException e) {
+            if (ClosedMaintenanceConstraint.isViolatedBy(e)) {
+                throw new IllegalStateException("Cannot create a pledge for a maintenance that is in a terminal state.");
+            }
+            throw e;
+        }
+        statusTransitionService.recordCreation(StatusEntityType.PLEDGE, pledge.getPublicId(), pledge.getStatus(), pledge.getCreatedAt());
+        syncChangeLog.recordChange(SyncEntityType.PLEDGE, pledge.getPublicId());
+        materialPledgeIndex.applyAfterCommit(pledge);
+        return pledgeMapper.toResponseDto(pledge);
+    }
+
+    /**
+     * Retrieves the maintenance a new pledge would belong to, enforcing that it still accepts pledges.
+     *
+     * @param maintenanceId The public UUID of the maintenance task.
+     * @return The maintenance entity.
+     * @throws ResourceNotFoundException if the Maintenance task is not found.
+     * @throws IllegalStateException if the Maintenance task is in a terminal state.
+     */
+    public Maintenance getMaintenanceOpenForPledges(UUID maintenanceId) {
+        Maintenance foundMaintenance = maintenanceService.getMaintenanceEntityByPublicId(maintenanceId);
         if (foundMaintenance.getStatus() == MaintenanceStatus.COMPLETED || foundMaintenance.getStatus() == MaintenanceStatus.CANCELED) {
             throw new IllegalStateException("Cannot create a pledge for a maintenance that is in a terminal state.");
         }
-        Pledge pledge = pledgeMapper.toEntity(foundMaintenance, pledgeRequestDto);
-        pledgeRepository.save(pledge);
-        return pledgeMapper.toResponseDto(pledge);
+        return foundMaintenance;
+    }
+
+    /**
+     * Checks whether a pledge with the given public ID has been persisted.
+     *
+     * @param pledgeId The public UUID of the pledge.
+     * @return true when the pledge exists.
+     */
+    public boolean pledgeExists(UUID pledgeId) {
+        return pledgeRepository.existsByPublicId(pledgeId);
     }
 
     /**
-     * Retrieves a paginated list of all pledges in the system.
+     * Retrieves a paginated list of pledges matching the given filters.
+     * Every filter is optional; a null or blank value leaves that dimension unfiltered.
      *
+     * @param status A specific {@code PledgeStatus}, or the groups "open" / "closed".
+     * @param type A specific {@code PledgeCategory}.
+     * @param search A term matched against the volunteer name and contact.
+     * @param createdFrom Inclusive lower bound for the creation timestamp.
+     * @param createdTo Exclusive upper bound for the creation timestamp.
+     * @param includeArchived Also searches pledges that were moved to the archive tables.
+     * @param countMode How the total number of matching pledges is computed.
      * @param pageable The pagination information (page, size, sort).
-     * @return A {@link Page} of DTOs representing all pledges.
+     * @return A {@link PageResponse} of DTOs representing the matching pledges.
+     */
+    public PageResponse<PledgeResponseDto> getAllPledges(String status, String type, String search, ZonedDateTime createdFrom, ZonedDateTime createdTo,
+                                                         boolean includeArchived, CountMode countMode, Pageable pageable) {
+        if (includeArchived) {
+            Specification<PledgeRecord> spec = filters(status, type, search, createdFrom, createdTo);
+            CountKey countKey = CountKey.of("pledge", status, type, search, createdFrom, createdTo, "archived");
+            return pageQueryExecutor.findAll(pledgeRecordRepository, spec, pageable, countMode, countKey)
+                    .map(pledgeMapper::fromRecord);
+        }
+        Specification<Pledge> spec = filters(status, type, search, createdFrom, createdTo);
+        CountKey countKey = CountKey.of("pledge", status, type, search, createdFrom, createdTo);
+        return pageQueryExecutor.findAll(pledgeRepository, spec, pageable, countMode, countKey, PledgeRepository.DETAILS)
+                .map(pledgeMapper::toResponseDto);
+    }
+
+    /**
+     * Same as {@link #getAllPledges} but selects and returns only the requested fields, plus the id.
+     *
+     * @param fields Comma-separated names of {@link PledgeResponseDto} fields.
+     * @throws IllegalArgumentException if a field does not exist.
      */
-    public Page<PledgeResponseDto> getAllPledges(Pageable pageable) {
-        Page<Pledge> pledges = pledgeRepository.findAll(pageable);
-        return pledges.map(pledgeMapper::toResponseDto);
+    public PageResponse<SparseRow> getPledgeFields(String fields, String status, String type, String search, ZonedDateTime createdFrom,
+                                                   ZonedDateTime createdTo, boolean includeArchived, CountMode countMode, Pageable pageable) {
+        FieldSelection selection = PledgeMapper.SPARSE_FIELDS.select(fields);
+        if (includeArchived) {
+            CountKey countKey = CountKey.of("pledge", status, type, search, createdFrom, createdTo, "archived");
+            return sparseFieldQueryExecutor.findAll(PledgeRecord.class, pledgeRecordRepository,
+                    filters(status, type, search, createdFrom, createdTo), selection, pageable, countMode, countKey);
+        }
+        CountKey countKey = CountKey.of("pledge", status, type, search, createdFrom, createdTo);
+        return sparseFieldQueryExecutor.findAll(Pledge.class, pledgeRepository,
+                filters(status, type, search, createdFrom, createdTo), selection, pageable, countMode, countKey);
+    }
+
+    private static <T> Specification<T> filters(String status, String type, String search, ZonedDateTime createdFrom, ZonedDateTime createdTo) {
+        return Specification.allOf(List.of(
+                PledgeSpecification.hasStatus(status),
+                PledgeSpecification.hasType(type),
+                PledgeSpecification.searchByVolunteer(search),
+                PledgeSpecification.createdBetween(createdFrom, createdTo)));
     }
 
     /**
      * Retrieves a single pledge by its public ID.
      *
      * @param publicId The public UUID of the pledge to retrieve.
+     * @param includeArchived Also looks in the archive tables.
      * @return A DTO representing the requested pledge.
      * @throws ResourceNotFoundException if no pledge with the given public ID is found.
      */
-    public PledgeResponseDto getPledgeByPublicId(UUID publicId) {
+    public PledgeResponseDto getPledgeByPublicId(UUID publicId, boolean includeArchived) {
+        if (includeArchived) {
+            PledgeRecord pledge = pledgeRecordRepository.findByPublicId(publicId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Pledge not found"));
+            return pledgeMapper.fromRecord(pledge);
+        }
         Pledge pledge = pledgeRepository.findByPublicId(publicId)
                 .orElseThrow(() -> new ResourceNotFoundException("Pledge not found"));
         return pledgeMapper.toResponseDto(pledge);
@@ -86,11 +206,39 @@ public class PledgeService {
      *
      * @param pageable The pagination information (page, size, sort).
      * @param maintenanceId The public UUID of the parent Maintenance task.
-     * @return A {@link Page} of DTOs representing the pledges for the given maintenance task.
+     * @param includeArchived Also returns pledges of an archived maintenance.
+     * @param countMode How the total number of pledges is computed.
+     * @return A {@link PageResponse} of DTOs representing the pledges for the given maintenance task.
+     */
+    public PageResponse<PledgeResponseDto> getPledgesByMaintenanceId(Pageable pageable, UUID maintenanceId, boolean includeArchived, CountMode countMode) {
+        if (includeArchived) {
+            Specification<PledgeRecord> spec = PledgeSpecification.belongsToMaintenance(maintenanceId);
+            CountKey countKey = CountKey.of("pledge", maintenanceId, "archived");
+            return pageQueryExecutor.findAll(pledgeRecordRepository, spec, pageable, countMode, countKey)
+                    .map(pledgeMapper::fromRecord);
+        }
+        Specification<Pledge> spec = Specification.allOf(List.of(
+                PledgeSpecification.belongsToMaintenance(maintenanceId),
+                PledgeSpecification.createdSinceMaintenance(maintenanceId)));
+        CountKey countKey = CountKey.of("pledge", maintenanceId);
+        return pageQueryExecutor.findAll(pledgeRepository, spec, pageable, countMode, countKey, PledgeRepository.DETAILS)
+                .map(pledgeMapper::toResponseDto);
+    }
+
+    /**
+     * Retrieves the pledges with the given public IDs in a single query. IDs without a pledge in the hot
+     * table are skipped.
+     *
+     * @param publicIds The public UUIDs to look up.
+     * @return DTOs of the found pledges, in no particular order.
      */
-    public Page<PledgeResponseDto> getPledgesByMaintenanceId(Pageable pageable, UUID maintenanceId) {
-        Page<Pledge> pledges = pledgeRepository.findAllByMaintenancePublicId(maintenanceId, pageable);
-        return pledges.map(pledgeMapper::toResponseDto);
+    public List<PledgeResponseDto> getPledgesByPublicIds(Collection<UUID> publicIds) {
+        if (publicIds.isEmpty()) {
+            return List.of();
+        }
+        return pledgeRepository.findAllByPublicIdIn(publicIds).stream()
+                .map(pledgeMapper::toResponseDto)
+                .toList();
     }
 
     /**
@@ -105,7 +253,7 @@ public class PledgeService {
      */
     @Transactional
     public PledgeResponseDto updatePledge(UUID pledgeId, PledgeUpdateDto pledgeUpdateDto) {
-        Pledge existingPledge = pledgeRepository.findByPublicId(pledgeId)
+        Pledge existingPledge = pledgeRepository.findWithMaintenanceByPublicId(pledgeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Pledge not found with id: " + pledgeId));
         existingPledge.updateDetails(
                 pledgeUpdateDto.volunteerName(),
@@ -113,8 +261,12 @@ public class PledgeService {
                 pledgeUpdateDto.description(),
                 pledgeUpdateDto.type()
         );
+        PledgeStatus previousStatus = existingPledge.getStatus();
         existingPledge.updateStatus(pledgeUpdateDto.status());
         pledgeRepository.save(existingPledge);
+        statusTransitionService.recordChange(StatusEntityType.PLEDGE, pledgeId, previousStatus, existingPledge.getStatus());
+        syncChangeLog.recordChange(SyncEntityType.PLEDGE, pledgeId);
+        materialPledgeIndex.applyAfterCommit(existingPledge);
         return pledgeMapper.toResponseDto(existingPledge);
     }
 }
\ No newline at end of file
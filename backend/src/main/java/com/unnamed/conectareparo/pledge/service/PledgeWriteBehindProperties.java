@@ -0,0 +1,29 @@
+package com.unnamed.conectareparo.pledge.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for accept-then-persist pledge creation.
+ *
+ * @param enabled Accepts pledges into the queue instead of committing them per request.
+ * @param queueCapacity Pledges that may wait in memory; beyond it requests are written synchronously.
+ * @param batchSize Maximum pledges committed in one transaction.
+ * @param maxDelay Longest time the first pledge of a batch waits for others to join it.
+ * @param journal File where accepted pledges are journaled until they are committed.
+ * @param journalCompactionSize Journal size past which it is rewritten with only the pending pledges.
+ */
+@ConfigurationProperties(prefix = "conectareparo.pledge.write-behind")
+public record PledgeWriteBehindProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1000") int queueCapacity,
+        @DefaultValue("50") int batchSize,
+        @DefaultValue("20ms") Duration maxDelay,
+        @DefaultValue("./data/pledge-journal.log") Path journal,
+        @DefaultValue("8MB") DataSize journalCompactionSize
+) {
+}
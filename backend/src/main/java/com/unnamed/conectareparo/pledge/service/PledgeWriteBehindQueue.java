@@ -0,0 +1,397 @@
+package com.unnamed.conectareparo.pledge.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unnamed.conectareparo.common.admission.ConcurrencyLimitExceededException;
+import com.unnamed.conectareparo.common.exception.ResourceNotFoundException;
+import com.unnamed.conectareparo.common.id.PublicIds;
+import com.unnamed.conectareparo.maintenance.repository.ClosedMaintenanceConstraint;
+import com.unnamed.conectareparo.pledge.dto.PledgeDto;
+import com.unnamed.conectareparo.pledge.dto.PledgeSubmissionDto;
+import com.unnamed.conectareparo.pledge.dto.PledgeSubmissionStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Accept-then-persist pledge creation for campaign spikes.
+ * <p>
+ * When enabled, a validated pledge is journaled to local disk, placed in a bounded queue and acknowledged
+ * immediately. A journal thread appends the pledges accepted meanwhile as one group with a single
+ * {@code force} and releases their submitters together. A single writer thread commits the queue in groups of
+ * up to {@code batchSize} pledges, waiting at most {@code maxDelay} for a group to fill. When the queue is
+ * full the caller falls back to the regular synchronous write. Pledges still in the journal at startup are
+ * queued again, so a crash loses nothing that was acknowledged.
+ * <p>
+ * A pledge is only failed when the database rejects it. When the database is unreachable or overloaded, the
+ * pledges stay pending in the journal and the writer retries them with exponential backoff.
+ */
+@Component
+@EnableConfigurationProperties(PledgeWriteBehindProperties.class)
+public class PledgeWriteBehindQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(PledgeWriteBehindQueue.class);
+    private static final int MAX_TRACKED_FAILURES = 10_000;
+    private static final Duration INITIAL_RETRY_BACKOFF = Duration.ofMillis(100);
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofSeconds(30);
+
+    private record Acceptance(QueuedPledge pledge, CompletableFuture<Boolean> queued) {
+    }
+
+    private final PledgeWriteBehindProperties properties;
+    private final PledgeService pledgeService;
+    private final PledgeBatchWriter batchWriter;
+    private final ObjectMapper objectMapper;
+
+    private final Map<UUID, QueuedPledge> pending = new ConcurrentHashMap<>();
+    private final Map<UUID, String> failures = new ConcurrentHashMap<>();
+    private BlockingQueue<Acceptance> acceptances;
+    private BlockingQueue<QueuedPledge> queue;
+    private PledgeJournal journal;
+    private Thread journalWriter;
+    private Thread writer;
+    private volatile boolean running;
+
+    public PledgeWriteBehindQueue(PledgeWriteBehindProperties properties, PledgeService pledgeService,
+                                  PledgeBatchWriter batchWriter, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.pledgeService = pledgeService;
+        this.batchWriter = batchWriter;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!properties.enabled()) {
+            return;
+        }
+        journal = new PledgeJournal(properties.journal(), objectMapper);
+        List<QueuedPledge> recovered = journal.open();
+        acceptances = new ArrayBlockingQueue<>(properties.queueCapacity());
+        queue = new ArrayBlockingQueue<>(Math.max(properties.queueCapacity(), recovered.size()));
+        recovered.forEach(pledge -> {
+            pending.put(pledge.publicId(), pledge);
+            queue.add(pledge);
+        });
+        if (!recovered.isEmpty()) {
+            log.info("Recovered {} journaled pledges", recovered.size());
+        }
+        running = true;
+        journalWriter = new Thread(this::journalAcceptances, "pledge-journal");
+        journalWriter.setDaemon(true);
+        journalWriter.start();
+        writer = new Thread(this::drain, "pledge-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        // The journal thread may still queue pledges, so it stops before the writer.
+        journalWriter.interrupt();
+        journalWriter.join(TimeUnit.SECONDS.toMillis(30));
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        synchronized (journal) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Accepts a pledge for asynchronous persistence.
+     *
+     * @param pledgeRequestDto The creation request.
+     * @return The accepted submission, or empty when write-behind is disabled or the queue is full and the caller
+     * must create the pledge synchronously.
+     * @throws ResourceNotFoundException if the parent Maintenance task is not found.
+     * @throws IllegalStateException if the parent Maintenance task is in a terminal state.
+     */
+    public Optional<PledgeSubmissionDto> submit(PledgeDto pledgeRequestDto) {
+        if (!running || queue.remainingCapacity() == 0) {
+            return Optional.empty();
+        }
+        pledgeService.getMaintenanceOpenForPledges(pledgeRequestDto.maintenanceId());
+        QueuedPledge queued = new QueuedPledge(PublicIds.next(), pledgeRequestDto, ZonedDateTime.now());
+        Acceptance acceptance = new Acceptance(queued, new CompletableFuture<>());
+        if (!acceptances.offer(acceptance) || !awaitJournaled(acceptance)) {
+            return Optional.empty();
+        }
+        return Optional.of(toSubmission(queued.publicId(), PledgeSubmissionStatus.QUEUED, null));
+    }
+
+    /**
+     * Waits until the journal thread has forced the acceptance to disk and queued the pledge.
+     *
+     * @return Whether the pledge was queued; false when the queue filled up meanwhile or the journal thread
+     * stopped before taking the acceptance.
+     */
+    private boolean awaitJournaled(Acceptance acceptance) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return acceptance.queued().get(1, TimeUnit.SECONDS);
+                } catch (TimeoutException e) {
+                    // Once the journal thread is gone, an acceptance it never took can be withdrawn safely.
+                    if (!journalWriter.isAlive() && acceptances.remove(acceptance)) {
+                        return false;
+                    }
+                } catch (InterruptedException e) {
+                    // The pledge may already be journaled; answer the client with its outcome either way.
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException cause) {
+                        throw cause;
+                    }
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Reports where an accepted pledge is in its lifecycle.
+     *
+     * @param pledgeId The public UUID handed out at acceptance.
+     * @return The submission status.
+     * @throws ResourceNotFoundException if no pledge with that ID was accepted or persisted.
+     */
+    public PledgeSubmissionDto getSubmission(UUID pledgeId) {
+        if (pending.containsKey(pledgeId)) {
+            return toSubmission(pledgeId, PledgeSubmissionStatus.QUEUED, null);
+        }
+        String failure = failures.get(pledgeId);
+        if (failure != null) {
+            return toSubmission(pledgeId, PledgeSubmissionStatus.FAILED, failure);
+        }
+        if (pledgeService.pledgeExists(pledgeId)) {
+            return toSubmission(pledgeId, PledgeSubmissionStatus.PERSISTED, null);
+        }
+        throw new ResourceNotFoundException("Pledge submission not found");
+    }
+
+    public static String statusUrl(UUID pledgeId) {
+        return "/api/v1/pledges/submissions/" + pledgeId;
+    }
+
+    private static PledgeSubmissionDto toSubmission(UUID pledgeId, PledgeSubmissionStatus status, String message) {
+        return new PledgeSubmissionDto(pledgeId, status, message, statusUrl(pledgeId));
+    }
+
+    private void journalAcceptances() {
+        List<Acceptance> group = new ArrayList<>();
+        while (running || !acceptances.isEmpty()) {
+            try {
+                Acceptance first = running ? acceptances.poll(1, TimeUnit.SECONDS) : acceptances.poll();
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                acceptances.drainTo(group);
+            } catch (InterruptedException e) {
+                // Interrupted by stop(); the loop journals whatever is left without waiting.
+            }
+            if (!group.isEmpty()) {
+                journal(List.copyOf(group));
+                group.clear();
+            }
+        }
+    }
+
+    /**
+     * Journals a group of acceptances with a single {@code force}, queues them and releases their submitters.
+     * Pledges that no longer fit in the queue are marked completed again and handed back to their submitters.
+     */
+    private void journal(List<Acceptance> group) {
+        List<QueuedPledge> pledges = group.stream().map(Acceptance::pledge).toList();
+        Set<UUID> overflow = new HashSet<>();
+        try {
+            synchronized (journal) {
+                journal.appendAccepted(pledges);
+                for (QueuedPledge pledge : pledges) {
+                    pending.put(pledge.publicId(), pledge);
+                    if (!queue.offer(pledge)) {
+                        pending.remove(pledge.publicId());
+                        overflow.add(pledge.publicId());
+                    }
+                }
+                if (!overflow.isEmpty()) {
+                    journal.appendCompleted(overflow);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Without overflow the group was never journaled; otherwise only the overflow is unaccounted for.
+            for (Acceptance acceptance : group) {
+                if (overflow.isEmpty() || overflow.contains(acceptance.pledge().publicId())) {
+                    acceptance.queued().completeExceptionally(e);
+                } else {
+                    acceptance.queued().complete(true);
+                }
+            }
+            return;
+        }
+        group.forEach(acceptance -> acceptance.queued().complete(!overflow.contains(acceptance.pledge().publicId())));
+    }
+
+    private void drain() {
+        List<QueuedPledge> batch = new ArrayList<>(properties.batchSize());
+        Duration backoff = Duration.ZERO;
+        while (running || !queue.isEmpty()) {
+            if (!batch.isEmpty()) {
+                List<QueuedPledge> retry = flush(List.copyOf(batch));
+                batch.clear();
+                if (retry.isEmpty()) {
+                    backoff = Duration.ZERO;
+                    continue;
+                }
+                if (!running) {
+                    // Still pending in the journal, so they are queued again at the next start.
+                    continue;
+                }
+                backoff = backoff.isZero() ? INITIAL_RETRY_BACKOFF : min(backoff.multipliedBy(2), MAX_RETRY_BACKOFF);
+                log.warn("Could not reach the database for {} pledges; retrying in {}", retry.size(), backoff);
+                batch.addAll(retry);
+                try {
+                    Thread.sleep(backoff.toMillis());
+                } catch (InterruptedException e) {
+                    // Interrupted by stop(); the batch gets one last attempt.
+                }
+                continue;
+            }
+            try {
+                QueuedPledge first = running ? queue.poll(1, TimeUnit.SECONDS) : queue.poll();
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + properties.maxDelay().toNanos();
+                while (batch.size() < properties.batchSize()) {
+                    queue.drainTo(batch, properties.batchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= properties.batchSize() || remaining <= 0 || !running) {
+                        break;
+                    }
+                    QueuedPledge next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Interrupted by stop(); the loop drains whatever is left without waiting.
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(List.copyOf(batch));
+        }
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    /**
+     * Commits a batch and records the pledges the database rejected.
+     *
+     * @return The pledges that hit a transient failure; they stay pending and must be retried.
+     */
+    List<QueuedPledge> flush(List<QueuedPledge> batch) {
+        Map<UUID, String> rejected = new HashMap<>();
+        List<QueuedPledge> retry = new ArrayList<>();
+        try {
+            rejected.putAll(batchWriter.persist(batch));
+        } catch (RuntimeException batchFailure) {
+            if (isTransient(batchFailure)) {
+                return batch;
+            }
+            // One bad row rolls back the whole group; retry individually so the others still get in.
+            for (QueuedPledge queued : batch) {
+                try {
+                    rejected.putAll(batchWriter.persist(List.of(queued)));
+                } catch (RuntimeException e) {
+                    if (isTransient(e)) {
+                        retry.add(queued);
+                    } else if (e instanceof DataIntegrityViolationException violation
+                            && ClosedMaintenanceConstraint.isViolatedBy(violation)) {
+                        rejected.put(queued.publicId(), "Cannot create a pledge for a maintenance that is in a terminal state.");
+                    } else {
+                        log.warn("Could not persist pledge {}", queued.publicId(), e);
+                        rejected.put(queued.publicId(), "Could not persist the pledge.");
+                    }
+                }
+            }
+        }
+        if (failures.size() + rejected.size() > MAX_TRACKED_FAILURES) {
+            failures.clear();
+        }
+        failures.putAll(rejected);
+        complete(batch.stream().filter(queued -> !retry.contains(queued)).toList());
+        return retry;
+    }
+
+    /**
+     * Whether the failure says nothing about the pledge itself: the database could not be reached, timed out,
+     * or the write was shed by the concurrency limit.
+     */
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof CannotCreateTransactionException
+                || e instanceof ConcurrencyLimitExceededException;
+    }
+
+    private void complete(List<QueuedPledge> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        synchronized (journal) {
+            List<UUID> publicIds = batch.stream().map(QueuedPledge::publicId).toList();
+            try {
+                journal.appendCompleted(publicIds);
+                publicIds.forEach(pending::remove);
+                if (pending.isEmpty() || journal.size() >= properties.journalCompactionSize().toBytes()) {
+                    journal.rewrite(pending.values().stream()
+                            .sorted(Comparator.comparing(QueuedPledge::acceptedAt))
+                            .toList());
+                }
+            } catch (IOException | UncheckedIOException e) {
+                // The pledges are committed; at worst they are replayed and skipped as duplicates.
+                publicIds.forEach(pending::remove);
+                log.warn("Could not record completed pledges in the journal", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.unnamed.conectareparo.pledge.service;
+
+import com.unnamed.conectareparo.pledge.dto.PledgeDto;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * A pledge accepted by {@link PledgeWriteBehindQueue} that is waiting to be committed.
+ *
+ * @param publicId The public ID handed to the client at acceptance.
+ * @param request The validated creation request.
+ * @param acceptedAt When the pledge was accepted; becomes its creation time.
+ */
+public record QueuedPledge(UUID publicId, PledgeDto request, ZonedDateTime acceptedAt) {
+}
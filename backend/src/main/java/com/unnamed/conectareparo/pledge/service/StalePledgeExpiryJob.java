@@ -0,0 +1,68 @@
+package com.unnamed.conectareparo.pledge.service;
+
+import com.unnamed.conectareparo.common.housekeeping.HousekeepingJob;
+import com.unnamed.conectareparo.common.housekeeping.HousekeepingProperties;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import com.unnamed.conectareparo.pledge.matching.MaterialPledgeIndex;
+import com.unnamed.conectareparo.pledge.repository.PledgeExpiryRepository;
+import com.unnamed.conectareparo.statustransition.entity.StatusEntityType;
+import com.unnamed.conectareparo.statustransition.service.StatusTransitionService;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.service.SyncChangeLog;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Expires OFFERED and PENDING pledges whose maintenance was scheduled more than
+ * {@link HousekeepingProperties#stalePledgeAge()} ago; nobody is going to act on them anymore. The change
+ * is recorded in the status history and the sync change log like any other status change.
+ */
+@Component
+@EnableConfigurationProperties(HousekeepingProperties.class)
+public class StalePledgeExpiryJob implements HousekeepingJob {
+
+    private final PledgeExpiryRepository pledgeExpiryRepository;
+    private final StatusTransitionService statusTransitionService;
+    private final SyncChangeLog syncChangeLog;
+    private final MaterialPledgeIndex materialPledgeIndex;
+    private final HousekeepingProperties properties;
+
+    public StalePledgeExpiryJob(PledgeExpiryRepository pledgeExpiryRepository, StatusTransitionService statusTransitionService,
+                                SyncChangeLog syncChangeLog, MaterialPledgeIndex materialPledgeIndex,
+                                HousekeepingProperties properties) {
+        this.pledgeExpiryRepository = pledgeExpiryRepository;
+        this.statusTransitionService = statusTransitionService;
+        this.syncChangeLog = syncChangeLog;
+        this.materialPledgeIndex = materialPledgeIndex;
+        this.properties = properties;
+    }
+
+    @Override
+    public String name() {
+        return "expire-stale-pledges";
+    }
+
+    @Override
+    @Transactional
+    public int runChunk(int chunkSize) {
+        ZonedDateTime now = ZonedDateTime.now();
+        List<Long> ids = pledgeExpiryRepository.lockStaleIds(now.minus(properties.stalePledgeAge()), chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, PledgeStatus> previous = new LinkedHashMap<>();
+        pledgeExpiryRepository.findStatuses(ids).forEach(row -> previous.put(row.getPublicId(), row.getStatus()));
+        pledgeExpiryRepository.expire(ids, now);
+        statusTransitionService.recordChanges(StatusEntityType.PLEDGE, previous, PledgeStatus.EXPIRED);
+        syncChangeLog.recordChanges(SyncEntityType.PLEDGE, previous.keySet());
+        materialPledgeIndex.removeAfterCommit(List.copyOf(previous.keySet()));
+        return ids.size();
+    }
+}
@@ -0,0 +1,140 @@
+package com.unnamed.conectareparo.pledge.specification;
+
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Filters shared by {@link com.unnamed.conectareparo.pledge.entity.Pledge} and
+ * {@link com.unnamed.conectareparo.pledge.entity.PledgeRecord}, which expose the same attributes.
+ */
+public class PledgeSpecification {
+
+    private static final char LIKE_ESCAPE = '\\';
+    /** Earlier than any row; a comparison against it keeps the bound a plain range that still prunes. */
+    private static final ZonedDateTime UNBOUNDED = ZonedDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    public static <T> Specification<T> belongsToMaintenance(UUID maintenancePublicId) {
+        return (root, query, cb) -> {
+            if (maintenancePublicId == null) {
+                return null;
+            }
+            return cb.equal(root.get("maintenance").get("publicId"), maintenancePublicId);
+        };
+    }
+
+    /**
+     * Bounds {@code created_at} from below by the creation time of the given maintenance, which no pledge
+     * predates. On the partitioned {@code pledge} table the bound comes from a scalar subquery, so
+     * PostgreSQL prunes the older monthly partitions at execution time. A maintenance without a creation
+     * time falls back to {@link #UNBOUNDED}, which keeps every pledge. Only valid for the hot table,
+     * because the subquery reads {@code maintenance}.
+     */
+    public static Specification<Pledge> createdSinceMaintenance(UUID maintenancePublicId) {
+        return (root, query, cb) -> {
+            if (maintenancePublicId == null) {
+                return null;
+            }
+            Subquery<ZonedDateTime> maintenanceCreatedAt = query.subquery(ZonedDateTime.class);
+            Root<Maintenance> maintenance = maintenanceCreatedAt.from(Maintenance.class);
+            maintenanceCreatedAt.select(maintenance.get("createdAt"))
+                    .where(cb.equal(maintenance.get("publicId"), maintenancePublicId));
+            return cb.greaterThanOrEqualTo(root.get("createdAt"), cb.coalesce(maintenanceCreatedAt, UNBOUNDED));
+        };
+    }
+
+    public static <T> Specification<T> hasStatus(String status) {
+        return (root, query, cb) -> {
+            if (status == null || status.isBlank() || status.equalsIgnoreCase("all")) {
+                return null;
+            }
+
+            if (status.equalsIgnoreCase("open")) {
+                return root.get("status").in(PledgeStatus.OFFERED, PledgeStatus.PENDING);
+            }
+
+            if (status.equalsIgnoreCase("closed")) {
+                return root.get("status").in(PledgeStatus.REJECTED, PledgeStatus.COMPLETED, PledgeStatus.CANCELED, PledgeStatus.EXPIRED);
+            }
+
+            // Specific status (OFFERED, PENDING, REJECTED, COMPLETED, CANCELED, EXPIRED)
+            try {
+                PledgeStatus statusEnum = PledgeStatus.valueOf(status.toUpperCase());
+                return cb.equal(root.get("status"), statusEnum);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        };
+    }
+
+    public static <T> Specification<T> hasType(String type) {
+        return (root, query, cb) -> {
+            if (type == null || type.isBlank()) {
+                return null;
+            }
+            try {
+                PledgeCategory typeEnum = PledgeCategory.valueOf(type.toUpperCase());
+                return cb.equal(root.get("type"), typeEnum);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Matches the term anywhere in the volunteer name or contact, case-insensitively.
+     * The predicate is written as {@code lower(column) LIKE '%term%'} so that PostgreSQL can serve it
+     * from the {@code gin_trgm_ops} expression indexes on {@code lower(volunteer_name)} and
+     * {@code lower(volunteer_contact)} instead of scanning the table.
+     */
+    public static <T> Specification<T> searchByVolunteer(String search) {
+        return (root, query, cb) -> {
+            if (search == null || search.trim().isEmpty()) {
+                return null;
+            }
+
+            String searchTerm = "%" + escapeLikeWildcards(search.toLowerCase().trim()) + "%";
+
+            return cb.or(
+                    cb.like(cb.lower(root.get("volunteerName")), searchTerm, LIKE_ESCAPE),
+                    cb.like(cb.lower(root.get("volunteerContact")), searchTerm, LIKE_ESCAPE)
+            );
+        };
+    }
+
+    /**
+     * Matches pledges created inside the half-open window {@code [start, end)}. Either bound may be
+     * omitted to leave that side of the window open.
+     */
+    public static <T> Specification<T> createdBetween(ZonedDateTime start, ZonedDateTime end) {
+        return (root, query, cb) -> {
+            if (start == null && end == null) {
+                return null;
+            }
+            if (start == null) {
+                return cb.lessThan(root.get("createdAt"), end);
+            }
+            if (end == null) {
+                return cb.greaterThanOrEqualTo(root.get("createdAt"), start);
+            }
+            return cb.and(
+                    cb.greaterThanOrEqualTo(root.get("createdAt"), start),
+                    cb.lessThan(root.get("createdAt"), end)
+            );
+        };
+    }
+
+    private static String escapeLikeWildcards(String term) {
+        return term.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,73 @@
+package com.unnamed.conectareparo.search.controller;
+
+import com.unnamed.conectareparo.common.exception.ErrorResponse;
+import com.unnamed.conectareparo.search.dto.SearchResponseDto;
+import com.unnamed.conectareparo.search.service.SearchService;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@Tag(name = "Search", description = "Full-text search across maintenances, pledges and actions")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @Operation(
+        summary = "Searches maintenances, pledges and actions.",
+        description = "Matches maintenance titles and descriptions, pledge descriptions and volunteer names, and action " +
+                "descriptions, executors and material names. Accents and case are ignored and plurals match their " +
+                "singular. All words must match unless separated by '|'; '-word' excludes, \"...\" matches a phrase and " +
+                "'word*' a prefix. Facet counts per entity type and status are returned with every page. " +
+                "Changes show up within a few seconds. Archived entities are not searchable."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Search completed successfully.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = SearchResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Missing query, invalid type, or page beyond the searchable window.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Search is disabled or its index is still being built.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    @GetMapping
+    public ResponseEntity<SearchResponseDto> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) SyncEntityType type,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(searchService.search(q, type, status, page, size));
+    }
+}
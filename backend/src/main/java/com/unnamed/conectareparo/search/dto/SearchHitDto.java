@@ -0,0 +1,29 @@
+package com.unnamed.conectareparo.search.dto;
+
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for one search hit. Carries just enough to render a result list; the full entity is
+ * read from its own endpoint.
+ */
+@Schema(description = "Maintenance, pledge or action matching a search.")
+public record SearchHitDto(
+        @Schema(description = "Kind of entity found.", example = "PLEDGE")
+        SyncEntityType type,
+        @Schema(description = "Public id of the entity found.", example = "123e4567-e89b-12d3-a456-426614174000")
+        UUID id,
+        @Schema(description = "Maintenance the entity belongs to; its own id for maintenances.", example = "123e4567-e89b-12d3-a456-426614174000")
+        UUID maintenanceId,
+        @Schema(description = "Status of the entity; the outcome status for actions.", example = "OFFERED")
+        String status,
+        @Schema(description = "Maintenance title, pledge volunteer name or action executor.", example = "Maria Silva")
+        String title,
+        @Schema(description = "Beginning of the description.", example = "Posso doar 10 sacos de cimento.")
+        String excerpt,
+        @Schema(description = "Relevance of the hit; higher is better. Only comparable within one response.", example = "2.87")
+        double score
+) {
+}
@@ -0,0 +1,20 @@
+package com.unnamed.conectareparo.search.dto;
+
+import com.unnamed.conectareparo.common.pagination.PageResponse;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object for a page of search hits with facet counts.
+ */
+@Schema(description = "Page of search hits with counts per entity type and status.")
+public record SearchResponseDto(
+        @Schema(description = "Hits of the requested page, best first.")
+        PageResponse<SearchHitDto> hits,
+        @Schema(description = "Hit counts per value of the 'type' and 'status' facets. Each facet ignores its own filter, " +
+                "so the counts show what selecting another value would return.",
+                example = "{\"type\": {\"MAINTENANCE\": 3, \"PLEDGE\": 12}, \"status\": {\"OFFERED\": 9, \"IN_PROGRESS\": 3}}")
+        Map<String, Map<String, Long>> facets
+) {
+}
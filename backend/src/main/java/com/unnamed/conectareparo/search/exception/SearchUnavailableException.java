@@ -0,0 +1,10 @@
+package com.unnamed.conectareparo.search.exception;
+
+/**
+ * Thrown when search is disabled or its index has not been built yet.
+ */
+public class SearchUnavailableException extends RuntimeException {
+    public SearchUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,89 @@
+package com.unnamed.conectareparo.search.index;
+
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenanceaction.entity.ActionMaterial;
+import com.unnamed.conectareparo.maintenanceaction.entity.MaintenanceAction;
+import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+
+import java.util.UUID;
+
+/**
+ * Turns entities into search documents. Every document is searchable through a short {@link #TITLE} and a
+ * longer {@link #TEXT}, and faceted by {@link #TYPE} and {@link #STATUS}. Volunteer contacts are never
+ * indexed.
+ */
+final class SearchDocuments {
+
+    static final String ID = "id";
+    static final String TYPE = "type";
+    static final String STATUS = "status";
+    static final String MAINTENANCE_ID = "maintenanceId";
+    static final String TITLE = "title";
+    static final String TEXT = "text";
+    static final String EXCERPT = "excerpt";
+
+    /** Bumped whenever the fields change, so indexes written with the old layout are rebuilt. */
+    static final String LAYOUT_VERSION = "1";
+
+    private static final int EXCERPT_LENGTH = 200;
+
+    private SearchDocuments() {
+    }
+
+    static Document maintenance(Maintenance maintenance) {
+        return document(SyncEntityType.MAINTENANCE, maintenance.getPublicId(), maintenance.getStatus().name(),
+                maintenance.getPublicId(), maintenance.getTitle(), maintenance.getDescription(),
+                maintenance.getCategory().name());
+    }
+
+    static Document pledge(Pledge pledge) {
+        return document(SyncEntityType.PLEDGE, pledge.getPublicId(), pledge.getStatus().name(),
+                pledge.getMaintenanceId().getPublicId(), pledge.getVolunteerName(), pledge.getDescription(),
+                pledge.getType().name());
+    }
+
+    static Document action(MaintenanceAction action) {
+        StringBuilder materials = new StringBuilder();
+        for (ActionMaterial material : action.getMaterialsUsed()) {
+            materials.append(material.getItemName()).append('\n');
+        }
+        return document(SyncEntityType.ACTION, action.getPublicId(), action.getOutcomeStatus().name(),
+                action.getMaintenance().getPublicId(), action.getExecutedBy(), action.getActionDescription(),
+                materials.toString());
+    }
+
+    private static Document document(SyncEntityType type, UUID id, String status, UUID maintenanceId,
+                                     String title, String description, String extra) {
+        Document document = new Document();
+        document.add(new StringField(ID, id.toString(), Field.Store.YES));
+        document.add(new StoredField(TYPE, type.name()));
+        document.add(new SortedSetDocValuesFacetField(TYPE, type.name()));
+        document.add(new StoredField(STATUS, status));
+        document.add(new SortedSetDocValuesFacetField(STATUS, status));
+        document.add(new StoredField(MAINTENANCE_ID, maintenanceId.toString()));
+        if (title != null) {
+            document.add(new TextField(TITLE, title, Field.Store.YES));
+        }
+        if (description != null) {
+            document.add(new TextField(TEXT, description, Field.Store.NO));
+            document.add(new StoredField(EXCERPT, excerpt(description)));
+        }
+        document.add(new TextField(TEXT, extra, Field.Store.NO));
+        return document;
+    }
+
+    private static String excerpt(String text) {
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        int end = text.lastIndexOf(' ', EXCERPT_LENGTH);
+        return text.substring(0, end > 0 ? end : EXCERPT_LENGTH) + "…";
+    }
+}
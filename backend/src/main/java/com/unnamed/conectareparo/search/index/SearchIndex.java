@@ -0,0 +1,288 @@
+package com.unnamed.conectareparo.search.index;
+
+import com.unnamed.conectareparo.common.pagination.CountMode;
+import com.unnamed.conectareparo.common.pagination.PageResponse;
+import com.unnamed.conectareparo.search.dto.SearchHitDto;
+import com.unnamed.conectareparo.search.dto.SearchResponseDto;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.repository.SyncPosition;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.facet.DrillDownQuery;
+import org.apache.lucene.facet.DrillSideways;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Embedded Lucene index of maintenances, pledges and actions, kept in a memory-mapped directory on local
+ * disk. Searches never touch the database.
+ * <p>
+ * {@link SearchIndexer} is the only writer. Its writes become searchable when it calls {@link #refresh()}
+ * and durable when it calls {@link #commit(SyncPosition, Instant)}, which stores the sync change log position the
+ * index reflects with the commit, so a restart resumes from there instead of rebuilding. Until the first
+ * commit, or while an index written with another layout waits to be rebuilt, searches are refused.
+ */
+@Component
+@EnableConfigurationProperties(SearchProperties.class)
+public class SearchIndex {
+
+    private static final String POSITION_XID = "positionXid";
+    private static final String POSITION = "position";
+    private static final String SYNCED_AT = "syncedAt";
+    private static final String LAYOUT = "layout";
+    private static final int MAX_FACET_VALUES = 50;
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(SearchDocuments.TITLE, 2f, SearchDocuments.TEXT, 1f);
+
+    private final SearchProperties properties;
+    private final Analyzer analyzer = new SearchAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile Checkpoint checkpoint;
+
+    public SearchIndex(SearchProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        if (!properties.enabled()) {
+            return;
+        }
+        directory = new MMapDirectory(properties.directory());
+        if (DirectoryReader.indexExists(directory)) {
+            checkpoint = Checkpoint.of(SegmentInfos.readLatestCommit(directory).getUserData());
+        }
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, new FacetedSearcherFactory());
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        searcherManager.close();
+        // Uncommitted changes are dropped; they are replayed from the last committed position.
+        writer.rollback();
+        directory.close();
+    }
+
+    /**
+     * Searches every indexed entity.
+     *
+     * @param text Query in simple syntax: words must all match, {@code |} means or, {@code -} excludes,
+     *             {@code "..."} matches a phrase and a trailing {@code *} a prefix.
+     * @param type Only return entities of this kind, or {@code null} for all.
+     * @param status Only return entities with this status, or {@code null} for all.
+     * @param page Zero-based page number.
+     * @param size Hits per page.
+     * @return The page of hits, best first, with facet counts over all hits.
+     */
+    public SearchResponseDto search(String text, SyncEntityType type, String status, int page, int size) {
+        int offset = page * size;
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                SortedSetDocValuesReaderState state = ((FacetedSearcher) searcher).state;
+                if (state == null) {
+                    return new SearchResponseDto(page(List.of(), page, size, new TotalHits(0, TotalHits.Relation.EQUAL_TO)),
+                            Map.of(SearchDocuments.TYPE, Map.of(), SearchDocuments.STATUS, Map.of()));
+                }
+                DrillDownQuery query = new DrillDownQuery(facetsConfig, parse(text));
+                if (type != null) {
+                    query.add(SearchDocuments.TYPE, type.name());
+                }
+                if (status != null) {
+                    query.add(SearchDocuments.STATUS, status);
+                }
+                DrillSideways.DrillSidewaysResult result = new DrillSideways(searcher, facetsConfig, state)
+                        .search(query, offset + size);
+
+                TopDocs top = result.hits;
+                StoredFields storedFields = searcher.storedFields();
+                List<SearchHitDto> hits = new ArrayList<>(size);
+                for (int i = offset; i < top.scoreDocs.length; i++) {
+                    ScoreDoc scoreDoc = top.scoreDocs[i];
+                    hits.add(toHit(storedFields.document(scoreDoc.doc), scoreDoc.score));
+                }
+                Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+                facets.put(SearchDocuments.TYPE, counts(result.facets, SearchDocuments.TYPE));
+                facets.put(SearchDocuments.STATUS, counts(result.facets, SearchDocuments.STATUS));
+                return new SearchResponseDto(page(hits, page, size, top.totalHits), facets);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Whether the index has been built and may be searched.
+     */
+    public boolean isReady() {
+        return checkpoint != null;
+    }
+
+    /**
+     * The last committed sync change log position and when it was known to be current, or {@code null} when
+     * the index has to be built from scratch.
+     */
+    Checkpoint checkpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Replaces the documents of changed entities and deletes the documents of removed ones.
+     */
+    void update(Collection<Document> changed, Collection<UUID> removed) throws IOException {
+        for (UUID id : removed) {
+            writer.deleteDocuments(new Term(SearchDocuments.ID, id.toString()));
+        }
+        for (Document document : changed) {
+            writer.updateDocument(new Term(SearchDocuments.ID, document.get(SearchDocuments.ID)), facetsConfig.build(document));
+        }
+    }
+
+    /**
+     * Drops every document ahead of a rebuild. Searches keep seeing the previous documents until the next
+     * {@link #refresh()}.
+     */
+    void deleteAll() throws IOException {
+        writer.deleteAll();
+    }
+
+    /**
+     * Makes the writes so far searchable.
+     */
+    void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * Makes the writes so far durable and records the sync change log position they reflect.
+     */
+    void commit(SyncPosition position, Instant syncedAt) throws IOException {
+        Checkpoint next = new Checkpoint(position, syncedAt);
+        writer.setLiveCommitData(next.userData().entrySet());
+        writer.commit();
+        searcherManager.maybeRefresh();
+        checkpoint = next;
+    }
+
+    private Query parse(String text) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query query = parser.parse(text);
+        return query == null ? new MatchNoDocsQuery() : query;
+    }
+
+    private static SearchHitDto toHit(Document document, float score) {
+        String maintenanceId = document.get(SearchDocuments.MAINTENANCE_ID);
+        return new SearchHitDto(
+                SyncEntityType.valueOf(document.get(SearchDocuments.TYPE)),
+                UUID.fromString(document.get(SearchDocuments.ID)),
+                UUID.fromString(maintenanceId),
+                document.get(SearchDocuments.STATUS),
+                document.get(SearchDocuments.TITLE),
+                document.get(SearchDocuments.EXCERPT),
+                Math.round(score * 1000) / 1000.0);
+    }
+
+    private static Map<String, Long> counts(Facets facets, String dimension) throws IOException {
+        FacetResult result = facets.getTopChildren(MAX_FACET_VALUES, dimension);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        if (result != null) {
+            for (LabelAndValue labelAndValue : result.labelValues) {
+                counts.put(labelAndValue.label, labelAndValue.value.longValue());
+            }
+        }
+        return counts;
+    }
+
+    private static PageResponse<SearchHitDto> page(List<SearchHitDto> hits, int page, int size, TotalHits totalHits) {
+        boolean exact = totalHits.relation == TotalHits.Relation.EQUAL_TO;
+        boolean hasNext = totalHits.value > (long) (page + 1) * size;
+        return new PageResponse<>(hits, page, size, hits.size(), page == 0, !hasNext, hasNext, totalHits.value,
+                (int) Math.ceil((double) totalHits.value / size), exact ? CountMode.EXACT : CountMode.ESTIMATED);
+    }
+
+    /**
+     * Commits without a transaction id predate {@link SyncPosition} and are rebuilt.
+     */
+    record Checkpoint(SyncPosition position, Instant syncedAt) {
+
+        static Checkpoint of(Map<String, String> userData) {
+            if (!SearchDocuments.LAYOUT_VERSION.equals(userData.get(LAYOUT)) || !userData.containsKey(POSITION)
+                    || !userData.containsKey(POSITION_XID)) {
+                return null;
+            }
+            return new Checkpoint(new SyncPosition(Long.parseLong(userData.get(POSITION_XID)), Long.parseLong(userData.get(POSITION))),
+                    Instant.parse(userData.get(SYNCED_AT)));
+        }
+
+        Map<String, String> userData() {
+            return Map.of(LAYOUT, SearchDocuments.LAYOUT_VERSION, POSITION_XID, Long.toString(position.xid()),
+                    POSITION, Long.toString(position.seq()), SYNCED_AT, syncedAt.toString());
+        }
+    }
+
+    /**
+     * Builds the facet ordinals once per reader instead of once per search.
+     */
+    private final class FacetedSearcherFactory extends SearcherFactory {
+
+        @Override
+        public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) throws IOException {
+            return new FacetedSearcher(reader, reader.maxDoc() == 0 ? null : new DefaultSortedSetDocValuesReaderState(reader, facetsConfig));
+        }
+    }
+
+    private static final class FacetedSearcher extends IndexSearcher {
+        private final SortedSetDocValuesReaderState state;
+
+        FacetedSearcher(IndexReader reader, SortedSetDocValuesReaderState state) {
+            super(reader);
+            this.state = state;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.unnamed.conectareparo.search.index;
+
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceRepository;
+import com.unnamed.conectareparo.maintenanceaction.repository.MaintenanceActionRepository;
+import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.repository.PledgeRepository;
+import com.unnamed.conectareparo.sync.entity.SyncChange;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.repository.SyncChangeRepository;
+import com.unnamed.conectareparo.sync.repository.SyncPosition;
+import com.unnamed.conectareparo.sync.service.SyncChangeEvent;
+import com.unnamed.conectareparo.sync.service.SyncProperties;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.document.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Keeps {@link SearchIndex} in step with the database. Without a usable index it rebuilds one from all
+ * rows in batches. Afterwards every run indexes the entities this instance changed, announced by a
+ * {@link SyncChangeEvent} once their transaction committed, and then reads the sync change log for
+ * writes of other instances and for archived entities. Only settled changes are read, so one committed
+ * late by a slow transaction is picked up by a later run rather than skipped.
+ * <p>
+ * An index found on disk whose last commit is older than {@link SyncProperties#retention()} is rebuilt,
+ * since the changes it still has to replay may have been purged.
+ * <p>
+ * Not transactional on purpose: every batch is read in its own short transaction, so its entities are
+ * detached and can be collected as soon as they are indexed.
+ */
+@Component
+@ConditionalOnProperty(prefix = "conectareparo.search", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SearchIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexer.class);
+
+    private final SearchIndex index;
+    private final MaintenanceRepository maintenanceRepository;
+    private final PledgeRepository pledgeRepository;
+    private final MaintenanceActionRepository maintenanceActionRepository;
+    private final SyncChangeRepository syncChangeRepository;
+    private final SearchProperties properties;
+    private final SyncProperties syncProperties;
+    private final Set<Change> committed = ConcurrentHashMap.newKeySet();
+
+    /** Last change known to be reflected in the index. Guarded by this. */
+    private SyncPosition position = SyncPosition.START;
+    private Instant lastCommit = Instant.EPOCH;
+    private boolean dirty;
+    private boolean resumed;
+
+    public SearchIndexer(SearchIndex index, MaintenanceRepository maintenanceRepository, PledgeRepository pledgeRepository,
+                         MaintenanceActionRepository maintenanceActionRepository, SyncChangeRepository syncChangeRepository,
+                         SearchProperties properties, SyncProperties syncProperties) {
+        this.index = index;
+        this.maintenanceRepository = maintenanceRepository;
+        this.pledgeRepository = pledgeRepository;
+        this.maintenanceActionRepository = maintenanceActionRepository;
+        this.syncChangeRepository = syncChangeRepository;
+        this.properties = properties;
+        this.syncProperties = syncProperties;
+        SearchIndex.Checkpoint checkpoint = index.checkpoint();
+        if (checkpoint != null) {
+            position = checkpoint.position();
+            lastCommit = checkpoint.syncedAt();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCommitted(SyncChangeEvent event) {
+        event.entityPublicIds().forEach(id -> committed.add(new Change(event.entityType(), id)));
+    }
+
+    @Scheduled(fixedDelayString = "${conectareparo.search.refresh-interval:1s}")
+    public synchronized void refresh() throws IOException {
+        Instant now = Instant.now();
+        SearchIndex.Checkpoint checkpoint = index.checkpoint();
+        if (checkpoint == null || !resumed && checkpoint.syncedAt().isBefore(now.minus(syncProperties.retention()))) {
+            rebuild(now);
+            resumed = true;
+            return;
+        }
+        Set<Change> changes = new HashSet<>(committed);
+        committed.removeAll(changes);
+        boolean changed = reindex(changes);
+        changed |= catchUp();
+        if (changed) {
+            index.refresh();
+        }
+        dirty |= changed || !position.equals(checkpoint.position());
+        if (dirty && !now.isBefore(lastCommit.plus(properties.commitInterval()))) {
+            commit(now);
+        }
+        resumed = true;
+    }
+
+    @PreDestroy
+    synchronized void flush() throws IOException {
+        if (dirty) {
+            commit(Instant.now());
+        }
+    }
+
+    private void rebuild(Instant now) throws IOException {
+        // Taken before the rows, so changes committed while they load are replayed by the next run.
+        position = syncChangeRepository.findSettledPosition();
+        committed.clear();
+        index.deleteAll();
+        int maintenances = load(afterId -> maintenanceRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit()),
+                Maintenance::getId, SearchDocuments::maintenance);
+        int pledges = load(afterId -> pledgeRepository.findWithMaintenanceByIdGreaterThanOrderByIdAsc(afterId, limit()),
+                Pledge::getId, SearchDocuments::pledge);
+        int actions = 0;
+        List<Long> ids;
+        long afterId = 0;
+        do {
+            ids = maintenanceActionRepository.findIdsAfter(afterId, limit());
+            if (!ids.isEmpty()) {
+                List<Document> documents = maintenanceActionRepository.findAllWithMaterialsByIdIn(ids).stream()
+                        .map(SearchDocuments::action)
+                        .toList();
+                index.update(documents, List.of());
+                actions += documents.size();
+                afterId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == properties.batchSize());
+        commit(now);
+        log.info("Rebuilt the search index with {} maintenances, {} pledges and {} actions", maintenances, pledges, actions);
+    }
+
+    private <T> int load(Function<Long, List<T>> batches, Function<T, Long> idOf, Function<T, Document> toDocument) throws IOException {
+        int loaded = 0;
+        long afterId = 0;
+        List<T> batch;
+        do {
+            batch = batches.apply(afterId);
+            index.update(batch.stream().map(toDocument).toList(), List.of());
+            loaded += batch.size();
+            if (!batch.isEmpty()) {
+                afterId = idOf.apply(batch.get(batch.size() - 1));
+            }
+        } while (batch.size() == properties.batchSize());
+        return loaded;
+    }
+
+    private boolean catchUp() throws IOException {
+        boolean changed = false;
+        while (true) {
+            List<SyncChange> changes = syncChangeRepository.findSettledAfter(position, properties.batchSize());
+            if (changes.isEmpty()) {
+                return changed;
+            }
+            Set<Change> pending = new LinkedHashSet<>();
+            for (SyncChange change : changes) {
+                pending.add(new Change(change.getEntityType(), change.getEntityPublicId()));
+            }
+            changed |= reindex(pending);
+            position = SyncPosition.of(changes.get(changes.size() - 1));
+            if (changes.size() < properties.batchSize()) {
+                return changed;
+            }
+        }
+    }
+
+    /**
+     * Indexes the current state of the given entities; the ones no longer found are deleted.
+     */
+    private boolean reindex(Set<Change> changes) throws IOException {
+        if (changes.isEmpty()) {
+            return false;
+        }
+        Map<SyncEntityType, Set<UUID>> byType = new EnumMap<>(SyncEntityType.class);
+        changes.forEach(change -> byType.computeIfAbsent(change.type(), type -> new HashSet<>()).add(change.publicId()));
+        List<Document> documents = new ArrayList<>();
+        Set<UUID> removed = new HashSet<>();
+        for (Map.Entry<SyncEntityType, Set<UUID>> entry : byType.entrySet()) {
+            Set<UUID> missing = new HashSet<>(entry.getValue());
+            switch (entry.getKey()) {
+                case MAINTENANCE -> maintenanceRepository.findAllByPublicIdIn(entry.getValue()).forEach(maintenance -> {
+                    missing.remove(maintenance.getPublicId());
+                    documents.add(SearchDocuments.maintenance(maintenance));
+                });
+                case PLEDGE -> pledgeRepository.findAllWithMaintenanceByPublicIdIn(entry.getValue()).forEach(pledge -> {
+                    missing.remove(pledge.getPublicId());
+                    documents.add(SearchDocuments.pledge(pledge));
+                });
+                case ACTION -> maintenanceActionRepository.findAllWithMaterialsByPublicIdIn(entry.getValue()).forEach(action -> {
+                    missing.remove(action.getPublicId());
+                    documents.add(SearchDocuments.action(action));
+                });
+            }
+            removed.addAll(missing);
+        }
+        index.update(documents, removed);
+        return true;
+    }
+
+    private void commit(Instant now) throws IOException {
+        index.commit(position, now);
+        lastCommit = now;
+        dirty = false;
+    }
+
+    private Limit limit() {
+        return Limit.of(properties.batchSize());
+    }
+
+    private record Change(SyncEntityType type, UUID publicId) {
+    }
+}
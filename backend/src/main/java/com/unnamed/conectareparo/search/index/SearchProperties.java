@@ -0,0 +1,33 @@
+package com.unnamed.conectareparo.search.index;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for the global search over maintenances, pledges and actions.
+ *
+ * @param enabled Maintains the Lucene index and serves the search endpoint from it when true.
+ * @param directory Local directory holding the index. Deleting it makes the next start rebuild the index.
+ * @param refreshInterval How often committed writes are applied to the index and made searchable.
+ * @param commitInterval How often the index is flushed to disk together with its sync change log position.
+ *                       A restart replays the changes recorded since the last flush.
+ * @param batchSize Rows loaded, and sync changes read, per query.
+ * @param defaultPageSize Hits returned when the client does not ask for a size.
+ * @param maxPageSize Upper bound of hits returned per request.
+ * @param maxResultWindow Deepest hit reachable through paging; every page ranks all hits before it.
+ */
+@ConfigurationProperties(prefix = "conectareparo.search")
+public record SearchProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("./data/search-index") Path directory,
+        @DefaultValue("1s") Duration refreshInterval,
+        @DefaultValue("30s") Duration commitInterval,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("20") int defaultPageSize,
+        @DefaultValue("100") int maxPageSize,
+        @DefaultValue("1000") int maxResultWindow
+) {
+}
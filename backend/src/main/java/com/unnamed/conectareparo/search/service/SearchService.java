@@ -0,0 +1,64 @@
+package com.unnamed.conectareparo.search.service;
+
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import com.unnamed.conectareparo.search.dto.SearchResponseDto;
+import com.unnamed.conectareparo.search.exception.SearchUnavailableException;
+import com.unnamed.conectareparo.search.index.SearchIndex;
+import com.unnamed.conectareparo.search.index.SearchProperties;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * Global search over maintenances, pledges and actions, answered by the embedded {@link SearchIndex}
+ * without querying the database. Archived entities are not searchable.
+ */
+@Service
+public class SearchService {
+
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final SearchIndex searchIndex;
+    private final SearchProperties properties;
+
+    public SearchService(SearchIndex searchIndex, SearchProperties properties) {
+        this.searchIndex = searchIndex;
+        this.properties = properties;
+    }
+
+    /**
+     * Searches the descriptions, titles, volunteer names, executors and material names of all entities.
+     *
+     * @param query Words to look for; see {@link SearchIndex#search} for the supported syntax.
+     * @param type Only return entities of this kind, or {@code null} for all.
+     * @param status Only return entities with this status, case-insensitive, or {@code null} for all.
+     * @param page Zero-based page number, defaults to 0.
+     * @param size Hits per page, defaults to {@link SearchProperties#defaultPageSize()}.
+     * @return The page of hits, best first, with counts per entity type and status.
+     * @throws BadRequestException if the query, page or size is invalid.
+     * @throws SearchUnavailableException if search is disabled or its index is still being built.
+     */
+    public SearchResponseDto search(String query, SyncEntityType type, String status, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Query must not be blank.");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Query must not exceed " + MAX_QUERY_LENGTH + " characters.");
+        }
+        int pageSize = size == null ? properties.defaultPageSize() : size;
+        if (pageSize < 1 || pageSize > properties.maxPageSize()) {
+            throw new BadRequestException("Size must be between 1 and " + properties.maxPageSize() + ".");
+        }
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0 || (long) (pageNumber + 1) * pageSize > properties.maxResultWindow()) {
+            throw new BadRequestException("Only the first " + properties.maxResultWindow()
+                    + " hits can be paged through; refine the query instead.");
+        }
+        if (!searchIndex.isReady()) {
+            throw new SearchUnavailableException("Search is not available yet. Try again shortly.");
+        }
+        String normalizedStatus = status == null || status.isBlank() ? null : status.trim().toUpperCase(Locale.ROOT);
+        return searchIndex.search(query, type, normalizedStatus, pageNumber, pageSize);
+    }
+}
@@ -0,0 +1,75 @@
+package com.unnamed.conectareparo.statustransition.controller;
+
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import com.unnamed.conectareparo.common.exception.ErrorResponse;
+import com.unnamed.conectareparo.statustransition.dto.StatusTimelineResponseDto;
+import com.unnamed.conectareparo.statustransition.entity.StatusEntityType;
+import com.unnamed.conectareparo.statustransition.service.StatusTransitionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/status-transitions")
+@Tag(name = "Status Transition", description = "Endpoints for reading the status history of maintenances and pledges")
+public class StatusTransitionController {
+
+    private final StatusTransitionService statusTransitionService;
+
+    public StatusTransitionController(StatusTransitionService statusTransitionService) {
+        this.statusTransitionService = statusTransitionService;
+    }
+
+    @Operation(
+        summary = "Retrieves a status timeline.",
+        description = "With entityType and entityId, returns the status history of that maintenance or pledge. " +
+                "Otherwise returns every transition between from (inclusive) and to (exclusive), by default the last 30 days, " +
+                "optionally only of one entityType. Results are newest first; pass nextCursor as cursor to get the next page."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Timeline retrieved successfully.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = StatusTimelineResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid entity type, window, cursor or size.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    @GetMapping
+    public ResponseEntity<StatusTimelineResponseDto> getTimeline(
+            @RequestParam(required = false) StatusEntityType entityType,
+            @RequestParam(required = false) UUID entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        if (entityId != null) {
+            if (entityType == null) {
+                throw new BadRequestException("entityType is required together with entityId.");
+            }
+            return ResponseEntity.ok(statusTransitionService.getEntityTimeline(entityType, entityId, cursor, size));
+        }
+        return ResponseEntity.ok(statusTransitionService.getWindow(entityType, from, to, cursor, size));
+    }
+}
@@ -0,0 +1,19 @@
+package com.unnamed.conectareparo.statustransition.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * A page of a status timeline, newest first.
+ */
+@Schema(description = "Keyset-paginated page of status transitions, newest first.")
+public record StatusTimelineResponseDto(
+        @Schema(description = "Transitions of this page.")
+        List<StatusTransitionResponseDto> content,
+        @Schema(description = "Whether older transitions exist.", example = "true")
+        boolean hasNext,
+        @Schema(description = "Opaque cursor to pass as cursor to fetch the next page; null on the last page.", example = "MjAyNS0xMC0xMFQxMDoxMDoxMFp8NDI")
+        String nextCursor
+) {
+}
@@ -0,0 +1,25 @@
+package com.unnamed.conectareparo.statustransition.dto;
+
+import com.unnamed.conectareparo.statustransition.entity.StatusEntityType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for {@link com.unnamed.conectareparo.statustransition.entity.StatusTransition} http response.
+ */
+@Schema(description = "A single status change of a maintenance or pledge.")
+public record StatusTransitionResponseDto(
+        @Schema(description = "Kind of entity that changed.", example = "MAINTENANCE")
+        StatusEntityType entityType,
+        @Schema(description = "Public ID of the entity that changed.", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
+        UUID entityId,
+        @Schema(description = "Status before the change; null when the entity was created.", example = "OPEN")
+        String fromStatus,
+        @Schema(description = "Status after the change.", example = "IN_PROGRESS")
+        String toStatus,
+        @Schema(description = "Timestamp of the change in ISO 8601 format.", example = "2025-10-10T10:10:10Z")
+        ZonedDateTime changedAt
+) {
+}
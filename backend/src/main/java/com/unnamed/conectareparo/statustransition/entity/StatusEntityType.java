@@ -0,0 +1,9 @@
+package com.unnamed.conectareparo.statustransition.entity;
+
+/**
+ * Kinds of entities whose status changes are recorded.
+ */
+public enum StatusEntityType {
+    MAINTENANCE,
+    PLEDGE
+}
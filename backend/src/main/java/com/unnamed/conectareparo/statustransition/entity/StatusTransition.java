@@ -0,0 +1,74 @@
+package com.unnamed.conectareparo.statustransition.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * One status change of a maintenance or pledge. Rows are only ever inserted; the database rejects updates
+ * and deletes.
+ */
+@Entity
+@Immutable
+@Table(name = "status_transition")
+public class StatusTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type")
+    private StatusEntityType entityType;
+
+    @Column(name = "entity_public_id")
+    private UUID entityPublicId;
+
+    /** {@code null} for the transition recorded when the entity is created. */
+    @Column(name = "from_status")
+    private String fromStatus;
+
+    @Column(name = "to_status")
+    private String toStatus;
+
+    @Column(name = "changed_at")
+    private ZonedDateTime changedAt;
+
+    protected StatusTransition() {
+    }
+
+    public StatusTransition(StatusEntityType entityType, UUID entityPublicId, String fromStatus, String toStatus,
+                            ZonedDateTime changedAt) {
+        this.entityType = entityType;
+        this.entityPublicId = entityPublicId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.changedAt = changedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public StatusEntityType getEntityType() {
+        return entityType;
+    }
+
+    public UUID getEntityPublicId() {
+        return entityPublicId;
+    }
+
+    public String getFromStatus() {
+        return fromStatus;
+    }
+
+    public String getToStatus() {
+        return toStatus;
+    }
+
+    public ZonedDateTime getChangedAt() {
+        return changedAt;
+    }
+}
@@ -0,0 +1,43 @@
+package com.unnamed.conectareparo.statustransition.repository;
+
+import com.unnamed.conectareparo.statustransition.entity.StatusTransition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Timeline reads are keyset-paginated, newest first: each page continues strictly below the
+ * {@code (changed_at, id)} of the last row of the previous one. The row-value comparison lets PostgreSQL seek
+ * straight to that position in {@code idx_status_transition_entity} / {@code idx_status_transition_changed_at}
+ * instead of skipping an offset.
+ */
+@Repository
+public interface StatusTransitionRepository extends JpaRepository<StatusTransition, Long> {
+
+    @Query(value = "SELECT * FROM status_transition " +
+            "WHERE entity_type = :entityType AND entity_public_id = :entityPublicId " +
+            "AND (changed_at, id) < (:beforeChangedAt, :beforeId) " +
+            "ORDER BY changed_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<StatusTransition> findEntityTimeline(@Param("entityType") String entityType,
+                                              @Param("entityPublicId") UUID entityPublicId,
+                                              @Param("beforeChangedAt") ZonedDateTime beforeChangedAt,
+                                              @Param("beforeId") long beforeId,
+                                              @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM status_transition " +
+            "WHERE changed_at >= :from AND changed_at < :to " +
+            "AND (CAST(:entityType AS VARCHAR) IS NULL OR entity_type = :entityType) " +
+            "AND (changed_at, id) < (:beforeChangedAt, :beforeId) " +
+            "ORDER BY changed_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<StatusTransition> findWindow(@Param("entityType") String entityType,
+                                      @Param("from") ZonedDateTime from,
+                                      @Param("to") ZonedDateTime to,
+                                      @Param("beforeChangedAt") ZonedDateTime beforeChangedAt,
+                                      @Param("beforeId") long beforeId,
+                                      @Param("limit") int limit);
+}
@@ -0,0 +1,139 @@
+package com.unnamed.conectareparo.statustransition.service;
+
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import com.unnamed.conectareparo.statustransition.dto.StatusTimelineResponseDto;
+import com.unnamed.conectareparo.statustransition.dto.StatusTransitionResponseDto;
+import com.unnamed.conectareparo.statustransition.entity.StatusEntityType;
+import com.unnamed.conectareparo.statustransition.entity.StatusTransition;
+import com.unnamed.conectareparo.statustransition.repository.StatusTransitionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Records status changes of maintenances and pledges and serves them as timelines. Recording requires the
+ * caller's transaction, so a transition is committed if and only if the status change it describes is.
+ */
+@Service
+@Transactional(readOnly = true)
+public class StatusTransitionService {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    static final Duration DEFAULT_WINDOW = Duration.ofDays(30);
+
+    private final StatusTransitionRepository statusTransitionRepository;
+
+    public StatusTransitionService(StatusTransitionRepository statusTransitionRepository) {
+        this.statusTransitionRepository = statusTransitionRepository;
+    }
+
+    /**
+     * Records the initial status of a newly created entity.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreation(StatusEntityType entityType, UUID entityPublicId, Enum<?> status, ZonedDateTime createdAt) {
+        statusTransitionRepository.save(new StatusTransition(entityType, entityPublicId, null, status.name(),
+                createdAt.truncatedTo(ChronoUnit.MICROS)));
+    }
+
+    /**
+     * Records a status change. Does nothing when the status did not actually change.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(StatusEntityType entityType, UUID entityPublicId, Enum<?> fromStatus, Enum<?> toStatus) {
+        if (fromStatus == toStatus) {
+            return;
+        }
+        statusTransitionRepository.save(new StatusTransition(entityType, entityPublicId,
+                fromStatus == null ? null : fromStatus.name(), toStatus.name(),
+                ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS)));
+    }
+
+    /**
+     * Records that several entities moved to the same status. Entities already in it are skipped.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanges(StatusEntityType entityType, Map<UUID, ? extends Enum<?>> fromStatuses, Enum<?> toStatus) {
+        ZonedDateTime now = ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        statusTransitionRepository.saveAll(fromStatuses.entrySet().stream()
+                .filter(entry -> entry.getValue() != toStatus)
+                .map(entry -> new StatusTransition(entityType, entry.getKey(),
+                        entry.getValue() == null ? null : entry.getValue().name(), toStatus.name(), now))
+                .toList());
+    }
+
+    /**
+     * Retrieves the status history of one entity, newest first.
+     *
+     * @param cursor The nextCursor of the previous page, or {@code null} for the first page.
+     * @param size Maximum number of transitions, defaults to {@value #DEFAULT_PAGE_SIZE}.
+     * @throws BadRequestException if the cursor or size is invalid.
+     */
+    public StatusTimelineResponseDto getEntityTimeline(StatusEntityType entityType, UUID entityPublicId, String cursor, Integer size) {
+        TimelineCursor position = TimelineCursor.decode(cursor);
+        int limit = pageSize(size);
+        List<StatusTransition> transitions = statusTransitionRepository.findEntityTimeline(
+                entityType.name(), entityPublicId, position.changedAt(), position.id(), limit + 1);
+        return toTimeline(transitions, limit);
+    }
+
+    /**
+     * Retrieves every transition inside {@code [from, to)}, newest first, optionally of one entity type only.
+     * Without bounds the window is the last {@link #DEFAULT_WINDOW}.
+     *
+     * @param cursor The nextCursor of the previous page, or {@code null} for the first page.
+     * @param size Maximum number of transitions, defaults to {@value #DEFAULT_PAGE_SIZE}.
+     * @throws BadRequestException if the window, cursor or size is invalid.
+     */
+    public StatusTimelineResponseDto getWindow(StatusEntityType entityType, ZonedDateTime from, ZonedDateTime to,
+                                               String cursor, Integer size) {
+        ZonedDateTime windowEnd = to != null ? to : ZonedDateTime.now();
+        ZonedDateTime windowStart = from != null ? from : windowEnd.minus(DEFAULT_WINDOW);
+        if (!windowStart.isBefore(windowEnd)) {
+            throw new BadRequestException("'from' must be before 'to'.");
+        }
+        TimelineCursor position = TimelineCursor.decode(cursor);
+        int limit = pageSize(size);
+        List<StatusTransition> transitions = statusTransitionRepository.findWindow(
+                entityType == null ? null : entityType.name(), windowStart, windowEnd,
+                position.changedAt(), position.id(), limit + 1);
+        return toTimeline(transitions, limit);
+    }
+
+    private static int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        return size;
+    }
+
+    private static StatusTimelineResponseDto toTimeline(List<StatusTransition> transitions, int limit) {
+        boolean hasNext = transitions.size() > limit;
+        List<StatusTransition> page = hasNext ? transitions.subList(0, limit) : transitions;
+        String nextCursor = null;
+        if (hasNext) {
+            StatusTransition last = page.get(page.size() - 1);
+            nextCursor = new TimelineCursor(last.getChangedAt(), last.getId()).encode();
+        }
+        List<StatusTransitionResponseDto> content = page.stream()
+                .map(transition -> new StatusTransitionResponseDto(
+                        transition.getEntityType(),
+                        transition.getEntityPublicId(),
+                        transition.getFromStatus(),
+                        transition.getToStatus(),
+                        transition.getChangedAt()))
+                .toList();
+        return new StatusTimelineResponseDto(content, hasNext, nextCursor);
+    }
+}
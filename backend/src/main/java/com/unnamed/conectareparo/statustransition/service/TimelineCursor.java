@@ -0,0 +1,39 @@
+package com.unnamed.conectareparo.statustransition.service;
+
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a timeline: the {@code (changed_at, id)} of the last transition returned. The next page holds
+ * the transitions strictly before it. Encoded as opaque URL-safe text for clients.
+ */
+record TimelineCursor(ZonedDateTime changedAt, long id) {
+
+    /** Before every stored transition. */
+    static final TimelineCursor START = new TimelineCursor(ZonedDateTime.of(9999, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC), Long.MAX_VALUE);
+
+    static TimelineCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            return new TimelineCursor(
+                    Instant.parse(decoded.substring(0, separator)).atZone(ZoneOffset.UTC),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor.");
+        }
+    }
+
+    String encode() {
+        String raw = changedAt.toInstant() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
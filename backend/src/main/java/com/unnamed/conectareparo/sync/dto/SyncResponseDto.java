@@ -0,0 +1,25 @@
+package com.unnamed.conectareparo.sync.dto;
+
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceResponseDto;
+import com.unnamed.conectareparo.maintenanceaction.dto.MaintenanceActionResponseDto;
+import com.unnamed.conectareparo.pledge.dto.PledgeResponseDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Entities created, changed or removed since the client's sync token, in their current state.")
+public record SyncResponseDto(
+        @Schema(description = "Maintenances created or changed.")
+        List<MaintenanceResponseDto> maintenances,
+        @Schema(description = "Pledges created or changed.")
+        List<PledgeResponseDto> pledges,
+        @Schema(description = "Maintenance actions created or changed.")
+        List<MaintenanceActionResponseDto> actions,
+        @Schema(description = "Entities removed from the live data.")
+        List<SyncTombstoneDto> deleted,
+        @Schema(description = "Token to send as since on the next request.", example = "NDJ8MjAyNS0xMC0xMFQxMDoxMDoxMFo")
+        String nextToken,
+        @Schema(description = "Whether more changes are waiting; if so, request again right away with nextToken.", example = "false")
+        boolean hasMore
+) {
+}
@@ -0,0 +1,15 @@
+package com.unnamed.conectareparo.sync.dto;
+
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+@Schema(description = "An entity that no longer exists in the live data and should be dropped by the client.")
+public record SyncTombstoneDto(
+        @Schema(description = "Kind of entity that was removed.", example = "PLEDGE")
+        SyncEntityType entityType,
+        @Schema(description = "Public ID of the removed entity.", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
+        UUID id
+) {
+}
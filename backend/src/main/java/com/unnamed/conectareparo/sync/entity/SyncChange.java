@@ -0,0 +1,74 @@
+package com.unnamed.conectareparo.sync.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Immutable;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Marks that an entity was created, changed or removed. The row carries no data: the sync endpoint reads
+ * the entity's current state, so several changes of one entity collapse into a single delivery.
+ */
+@Entity
+@Immutable
+@Table(name = "sync_change")
+public class SyncChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type")
+    private SyncEntityType entityType;
+
+    @Column(name = "entity_public_id")
+    private UUID entityPublicId;
+
+    /** {@code true} when the entity left the hot tables and clients should drop it. */
+    private boolean deleted;
+
+    @Column(name = "changed_at")
+    private ZonedDateTime changedAt;
+
+    /** The id of the transaction that wrote the change, filled in by the database. */
+    @ColumnDefault("sync_xact_id()")
+    @Column(name = "xid", insertable = false, updatable = false)
+    private long xid;
+
+    protected SyncChange() {
+    }
+
+    public SyncChange(SyncEntityType entityType, UUID entityPublicId, boolean deleted, ZonedDateTime changedAt) {
+        this.entityType = entityType;
+        this.entityPublicId = entityPublicId;
+        this.deleted = deleted;
+        this.changedAt = changedAt;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public SyncEntityType getEntityType() {
+        return entityType;
+    }
+
+    public UUID getEntityPublicId() {
+        return entityPublicId;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public ZonedDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public long getXid() {
+        return xid;
+    }
+}
@@ -0,0 +1,10 @@
+package com.unnamed.conectareparo.sync.entity;
+
+/**
+ * Kinds of entities delivered by the delta sync.
+ */
+public enum SyncEntityType {
+    MAINTENANCE,
+    PLEDGE,
+    ACTION
+}
@@ -0,0 +1,10 @@
+package com.unnamed.conectareparo.sync.exception;
+
+/**
+ * Thrown when a sync token is older than the change log retention, so changes after it may be lost.
+ */
+public class SyncTokenExpiredException extends RuntimeException {
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
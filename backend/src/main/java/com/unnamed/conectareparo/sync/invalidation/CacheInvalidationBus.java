@@ -0,0 +1,161 @@
+package com.unnamed.conectareparo.sync.invalidation;
+
+import com.unnamed.conectareparo.sync.service.SyncChangeEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps every {@link InvalidatableCache} coherent across nodes without a broker.
+ * <p>
+ * Each {@link SyncChangeEvent} evicts the affected entries on this node once the writing transaction
+ * commits. With {@link CacheInvalidationProperties#enabled()} it then sends the ids to the other nodes with
+ * {@code pg_notify}, in a transaction of its own, so the writing transaction neither waits on the
+ * notification queue nor announces a change before it is visible. A listener thread on a dedicated
+ * connection, outside the pool, evicts what other nodes changed. Notifications sent while it was not
+ * connected, or lost because a node stopped between its commit and the notification, are not repeated, so it
+ * evicts everything whenever it (re)connects and the caches must tolerate a missed eviction.
+ */
+@Component
+@EnableConfigurationProperties(CacheInvalidationProperties.class)
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final List<InvalidatableCache> caches;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final CacheInvalidationProperties properties;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private volatile boolean running;
+    private Thread listener;
+
+    public CacheInvalidationBus(List<InvalidatableCache> caches, JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                DataSourceProperties dataSourceProperties, CacheInvalidationProperties properties) {
+        if (!IDENTIFIER.matcher(properties.channel()).matches()) {
+            throw new IllegalArgumentException("Invalidation channel must be a lower-case SQL identifier: " + properties.channel());
+        }
+        this.caches = caches;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.dataSourceProperties = dataSourceProperties;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener.join(properties.pollTimeout().multipliedBy(2).toMillis());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCommitted(SyncChangeEvent event) {
+        caches.forEach(cache -> cache.evict(event.entityType(), event.entityPublicIds()));
+        if (properties.enabled()) {
+            notifyOtherNodes(event);
+        }
+    }
+
+    /**
+     * Tells the other nodes about a committed change. The write is already committed, so a failure is only
+     * logged; the other nodes see the change when their caches next refresh.
+     */
+    private void notifyOtherNodes(SyncChangeEvent event) {
+        List<String> payloads = InvalidationMessage.encode(nodeId, event.entityType(), event.entityPublicIds(),
+                properties.maxIdsPerMessage());
+        try {
+            transactionTemplate.executeWithoutResult(status -> payloads.forEach(payload -> jdbcTemplate.query(
+                    "SELECT pg_notify(?, ?)", (RowCallbackHandler) row -> { }, properties.channel(), payload)));
+        } catch (RuntimeException e) {
+            log.warn("Could not notify other nodes of {} {} changes", event.entityPublicIds().size(), event.entityType(), e);
+        }
+    }
+
+    /**
+     * Evicts what another node changed; this node's own notifications were already handled on commit.
+     */
+    void receive(String payload) {
+        InvalidationMessage message;
+        try {
+            message = InvalidationMessage.parse(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring cache invalidation: {}", e.getMessage());
+            return;
+        }
+        if (!message.nodeId().equals(nodeId)) {
+            caches.forEach(cache -> cache.evict(message.entityType(), message.entityPublicIds()));
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.channel());
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                caches.forEach(InvalidatableCache::evictAll);
+                log.info("Listening for cache invalidations on {}", properties.channel());
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) properties.pollTimeout().toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener lost its connection; reconnecting in {}", properties.reconnectDelay(), e);
+                }
+            }
+            if (running) {
+                try {
+                    Thread.sleep(properties.reconnectDelay().toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.unnamed.conectareparo.sync.invalidation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for invalidating in-process caches across nodes with PostgreSQL {@code LISTEN}/{@code NOTIFY}.
+ *
+ * @param enabled Sends and listens for invalidations when true; caches are then only evicted locally.
+ * @param channel Notification channel shared by all nodes; a plain lower-case SQL identifier.
+ * @param pollTimeout How long the listener waits for notifications before checking for shutdown.
+ * @param reconnectDelay Pause before the listener reconnects after losing its connection.
+ * @param maxIdsPerMessage Entity ids per notification, keeping payloads well below PostgreSQL's 8000 byte limit.
+ */
+@ConfigurationProperties(prefix = "conectareparo.invalidation")
+public record CacheInvalidationProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("conectareparo_invalidation") String channel,
+        @DefaultValue("500ms") Duration pollTimeout,
+        @DefaultValue("5s") Duration reconnectDelay,
+        @DefaultValue("150") int maxIdsPerMessage
+) {
+}
@@ -0,0 +1,23 @@
+package com.unnamed.conectareparo.sync.invalidation;
+
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * An in-process cache whose entries derive from maintenances, pledges or actions. {@link CacheInvalidationBus}
+ * evicts from every such bean when entities change on this or any other node.
+ */
+public interface InvalidatableCache {
+
+    /**
+     * Drops the entries that may depend on the given entities. Called from any thread.
+     */
+    void evict(SyncEntityType entityType, Collection<UUID> entityPublicIds);
+
+    /**
+     * Drops every entry, for when changes may have been missed.
+     */
+    void evictAll();
+}
@@ -0,0 +1,71 @@
+package com.unnamed.conectareparo.sync.invalidation;
+
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Notification payload: {@code <node>|<type>|<id>,<id>,...}, where the type is the first letter of the
+ * {@link SyncEntityType}. The node lets a sender ignore its own notifications.
+ */
+record InvalidationMessage(String nodeId, SyncEntityType entityType, List<UUID> entityPublicIds) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Encodes the ids into as many payloads as needed to stay within {@code maxIds} ids each.
+     */
+    static List<String> encode(String nodeId, SyncEntityType entityType, Collection<UUID> entityPublicIds, int maxIds) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = null;
+        int ids = 0;
+        for (UUID id : entityPublicIds) {
+            if (payload == null) {
+                payload = new StringBuilder(nodeId).append(SEPARATOR).append(code(entityType)).append(SEPARATOR);
+            } else {
+                payload.append(',');
+            }
+            payload.append(id);
+            if (++ids == maxIds) {
+                payloads.add(payload.toString());
+                payload = null;
+                ids = 0;
+            }
+        }
+        if (payload != null) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the payload is not a valid message.
+     */
+    static InvalidationMessage parse(String payload) {
+        String[] parts = payload.split("\\|", -1);
+        if (parts.length != 3 || parts[1].length() != 1 || parts[2].isEmpty()) {
+            throw new IllegalArgumentException("Invalid invalidation payload: " + payload);
+        }
+        List<UUID> ids = new ArrayList<>();
+        for (String id : parts[2].split(",")) {
+            ids.add(UUID.fromString(id));
+        }
+        return new InvalidationMessage(parts[0], type(parts[1].charAt(0)), ids);
+    }
+
+    private static char code(SyncEntityType entityType) {
+        return entityType.name().charAt(0);
+    }
+
+    private static SyncEntityType type(char code) {
+        for (SyncEntityType entityType : SyncEntityType.values()) {
+            if (code(entityType) == code) {
+                return entityType;
+            }
+        }
+        throw new IllegalArgumentException("Unknown entity type code: " + code);
+    }
+}
@@ -0,0 +1,67 @@
+package com.unnamed.conectareparo.sync.repository;
+
+import com.unnamed.conectareparo.sync.entity.SyncChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads walk the {@code (xid, seq)} index from a client's {@link SyncPosition}, so a resync costs a range scan
+ * over the changes since then regardless of how large the tables are. They only return settled changes: those
+ * written by transactions older than the oldest one still running, which have all ended. No change can be
+ * added before a settled one anymore, so readers may move past it.
+ */
+@Repository
+public interface SyncChangeRepository extends JpaRepository<SyncChange, Long> {
+
+    /**
+     * The settled changes after {@code position}, in log order.
+     */
+    @Query(value = "SELECT * FROM sync_change WHERE (xid, seq) > (:xid, :seq) AND xid < sync_xact_horizon() " +
+            "ORDER BY xid, seq LIMIT :limit", nativeQuery = true)
+    List<SyncChange> findSettledAfter(@Param("xid") long xid, @Param("seq") long seq, @Param("limit") int limit);
+
+    default List<SyncChange> findSettledAfter(SyncPosition position, int limit) {
+        return findSettledAfter(position.xid(), position.seq(), limit);
+    }
+
+    /**
+     * The last settled change, or {@code null} when there is none.
+     */
+    @Query(value = "SELECT * FROM sync_change WHERE xid < sync_xact_horizon() ORDER BY xid DESC, seq DESC LIMIT 1",
+            nativeQuery = true)
+    SyncChange findLastSettled();
+
+    /**
+     * The position after the last settled change. Changes that are not settled yet all come after it.
+     */
+    default SyncPosition findSettledPosition() {
+        SyncChange last = findLastSettled();
+        return last == null ? SyncPosition.START : SyncPosition.of(last);
+    }
+
+    @Modifying
+    @Query(value = "INSERT INTO sync_change (entity_type, entity_public_id, deleted, changed_at) " +
+            "SELECT 'MAINTENANCE', public_id, TRUE, :changedAt FROM maintenance WHERE id IN (:ids)", nativeQuery = true)
+    int insertMaintenanceTombstones(@Param("ids") Collection<Long> maintenanceIds, @Param("changedAt") ZonedDateTime changedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO sync_change (entity_type, entity_public_id, deleted, changed_at) " +
+            "SELECT 'PLEDGE', public_id, TRUE, :changedAt FROM pledge WHERE maintenance_id IN (:ids)", nativeQuery = true)
+    int insertPledgeTombstones(@Param("ids") Collection<Long> maintenanceIds, @Param("changedAt") ZonedDateTime changedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO sync_change (entity_type, entity_public_id, deleted, changed_at) " +
+            "SELECT 'ACTION', public_id, TRUE, :changedAt FROM maintenance_action WHERE maintenance_id IN (:ids)", nativeQuery = true)
+    int insertActionTombstones(@Param("ids") Collection<Long> maintenanceIds, @Param("changedAt") ZonedDateTime changedAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM sync_change WHERE changed_at < :cutoff", nativeQuery = true)
+    int deleteChangedBefore(@Param("cutoff") ZonedDateTime cutoff);
+}
@@ -0,0 +1,21 @@
+package com.unnamed.conectareparo.sync.repository;
+
+import com.unnamed.conectareparo.sync.entity.SyncChange;
+
+/**
+ * A place in the sync change log, which is read in {@code (xid, seq)} order: by the transaction that wrote a
+ * change, then by sequence. Sequence numbers alone do not work as a position, since they are taken at insert
+ * but become visible at commit, in any order.
+ *
+ * @param xid The id of the transaction that wrote the last change read.
+ * @param seq The sequence number of the last change read.
+ */
+public record SyncPosition(long xid, long seq) {
+
+    /** Before the first change. */
+    public static final SyncPosition START = new SyncPosition(0, 0);
+
+    public static SyncPosition of(SyncChange change) {
+        return new SyncPosition(change.getXid(), change.getSeq());
+    }
+}
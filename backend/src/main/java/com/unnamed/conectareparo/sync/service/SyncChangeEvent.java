@@ -0,0 +1,22 @@
+package com.unnamed.conectareparo.sync.service;
+
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published by {@link SyncChangeLog} for every recorded change, inside the writing transaction. Listeners
+ * that only care about committed state use {@code @TransactionalEventListener}, which delivers it after
+ * the commit. Archival tombstones are not published; consumers that must see them tail the change log.
+ *
+ * @param entityType Kind of the changed entities.
+ * @param entityPublicIds Public ids of the created or changed entities.
+ */
+public record SyncChangeEvent(SyncEntityType entityType, Collection<UUID> entityPublicIds) {
+
+    public SyncChangeEvent {
+        entityPublicIds = List.copyOf(entityPublicIds);
+    }
+}
@@ -0,0 +1,66 @@
+package com.unnamed.conectareparo.sync.service;
+
+import com.unnamed.conectareparo.sync.entity.SyncChange;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.repository.SyncChangeRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Appends to the sync change log. Every method joins the caller's transaction, so a change is visible to
+ * clients if and only if the write it describes commits. The database stamps each change with the id of the
+ * transaction, and readers only move past it once every older transaction has ended, however long the
+ * transaction takes to commit.
+ * <p>
+ * Changes are also published as a {@link SyncChangeEvent}, so in-process consumers learn about their own
+ * instance's writes as soon as they commit instead of waiting for older transactions to end.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class SyncChangeLog {
+
+    private final SyncChangeRepository syncChangeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SyncChangeLog(SyncChangeRepository syncChangeRepository, ApplicationEventPublisher eventPublisher) {
+        this.syncChangeRepository = syncChangeRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Records that an entity was created or changed.
+     */
+    public void recordChange(SyncEntityType entityType, UUID entityPublicId) {
+        syncChangeRepository.save(new SyncChange(entityType, entityPublicId, false, ZonedDateTime.now()));
+        eventPublisher.publishEvent(new SyncChangeEvent(entityType, List.of(entityPublicId)));
+    }
+
+    /**
+     * Records that several entities of one type were created or changed.
+     */
+    public void recordChanges(SyncEntityType entityType, Collection<UUID> entityPublicIds) {
+        ZonedDateTime now = ZonedDateTime.now();
+        syncChangeRepository.saveAll(entityPublicIds.stream()
+                .map(publicId -> new SyncChange(entityType, publicId, false, now))
+                .toList());
+        eventPublisher.publishEvent(new SyncChangeEvent(entityType, entityPublicIds));
+    }
+
+    /**
+     * Records tombstones for maintenances that are about to be archived and for their pledges and actions.
+     * Must run before the rows are deleted from the hot tables.
+     */
+    public void recordArchived(Collection<Long> maintenanceIds) {
+        ZonedDateTime now = ZonedDateTime.now();
+        syncChangeRepository.insertMaintenanceTombstones(maintenanceIds, now);
+        syncChangeRepository.insertPledgeTombstones(maintenanceIds, now);
+        syncChangeRepository.insertActionTombstones(maintenanceIds, now);
+    }
+}
@@ -0,0 +1,23 @@
+package com.unnamed.conectareparo.sync.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the delta sync endpoint.
+ *
+ * @param defaultLimit Changes read per request when the client does not ask for a limit.
+ * @param maxLimit Upper bound of changes read per request.
+ * @param retention How long changes are kept. Clients whose token is older must refetch everything.
+ * @param purgeInterval How often changes older than the retention are deleted.
+ */
+@ConfigurationProperties(prefix = "conectareparo.sync")
+public record SyncProperties(
+        @DefaultValue("200") int defaultLimit,
+        @DefaultValue("1000") int maxLimit,
+        @DefaultValue("30d") Duration retention,
+        @DefaultValue("1h") Duration purgeInterval
+) {
+}
@@ -0,0 +1,155 @@
+package com.unnamed.conectareparo.sync.service;
+
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceResponseDto;
+import com.unnamed.conectareparo.maintenance.service.MaintenanceService;
+import com.unnamed.conectareparo.maintenanceaction.dto.MaintenanceActionResponseDto;
+import com.unnamed.conectareparo.maintenanceaction.service.MaintenanceActionService;
+import com.unnamed.conectareparo.pledge.dto.PledgeResponseDto;
+import com.unnamed.conectareparo.pledge.service.PledgeService;
+import com.unnamed.conectareparo.sync.dto.SyncResponseDto;
+import com.unnamed.conectareparo.sync.dto.SyncTombstoneDto;
+import com.unnamed.conectareparo.sync.entity.SyncChange;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.exception.SyncTokenExpiredException;
+import com.unnamed.conectareparo.sync.repository.SyncChangeRepository;
+import com.unnamed.conectareparo.sync.repository.SyncPosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Serves delta syncs from the change log. A request reads a bounded run of changes after the client's
+ * token, collapses repeated changes of one entity, and loads the current state of what is still live;
+ * everything else is returned as a tombstone.
+ */
+@Service
+@Transactional(readOnly = true)
+@EnableConfigurationProperties(SyncProperties.class)
+public class SyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncService.class);
+
+    private final SyncChangeRepository syncChangeRepository;
+    private final MaintenanceService maintenanceService;
+    private final PledgeService pledgeService;
+    private final MaintenanceActionService maintenanceActionService;
+    private final SyncProperties properties;
+
+    public SyncService(SyncChangeRepository syncChangeRepository, MaintenanceService maintenanceService,
+                       PledgeService pledgeService, MaintenanceActionService maintenanceActionService,
+                       SyncProperties properties) {
+        this.syncChangeRepository = syncChangeRepository;
+        this.maintenanceService = maintenanceService;
+        this.pledgeService = pledgeService;
+        this.maintenanceActionService = maintenanceActionService;
+        this.properties = properties;
+    }
+
+    /**
+     * Retrieves the changes after a sync token. Without a token, returns no changes and a token for the
+     * current position; a client bootstraps by taking that token first and then loading the regular lists.
+     *
+     * @param since The nextToken of the previous sync, or {@code null} to start.
+     * @param limit Maximum number of changes read, defaults to {@link SyncProperties#defaultLimit()}.
+     * @return The changed entities and the token to continue from.
+     * @throws BadRequestException if the token or limit is invalid.
+     * @throws SyncTokenExpiredException if changes after the token may have been purged.
+     */
+    public SyncResponseDto getChanges(String since, Integer limit) {
+        Instant now = Instant.now();
+        if (since == null || since.isBlank()) {
+            return new SyncResponseDto(List.of(), List.of(), List.of(), List.of(),
+                    new SyncToken(syncChangeRepository.findSettledPosition(), now).encode(), false);
+        }
+        SyncToken token = SyncToken.decode(since);
+        if (token.issuedAt().isBefore(now.minus(properties.retention()))) {
+            throw new SyncTokenExpiredException("Sync token is older than " + properties.retention().toDays()
+                    + " days; reload all data and start a new sync.");
+        }
+        int pageSize = limit(limit);
+        // Changes of transactions still running are not returned; they are picked up once those end.
+        List<SyncChange> changes = syncChangeRepository.findSettledAfter(token.position(), pageSize + 1);
+        List<SyncChange> settled = changes.subList(0, Math.min(changes.size(), pageSize));
+        boolean hasMore = changes.size() > pageSize;
+        SyncPosition position = settled.isEmpty() ? token.position() : SyncPosition.of(settled.get(settled.size() - 1));
+
+        Map<SyncEntityType, Map<UUID, Boolean>> latest = new EnumMap<>(SyncEntityType.class);
+        for (SyncChange change : settled) {
+            latest.computeIfAbsent(change.getEntityType(), type -> new LinkedHashMap<>())
+                    .put(change.getEntityPublicId(), change.isDeleted());
+        }
+        List<SyncTombstoneDto> deleted = new ArrayList<>();
+        List<MaintenanceResponseDto> maintenances = maintenanceService.getMaintenancesByPublicIds(live(latest, SyncEntityType.MAINTENANCE, deleted));
+        List<PledgeResponseDto> pledges = pledgeService.getPledgesByPublicIds(live(latest, SyncEntityType.PLEDGE, deleted));
+        List<MaintenanceActionResponseDto> actions = maintenanceActionService.getActionsByPublicIds(live(latest, SyncEntityType.ACTION, deleted));
+        tombstoneMissing(SyncEntityType.MAINTENANCE, latest, maintenances.stream().map(MaintenanceResponseDto::id).collect(Collectors.toSet()), deleted);
+        tombstoneMissing(SyncEntityType.PLEDGE, latest, pledges.stream().map(PledgeResponseDto::id).collect(Collectors.toSet()), deleted);
+        tombstoneMissing(SyncEntityType.ACTION, latest, actions.stream().map(MaintenanceActionResponseDto::id).collect(Collectors.toSet()), deleted);
+
+        return new SyncResponseDto(maintenances, pledges, actions, deleted, new SyncToken(position, now).encode(), hasMore);
+    }
+
+    /**
+     * Deletes changes older than the retention. Clients that last synced before then get a
+     * {@link SyncTokenExpiredException} and reload everything.
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${conectareparo.sync.purge-interval:1h}")
+    public void purgeExpired() {
+        int purged = syncChangeRepository.deleteChangedBefore(ZonedDateTime.now().minus(properties.retention()));
+        if (purged > 0) {
+            log.debug("Purged {} expired sync changes", purged);
+        }
+    }
+
+    private int limit(Integer limit) {
+        if (limit == null) {
+            return properties.defaultLimit();
+        }
+        if (limit < 1 || limit > properties.maxLimit()) {
+            throw new BadRequestException("Limit must be between 1 and " + properties.maxLimit() + ".");
+        }
+        return limit;
+    }
+
+    private static List<UUID> live(Map<SyncEntityType, Map<UUID, Boolean>> latest, SyncEntityType type,
+                                   List<SyncTombstoneDto> deleted) {
+        List<UUID> live = new ArrayList<>();
+        latest.getOrDefault(type, Map.of()).forEach((publicId, isDeleted) -> {
+            if (isDeleted) {
+                deleted.add(new SyncTombstoneDto(type, publicId));
+            } else {
+                live.add(publicId);
+            }
+        });
+        return live;
+    }
+
+    /**
+     * An entity changed and then archived by a change after this page is no longer in the hot tables;
+     * its tombstone is on its way, but the client may as well drop it now.
+     */
+    private static void tombstoneMissing(SyncEntityType type, Map<SyncEntityType, Map<UUID, Boolean>> latest,
+                                         Set<UUID> found, List<SyncTombstoneDto> deleted) {
+        latest.getOrDefault(type, Map.of()).forEach((publicId, isDeleted) -> {
+            if (!isDeleted && !found.contains(publicId)) {
+                deleted.add(new SyncTombstoneDto(type, publicId));
+            }
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.unnamed.conectareparo.sync.service;
+
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import com.unnamed.conectareparo.sync.repository.SyncPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * A client's high-water mark: every change up to {@code position} has been delivered. {@code issuedAt} lets
+ * the server tell when changes after it may already have been purged. Encoded as opaque URL-safe text.
+ */
+record SyncToken(SyncPosition position, Instant issuedAt) {
+
+    static SyncToken decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 3) {
+                throw new BadRequestException("Invalid sync token.");
+            }
+            return new SyncToken(new SyncPosition(Long.parseLong(parts[0]), Long.parseLong(parts[1])), Instant.parse(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid sync token.");
+        }
+    }
+
+    String encode() {
+        String raw = position.xid() + "|" + position.seq() + "|" + issuedAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,26 @@
+-- Append-only log of status changes of maintenances and pledges, written in the transaction of each change.
+-- History starts with this migration; earlier changes were overwritten in place and cannot be recovered.
+CREATE TABLE status_transition (
+    id BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(32) NOT NULL,
+    entity_public_id UUID NOT NULL,
+    from_status VARCHAR(100),
+    to_status VARCHAR(100) NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- "History of entity X", newest first: a single backward range scan, keyset-paginated on (changed_at, id).
+CREATE INDEX idx_status_transition_entity ON status_transition (entity_type, entity_public_id, changed_at, id);
+
+-- "All transitions in a time window", newest first, with the same keyset.
+CREATE INDEX idx_status_transition_changed_at ON status_transition (changed_at, id);
+
+CREATE FUNCTION reject_status_transition_change() RETURNS trigger AS $$
+BEGIN
+    RAISE EXCEPTION 'status_transition is append-only';
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_status_transition_append_only
+    BEFORE UPDATE OR DELETE ON status_transition
+    FOR EACH ROW EXECUTE FUNCTION reject_status_transition_change();
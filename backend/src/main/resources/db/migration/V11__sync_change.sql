@@ -0,0 +1,12 @@
+-- Change log behind GET /api/v1/sync. Every create, update and archival of a maintenance, pledge or action
+-- appends one row in the same transaction; seq is the high-water mark clients resume from.
+CREATE TABLE sync_change (
+    seq BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(32) NOT NULL,
+    entity_public_id UUID NOT NULL,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Retention purge deletes by age.
+CREATE INDEX idx_sync_change_changed_at ON sync_change (changed_at);
@@ -0,0 +1,11 @@
+-- Set by the overdue-maintenance housekeeping job when an OPEN maintenance is found past its scheduled date.
+ALTER TABLE maintenance ADD COLUMN overdue_since TIMESTAMP WITH TIME ZONE;
+ALTER TABLE maintenance_archive ADD COLUMN overdue_since TIMESTAMP WITH TIME ZONE;
+
+-- Candidates of the overdue job; rows leave the index as soon as they are flagged or leave OPEN.
+CREATE INDEX idx_maintenance_overdue_candidates ON maintenance (scheduled_date)
+    WHERE status = 'OPEN' AND overdue_since IS NULL;
+
+-- Open pledges, the only ones the stale-pledge job looks at.
+CREATE INDEX idx_pledge_open_maintenance_id ON pledge (maintenance_id)
+    WHERE status IN ('OFFERED', 'PENDING');
@@ -0,0 +1,16 @@
+-- Photos of maintenances and their actions. The bytes live in the content-addressed store on disk under
+-- content_hash; rows refer to their owners by public id, so they outlive archiving of the maintenance.
+CREATE TABLE attachment (
+    id BIGSERIAL PRIMARY KEY,
+    public_id UUID NOT NULL UNIQUE,
+    maintenance_public_id UUID NOT NULL,
+    action_public_id UUID,
+    file_name VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Photos of a maintenance, with or without their actions', oldest first.
+CREATE INDEX idx_attachment_maintenance ON attachment (maintenance_public_id, action_public_id, created_at);
@@ -0,0 +1,26 @@
+-- Pledges and actions may only be written while their maintenance is neither COMPLETED nor CANCELED.
+--
+-- The check reads the maintenance FOR KEY SHARE, the lock the foreign key check takes anyway, so child writers
+-- never wait for each other or for plain updates of the maintenance. Closing a maintenance takes FOR UPDATE on
+-- it before cancelling its open pledges, which conflicts with that lock: a child whose check ran first commits
+-- before the close reads the pledges, and a child checked after the close waits for it and sees the new status.
+CREATE FUNCTION reject_child_of_closed_maintenance() RETURNS trigger AS $$
+DECLARE
+    maintenance_status varchar;
+BEGIN
+    SELECT status INTO maintenance_status FROM maintenance WHERE id = NEW.maintenance_id FOR KEY SHARE;
+    IF maintenance_status IN ('COMPLETED', 'CANCELED') THEN
+        RAISE EXCEPTION 'new row for relation "%" violates check constraint "maintenance_not_closed"', TG_TABLE_NAME
+            USING ERRCODE = 'check_violation', CONSTRAINT = 'maintenance_not_closed';
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_pledge_maintenance_not_closed
+    BEFORE INSERT ON pledge
+    FOR EACH ROW EXECUTE FUNCTION reject_child_of_closed_maintenance();
+
+CREATE TRIGGER trg_maintenance_action_maintenance_not_closed
+    BEFORE INSERT OR UPDATE ON maintenance_action
+    FOR EACH ROW EXECUTE FUNCTION reject_child_of_closed_maintenance();
@@ -0,0 +1,22 @@
+-- Readers of the change log used to hold back changes younger than a settle delay, on the assumption that no
+-- transaction stays open longer. One that did, or a clock that lagged, committed a change behind a position
+-- readers had already passed, and they never saw it.
+--
+-- Every change now records the id of the transaction that wrote it, and readers walk the log in
+-- (xid, seq) order up to the oldest transaction still running. Transactions below that horizon have ended,
+-- so nothing can be added below it anymore; a long transaction only delays readers.
+
+-- The current transaction's id, assigned if it has none yet. bigint so that JDBC maps it without a custom type.
+CREATE FUNCTION sync_xact_id() RETURNS bigint AS $$
+    SELECT pg_current_xact_id()::text::bigint
+$$ LANGUAGE sql VOLATILE;
+
+-- The oldest transaction id still running for the current snapshot; every lower one has committed or aborted.
+CREATE FUNCTION sync_xact_horizon() RETURNS bigint AS $$
+    SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint
+$$ LANGUAGE sql STABLE;
+
+-- Existing changes all take the id of this migration, below any later transaction.
+ALTER TABLE sync_change ADD COLUMN xid BIGINT NOT NULL DEFAULT sync_xact_id();
+
+CREATE INDEX idx_sync_change_xid_seq ON sync_change (xid, seq);
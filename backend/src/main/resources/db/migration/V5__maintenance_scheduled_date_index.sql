@@ -0,0 +1,4 @@
+-- Covering index for the calendar endpoint: range scan on scheduled_date and
+-- index-only reads of the columns a month view renders.
+CREATE INDEX idx_maintenance_scheduled_date
+ON maintenance (scheduled_date) INCLUDE (public_id, title, category, status);
@@ -0,0 +1,10 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Status and type filters on the admin pledge list, newest first.
+CREATE INDEX idx_pledge_status_created_at ON pledge (status, created_at DESC);
+CREATE INDEX idx_pledge_type_created_at ON pledge (type, created_at DESC);
+CREATE INDEX idx_pledge_created_at ON pledge (created_at DESC);
+
+-- Trigram indexes serving the case-insensitive '%term%' volunteer search.
+CREATE INDEX idx_pledge_volunteer_name_trgm ON pledge USING gin (lower(volunteer_name) gin_trgm_ops);
+CREATE INDEX idx_pledge_volunteer_contact_trgm ON pledge USING gin (lower(volunteer_contact) gin_trgm_ops);
@@ -0,0 +1,61 @@
+-- Cold storage for terminal maintenances and their children. Rows keep their original ids, so the
+-- read path can union hot and archived rows without collisions.
+CREATE TABLE maintenance_archive (
+    id INT PRIMARY KEY,
+    public_id UUID NOT NULL UNIQUE,
+    title VARCHAR(255) NOT NULL,
+    description TEXT NOT NULL,
+    category VARCHAR(100),
+    scheduled_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE pledge_archive (
+    id INT PRIMARY KEY,
+    public_id UUID NOT NULL UNIQUE,
+    maintenance_id INT NOT NULL,
+    volunteer_name VARCHAR(255) NOT NULL,
+    volunteer_contact VARCHAR(255) NOT NULL,
+    description TEXT NOT NULL,
+    type VARCHAR(100) NOT NULL,
+    status VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX idx_pledge_archive_maintenance_id ON pledge_archive (maintenance_id);
+
+CREATE TABLE maintenance_action_archive (
+    id INT PRIMARY KEY,
+    public_id UUID NOT NULL UNIQUE,
+    maintenance_id INT NOT NULL,
+    executed_by VARCHAR(255),
+    start_date TIMESTAMP WITH TIME ZONE,
+    completion_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    action_description TEXT NOT NULL,
+    outcome_status VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX idx_action_archive_maintenance_id ON maintenance_action_archive (maintenance_id);
+
+CREATE TABLE action_material_archive (
+    id INT PRIMARY KEY,
+    public_id UUID NOT NULL UNIQUE,
+    maintenance_action_id INT NOT NULL,
+    item_name VARCHAR(255) NOT NULL,
+    quantity NUMERIC(10, 2) NOT NULL,
+    unit_of_measure VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX idx_material_archive_action_id ON action_material_archive (maintenance_action_id);
+
+-- Candidate lookup of the archival job.
+CREATE INDEX idx_maintenance_terminal_updated_at ON maintenance (updated_at)
+    WHERE status IN ('COMPLETED', 'CANCELED');
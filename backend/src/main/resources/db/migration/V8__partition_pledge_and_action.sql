@@ -0,0 +1,213 @@
+-- Monthly range partitions on created_at for the two fastest-growing tables. Rows are copied with their
+-- timestamps unchanged.
+--
+-- PostgreSQL requires the partition key in every unique constraint of a partitioned table, so the
+-- primary keys become (id, created_at). Ids still come from the original sequences, so they remain unique
+-- in practice. Public ids are exposed and must stay unique outright: each table registers its public ids
+-- in an unpartitioned table whose primary key enforces that, kept in step by the triggers below.
+-- action_material keeps its foreign key to maintenance_action by also storing the action's created_at.
+
+-- Creates the missing monthly partitions of a table, from the month of from_date up to
+-- months_ahead months after the current one. Partition bounds are UTC month starts.
+CREATE OR REPLACE FUNCTION ensure_monthly_partitions(parent regclass, from_date date, months_ahead int)
+RETURNS int
+LANGUAGE plpgsql AS $$
+DECLARE
+    parent_schema text;
+    parent_name text;
+    month_start date := date_trunc('month', COALESCE(from_date, CURRENT_DATE))::date;
+    last_month date := (date_trunc('month', CURRENT_DATE) + make_interval(months => months_ahead))::date;
+    partition_name text;
+    created int := 0;
+BEGIN
+    SELECT n.nspname, c.relname INTO parent_schema, parent_name
+    FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+    WHERE c.oid = parent;
+
+    WHILE month_start <= last_month LOOP
+        partition_name := parent_name || '_' || to_char(month_start, 'YYYY_MM');
+        IF to_regclass(format('%I.%I', parent_schema, partition_name)) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I.%I PARTITION OF %s FOR VALUES FROM (%L) TO (%L)',
+                           parent_schema, partition_name, parent,
+                           month_start::timestamp AT TIME ZONE 'UTC',
+                           (month_start + interval '1 month')::timestamp AT TIME ZONE 'UTC');
+            created := created + 1;
+        END IF;
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$;
+
+-- Registers the public id of every row written to a partitioned table in the table named by the trigger
+-- argument, whose primary key rejects a public id already in use. Row triggers do not fire when a partition is
+-- truncated, detached or dropped; whoever does that must delete its public ids from the registry too.
+CREATE FUNCTION register_public_id() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        EXECUTE format('DELETE FROM %I WHERE public_id = $1', TG_ARGV[0]) USING OLD.public_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        EXECUTE format('INSERT INTO %I (public_id) VALUES ($1)', TG_ARGV[0]) USING NEW.public_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- maintenance -------------------------------------------------------------------------------------
+
+-- Legacy maintenances without a creation time take the earliest time known for them.
+UPDATE maintenance m
+SET created_at = COALESCE(
+        LEAST(m.updated_at,
+              (SELECT min(p.created_at) FROM pledge p WHERE p.maintenance_id = m.id),
+              (SELECT min(a.created_at) FROM maintenance_action a WHERE a.maintenance_id = m.id)),
+        CURRENT_TIMESTAMP)
+WHERE m.created_at IS NULL;
+
+ALTER TABLE maintenance ALTER COLUMN created_at SET NOT NULL;
+
+-- Reads of a maintenance's actions bound created_at from below by this column, so that PostgreSQL skips the
+-- partitions before it. It is the maintenance's creation time, or the earliest of its actions where legacy
+-- rows predate the maintenance.
+ALTER TABLE maintenance ADD COLUMN actions_not_before TIMESTAMP WITH TIME ZONE;
+UPDATE maintenance m
+SET actions_not_before = LEAST(m.created_at,
+                               (SELECT min(a.created_at) FROM maintenance_action a WHERE a.maintenance_id = m.id));
+ALTER TABLE maintenance ALTER COLUMN actions_not_before SET NOT NULL;
+
+-- pledge ------------------------------------------------------------------------------------------
+
+ALTER TABLE pledge RENAME TO pledge_unpartitioned;
+ALTER SEQUENCE pledge_id_seq OWNED BY NONE;
+ALTER INDEX pledge_pkey RENAME TO pledge_unpartitioned_pkey;
+ALTER INDEX pledge_public_id_key RENAME TO pledge_unpartitioned_public_id_key;
+DROP INDEX idx_pledge_maintenance_id;
+DROP INDEX idx_pledge_status_created_at;
+DROP INDEX idx_pledge_type_created_at;
+DROP INDEX idx_pledge_created_at;
+DROP INDEX idx_pledge_volunteer_name_trgm;
+DROP INDEX idx_pledge_volunteer_contact_trgm;
+
+CREATE TABLE pledge (
+    id INT NOT NULL DEFAULT nextval('pledge_id_seq'),
+    public_id UUID NOT NULL,
+    maintenance_id INT NOT NULL,
+    volunteer_name VARCHAR(255) NOT NULL,
+    volunteer_contact VARCHAR(255) NOT NULL,
+    description TEXT NOT NULL,
+    type VARCHAR(100) NOT NULL,
+    status VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pledge_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_pledge_maintenance
+        FOREIGN KEY (maintenance_id)
+            REFERENCES maintenance(id)
+) PARTITION BY RANGE (created_at);
+
+-- Catches rows outside the prepared months; the partition job keeps it empty in normal operation.
+CREATE TABLE pledge_default PARTITION OF pledge DEFAULT;
+SELECT ensure_monthly_partitions('pledge', (SELECT min(created_at)::date FROM pledge_unpartitioned), 3);
+
+CREATE TABLE pledge_public_id (
+    public_id UUID NOT NULL,
+
+    CONSTRAINT pledge_public_id_key PRIMARY KEY (public_id)
+);
+
+CREATE TRIGGER trg_pledge_register_public_id
+    AFTER INSERT OR DELETE ON pledge
+    FOR EACH ROW EXECUTE FUNCTION register_public_id('pledge_public_id');
+
+CREATE TRIGGER trg_pledge_reregister_public_id
+    AFTER UPDATE OF public_id ON pledge
+    FOR EACH ROW WHEN (OLD.public_id IS DISTINCT FROM NEW.public_id)
+    EXECUTE FUNCTION register_public_id('pledge_public_id');
+
+-- created_at is the partition key and must be set; legacy pledges without one take their update time.
+INSERT INTO pledge (id, public_id, maintenance_id, volunteer_name, volunteer_contact, description, type, status, created_at, updated_at)
+SELECT id, public_id, maintenance_id, volunteer_name, volunteer_contact, description, type, status,
+       COALESCE(created_at, updated_at, CURRENT_TIMESTAMP), updated_at
+FROM pledge_unpartitioned;
+
+DROP TABLE pledge_unpartitioned;
+ALTER SEQUENCE pledge_id_seq OWNED BY pledge.id;
+
+CREATE INDEX idx_pledge_maintenance_id ON pledge (maintenance_id);
+CREATE INDEX idx_pledge_status_created_at ON pledge (status, created_at DESC);
+CREATE INDEX idx_pledge_type_created_at ON pledge (type, created_at DESC);
+CREATE INDEX idx_pledge_created_at ON pledge (created_at DESC);
+CREATE INDEX idx_pledge_volunteer_name_trgm ON pledge USING gin (lower(volunteer_name) gin_trgm_ops);
+CREATE INDEX idx_pledge_volunteer_contact_trgm ON pledge USING gin (lower(volunteer_contact) gin_trgm_ops);
+
+-- maintenance_action ------------------------------------------------------------------------------
+
+ALTER TABLE action_material ADD COLUMN maintenance_action_created_at TIMESTAMP WITH TIME ZONE;
+UPDATE action_material am
+SET maintenance_action_created_at = a.created_at
+FROM maintenance_action a
+WHERE a.id = am.maintenance_action_id;
+ALTER TABLE action_material ALTER COLUMN maintenance_action_created_at SET NOT NULL;
+ALTER TABLE action_material DROP CONSTRAINT fk_material_action;
+DROP INDEX idx_material_action_id;
+
+ALTER TABLE maintenance_action RENAME TO maintenance_action_unpartitioned;
+ALTER SEQUENCE maintenance_action_id_seq OWNED BY NONE;
+ALTER INDEX maintenance_action_pkey RENAME TO maintenance_action_unpartitioned_pkey;
+ALTER INDEX maintenance_action_public_id_key RENAME TO maintenance_action_unpartitioned_public_id_key;
+DROP INDEX idx_action_maintenance_id;
+
+CREATE TABLE maintenance_action (
+    id INT NOT NULL DEFAULT nextval('maintenance_action_id_seq'),
+    public_id UUID NOT NULL,
+    maintenance_id INT NOT NULL,
+    executed_by VARCHAR(255),
+    start_date TIMESTAMP WITH TIME ZONE,
+    completion_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    action_description TEXT NOT NULL,
+    outcome_status VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+
+    CONSTRAINT maintenance_action_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_action_maintenance
+        FOREIGN KEY (maintenance_id)
+            REFERENCES maintenance(id)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE maintenance_action_default PARTITION OF maintenance_action DEFAULT;
+SELECT ensure_monthly_partitions('maintenance_action', (SELECT min(created_at)::date FROM maintenance_action_unpartitioned), 3);
+
+CREATE TABLE maintenance_action_public_id (
+    public_id UUID NOT NULL,
+
+    CONSTRAINT maintenance_action_public_id_key PRIMARY KEY (public_id)
+);
+
+CREATE TRIGGER trg_maintenance_action_register_public_id
+    AFTER INSERT OR DELETE ON maintenance_action
+    FOR EACH ROW EXECUTE FUNCTION register_public_id('maintenance_action_public_id');
+
+CREATE TRIGGER trg_maintenance_action_reregister_public_id
+    AFTER UPDATE OF public_id ON maintenance_action
+    FOR EACH ROW WHEN (OLD.public_id IS DISTINCT FROM NEW.public_id)
+    EXECUTE FUNCTION register_public_id('maintenance_action_public_id');
+
+INSERT INTO maintenance_action (id, public_id, maintenance_id, executed_by, start_date, completion_date, action_description,
+                                outcome_status, created_at, updated_at)
+SELECT id, public_id, maintenance_id, executed_by, start_date, completion_date, action_description,
+       outcome_status, created_at, updated_at
+FROM maintenance_action_unpartitioned;
+
+DROP TABLE maintenance_action_unpartitioned;
+ALTER SEQUENCE maintenance_action_id_seq OWNED BY maintenance_action.id;
+
+CREATE INDEX idx_action_maintenance_id ON maintenance_action (maintenance_id, created_at);
+
+ALTER TABLE action_material
+    ADD CONSTRAINT fk_material_action
+        FOREIGN KEY (maintenance_action_id, maintenance_action_created_at)
+            REFERENCES maintenance_action (id, created_at);
+CREATE INDEX idx_material_action_id ON action_material (maintenance_action_id, maintenance_action_created_at);
@@ -0,0 +1,17 @@
+-- Responses of POST requests sent with an Idempotency-Key header, shared by all application nodes.
+-- A row without response_status is a claim held by the request that is still executing.
+CREATE TABLE idempotency_key (
+    scope VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    response_status INT,
+    response_content_type VARCHAR(255),
+    response_location VARCHAR(2048),
+    response_body TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+
+    PRIMARY KEY (scope, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_key_expires_at ON idempotency_key (expires_at);
@@ -0,0 +1,203 @@
+package com.unnamed.conectareparo.attachment.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceDto;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.service.MaintenanceService;
+import com.unnamed.conectareparo.maintenanceaction.dto.MaintenanceActionDto;
+import com.unnamed.conectareparo.maintenanceaction.entity.ActionStatus;
+import com.unnamed.conectareparo.maintenanceaction.service.MaintenanceActionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DisplayName("Attachment Integration Tests")
+class AttachmentIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MaintenanceService maintenanceService;
+    @Autowired
+    private MaintenanceActionService maintenanceActionService;
+
+    private UUID maintenanceId;
+    private byte[] photo;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        maintenanceId = maintenanceService.createMaintenance(new MaintenanceDto(
+                "Attachment test", "Roof before and after", MaintenanceCategory.BUILDING, ZonedDateTime.now().plusDays(2))).id();
+        photo = png(640, 480);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, (int) System.nanoTime());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private JsonNode upload(String path, byte[] content, Object... uriVariables) throws Exception {
+        MvcResult result = mockMvc.perform(multipart(path, uriVariables)
+                        .file(new MockMultipartFile("file", "roof-before.png", "application/octet-stream", content)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION, containsString("/api/v1/attachments/")))
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("Should store a photo, detect its type and serve it with immutable caching headers")
+    void shouldUploadAndDownload() throws Exception {
+        JsonNode attachment = upload("/api/v1/maintenances/{id}/attachments", photo, maintenanceId);
+
+        assertEquals("image/png", attachment.get("contentType").asText());
+        assertEquals(photo.length, attachment.get("size").asLong());
+        assertEquals("roof-before.png", attachment.get("fileName").asText());
+        assertTrue(attachment.get("actionId").isNull());
+
+        MvcResult download = mockMvc.perform(get("/api/v1/attachments/{id}/content", attachment.get("id").asText()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + attachment.get("contentHash").asText() + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andReturn();
+        assertArrayEquals(photo, download.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("Should answer a byte range with 206 and an unsatisfiable one with 416")
+    void shouldServeRanges() throws Exception {
+        String id = upload("/api/v1/maintenances/{id}/attachments", photo, maintenanceId).get("id").asText();
+
+        MvcResult partial = mockMvc.perform(get("/api/v1/attachments/{id}/content", id).header(HttpHeaders.RANGE, "bytes=10-19"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/" + photo.length))
+                .andReturn();
+        assertArrayEquals(Arrays.copyOfRange(photo, 10, 20), partial.getResponse().getContentAsByteArray());
+
+        MvcResult suffix = mockMvc.perform(get("/api/v1/attachments/{id}/content", id).header(HttpHeaders.RANGE, "bytes=-5"))
+                .andExpect(status().isPartialContent())
+                .andReturn();
+        assertArrayEquals(Arrays.copyOfRange(photo, photo.length - 5, photo.length), suffix.getResponse().getContentAsByteArray());
+
+        mockMvc.perform(get("/api/v1/attachments/{id}/content", id).header(HttpHeaders.RANGE, "bytes=" + photo.length + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + photo.length));
+
+        mockMvc.perform(get("/api/v1/attachments/{id}/content", id)
+                        .header(HttpHeaders.RANGE, "bytes=0-9")
+                        .header(HttpHeaders.IF_RANGE, "\"another-version\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when the client already has the photo")
+    void shouldHonourIfNoneMatch() throws Exception {
+        JsonNode attachment = upload("/api/v1/maintenances/{id}/attachments", photo, maintenanceId);
+
+        mockMvc.perform(get("/api/v1/attachments/{id}/content", attachment.get("id").asText())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + attachment.get("contentHash").asText() + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Should keep identical photos once while listing each upload")
+    void shouldDeduplicateContent() throws Exception {
+        JsonNode first = upload("/api/v1/maintenances/{id}/attachments", photo, maintenanceId);
+        UUID actionId = maintenanceActionService.createMaintenanceAction(maintenanceId, new MaintenanceActionDto(
+                "Roofer", ZonedDateTime.now(), ZonedDateTime.now().plusHours(1), "Replaced tiles", List.of(), ActionStatus.SUCCESS)).id();
+        JsonNode second = upload("/api/v1/maintenances/{id}/actions/{actionId}/attachments", photo, maintenanceId, actionId);
+
+        assertNotEquals(first.get("id").asText(), second.get("id").asText());
+        assertEquals(first.get("contentHash").asText(), second.get("contentHash").asText());
+        assertEquals(actionId.toString(), second.get("actionId").asText());
+
+        mockMvc.perform(get("/api/v1/maintenances/{id}/attachments", maintenanceId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+        mockMvc.perform(get("/api/v1/maintenances/{id}/actions/{actionId}/attachments", maintenanceId, actionId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(second.get("id").asText()));
+    }
+
+    @Test
+    @DisplayName("Should generate the thumbnail in the background and serve it")
+    void shouldServeThumbnail() throws Exception {
+        JsonNode attachment = upload("/api/v1/maintenances/{id}/attachments", photo, maintenanceId);
+        String id = attachment.get("id").asText();
+        String photoEtag = "\"" + attachment.get("contentHash").asText() + "\"";
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!objectMapper.readTree(mockMvc.perform(get("/api/v1/attachments/{id}", id)).andReturn()
+                .getResponse().getContentAsByteArray()).get("thumbnailReady").asBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "thumbnail was not generated in time");
+            Thread.sleep(50);
+        }
+
+        MvcResult thumbnail = mockMvc.perform(get("/api/v1/attachments/{id}/thumbnail", id)
+                        .header(HttpHeaders.IF_NONE_MATCH, photoEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/jpeg"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + attachment.get("contentHash").asText() + "-thumb\""))
+                .andReturn();
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail.getResponse().getContentAsByteArray()));
+        assertEquals(320, image.getWidth());
+        assertEquals(240, image.getHeight());
+    }
+
+    @Test
+    @DisplayName("Should refuse files that are not JPEG or PNG images, whatever their declared type")
+    void shouldRejectNonImages() throws Exception {
+        mockMvc.perform(multipart("/api/v1/maintenances/{id}/attachments", maintenanceId)
+                        .file(new MockMultipartFile("file", "photo.png", "image/png", "<svg></svg>".getBytes())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should answer 404 for unknown maintenances and attachments")
+    void shouldRejectUnknownOwners() throws Exception {
+        mockMvc.perform(multipart("/api/v1/maintenances/{id}/attachments", UUID.randomUUID())
+                        .file(new MockMultipartFile("file", "photo.png", "image/png", photo)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/attachments/{id}/content", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+}
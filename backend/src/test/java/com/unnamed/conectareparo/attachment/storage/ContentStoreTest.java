@@ -0,0 +1,85 @@
+package com.unnamed.conectareparo.attachment.storage;
+
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Content Store Tests")
+class ContentStoreTest {
+
+    private static final String ABC_SHA256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @TempDir
+    private Path directory;
+    private ContentStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new ContentStore(new AttachmentProperties(true, directory, DataSize.ofMegabytes(1), 1000, 320, 1, 1, Duration.ofDays(1)));
+        store.open();
+    }
+
+    private StoredContent store(String content, long maxSize) throws IOException {
+        return store.store(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), maxSize);
+    }
+
+    private long files(String subdirectory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory.resolve(subdirectory))) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    @DisplayName("Should name the content by its SHA-256 and keep its bytes")
+    void shouldStoreUnderHash() throws IOException {
+        StoredContent content = store("abc", 100);
+
+        assertEquals(ABC_SHA256, content.hash());
+        assertEquals(3, content.size());
+        assertTrue(content.created());
+        assertEquals(directory.resolve("objects").resolve("ba").resolve(ABC_SHA256), store.content(ABC_SHA256));
+        assertEquals("abc", Files.readString(store.content(ABC_SHA256)));
+    }
+
+    @Test
+    @DisplayName("Should keep identical uploads once")
+    void shouldDeduplicate() throws IOException {
+        store("abc", 100);
+
+        StoredContent again = store("abc", 100);
+
+        assertFalse(again.created());
+        assertEquals(ABC_SHA256, again.hash());
+        assertEquals(1, files("objects"));
+        assertEquals(0, files("tmp"));
+    }
+
+    @Test
+    @DisplayName("Should refuse content over the size limit and leave nothing behind")
+    void shouldRejectOversizedContent() throws IOException {
+        assertThrows(BadRequestException.class, () -> store("abcd", 3));
+
+        assertEquals(0, files("objects"));
+        assertEquals(0, files("tmp"));
+    }
+
+    @Test
+    @DisplayName("Should refuse malformed hashes instead of resolving them as paths")
+    void shouldRejectMalformedHash() {
+        assertThrows(IllegalArgumentException.class, () -> store.content("../../etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> store.thumbnail(ABC_SHA256.toUpperCase()));
+    }
+}
@@ -0,0 +1,90 @@
+package com.unnamed.conectareparo.attachment.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Thumbnail Generator Tests")
+class ThumbnailGeneratorTest {
+
+    @TempDir
+    private Path directory;
+    private SimpleMeterRegistry meterRegistry;
+    private ContentStore store;
+    private ThumbnailGenerator generator;
+
+    private void setUp(long maxPixels) throws IOException {
+        AttachmentProperties properties = new AttachmentProperties(true, directory, DataSize.ofMegabytes(1), maxPixels, 32, 1, 1, Duration.ofDays(1));
+        meterRegistry = new SimpleMeterRegistry();
+        store = new ContentStore(properties);
+        store.open();
+        generator = new ThumbnailGenerator(store, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        generator.shutdown();
+    }
+
+    private String storePng(int width, int height) throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", png);
+        return store.store(new ByteArrayInputStream(png.toByteArray()), Long.MAX_VALUE).hash();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter(ThumbnailGenerator.METRIC_NAME, "outcome", outcome).count();
+    }
+
+    @Test
+    @DisplayName("Should write a JPEG thumbnail that fits the size and keeps the aspect ratio")
+    void shouldGenerateThumbnail() throws IOException {
+        setUp(1_000_000);
+        String hash = storePng(200, 100);
+
+        assertTrue(generator.generate(hash));
+
+        BufferedImage thumbnail = ImageIO.read(store.thumbnail(hash).toFile());
+        assertEquals(32, thumbnail.getWidth());
+        assertEquals(16, thumbnail.getHeight());
+        assertEquals(1, count("generated"));
+        assertFalse(generator.generate(hash), "an existing thumbnail is kept");
+    }
+
+    @Test
+    @DisplayName("Should skip images with more pixels than allowed")
+    void shouldSkipHugeImages() throws IOException {
+        setUp(100);
+        String hash = storePng(20, 20);
+
+        assertFalse(generator.generate(hash));
+
+        assertFalse(Files.exists(store.thumbnail(hash)));
+    }
+
+    @Test
+    @DisplayName("Should count content that is not an image as failed")
+    void shouldFailOnNonImages() throws IOException {
+        setUp(1_000_000);
+        String hash = store.store(new ByteArrayInputStream("not an image".getBytes(StandardCharsets.UTF_8)), 100).hash();
+
+        assertFalse(generator.generate(hash));
+
+        assertEquals(1, count("failed"));
+    }
+}
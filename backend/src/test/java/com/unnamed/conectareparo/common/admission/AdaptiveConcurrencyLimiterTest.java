@@ -0,0 +1,141 @@
+package com.unnamed.conectareparo.common.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Adaptive Concurrency Limiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxQueue, Duration maxWait) {
+        return new AdaptiveConcurrencyLimiter(
+                new ConcurrencyLimitProperties(true, initialLimit, 2, 40, 1.5, 0.2, 500, maxQueue, maxWait));
+    }
+
+    private static void acquire(AdaptiveConcurrencyLimiter limiter, int slots) throws InterruptedException {
+        for (int i = 0; i < slots; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+    }
+
+    private static void release(AdaptiveConcurrencyLimiter limiter, int slots, long rtt) {
+        for (int i = 0; i < slots; i++) {
+            limiter.release(rtt, false);
+        }
+    }
+
+    @Test
+    @DisplayName("Should admit up to the limit and shed the next call when the queue is empty")
+    void shouldShedBeyondLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 0, Duration.ZERO);
+
+        acquire(limiter, 4);
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(4, limiter.inFlight());
+    }
+
+    @Test
+    @DisplayName("Should shed a queued call once its wait runs out")
+    void shouldShedAfterMaxWait() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 5, Duration.ofMillis(20));
+        acquire(limiter, 2);
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(0, limiter.queued());
+    }
+
+    @Test
+    @DisplayName("Should hand a released slot to a queued call")
+    void shouldAdmitQueuedCallOnRelease() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 5, Duration.ofSeconds(10));
+        acquire(limiter, 2);
+
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.tryAcquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (limiter.queued() == 0) {
+            Thread.onSpinWait();
+        }
+        limiter.release(RTT, false);
+
+        assertTrue(waiting.get(5, TimeUnit.SECONDS));
+        assertEquals(2, limiter.inFlight());
+    }
+
+    @Test
+    @DisplayName("Should raise the limit while busy calls keep their usual latency")
+    void shouldGrowWhileLatencyIsSteady() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 0, Duration.ZERO);
+
+        for (int round = 0; round < 5; round++) {
+            int limit = limiter.currentLimit();
+            acquire(limiter, limit);
+            release(limiter, limit, RTT);
+        }
+
+        assertTrue(limiter.currentLimit() > 10, "limit was " + limiter.currentLimit());
+    }
+
+    @Test
+    @DisplayName("Should keep the limit while most of it is unused")
+    void shouldNotGrowWhileIdle() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 0, Duration.ZERO);
+
+        for (int i = 0; i < 100; i++) {
+            acquire(limiter, 1);
+            release(limiter, 1, RTT);
+        }
+
+        assertEquals(10, limiter.currentLimit());
+        assertEquals(10, limiter.longRtt(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should lower the limit when busy calls get much slower than usual")
+    void shouldShrinkWhenLatencyRises() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 0, Duration.ZERO);
+        for (int i = 0; i < 100; i++) {
+            acquire(limiter, 1);
+            release(limiter, 1, RTT);
+        }
+
+        for (int round = 0; round < 5; round++) {
+            int limit = limiter.currentLimit();
+            acquire(limiter, limit);
+            release(limiter, limit, 10 * RTT);
+        }
+
+        assertTrue(limiter.currentLimit() < 10, "limit was " + limiter.currentLimit());
+        assertTrue(limiter.currentLimit() >= 2);
+    }
+
+    @Test
+    @DisplayName("Should halve the limit when a call could not get a connection")
+    void shouldHalveOnDrop() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 0, Duration.ZERO);
+        acquire(limiter, 1);
+
+        limiter.release(RTT, true);
+
+        assertEquals(5, limiter.currentLimit());
+    }
+
+    @Test
+    @DisplayName("Should reject an initial limit outside the bounds")
+    void shouldRejectInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> limiter(50, 0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> limiter(1, 0, Duration.ZERO));
+    }
+}
@@ -0,0 +1,136 @@
+package com.unnamed.conectareparo.common.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Admission Control Filter Tests")
+class AdmissionControlFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AdmissionControlFilter(
+                AdmissionControlConfig.CREATE_ENDPOINTS,
+                new TokenBucketRateLimiter(2, 0.5, 4),
+                new TokenBucketRateLimiter(100, 100, 4),
+                1,
+                meterRegistry,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    private MockHttpServletResponse post(String remoteAddr, FilterChain chain) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/pledges");
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private double count(String outcome, String reason) {
+        return meterRegistry.counter(AdmissionControlFilter.METRIC_NAME,
+                "endpoint", "/api/v1/pledges", "outcome", outcome, "reason", reason).count();
+    }
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After once a client exhausts its bucket")
+    void shouldRejectClientOverLimit() throws Exception {
+        assertEquals(200, post("10.0.0.1", new MockFilterChain()).getStatus());
+        assertEquals(200, post("10.0.0.1", new MockFilterChain()).getStatus());
+
+        MockHttpServletResponse rejected = post("10.0.0.1", new MockFilterChain());
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("2", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getContentAsString().contains("Too Many Requests"));
+        assertEquals(2, count("admitted", "none"));
+        assertEquals(1, count("rejected", "client_rate"));
+    }
+
+    @Test
+    @DisplayName("Should not let one client's burst affect another client")
+    void shouldIsolateClients() throws Exception {
+        post("10.0.0.1", new MockFilterChain());
+        post("10.0.0.1", new MockFilterChain());
+
+        assertEquals(200, post("10.0.0.2", new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should reject when the concurrent write cap is reached")
+    void shouldRejectOverConcurrencyCap() throws Exception {
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain slowChain = (req, res) -> nested.set(post("10.0.0.2", new MockFilterChain()));
+
+        assertEquals(200, post("10.0.0.1", slowChain).getStatus());
+
+        assertEquals(429, nested.get().getStatus());
+        assertEquals("1", nested.get().getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, count("rejected", "concurrency"));
+    }
+
+    @Test
+    @DisplayName("Should share one bucket and one meter across spellings of the same endpoint")
+    void shouldKeyOnEndpointPattern() throws Exception {
+        MockHttpServletRequest withContextPath = new MockHttpServletRequest("POST", "/app/api/v1/pledges");
+        withContextPath.setContextPath("/app");
+        MockHttpServletRequest withParams = new MockHttpServletRequest("POST", "/api/v1/pledges;jsessionid=1");
+        MockHttpServletRequest plain = new MockHttpServletRequest("POST", "/api/v1/pledges");
+
+        List<Integer> statuses = new ArrayList<>();
+        for (MockHttpServletRequest request : List.of(withContextPath, withParams, plain)) {
+            request.setRemoteAddr("10.0.0.1");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            statuses.add(response.getStatus());
+        }
+
+        assertEquals(List.of(200, 200, 429), statuses);
+        assertEquals(2, count("admitted", "none"));
+        assertEquals(1, count("rejected", "client_rate"));
+        assertEquals(2, meterRegistry.find(AdmissionControlFilter.METRIC_NAME).counters().size());
+    }
+
+    @Test
+    @DisplayName("Should not limit other endpoints")
+    void shouldIgnoreOtherEndpoints() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/maintenances/1/actions");
+            request.setRemoteAddr("10.0.0.1");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+        assertTrue(meterRegistry.find(AdmissionControlFilter.METRIC_NAME).counters().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not limit read requests")
+    void shouldIgnoreGetRequests() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/pledges");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.unnamed.conectareparo.common.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "conectareparo.concurrency-limit.initial-limit=1",
+        "conectareparo.concurrency-limit.min-limit=1",
+        "conectareparo.concurrency-limit.max-limit=1",
+        "conectareparo.concurrency-limit.max-queue=0"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DisplayName("Concurrency Limit Integration Tests")
+class ConcurrencyLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After while the limit is taken and serve again once it is free")
+    void shouldShedRequestsAtTheLimit() throws Exception {
+        limiter.tryAcquire();
+        try {
+            mockMvc.perform(get("/api/v1/pledges"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("$.status").value(503));
+        } finally {
+            limiter.release(1, false);
+        }
+
+        mockMvc.perform(get("/api/v1/pledges"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should not limit reads that do not open a transaction of their own")
+    void shouldNotLimitSupportsReads() throws Exception {
+        limiter.tryAcquire();
+        try {
+            mockMvc.perform(get("/api/v1/maintenances"))
+                    .andExpect(status().isOk());
+        } finally {
+            limiter.release(1, false);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.unnamed.conectareparo.common.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Concurrency Limit Interceptor Tests")
+class ConcurrencyLimitInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+    private ConcurrencyLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitProperties(true, 1, 1, 4, 1.5, 0.2, 500, 0, Duration.ZERO));
+        interceptor = new ConcurrencyLimitInterceptor(limiter, meterRegistry, () -> 0L);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter(ConcurrencyLimitInterceptor.METRIC_NAME, "outcome", outcome).count();
+    }
+
+    @Test
+    @DisplayName("Should run the call in a slot and give it back afterwards")
+    void shouldHoldSlotDuringCall() throws Throwable {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.proceed()).thenAnswer(call -> {
+            assertEquals(1, limiter.inFlight());
+            return "done";
+        });
+
+        assertEquals("done", interceptor.invoke(invocation));
+
+        assertEquals(0, limiter.inFlight());
+        assertEquals(1, count("admitted"));
+    }
+
+    @Test
+    @DisplayName("Should shed the call without running it when no slot is free")
+    void shouldShedWhenFull() throws Throwable {
+        assertTrue(limiter.tryAcquire());
+        MethodInvocation invocation = mock(MethodInvocation.class);
+
+        assertThrows(ConcurrencyLimitExceededException.class, () -> interceptor.invoke(invocation));
+
+        verify(invocation, never()).proceed();
+        assertEquals(1, count("rejected"));
+    }
+
+    @Test
+    @DisplayName("Should let nested transactional calls share the slot of the outer call")
+    void shouldNotLimitNestedCalls() throws Throwable {
+        MethodInvocation inner = mock(MethodInvocation.class);
+        when(inner.proceed()).thenReturn("inner");
+        MethodInvocation outer = mock(MethodInvocation.class);
+        when(outer.proceed()).thenAnswer(call -> interceptor.invoke(inner));
+
+        assertEquals("inner", interceptor.invoke(outer));
+
+        assertEquals(1, count("admitted"));
+        assertEquals(0, count("rejected"));
+    }
+
+    @Test
+    @DisplayName("Should not limit calls made outside a web request")
+    void shouldNotLimitOutsideRequests() throws Throwable {
+        RequestContextHolder.resetRequestAttributes();
+        assertTrue(limiter.tryAcquire());
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.proceed()).thenReturn("job");
+
+        assertEquals("job", interceptor.invoke(invocation));
+
+        assertEquals(0, count("admitted") + count("rejected"));
+    }
+
+    @Test
+    @DisplayName("Should count a connection failure as a drop and lower the limit")
+    void shouldLowerLimitOnConnectionFailure() throws Throwable {
+        limiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitProperties(true, 4, 1, 4, 1.5, 0.2, 500, 0, Duration.ZERO));
+        interceptor = new ConcurrencyLimitInterceptor(limiter, meterRegistry, () -> 0L);
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.proceed()).thenThrow(new CannotCreateTransactionException("pool exhausted"));
+
+        assertThrows(CannotCreateTransactionException.class, () -> interceptor.invoke(invocation));
+
+        assertEquals(2, limiter.currentLimit());
+        assertEquals(0, limiter.inFlight());
+    }
+}
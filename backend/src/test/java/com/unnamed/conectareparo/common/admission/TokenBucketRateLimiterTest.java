@@ -0,0 +1,63 @@
+package com.unnamed.conectareparo.common.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Token Bucket Rate Limiter Tests")
+class TokenBucketRateLimiterTest {
+
+    private long now;
+    private TokenBucketRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        limiter = new TokenBucketRateLimiter(3, 1, 4, () -> now);
+    }
+
+    @Test
+    @DisplayName("Should admit a burst up to capacity and then report the wait for the next token")
+    void shouldAdmitBurstThenReject() {
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+
+        long retryAfter = limiter.tryAcquire("a");
+        assertEquals(TimeUnit.SECONDS.toNanos(1), retryAfter);
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over time")
+    void shouldRefillOverTime() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+        now += TimeUnit.MILLISECONDS.toNanos(1500);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), limiter.tryAcquire("a"));
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per key")
+    void shouldIsolateKeys() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configuration")
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(1, 0, 1));
+    }
+}
@@ -0,0 +1,146 @@
+package com.unnamed.conectareparo.common.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes against two independent in-memory databases, each tagged with its own role, so every query reveals
+ * which instance served it.
+ */
+@DisplayName("Replica Routing DataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private static final String CLIENT = "client-a";
+
+    private ReplicaLagMonitor lagMonitor;
+    private ReadYourWritesTracker writesTracker;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTx;
+    private TransactionTemplate writeTx;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        lagMonitor = new ReplicaLagMonitor(replica, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        lagMonitor.updateLag(0);
+        writesTracker = new ReadYourWritesTracker(Duration.ofSeconds(5), () -> now);
+
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, lagMonitor, writesTracker));
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        writeTx = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+    }
+
+    private static DataSource database(String role) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + role + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node_role (name VARCHAR(16))");
+        jdbc.update("INSERT INTO node_role VALUES (?)", role);
+        return dataSource;
+    }
+
+    private String servedByReadOnly() {
+        return readOnlyTx.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node_role", String.class));
+    }
+
+    private String servedByWrite() {
+        return writeTx.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node_role", String.class));
+    }
+
+    @Nested
+    @DisplayName("Transaction read-only flag")
+    class ReadOnlyFlagTests {
+        @Test
+        @DisplayName("Should send read-only transactions to the replica")
+        void shouldRouteReadOnlyToReplica() {
+            assertEquals("replica", servedByReadOnly());
+        }
+
+        @Test
+        @DisplayName("Should send read-write transactions to the primary")
+        void shouldRouteWritesToPrimary() {
+            assertEquals("primary", servedByWrite());
+        }
+
+        @Test
+        @DisplayName("Should send statements outside a transaction to the primary")
+        void shouldRouteNonTransactionalToPrimary() {
+            assertEquals("primary", jdbcTemplate.queryForObject("SELECT name FROM node_role", String.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Replica lag tolerance")
+    class LagTests {
+        @Test
+        @DisplayName("Should fall back to the primary while the replica lags too far behind")
+        void shouldFallBackWhenLagging() {
+            lagMonitor.updateLag(10_000);
+            assertEquals("primary", servedByReadOnly());
+
+            lagMonitor.updateLag(100);
+            assertEquals("replica", servedByReadOnly());
+        }
+        @Test
+        @DisplayName("Should sample the lag at the configured interval")
+        void shouldScheduleCheckAtConfiguredInterval() {
+            ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+            new ReplicaLagMonitor(database("replica"), Duration.ofSeconds(5), Duration.ofSeconds(2)).configureTasks(registrar);
+
+            assertEquals(1, registrar.getFixedDelayTaskList().size());
+            assertEquals(Duration.ofSeconds(2), registrar.getFixedDelayTaskList().get(0).getIntervalDuration());
+        }
+    }
+
+    @Nested
+    @DisplayName("Read-your-writes stickiness")
+    class StickinessTests {
+        @Test
+        @DisplayName("Should keep a client on the primary within the sticky window after its write")
+        void shouldStickAfterWrite() {
+            ReplicaRoutingContext.setClientKey(CLIENT);
+            servedByWrite();
+
+            assertEquals("primary", servedByReadOnly());
+
+            now += Duration.ofSeconds(6).toNanos();
+            assertEquals("replica", servedByReadOnly());
+        }
+
+        @Test
+        @DisplayName("Should not pin other clients to the primary")
+        void shouldNotAffectOtherClients() {
+            ReplicaRoutingContext.setClientKey(CLIENT);
+            servedByWrite();
+
+            ReplicaRoutingContext.setClientKey("client-b");
+            assertEquals("replica", servedByReadOnly());
+        }
+    }
+}
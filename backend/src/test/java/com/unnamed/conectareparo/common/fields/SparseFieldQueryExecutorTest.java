@@ -0,0 +1,120 @@
+package com.unnamed.conectareparo.common.fields;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.unnamed.conectareparo.common.pagination.CountKey;
+import com.unnamed.conectareparo.common.pagination.CountMode;
+import com.unnamed.conectareparo.common.pagination.PageQueryExecutor;
+import com.unnamed.conectareparo.common.pagination.PageResponse;
+import com.unnamed.conectareparo.common.pagination.RowCountEstimator;
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.mapper.MaintenanceMapper;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceRepository;
+import com.unnamed.conectareparo.maintenance.specification.MaintenanceSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({SparseFieldQueryExecutor.class, PageQueryExecutor.class})
+@DisplayName("Sparse Field Query Executor Tests")
+class SparseFieldQueryExecutorTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MaintenanceRepository repository;
+
+    @Autowired
+    private SparseFieldQueryExecutor executor;
+
+    @MockitoBean
+    private RowCountEstimator rowCountEstimator;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final CountKey countKey = CountKey.of("maintenance");
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            MaintenanceCategory category = i % 2 == 0 ? MaintenanceCategory.ELECTRICAL : MaintenanceCategory.PLUMBING;
+            entityManager.persist(new Maintenance("Task " + i, "Long description " + i, category, ZonedDateTime.now().plusDays(1)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should return only the selected fields, filtered and sorted")
+    void shouldSelectRequestedFields() throws Exception {
+        FieldSelection selection = MaintenanceMapper.SPARSE_FIELDS.select("title,category");
+        Specification<Maintenance> electrical = MaintenanceSpecification.hasCategory("ELECTRICAL");
+
+        PageResponse<SparseRow> result = executor.findAll(Maintenance.class, repository, electrical, selection,
+                PageRequest.of(0, 10, Sort.by("title").descending()), CountMode.EXACT, countKey);
+
+        assertEquals(3L, result.totalElements());
+        assertEquals(List.of("Task 4", "Task 2", "Task 0"), result.content().stream().map(row -> row.get("title")).toList());
+        JsonNode json = objectMapper.valueToTree(result.content().get(0));
+        assertEquals(List.of("id", "title", "category"), iterableToList(json.fieldNames()));
+        assertEquals("ELECTRICAL", json.get("category").asText());
+    }
+
+    @Test
+    @DisplayName("Should page with a look-ahead row when counting is disabled")
+    void shouldPageWithoutCount() {
+        FieldSelection selection = MaintenanceMapper.SPARSE_FIELDS.select("title");
+
+        PageResponse<SparseRow> first = executor.findAll(Maintenance.class, repository, Specification.unrestricted(), selection,
+                PageRequest.of(0, 2, Sort.by("title")), CountMode.NONE, countKey);
+        PageResponse<SparseRow> last = executor.findAll(Maintenance.class, repository, Specification.unrestricted(), selection,
+                PageRequest.of(2, 2, Sort.by("title")), CountMode.NONE, countKey);
+
+        assertEquals(2, first.content().size());
+        assertTrue(first.hasNext());
+        assertNull(first.totalElements());
+        assertEquals(1, last.content().size());
+        assertFalse(last.hasNext());
+        verifyNoInteractions(rowCountEstimator);
+    }
+
+    @Test
+    @DisplayName("Should select only the id when no other field is requested")
+    void shouldSelectOnlyId() {
+        FieldSelection selection = MaintenanceMapper.SPARSE_FIELDS.select("");
+
+        PageResponse<SparseRow> result = executor.findAll(Maintenance.class, repository, Specification.unrestricted(), selection,
+                PageRequest.of(0, 10), CountMode.EXACT, countKey);
+
+        assertEquals(5, result.content().size());
+        assertNotNull(result.content().get(0).get("id"));
+        assertNull(result.content().get(0).get("title"));
+    }
+
+    private static List<String> iterableToList(Iterator<String> iterator) {
+        List<String> names = new ArrayList<>();
+        iterator.forEachRemaining(names::add);
+        return names;
+    }
+}
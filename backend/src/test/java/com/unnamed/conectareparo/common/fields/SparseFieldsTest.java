@@ -0,0 +1,50 @@
+package com.unnamed.conectareparo.common.fields;
+
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sparse Fields Tests")
+class SparseFieldsTest {
+
+    private final SparseFields fields = SparseFields.of(
+            "id", "publicId",
+            "title", "title",
+            "description", "description",
+            "status", "status"
+    );
+
+    @Test
+    @DisplayName("Should always include the id and keep declaration order")
+    void shouldIncludeIdInDeclarationOrder() {
+        FieldSelection selection = fields.select("status, title");
+
+        assertEquals(List.of("id", "title", "status"), selection.names());
+        assertEquals(List.of("publicId", "title", "status"), selection.attributes());
+    }
+
+    @Test
+    @DisplayName("Should ignore duplicates and empty entries")
+    void shouldIgnoreDuplicatesAndEmptyEntries() {
+        assertEquals(List.of("id", "title"), fields.select("title,,title,").names());
+        assertEquals(List.of("id"), fields.select("").names());
+    }
+
+    @Test
+    @DisplayName("Should reuse the parsed selection for the same field list")
+    void shouldCacheSelections() {
+        assertSame(fields.select("title,status"), fields.select("title,status"));
+    }
+
+    @Test
+    @DisplayName("Should reject fields the endpoint does not offer")
+    void shouldRejectUnknownField() {
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> fields.select("title,maintenance"));
+
+        assertTrue(exception.getMessage().contains("'maintenance'"));
+    }
+}
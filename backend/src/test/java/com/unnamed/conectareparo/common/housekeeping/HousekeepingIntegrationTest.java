@@ -0,0 +1,87 @@
+package com.unnamed.conectareparo.common.housekeeping;
+
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceRepository;
+import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import com.unnamed.conectareparo.pledge.repository.PledgeRepository;
+import com.unnamed.conectareparo.statustransition.dto.StatusTransitionResponseDto;
+import com.unnamed.conectareparo.statustransition.entity.StatusEntityType;
+import com.unnamed.conectareparo.statustransition.service.StatusTransitionService;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.repository.SyncChangeRepository;
+import com.unnamed.conectareparo.sync.repository.SyncPosition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"conectareparo.housekeeping.enabled=true", "conectareparo.housekeeping.interval=1h"})
+@ActiveProfiles("test")
+@DisplayName("Housekeeping Integration Tests")
+class HousekeepingIntegrationTest {
+
+    @Autowired
+    private HousekeepingRunner housekeepingRunner;
+    @Autowired
+    private MaintenanceRepository maintenanceRepository;
+    @Autowired
+    private PledgeRepository pledgeRepository;
+    @Autowired
+    private StatusTransitionService statusTransitionService;
+    @Autowired
+    private SyncChangeRepository syncChangeRepository;
+
+    private Maintenance maintenance(String title, ZonedDateTime scheduledDate) {
+        return maintenanceRepository.save(new Maintenance(title, "Housekeeping test", MaintenanceCategory.BUILDING, scheduledDate));
+    }
+
+    private Pledge pledge(Maintenance maintenance) {
+        return pledgeRepository.save(new Pledge(maintenance, "Volunteer Name", "volunteer@example.com", "Paint", PledgeCategory.MATERIAL));
+    }
+
+    @Test
+    @DisplayName("Should expire open pledges of long past maintenances and keep the recent ones")
+    void shouldExpireStalePledges() {
+        Pledge stale = pledge(maintenance("Housekeeping: long ago", ZonedDateTime.now().minusDays(200)));
+        Pledge recent = pledge(maintenance("Housekeeping: last week", ZonedDateTime.now().minusDays(7)));
+
+        housekeepingRunner.run();
+
+        assertEquals(PledgeStatus.EXPIRED, pledgeRepository.findById(stale.getId()).orElseThrow().getStatus());
+        assertEquals(PledgeStatus.OFFERED, pledgeRepository.findById(recent.getId()).orElseThrow().getStatus());
+        List<StatusTransitionResponseDto> timeline = statusTransitionService
+                .getEntityTimeline(StatusEntityType.PLEDGE, stale.getPublicId(), null, 10).content();
+        assertEquals("OFFERED", timeline.get(0).fromStatus());
+        assertEquals("EXPIRED", timeline.get(0).toStatus());
+    }
+
+    @Test
+    @DisplayName("Should flag OPEN maintenances past their scheduled date once")
+    void shouldFlagOverdueMaintenances() {
+        Maintenance overdue = maintenance("Housekeeping: overdue", ZonedDateTime.now().minusDays(3));
+        Maintenance upcoming = maintenance("Housekeeping: upcoming", ZonedDateTime.now().plusDays(3));
+
+        housekeepingRunner.run();
+
+        ZonedDateTime overdueSince = maintenanceRepository.findById(overdue.getId()).orElseThrow().getOverdueSince();
+        assertNotNull(overdueSince);
+        assertNull(maintenanceRepository.findById(upcoming.getId()).orElseThrow().getOverdueSince());
+        assertTrue(syncChangeRepository.findSettledAfter(SyncPosition.START, 10_000).stream()
+                .anyMatch(change -> change.getEntityType() == SyncEntityType.MAINTENANCE
+                        && change.getEntityPublicId().equals(overdue.getPublicId())));
+
+        housekeepingRunner.run();
+
+        assertEquals(overdueSince.toInstant(),
+                maintenanceRepository.findById(overdue.getId()).orElseThrow().getOverdueSince().toInstant());
+    }
+}
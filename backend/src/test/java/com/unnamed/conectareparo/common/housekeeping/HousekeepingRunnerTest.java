@@ -0,0 +1,111 @@
+package com.unnamed.conectareparo.common.housekeeping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HousekeepingRunner Tests")
+class HousekeepingRunnerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static HousekeepingProperties properties(Map<String, HousekeepingProperties.Job> jobs) {
+        return new HousekeepingProperties(true, Duration.ofMinutes(5), 10, 3, Duration.ZERO,
+                Duration.ofDays(90), Duration.ofDays(1), jobs);
+    }
+
+    /**
+     * Processes {@code backlog} rows in chunks and remembers the chunk sizes it was asked for.
+     */
+    private static final class BacklogJob implements HousekeepingJob {
+        private final String name;
+        private int backlog;
+        private final List<Integer> chunkSizes = new ArrayList<>();
+
+        BacklogJob(String name, int backlog) {
+            this.name = name;
+            this.backlog = backlog;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public int runChunk(int chunkSize) {
+            chunkSizes.add(chunkSize);
+            int processed = Math.min(backlog, chunkSize);
+            backlog -= processed;
+            return processed;
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop once a chunk comes back short and record the rows processed")
+    void run_shouldStopAfterShortChunk() {
+        BacklogJob job = new BacklogJob("job", 15);
+        HousekeepingRunner runner = new HousekeepingRunner(List.of(job), properties(Map.of()), meterRegistry);
+
+        assertEquals(15, runner.run(job));
+
+        assertEquals(List.of(10, 10), job.chunkSizes);
+        assertEquals(15, meterRegistry.counter(HousekeepingRunner.ROWS_METRIC, "job", "job").count());
+        assertEquals(2, meterRegistry.timer(HousekeepingRunner.CHUNK_METRIC, "job", "job").count());
+    }
+
+    @Test
+    @DisplayName("Should leave the rest of a large backlog to the next run")
+    void run_shouldStopAtMaxChunks() {
+        BacklogJob job = new BacklogJob("job", 100);
+        HousekeepingRunner runner = new HousekeepingRunner(List.of(job), properties(Map.of()), meterRegistry);
+
+        assertEquals(30, runner.run(job));
+        assertEquals(70, job.backlog);
+    }
+
+    @Test
+    @DisplayName("Should apply per-job settings and skip disabled jobs")
+    void run_shouldApplyJobSettings() {
+        BacklogJob small = new BacklogJob("small", 12);
+        BacklogJob disabled = new BacklogJob("disabled", 5);
+        HousekeepingRunner runner = new HousekeepingRunner(List.of(small, disabled), properties(Map.of(
+                "small", new HousekeepingProperties.Job(null, 4, 2, null),
+                "disabled", new HousekeepingProperties.Job(false, null, null, null))), meterRegistry);
+
+        runner.run();
+
+        assertEquals(List.of(4, 4), small.chunkSizes);
+        assertTrue(disabled.chunkSizes.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should count a failing job and still run the others")
+    void run_whenJobFails_shouldContinueWithNextJob() {
+        HousekeepingJob failing = new HousekeepingJob() {
+            @Override
+            public String name() {
+                return "failing";
+            }
+
+            @Override
+            public int runChunk(int chunkSize) {
+                throw new IllegalStateException("Database unavailable");
+            }
+        };
+        BacklogJob next = new BacklogJob("next", 3);
+        HousekeepingRunner runner = new HousekeepingRunner(List.of(failing, next), properties(Map.of()), meterRegistry);
+
+        runner.run();
+
+        assertEquals(1, meterRegistry.counter(HousekeepingRunner.FAILURES_METRIC, "job", "failing").count());
+        assertEquals(0, next.backlog);
+    }
+}
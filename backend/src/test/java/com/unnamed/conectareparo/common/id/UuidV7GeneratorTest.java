@@ -0,0 +1,148 @@
+package com.unnamed.conectareparo.common.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UUIDv7 Generator Tests")
+class UuidV7GeneratorTest {
+
+    private static final long NOW = Instant.parse("2025-06-01T10:00:00Z").toEpochMilli();
+
+    private static long timestampOf(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    @Test
+    @DisplayName("Should produce version 7, RFC variant ids carrying the current Unix milliseconds")
+    void shouldEncodeVersionVariantAndTimestamp() {
+        UUID id = new UuidV7Generator(new FixedClock(NOW)).next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(NOW, timestampOf(id));
+    }
+
+    @Test
+    @DisplayName("Should keep ids strictly increasing within the same millisecond")
+    void shouldBeMonotonicWithinMillisecond() {
+        UuidV7Generator generator = new UuidV7Generator(new FixedClock(NOW));
+
+        UUID previous = generator.next();
+        for (int i = 0; i < 1000; i++) {
+            UUID next = generator.next();
+            assertTrue(previous.compareTo(next) < 0, previous + " should sort before " + next);
+            previous = next;
+        }
+        assertEquals(NOW, timestampOf(previous));
+    }
+
+    @Test
+    @DisplayName("Should carry a sequence overflow into the timestamp instead of repeating")
+    void shouldCarrySequenceOverflow() {
+        UuidV7Generator generator = new UuidV7Generator(new FixedClock(NOW));
+
+        UUID last = null;
+        for (int i = 0; i <= 4096; i++) {
+            last = generator.next();
+        }
+
+        assertEquals(NOW + 1, timestampOf(last));
+        assertEquals(7, last.version());
+    }
+
+    @Test
+    @DisplayName("Should not go backwards when the clock does")
+    void shouldSurviveClockMovingBackwards() {
+        FixedClock clock = new FixedClock(NOW);
+        UuidV7Generator generator = new UuidV7Generator(clock);
+        UUID before = generator.next();
+
+        clock.millis = NOW - 5_000;
+        UUID after = generator.next();
+
+        assertTrue(before.compareTo(after) < 0);
+    }
+
+    @Test
+    @DisplayName("Should sort ids of later milliseconds after earlier ones")
+    void shouldOrderAcrossMilliseconds() {
+        FixedClock clock = new FixedClock(NOW);
+        UuidV7Generator generator = new UuidV7Generator(clock);
+        UUID first = generator.next();
+
+        clock.millis = NOW + 1;
+        UUID second = generator.next();
+
+        assertTrue(first.compareTo(second) < 0);
+        assertEquals(NOW + 1, timestampOf(second));
+    }
+
+    @Test
+    @DisplayName("Should not hand out the same id to concurrent callers")
+    void shouldBeUniqueAcrossThreads() throws Exception {
+        UuidV7Generator generator = new UuidV7Generator();
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        ids.add(generator.next());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(80_000, ids.size());
+    }
+
+    private static class FixedClock extends Clock {
+
+        private long millis;
+
+        FixedClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.unnamed.conectareparo.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Idempotency Filter Tests")
+class IdempotencyFilterTest {
+
+    private static final String SCOPE = "POST /api/v1/maintenances";
+    private static final String BODY = "{\"title\":\"Fix roof\"}";
+
+    private IdempotencyStore store;
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(IdempotencyStore.class);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new IdempotencyFilter(store, IdempotencyConfig.CREATE_ENDPOINTS, meterRegistry,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    private MockHttpServletRequest post(String uri, String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static FilterChain creatingChain(AtomicInteger executions, int status) {
+        return (req, res) -> {
+            executions.incrementAndGet();
+            assertEquals(BODY, new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            ((HttpServletResponse) res).setStatus(status);
+            ((HttpServletResponse) res).setHeader(HttpHeaders.LOCATION, "/api/v1/maintenances/1");
+            res.setContentType("application/json");
+            res.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    @Test
+    @DisplayName("Should pass requests without the header straight through")
+    void shouldIgnoreRequestsWithoutKey() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+
+        MockHttpServletResponse response = run(post("/api/v1/maintenances", null, BODY), creatingChain(executions, 201));
+
+        assertEquals(201, response.getStatus());
+        assertEquals(1, executions.get());
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    @DisplayName("Should not handle endpoints other than the create endpoints")
+    void shouldIgnoreOtherEndpoints() throws Exception {
+        run(post("/api/v1/maintenances/bulk", "key-1", BODY), new MockFilterChain());
+
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    @DisplayName("Should execute a new key once and store its response")
+    void shouldStoreFirstResponse() throws Exception {
+        when(store.find(SCOPE, "key-1")).thenReturn(Optional.empty());
+        when(store.claim(eq(SCOPE), eq("key-1"), anyString())).thenReturn(true);
+        AtomicInteger executions = new AtomicInteger();
+
+        MockHttpServletResponse response = run(post("/api/v1/maintenances", "key-1", BODY), creatingChain(executions, 201));
+
+        assertEquals(201, response.getStatus());
+        assertEquals("{\"id\":1}", response.getContentAsString());
+        assertEquals(1, executions.get());
+        verify(store).complete(eq(SCOPE), eq("key-1"), anyString(), eq(201), eq("application/json"),
+                eq("/api/v1/maintenances/1"), eq("{\"id\":1}"));
+        verify(store, never()).release(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should replay a completed key without executing the request")
+    void shouldReplayCompletedKey() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        when(store.find(SCOPE, "key-1")).thenReturn(Optional.empty());
+        when(store.claim(eq(SCOPE), eq("key-1"), anyString())).thenReturn(true);
+        run(post("/api/v1/maintenances", "key-1", BODY), creatingChain(executions, 201));
+        String hash = captureHash();
+        when(store.find(SCOPE, "key-1")).thenReturn(Optional.of(new StoredResponse(
+                hash, 201, "application/json", "/api/v1/maintenances/1", "{\"id\":1}", Instant.now().plusSeconds(60))));
+
+        MockHttpServletResponse replayed = run(post("/api/v1/maintenances", "key-1", BODY), creatingChain(executions, 201));
+
+        assertEquals(1, executions.get());
+        assertEquals(201, replayed.getStatus());
+        assertEquals("true", replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("/api/v1/maintenances/1", replayed.getHeader(HttpHeaders.LOCATION));
+        assertEquals("{\"id\":1}", replayed.getContentAsString());
+        assertEquals(1, meterRegistry.counter(IdempotencyFilter.METRIC_NAME,
+                "endpoint", "/api/v1/maintenances", "outcome", "replayed").count());
+    }
+
+    @Test
+    @DisplayName("Should return 422 when a key is reused with a different body")
+    void shouldRejectDifferentBody() throws Exception {
+        when(store.find(SCOPE, "key-1")).thenReturn(Optional.of(new StoredResponse(
+                "0".repeat(64), 201, "application/json", null, "{}", Instant.now().plusSeconds(60))));
+        AtomicInteger executions = new AtomicInteger();
+
+        MockHttpServletResponse response = run(post("/api/v1/maintenances", "key-1", "{\"title\":\"Other\"}"),
+                creatingChain(executions, 201));
+
+        assertEquals(422, response.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should return 409 while the first request with the key is still running")
+    void shouldRejectKeyInProgress() throws Exception {
+        when(store.find(SCOPE, "key-1")).thenReturn(Optional.empty());
+        when(store.claim(eq(SCOPE), eq("key-1"), anyString())).thenReturn(true);
+        AtomicInteger executions = new AtomicInteger();
+        run(post("/api/v1/maintenances", "key-1", BODY), creatingChain(executions, 201));
+        String hash = captureHash();
+        when(store.claim(eq(SCOPE), eq("key-1"), anyString())).thenReturn(false);
+        when(store.find(SCOPE, "key-1")).thenReturn(Optional.empty(), Optional.of(
+                new StoredResponse(hash, null, null, null, null, Instant.now().plusSeconds(60))));
+
+        MockHttpServletResponse response = run(post("/api/v1/maintenances", "key-1", BODY), creatingChain(executions, 201));
+
+        assertEquals(409, response.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should release the key when the request fails with a server error")
+    void shouldReleaseOnServerError() throws Exception {
+        when(store.find(SCOPE, "key-1")).thenReturn(Optional.empty());
+        when(store.claim(eq(SCOPE), eq("key-1"), anyString())).thenReturn(true);
+
+        MockHttpServletResponse response = run(post("/api/v1/maintenances", "key-1", BODY),
+                creatingChain(new AtomicInteger(), 503));
+
+        assertEquals(503, response.getStatus());
+        verify(store).release(SCOPE, "key-1");
+        verify(store, never()).complete(any(), any(), any(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should release the key when the chain throws")
+    void shouldReleaseOnException() {
+        when(store.find(SCOPE, "key-1")).thenReturn(Optional.empty());
+        when(store.claim(eq(SCOPE), eq("key-1"), anyString())).thenReturn(true);
+        FilterChain failing = (req, res) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThrows(IllegalStateException.class, () -> run(post("/api/v1/maintenances", "key-1", BODY), failing));
+        verify(store).release(SCOPE, "key-1");
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a blank or oversized key")
+    void shouldRejectInvalidKey() throws Exception {
+        assertEquals(400, run(post("/api/v1/pledges", " ", BODY), new MockFilterChain()).getStatus());
+        assertEquals(400, run(post("/api/v1/pledges", "k".repeat(256), BODY), new MockFilterChain()).getStatus());
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    @DisplayName("Should scope keys to the action endpoint of each maintenance")
+    void shouldHandleActionEndpoint() throws Exception {
+        String uri = "/api/v1/maintenances/2f1c7a53-0a8e-4c40-9b7a-0f4ff8a3d1b2/actions";
+        when(store.find("POST " + uri, "key-1")).thenReturn(Optional.empty());
+        when(store.claim(eq("POST " + uri), eq("key-1"), anyString())).thenReturn(true);
+
+        run(post(uri, "key-1", BODY), creatingChain(new AtomicInteger(), 201));
+
+        verify(store).complete(eq("POST " + uri), eq("key-1"), anyString(), eq(201), any(), any(), any());
+    }
+
+    private String captureHash() {
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(store, atLeastOnce()).claim(eq(SCOPE), eq("key-1"), hash.capture());
+        return hash.getValue();
+    }
+}
@@ -0,0 +1,152 @@
+package com.unnamed.conectareparo.common.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the configured pool, which does not auto-commit, and outside any test transaction, as the
+ * filter calls the store: a write that is not committed explicitly is rolled back and the key is lost.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+@DisplayName("Idempotency Store Tests")
+class IdempotencyStoreTest {
+
+    private static final String SCOPE = "POST /api/v1/pledges";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MutableClock clock;
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> jdbcTemplate.execute("DELETE FROM idempotency_key"));
+        clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+        store = new IdempotencyStore(jdbcTemplate, transactionManager,
+                new IdempotencyProperties(true, Duration.ofHours(1), Duration.ofMinutes(1), 100, Duration.ofHours(1)),
+                clock);
+    }
+
+    @Test
+    @DisplayName("Should let only one caller claim a key")
+    void shouldClaimOnce() {
+        assertTrue(store.claim(SCOPE, "key-1", "hash"));
+        assertFalse(store.claim(SCOPE, "key-1", "hash"));
+        assertTrue(store.claim("POST /api/v1/maintenances", "key-1", "hash"));
+
+        Optional<StoredResponse> found = store.find(SCOPE, "key-1");
+        assertTrue(found.isPresent());
+        assertFalse(found.get().isCompleted());
+    }
+
+    @Test
+    @DisplayName("Should keep a claim made outside any transaction")
+    void shouldCommitClaimWithoutSurroundingTransaction() {
+        assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+
+        assertTrue(store.claim(SCOPE, "key-1", "hash"));
+        assertFalse(store.claim(SCOPE, "key-1", "hash"));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM idempotency_key WHERE idempotency_key = 'key-1'", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should return the stored response once completed")
+    void shouldFindCompletedResponse() {
+        store.claim(SCOPE, "key-1", "hash");
+        store.complete(SCOPE, "key-1", "hash", 201, "application/json", "/api/v1/pledges/1", "{\"id\":1}");
+
+        StoredResponse found = store.find(SCOPE, "key-1").orElseThrow();
+
+        assertEquals(201, found.status());
+        assertEquals("/api/v1/pledges/1", found.location());
+        assertEquals("{\"id\":1}", found.body());
+    }
+
+    @Test
+    @DisplayName("Should allow retrying a released key")
+    void shouldReclaimReleasedKey() {
+        store.claim(SCOPE, "key-1", "hash");
+        store.release(SCOPE, "key-1");
+
+        assertTrue(store.find(SCOPE, "key-1").isEmpty());
+        assertTrue(store.claim(SCOPE, "key-1", "hash"));
+    }
+
+    @Test
+    @DisplayName("Should take over a claim abandoned past the in-progress timeout")
+    void shouldTakeOverAbandonedClaim() {
+        store.claim(SCOPE, "key-1", "hash");
+        clock.advance(Duration.ofMinutes(2));
+
+        assertTrue(store.claim(SCOPE, "key-1", "hash"));
+    }
+
+    @Test
+    @DisplayName("Should forget and purge keys after their time to live")
+    void shouldExpireKeys() {
+        store.claim(SCOPE, "key-1", "hash");
+        store.complete(SCOPE, "key-1", "hash", 201, null, null, "{}");
+        clock.advance(Duration.ofHours(2));
+
+        assertTrue(store.find(SCOPE, "key-1").isEmpty());
+        store.purgeExpired();
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_key", Integer.class));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
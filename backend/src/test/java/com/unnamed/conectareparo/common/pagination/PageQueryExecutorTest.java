@@ -0,0 +1,142 @@
+package com.unnamed.conectareparo.common.pagination;
+
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(PageQueryExecutor.class)
+@DisplayName("Page Query Executor Tests")
+class PageQueryExecutorTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MaintenanceRepository repository;
+
+    @Autowired
+    private PageQueryExecutor pageQueryExecutor;
+
+    @MockitoBean
+    private RowCountEstimator rowCountEstimator;
+
+    private final Specification<Maintenance> all = Specification.unrestricted();
+    private final CountKey countKey = CountKey.of("maintenance");
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(new Maintenance("Task " + i, "Description", MaintenanceCategory.ELECTRICAL, ZonedDateTime.now().plusDays(1)));
+        }
+        entityManager.flush();
+    }
+
+    @Nested
+    @DisplayName("CountMode.EXACT")
+    class ExactTests {
+        @Test
+        @DisplayName("Should return exact totals without consulting the estimator")
+        void shouldReturnExactTotals() {
+            PageResponse<Maintenance> result = pageQueryExecutor.findAll(repository, all, PageRequest.of(0, 2), CountMode.EXACT, countKey);
+
+            assertEquals(2, result.content().size());
+            assertEquals(5L, result.totalElements());
+            assertEquals(3, result.totalPages());
+            assertTrue(result.hasNext());
+            assertEquals(CountMode.EXACT, result.countMode());
+            verifyNoInteractions(rowCountEstimator);
+        }
+    }
+
+    @Nested
+    @DisplayName("CountMode.NONE")
+    class NoneTests {
+        @Test
+        @DisplayName("Should derive hasNext from the extra row and omit totals")
+        void shouldOmitTotals() {
+            PageResponse<Maintenance> result = pageQueryExecutor.findAll(repository, all,
+                    PageRequest.of(1, 2, Sort.by("id")), CountMode.NONE, countKey);
+
+            assertEquals(2, result.content().size());
+            assertTrue(result.hasNext());
+            assertNull(result.totalElements());
+            assertNull(result.totalPages());
+            assertEquals(CountMode.NONE, result.countMode());
+            verifyNoInteractions(rowCountEstimator);
+        }
+
+        @Test
+        @DisplayName("Should report no next page on the last slice")
+        void shouldReportLastSlice() {
+            PageResponse<Maintenance> result = pageQueryExecutor.findAll(repository, all,
+                    PageRequest.of(2, 2, Sort.by("id")), CountMode.NONE, countKey);
+
+            assertEquals(1, result.content().size());
+            assertFalse(result.hasNext());
+            assertTrue(result.last());
+        }
+    }
+
+    @Nested
+    @DisplayName("CountMode.ESTIMATED")
+    class EstimatedTests {
+        @Test
+        @DisplayName("Should use the estimator for intermediate pages")
+        void shouldUseEstimate() {
+            when(rowCountEstimator.estimate(eq(countKey), any())).thenReturn(40L);
+
+            PageResponse<Maintenance> result = pageQueryExecutor.findAll(repository, all, PageRequest.of(0, 2), CountMode.ESTIMATED, countKey);
+
+            assertEquals(40L, result.totalElements());
+            assertEquals(20, result.totalPages());
+            assertTrue(result.hasNext());
+            assertEquals(CountMode.ESTIMATED, result.countMode());
+        }
+
+        @Test
+        @DisplayName("Should never report fewer rows than already seen")
+        void shouldClampStaleEstimate() {
+            when(rowCountEstimator.estimate(eq(countKey), any())).thenReturn(1L);
+
+            PageResponse<Maintenance> result = pageQueryExecutor.findAll(repository, all,
+                    PageRequest.of(1, 2, Sort.by("id")), CountMode.ESTIMATED, countKey);
+
+            assertEquals(5L, result.totalElements());
+            assertTrue(result.hasNext());
+        }
+
+        @Test
+        @DisplayName("Should report an exact total on the last page without estimating")
+        void shouldReportExactTotalOnLastPage() {
+            PageResponse<Maintenance> result = pageQueryExecutor.findAll(repository, all,
+                    PageRequest.of(2, 2, Sort.by("id")), CountMode.ESTIMATED, countKey);
+
+            assertEquals(5L, result.totalElements());
+            assertEquals(3, result.totalPages());
+            assertEquals(CountMode.EXACT, result.countMode());
+            verifyNoInteractions(rowCountEstimator);
+        }
+    }
+}
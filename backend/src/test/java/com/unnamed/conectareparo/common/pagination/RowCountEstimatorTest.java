@@ -0,0 +1,44 @@
+package com.unnamed.conectareparo.common.pagination;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Row Count Estimator Tests")
+class RowCountEstimatorTest {
+
+    private final AtomicInteger counts = new AtomicInteger();
+
+    private long estimate(RowCountEstimator estimator, CountKey key) {
+        return estimator.estimate(key, () -> 10 + counts.incrementAndGet());
+    }
+
+    @Test
+    @DisplayName("Should count once per filter while the cached count is fresh")
+    void estimate_shouldCachePerFilter() {
+        RowCountEstimator estimator = new RowCountEstimator(mock(JdbcTemplate.class), Duration.ofMinutes(1), 100);
+        CountKey maintenances = CountKey.of("maintenance", "OPEN");
+        CountKey pledges = CountKey.of("pledge", "OFFERED");
+
+        assertEquals(11, estimate(estimator, maintenances));
+        assertEquals(12, estimate(estimator, pledges));
+        assertEquals(11, estimate(estimator, maintenances));
+        assertEquals(12, estimate(estimator, pledges));
+    }
+
+    @Test
+    @DisplayName("Should count again once the cached count expires")
+    void estimate_shouldRecountAfterTtl() {
+        RowCountEstimator estimator = new RowCountEstimator(mock(JdbcTemplate.class), Duration.ZERO, 100);
+        CountKey maintenances = CountKey.of("maintenance", "OPEN");
+
+        assertEquals(11, estimate(estimator, maintenances));
+        assertEquals(12, estimate(estimator, maintenances));
+    }
+}
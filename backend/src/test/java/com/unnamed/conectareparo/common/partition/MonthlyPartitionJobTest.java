@@ -0,0 +1,79 @@
+package com.unnamed.conectareparo.common.partition;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the job on the configured pool, which does not auto-commit, and outside any test transaction, as the
+ * scheduler does. H2 commits DDL implicitly, so the stand-in for {@code ensure_monthly_partitions} records
+ * each partition as a row, which is rolled back like PostgreSQL DDL unless the job commits it. The class is
+ * public so that H2 can call the stand-ins.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+@DisplayName("Monthly Partition Job Tests")
+public class MonthlyPartitionJobTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS monthly_partition (parent VARCHAR(255), months_ahead INT)");
+            jdbcTemplate.execute("DELETE FROM monthly_partition");
+            jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS to_regclass FOR \"" + getClass().getName() + ".toRegclass\"");
+            jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS ensure_monthly_partitions FOR \""
+                    + getClass().getName() + ".ensureMonthlyPartitions\"");
+        });
+    }
+
+    @Test
+    @DisplayName("Should keep the partitions after the job's transaction ends")
+    void shouldCommitPartitions() {
+        MonthlyPartitionJob job = new MonthlyPartitionJob(jdbcTemplate, transactionManager,
+                new PartitioningProperties(true, "0 0 2 * * *", 3, List.of("pledge", "maintenance_action")));
+
+        job.ensurePartitions();
+
+        assertEquals(List.of("maintenance_action", "pledge"), jdbcTemplate.queryForList(
+                "SELECT parent FROM monthly_partition ORDER BY parent", String.class));
+    }
+
+    public static String toRegclass(String table) {
+        return table;
+    }
+
+    public static int ensureMonthlyPartitions(Connection connection, String parent, Date fromDate, int monthsAhead)
+            throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO monthly_partition (parent, months_ahead) VALUES (?, ?)")) {
+            insert.setString(1, parent);
+            insert.setInt(2, monthsAhead);
+            return insert.executeUpdate();
+        }
+    }
+}
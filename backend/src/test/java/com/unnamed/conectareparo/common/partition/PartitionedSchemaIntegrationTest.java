@@ -0,0 +1,226 @@
+package com.unnamed.conectareparo.common.partition;
+
+import com.unnamed.conectareparo.common.postgres.PostgresIntegrationTest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * What the partitioned {@code pledge} and {@code maintenance_action} keep from the tables they replaced: rows
+ * migrated with their own timestamps, public ids unique across partitions and the foreign key from
+ * {@code action_material}. The schema tests write in a transaction of their own and roll it back.
+ */
+@PostgresIntegrationTest
+@DisplayName("Partitioned Schema Tests")
+class PartitionedSchemaIntegrationTest {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Test
+    @DisplayName("Should migrate legacy children that predate their maintenance without changing their timestamps")
+    void shouldKeepLegacyTimestamps() throws SQLException {
+        String database = "partition_migration_" + System.nanoTime();
+        String databaseUrl = url.replace("/postgres?", "/" + database + "?");
+        OffsetDateTime maintenanceCreatedAt = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+        OffsetDateTime legacyCreatedAt = maintenanceCreatedAt.minusDays(40);
+
+        execute("CREATE DATABASE " + database);
+        try {
+            Flyway.configure().dataSource(databaseUrl, "postgres", "").target("7").load().migrate();
+            try (Connection legacy = DriverManager.getConnection(databaseUrl, "postgres", "");
+                 Statement statement = legacy.createStatement()) {
+                statement.execute("INSERT INTO maintenance (id, public_id, title, description, category, scheduled_date, status, created_at) "
+                        + "VALUES (1, gen_random_uuid(), 'Roof', 'Leak', 'BUILDING', now(), 'OPEN', '" + maintenanceCreatedAt + "')");
+                statement.execute("INSERT INTO pledge (id, public_id, maintenance_id, volunteer_name, volunteer_contact, description, type, status, created_at) "
+                        + "VALUES (1, gen_random_uuid(), 1, 'Volunteer', 'v@example.com', 'Tiles', 'MATERIAL', 'OFFERED', '" + legacyCreatedAt + "')");
+                statement.execute("INSERT INTO maintenance_action (id, public_id, maintenance_id, completion_date, action_description, outcome_status, created_at, updated_at) "
+                        + "VALUES (1, gen_random_uuid(), 1, now(), 'Patched', 'SUCCESS', '" + legacyCreatedAt + "', now())");
+                statement.execute("INSERT INTO action_material (id, public_id, maintenance_action_id, item_name, quantity, unit_of_measure, created_at, updated_at) "
+                        + "VALUES (1, gen_random_uuid(), 1, 'Tile', 4, 'un', now(), now())");
+            }
+
+            Flyway.configure().dataSource(databaseUrl, "postgres", "").load().migrate();
+
+            try (Connection migrated = DriverManager.getConnection(databaseUrl, "postgres", "");
+                 Statement statement = migrated.createStatement()) {
+                assertEquals(legacyCreatedAt.toInstant(), timestamp(statement, "SELECT created_at FROM pledge WHERE id = 1"));
+                assertEquals(legacyCreatedAt.toInstant(), timestamp(statement, "SELECT created_at FROM maintenance_action WHERE id = 1"));
+                assertEquals(maintenanceCreatedAt.toInstant(), timestamp(statement, "SELECT created_at FROM maintenance WHERE id = 1"));
+                assertEquals(legacyCreatedAt.toInstant(), timestamp(statement, "SELECT actions_not_before FROM maintenance WHERE id = 1"));
+                assertEquals(legacyCreatedAt.toInstant(), timestamp(statement,
+                        "SELECT maintenance_action_created_at FROM action_material WHERE id = 1"));
+                assertEquals(1, count(statement, "SELECT count(*) FROM maintenance_action a JOIN maintenance m ON m.id = a.maintenance_id "
+                        + "WHERE a.maintenance_id = 1 AND a.created_at >= m.actions_not_before"));
+                assertEquals(1, count(statement, "SELECT count(*) FROM pledge_public_id"));
+                assertEquals(1, count(statement, "SELECT count(*) FROM maintenance_action_public_id"));
+            }
+        } finally {
+            execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a public id already used by a row in another partition")
+    void shouldKeepPublicIdsUnique() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                long maintenanceId = insertMaintenance(connection);
+                UUID publicId = UUID.randomUUID();
+                insertPledge(connection, maintenanceId, publicId, OffsetDateTime.now());
+
+                SQLException duplicate = assertThrows(SQLException.class,
+                        () -> insertPledge(connection, maintenanceId, publicId, OffsetDateTime.now().minusMonths(2)));
+                assertEquals(UNIQUE_VIOLATION, duplicate.getSQLState());
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should release the public id of a deleted row")
+    void shouldReleaseDeletedPublicIds() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                long maintenanceId = insertMaintenance(connection);
+                UUID publicId = UUID.randomUUID();
+                insertPledge(connection, maintenanceId, publicId, OffsetDateTime.now());
+                try (PreparedStatement delete = connection.prepareStatement("DELETE FROM pledge WHERE public_id = ?")) {
+                    delete.setObject(1, publicId);
+                    delete.executeUpdate();
+                }
+
+                insertPledge(connection, maintenanceId, publicId, OffsetDateTime.now().minusMonths(2));
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep materials pointing at an existing action")
+    void shouldKeepMaterialForeignKey() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                OffsetDateTime actionCreatedAt = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+                long actionId = insertAction(connection, insertMaintenance(connection), actionCreatedAt);
+
+                SQLException dangling = assertThrows(SQLException.class,
+                        () -> insertMaterial(connection, actionId, actionCreatedAt.minusMonths(2)));
+                assertEquals(FOREIGN_KEY_VIOLATION, dangling.getSQLState());
+            } finally {
+                connection.rollback();
+            }
+            try {
+                OffsetDateTime actionCreatedAt = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+                long actionId = insertAction(connection, insertMaintenance(connection), actionCreatedAt);
+                insertMaterial(connection, actionId, actionCreatedAt);
+
+                SQLException orphaning = assertThrows(SQLException.class, () -> {
+                    try (PreparedStatement delete = connection.prepareStatement("DELETE FROM maintenance_action WHERE id = ?")) {
+                        delete.setLong(1, actionId);
+                        delete.executeUpdate();
+                    }
+                });
+                assertEquals(FOREIGN_KEY_VIOLATION, orphaning.getSQLState());
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(true);
+            statement.execute(sql);
+        }
+    }
+
+    private static long insertMaintenance(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO maintenance "
+                + "(public_id, title, description, category, scheduled_date, status, created_at, updated_at, actions_not_before) "
+                + "VALUES (gen_random_uuid(), 'Roof', 'Leak', 'BUILDING', now(), 'OPEN', now(), now(), now()) RETURNING id")) {
+            return single(insert.executeQuery());
+        }
+    }
+
+    private static void insertPledge(Connection connection, long maintenanceId, UUID publicId, OffsetDateTime createdAt)
+            throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO pledge "
+                + "(public_id, maintenance_id, volunteer_name, volunteer_contact, description, type, status, created_at) "
+                + "VALUES (?, ?, 'Volunteer', 'v@example.com', 'Tiles', 'MATERIAL', 'OFFERED', ?)")) {
+            insert.setObject(1, publicId);
+            insert.setLong(2, maintenanceId);
+            insert.setObject(3, createdAt);
+            insert.executeUpdate();
+        }
+    }
+
+    private static long insertAction(Connection connection, long maintenanceId, OffsetDateTime createdAt)
+            throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO maintenance_action "
+                + "(public_id, maintenance_id, completion_date, action_description, outcome_status, created_at, updated_at) "
+                + "VALUES (gen_random_uuid(), ?, now(), 'Patched', 'SUCCESS', ?, now()) RETURNING id")) {
+            insert.setLong(1, maintenanceId);
+            insert.setObject(2, createdAt);
+            return single(insert.executeQuery());
+        }
+    }
+
+    private static void insertMaterial(Connection connection, long actionId, OffsetDateTime actionCreatedAt)
+            throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO action_material "
+                + "(public_id, maintenance_action_id, maintenance_action_created_at, item_name, quantity, unit_of_measure, created_at, updated_at) "
+                + "VALUES (gen_random_uuid(), ?, ?, 'Tile', 4, 'un', now(), now())")) {
+            insert.setLong(1, actionId);
+            insert.setObject(2, actionCreatedAt);
+            insert.executeUpdate();
+        }
+    }
+
+    private static long single(ResultSet resultSet) throws SQLException {
+        try (resultSet) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static long count(Statement statement, String sql) throws SQLException {
+        return single(statement.executeQuery(sql));
+    }
+
+    private static Instant timestamp(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getObject(1, OffsetDateTime.class).toInstant();
+        }
+    }
+}
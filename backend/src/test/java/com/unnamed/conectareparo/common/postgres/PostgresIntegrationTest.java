@@ -0,0 +1,24 @@
+package com.unnamed.conectareparo.common.postgres;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A full application context on the embedded PostgreSQL server of {@link EmbeddedPostgresInitializer}, for
+ * the behaviour H2 cannot reproduce: triggers, row locks, transaction ids and partitioned tables.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest
+@ActiveProfiles("test")
+@ContextConfiguration(initializers = EmbeddedPostgresInitializer.class)
+public @interface PostgresIntegrationTest {
+}
@@ -0,0 +1,22 @@
+package com.unnamed.conectareparo.common.sqlstats;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails a MockMvc test when any request it performs runs more SQL statements than allowed. Put it on the
+ * test method (or class) of a {@code @SpringBootTest} with {@code @AutoConfigureMockMvc}; the check is done
+ * by {@link QueryBudgetMockMvcCustomizer} using the statistics of {@link SqlStatsFilter}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /** Maximum number of SQL statements a single request may run. */
+    int value();
+}
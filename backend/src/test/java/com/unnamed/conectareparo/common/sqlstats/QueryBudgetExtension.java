@@ -0,0 +1,32 @@
+package com.unnamed.conectareparo.common.sqlstats;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * Makes the {@link QueryBudget} of the running test available to {@link QueryBudgetMockMvcCustomizer}.
+ * MockMvc runs requests on the test thread, so a thread-local is enough.
+ */
+public class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ThreadLocal<QueryBudget> CURRENT = new ThreadLocal<>();
+
+    static QueryBudget current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        QueryBudget budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class))
+                .orElse(null);
+        CURRENT.set(budget);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,33 @@
+package com.unnamed.conectareparo.common.sqlstats;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcBuilderCustomizer;
+import org.springframework.stereotype.Component;
+import org.springframework.test.web.servlet.setup.ConfigurableMockMvcBuilder;
+
+/**
+ * Checks every MockMvc request of a {@link QueryBudget} test against its budget. Picked up by component
+ * scanning in {@code @SpringBootTest} contexts.
+ */
+@Component
+public class QueryBudgetMockMvcCustomizer implements MockMvcBuilderCustomizer {
+
+    @Override
+    public void customize(ConfigurableMockMvcBuilder<?> builder) {
+        builder.alwaysDo(result -> {
+            QueryBudget budget = QueryBudgetExtension.current();
+            if (budget == null) {
+                return;
+            }
+            RequestSqlStats stats = (RequestSqlStats) result.getRequest().getAttribute(SqlStatsFilter.STATS_ATTRIBUTE);
+            if (stats == null) {
+                throw new AssertionError("No SQL statistics recorded for " + result.getRequest().getRequestURI()
+                        + "; is SqlStatsFilter registered?");
+            }
+            if (stats.statements() > budget.value()) {
+                throw new AssertionError(String.format("%s %s ran %d SQL statements, budget is %d. Most repeated (%dx): %s",
+                        result.getRequest().getMethod(), result.getRequest().getRequestURI(), stats.statements(),
+                        budget.value(), stats.mostRepeatedCount(), stats.mostRepeatedSql()));
+            }
+        });
+    }
+}
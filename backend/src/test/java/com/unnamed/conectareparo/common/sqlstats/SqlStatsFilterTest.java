@@ -0,0 +1,69 @@
+package com.unnamed.conectareparo.common.sqlstats;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SqlStatsFilter Tests")
+class SqlStatsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlStatsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new SqlStatsFilter(meterRegistry, 25, 5);
+    }
+
+    @Test
+    @DisplayName("Should count the statements of a request and find the most repeated one")
+    void shouldRecordStatementsOfRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/pledges");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/pledges");
+            SqlStatementStats.recordStatement("select p from pledge");
+            SqlStatementStats.recordStatement("select m from maintenance where id=?");
+            SqlStatementStats.recordStatement("select m from maintenance where id=?");
+            SqlStatementStats.recordExecution(2_000_000);
+        });
+
+        RequestSqlStats stats = (RequestSqlStats) request.getAttribute(SqlStatsFilter.STATS_ATTRIBUTE);
+        assertEquals(3, stats.statements());
+        assertEquals(2.0, stats.dbTimeMillis());
+        assertEquals("select m from maintenance where id=?", stats.mostRepeatedSql());
+        assertEquals(2, stats.mostRepeatedCount());
+        assertEquals(3.0, meterRegistry.get(SqlStatsFilter.STATEMENTS_METRIC)
+                .tags("method", "GET", "endpoint", "/api/v1/pledges").summary().totalAmount());
+        assertNull(SqlStatementStats.current());
+    }
+
+    @Test
+    @DisplayName("Should close the scope when the request fails")
+    void shouldCloseScopeOnException() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/unknown");
+
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            SqlStatementStats.recordStatement("select 1");
+            throw new IllegalStateException("boom");
+        }));
+
+        assertNull(SqlStatementStats.current());
+        assertEquals(1.0, meterRegistry.get(SqlStatsFilter.STATEMENTS_METRIC)
+                .tags("endpoint", "UNMATCHED").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should ignore statements outside a request")
+    void shouldIgnoreStatementsOutsideRequest() {
+        SqlStatementStats.recordStatement("select 1");
+
+        assertNull(SqlStatementStats.current());
+    }
+}
@@ -0,0 +1,131 @@
+package com.unnamed.conectareparo.common.sqlstats;
+
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceRepository;
+import com.unnamed.conectareparo.maintenanceaction.entity.ActionMaterial;
+import com.unnamed.conectareparo.maintenanceaction.entity.ActionStatus;
+import com.unnamed.conectareparo.maintenanceaction.entity.MaintenanceAction;
+import com.unnamed.conectareparo.maintenanceaction.repository.MaintenanceActionRepository;
+import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
+import com.unnamed.conectareparo.pledge.repository.PledgeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets of the main read endpoints. Each test seeds several parents with children, so a lazy
+ * association loaded per row shows up as a statement count that grows past the budget.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DisplayName("SQL Statement Budget Integration Tests")
+class SqlStatsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MaintenanceRepository maintenanceRepository;
+    @Autowired
+    private PledgeRepository pledgeRepository;
+    @Autowired
+    private MaintenanceActionRepository maintenanceActionRepository;
+
+    private UUID maintenanceId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            Maintenance maintenance = maintenanceRepository.save(new Maintenance(
+                    "Budget " + i, "Description", MaintenanceCategory.BUILDING, ZonedDateTime.now().plusDays(1)));
+            maintenanceId = maintenance.getPublicId();
+            pledgeRepository.save(new Pledge(maintenance, "Volunteer " + i, "v" + i + "@example.com", "Help", PledgeCategory.LABOR));
+            MaintenanceAction action = new MaintenanceAction(maintenance, "Worker " + i, ZonedDateTime.now(),
+                    ZonedDateTime.now().plusHours(1), "Fixed", ActionStatus.SUCCESS);
+            action.addMaterial(new ActionMaterial("Nails", BigDecimal.ONE, "kg"));
+            maintenanceActionRepository.save(action);
+        }
+    }
+
+    @Test
+    @QueryBudget(1)
+    @DisplayName("GET /api/v1/actions loads actions, maintenances and materials in one statement")
+    void getAllActions_shouldStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/v1/actions"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(2)
+    @DisplayName("GET /api/v1/maintenances runs at most a page and a count query")
+    void getMaintenances_shouldStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/v1/maintenances").param("count", "exact"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(2)
+    @DisplayName("GET /api/v1/pledges runs at most a page and a count query")
+    void getPledges_shouldStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/v1/pledges").param("count", "exact"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(1)
+    @DisplayName("GET /api/v1/maintenances without a count loads the rows and their descriptions in one statement")
+    void getMaintenancesWithoutCount_shouldStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/v1/maintenances").param("count", "none"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(1)
+    @DisplayName("GET /api/v1/pledges without a count loads the rows and their descriptions in one statement")
+    void getPledgesWithoutCount_shouldStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/v1/pledges").param("count", "none"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(1)
+    @DisplayName("GET /api/v1/maintenances/{id} loads the maintenance and its description in one statement")
+    void getMaintenance_shouldStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/v1/maintenances/{id}", maintenanceId))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should report the SQL work of a request in the Server-Timing header")
+    void shouldAddServerTimingHeader() throws Exception {
+        mockMvc.perform(get("/api/v1/actions"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", matchesPattern("db;dur=\\d+\\.\\d;desc=\"statements=1\"")));
+    }
+
+    @Test
+    @QueryBudget(0)
+    @DisplayName("Should fail a request that exceeds the budget")
+    void shouldFailWhenBudgetIsExceeded() {
+        AssertionError error = assertThrows(AssertionError.class, () -> mockMvc.perform(get("/api/v1/actions")));
+        assertTrue(error.getMessage().contains("budget is 0"));
+    }
+}
@@ -1,12 +1,20 @@
 package com.unnamed.conectareparo.maintenance.controller;
 
+import com.unnamed.conectareparo.common.exception.BadRequestException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.unnamed.conectareparo.common.exception.ResourceNotFoundException;
+import com.unnamed.conectareparo.common.fields.FieldSelection;
+import com.unnamed.conectareparo.common.fields.SparseRow;
+import com.unnamed.conectareparo.common.pagination.CountMode;
+import com.unnamed.conectareparo.common.pagination.PageResponse;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceCalendarDayDto;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceCalendarEntryDto;
 import com.unnamed.conectareparo.maintenance.dto.MaintenanceDto;
 import com.unnamed.conectareparo.maintenance.dto.MaintenanceResponseDto;
 import com.unnamed.conectareparo.maintenance.dto.MaintenanceUpdateDto;
 import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
 import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.maintenance.mapper.MaintenanceMapper;
 import com.unnamed.conectareparo.maintenance.service.MaintenanceService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,11 +25,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -58,7 +70,7 @@ class MaintenanceControllerTest {
         validDate = ZonedDateTime.parse("3333-10-10T10:10:00Z");
         maintenanceResponseDto = new MaintenanceResponseDto(
                 validPublicId, "Test Title", "Test Desc", MaintenanceCategory.ELECTRICAL,
-                validDate, MaintenanceStatus.OPEN, ZonedDateTime.now(), ZonedDateTime.now()
+                validDate, MaintenanceStatus.OPEN, ZonedDateTime.now(), ZonedDateTime.now(), null
         );
     }
 
@@ -103,7 +115,8 @@ class MaintenanceControllerTest {
         @DisplayName("Should return 200 OK with a page of maintenances")
         void shouldReturn200_withPageOfMaintenances() throws Exception {
             Page<MaintenanceResponseDto> page = new PageImpl<>(List.of(maintenanceResponseDto), PageRequest.of(0, 10), 1);
-            when(maintenanceService.getAllMaintenances(any(), any(), any(), any(PageRequest.class))).thenReturn(page);
+            when(maintenanceService.getAllMaintenances(any(), any(), any(), eq(false), eq(CountMode.EXACT), any(PageRequest.class)))
+                    .thenReturn(PageResponse.of(page, CountMode.EXACT));
 
             mockMvc.perform(get("/api/v1/maintenances")
                             .param("status", "open")
@@ -111,8 +124,132 @@ class MaintenanceControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.content[0].id").value(validPublicId.toString()))
                     .andExpect(jsonPath("$.totalPages").value(1))
+                    .andExpect(jsonPath("$.totalElements").value(1))
+                    .andExpect(jsonPath("$.countMode").value("EXACT"));
+        }
+
+        @Test
+        @DisplayName("Should pass includeArchived=true to the service")
+        void shouldReturn200_withArchivedMaintenances() throws Exception {
+            Page<MaintenanceResponseDto> page = new PageImpl<>(List.of(maintenanceResponseDto), PageRequest.of(0, 10), 1);
+            when(maintenanceService.getAllMaintenances(any(), any(), any(), eq(true), eq(CountMode.EXACT), any(PageRequest.class)))
+                    .thenReturn(PageResponse.of(page, CountMode.EXACT));
+
+            mockMvc.perform(get("/api/v1/maintenances")
+                            .param("includeArchived", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(validPublicId.toString()));
+        }
+
+        @Test
+        @DisplayName("Should return 200 OK without totals when count=none")
+        void shouldReturn200_withoutTotals_whenCountIsNone() throws Exception {
+            Slice<MaintenanceResponseDto> slice = new SliceImpl<>(List.of(maintenanceResponseDto), PageRequest.of(0, 10), true);
+            when(maintenanceService.getAllMaintenances(any(), any(), any(), eq(false), eq(CountMode.NONE), any(PageRequest.class)))
+                    .thenReturn(PageResponse.withoutCount(slice));
+
+            mockMvc.perform(get("/api/v1/maintenances")
+                            .param("count", "none"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(validPublicId.toString()))
+                    .andExpect(jsonPath("$.hasNext").value(true))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andExpect(jsonPath("$.countMode").value("NONE"));
+        }
+
+        @Test
+        @DisplayName("Should return only the id and the requested fields when fields is given")
+        void shouldReturn200_withSparseFields() throws Exception {
+            FieldSelection selection = MaintenanceMapper.SPARSE_FIELDS.select("title,status");
+            SparseRow row = new SparseRow(selection, new Object[]{validPublicId, "Test Title", MaintenanceStatus.OPEN});
+            Page<SparseRow> page = new PageImpl<>(List.of(row), PageRequest.of(0, 10), 1);
+            when(maintenanceService.getMaintenanceFields(eq("title,status"), any(), any(), any(), eq(false), eq(CountMode.EXACT), any(PageRequest.class)))
+                    .thenReturn(PageResponse.of(page, CountMode.EXACT));
+
+            mockMvc.perform(get("/api/v1/maintenances")
+                            .param("fields", "title,status"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(validPublicId.toString()))
+                    .andExpect(jsonPath("$.content[0].title").value("Test Title"))
+                    .andExpect(jsonPath("$.content[0].status").value("OPEN"))
+                    .andExpect(jsonPath("$.content[0].description").doesNotExist())
                     .andExpect(jsonPath("$.totalElements").value(1));
         }
+
+        @Test
+        @DisplayName("Should return 400 Bad Request when fields names an unknown field")
+        void shouldReturn400_whenFieldIsUnknown() throws Exception {
+            when(maintenanceService.getMaintenanceFields(eq("secret"), any(), any(), any(), eq(false), eq(CountMode.EXACT), any(PageRequest.class)))
+                    .thenThrow(new BadRequestException("Unknown field 'secret'."));
+
+            mockMvc.perform(get("/api/v1/maintenances")
+                            .param("fields", "secret"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 400 Bad Request when count mode is invalid")
+        void shouldReturn400_whenCountModeIsInvalid() throws Exception {
+            mockMvc.perform(get("/api/v1/maintenances")
+                            .param("count", "maybe"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/maintenances/calendar")
+    class GetCalendarTests {
+        @Test
+        @DisplayName("Should return 200 OK with maintenances grouped by day")
+        void shouldReturn200_withCalendarDays() throws Exception {
+            MaintenanceCalendarEntryDto entry = new MaintenanceCalendarEntryDto(validPublicId, "Test Title",
+                    MaintenanceCategory.ELECTRICAL, MaintenanceStatus.OPEN, validDate);
+            MaintenanceCalendarDayDto day = new MaintenanceCalendarDayDto(LocalDate.parse("3333-10-10"), 1, List.of(entry));
+            when(maintenanceService.getCalendar(LocalDate.parse("3333-10-01"), LocalDate.parse("3333-10-31"), ZoneId.of("America/Sao_Paulo")))
+                    .thenReturn(List.of(day));
+
+            mockMvc.perform(get("/api/v1/maintenances/calendar")
+                            .param("from", "3333-10-01")
+                            .param("to", "3333-10-31")
+                            .param("zone", "America/Sao_Paulo"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].date").value("3333-10-10"))
+                    .andExpect(jsonPath("$[0].total").value(1))
+                    .andExpect(jsonPath("$[0].maintenances[0].id").value(validPublicId.toString()));
+        }
+
+        @Test
+        @DisplayName("Should default to UTC when no zone is given")
+        void shouldDefaultToUtc_whenZoneIsMissing() throws Exception {
+            when(maintenanceService.getCalendar(any(), any(), eq(ZoneId.of("UTC")))).thenReturn(List.of());
+
+            mockMvc.perform(get("/api/v1/maintenances/calendar")
+                            .param("from", "3333-10-01")
+                            .param("to", "3333-10-31"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should return 400 Bad Request when the window is invalid")
+        void shouldReturn400_whenWindowIsInvalid() throws Exception {
+            when(maintenanceService.getCalendar(any(), any(), any())).thenThrow(new BadRequestException("Invalid window"));
+
+            mockMvc.perform(get("/api/v1/maintenances/calendar")
+                            .param("from", "3333-10-31")
+                            .param("to", "3333-10-01"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 400 Bad Request when the zone is unknown")
+        void shouldReturn400_whenZoneIsUnknown() throws Exception {
+            mockMvc.perform(get("/api/v1/maintenances/calendar")
+                            .param("from", "3333-10-01")
+                            .param("to", "3333-10-31")
+                            .param("zone", "Mars/Olympus_Mons"))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     @Nested
@@ -121,7 +258,7 @@ class MaintenanceControllerTest {
         @Test
         @DisplayName("Should return 200 OK with maintenance data when ID is found")
         void shouldReturn200_whenIdIsFound() throws Exception {
-            when(maintenanceService.getMaintenanceByPublicId(validPublicId)).thenReturn(maintenanceResponseDto);
+            when(maintenanceService.getMaintenanceByPublicId(validPublicId, false)).thenReturn(maintenanceResponseDto);
 
             mockMvc.perform(get("/api/v1/maintenances/{id}", validPublicId))
                     .andExpect(status().isOk())
@@ -131,7 +268,7 @@ class MaintenanceControllerTest {
         @Test
         @DisplayName("Should return 404 Not Found when ID does not exist")
         void shouldReturn404_whenIdIsNotFound() throws Exception {
-            when(maintenanceService.getMaintenanceByPublicId(notFoundPublicId)).thenThrow(new ResourceNotFoundException("Not found"));
+            when(maintenanceService.getMaintenanceByPublicId(notFoundPublicId, false)).thenThrow(new ResourceNotFoundException("Not found"));
 
             mockMvc.perform(get("/api/v1/maintenances/{id}", notFoundPublicId))
                     .andExpect(status().isNotFound());
@@ -145,7 +282,7 @@ class MaintenanceControllerTest {
         @DisplayName("Should return 200 OK with updated data when request is valid")
         void shouldReturn200_whenRequestIsValid() throws Exception {
             MaintenanceUpdateDto updateDto = new MaintenanceUpdateDto("Updated Title", null, null, null);
-            MaintenanceResponseDto updatedResponse = new MaintenanceResponseDto(validPublicId, "Updated Title", "Test Desc", MaintenanceCategory.ELECTRICAL, null, MaintenanceStatus.OPEN, ZonedDateTime.now(), ZonedDateTime.now());
+            MaintenanceResponseDto updatedResponse = new MaintenanceResponseDto(validPublicId, "Updated Title", "Test Desc", MaintenanceCategory.ELECTRICAL, null, MaintenanceStatus.OPEN, ZonedDateTime.now(), ZonedDateTime.now(), null);
 
             when(maintenanceService.updateMaintenance(eq(validPublicId), any(MaintenanceUpdateDto.class))).thenReturn(updatedResponse);
 
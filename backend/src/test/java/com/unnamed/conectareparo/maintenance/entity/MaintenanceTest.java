@@ -266,4 +266,33 @@ class MaintenanceTest {
             );
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("statusChangeViolation Method")
+    class StatusChangeViolationTests {
+
+        @Test
+        @DisplayName("Should allow moving OPEN and IN_PROGRESS maintenances forward")
+        void shouldAllowForwardTransitions() {
+            assertNull(Maintenance.statusChangeViolation(MaintenanceStatus.OPEN, MaintenanceStatus.IN_PROGRESS));
+            assertNull(Maintenance.statusChangeViolation(MaintenanceStatus.IN_PROGRESS, MaintenanceStatus.COMPLETED));
+        }
+
+        @ParameterizedTest
+        @EnumSource(MaintenanceStatus.class)
+        @DisplayName("Should explain why a closed maintenance cannot change")
+        void shouldRejectAnyChangeFromClosedStatus(MaintenanceStatus target) {
+            assertEquals("Cannot change status of a completed maintenance.",
+                    Maintenance.statusChangeViolation(MaintenanceStatus.COMPLETED, target));
+            assertEquals("Cannot change status of a cancelled maintenance.",
+                    Maintenance.statusChangeViolation(MaintenanceStatus.CANCELED, target));
+        }
+
+        @Test
+        @DisplayName("Should explain why IN_PROGRESS cannot go back to OPEN")
+        void shouldRejectRevertToOpen() {
+            assertEquals("Cannot revert status from IN_PROGRESS to OPEN.",
+                    Maintenance.statusChangeViolation(MaintenanceStatus.IN_PROGRESS, MaintenanceStatus.OPEN));
+        }
+    }
+}
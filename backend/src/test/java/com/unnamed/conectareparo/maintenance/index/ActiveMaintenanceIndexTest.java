@@ -0,0 +1,207 @@
+package com.unnamed.conectareparo.maintenance.index;
+
+import com.unnamed.conectareparo.common.pagination.CountMode;
+import com.unnamed.conectareparo.common.pagination.PageResponse;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceResponseDto;
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.maintenance.mapper.MaintenanceMapper;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Active Maintenance Index Tests")
+class ActiveMaintenanceIndexTest {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+    private static final ZonedDateTime NOW = ZonedDateTime.now();
+
+    private ActiveMaintenanceIndex index;
+    private Maintenance leak;
+    private Maintenance wiring;
+    private Maintenance garden;
+
+    @BeforeEach
+    void setUp() {
+        index = new ActiveMaintenanceIndex(new MaintenanceMapper(), new ActiveMaintenanceIndexProperties(true, Duration.ofSeconds(2), 3, 500));
+        leak = maintenance(1, "Roof leak", "Water drips in the hall", MaintenanceCategory.BUILDING, MaintenanceStatus.OPEN, NOW.plusDays(3));
+        wiring = maintenance(2, "Rewire classroom", "Old wiring", MaintenanceCategory.ELECTRICAL, MaintenanceStatus.IN_PROGRESS, NOW.plusDays(1));
+        garden = maintenance(3, "Trim trees", null, MaintenanceCategory.GARDENING, MaintenanceStatus.OPEN, NOW.plusDays(2));
+        index.load(List.of(leak, wiring, garden));
+    }
+
+    private static Maintenance maintenance(long id, String title, String description, MaintenanceCategory category,
+                                           MaintenanceStatus status, ZonedDateTime scheduledDate) {
+        Maintenance maintenance = new Maintenance(title, description, category, scheduledDate);
+        ReflectionTestUtils.setField(maintenance, "id", id);
+        ReflectionTestUtils.setField(maintenance, "status", status);
+        return maintenance;
+    }
+
+    private List<UUID> ids(PageResponse<MaintenanceResponseDto> page) {
+        return page.content().stream().map(MaintenanceResponseDto::id).toList();
+    }
+
+    private PageResponse<MaintenanceResponseDto> find(String status, String category, String search, Pageable pageable) {
+        return index.find(status, category, search, pageable).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Should defer to the database until loaded")
+    void shouldNotAnswerBeforeLoad() {
+        ActiveMaintenanceIndex empty = new ActiveMaintenanceIndex(new MaintenanceMapper(), new ActiveMaintenanceIndexProperties(true, Duration.ofSeconds(2), 3, 500));
+
+        assertFalse(empty.isLoaded());
+        assertTrue(empty.find("active", null, null, FIRST_PAGE).isEmpty());
+    }
+
+    @Nested
+    @DisplayName("Filters")
+    class FilterTests {
+
+        @Test
+        @DisplayName("Should return every active maintenance in id order with an exact total")
+        void shouldReturnActiveMaintenances() {
+            PageResponse<MaintenanceResponseDto> page = find("active", null, null, FIRST_PAGE);
+
+            assertEquals(List.of(leak.getPublicId(), wiring.getPublicId(), garden.getPublicId()), ids(page));
+            assertEquals(3L, page.totalElements());
+            assertEquals(CountMode.EXACT, page.countMode());
+        }
+
+        @Test
+        @DisplayName("Should filter by a single active status, ignoring case")
+        void shouldFilterBySingleStatus() {
+            assertEquals(List.of(wiring.getPublicId()), ids(find("in_progress", null, null, FIRST_PAGE)));
+        }
+
+        @ParameterizedTest
+        @NullSource
+        @ValueSource(strings = {"all", "inactive", "COMPLETED", "canceled", "unknown"})
+        @DisplayName("Should defer status filters that include terminal maintenances")
+        void shouldDeferNonActiveStatusFilters(String status) {
+            assertTrue(index.find(status, null, null, FIRST_PAGE).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should filter by category, ignoring case")
+        void shouldFilterByCategory() {
+            assertEquals(List.of(wiring.getPublicId()), ids(find("active", "electrical", null, FIRST_PAGE)));
+        }
+
+        @Test
+        @DisplayName("Should return nothing for an unknown category")
+        void shouldReturnEmptyPageForUnknownCategory() {
+            assertTrue(find("active", "spaceship", null, FIRST_PAGE).content().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should match the search term against title, description and category")
+        void shouldSearchTitleDescriptionAndCategory() {
+            assertEquals(List.of(leak.getPublicId()), ids(find("active", null, "  ROOF ", FIRST_PAGE)));
+            assertEquals(List.of(wiring.getPublicId()), ids(find("active", null, "old wir", FIRST_PAGE)));
+            assertEquals(List.of(garden.getPublicId()), ids(find("active", null, "garden", FIRST_PAGE)));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"50%", "a_b", "back\\slash"})
+        @DisplayName("Should defer search terms with LIKE wildcards")
+        void shouldDeferWildcardSearch(String search) {
+            assertTrue(index.find("active", null, search, FIRST_PAGE).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sorting and paging")
+    class SortTests {
+
+        @Test
+        @DisplayName("Should sort and page like the database")
+        void shouldSortAndPage() {
+            PageResponse<MaintenanceResponseDto> page = find("active", null, null,
+                    PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "scheduledDate")));
+
+            assertEquals(List.of(leak.getPublicId(), garden.getPublicId()), ids(page));
+            assertEquals(3L, page.totalElements());
+            assertTrue(page.hasNext());
+        }
+
+        @Test
+        @DisplayName("Should sort enums by name and break ties by id")
+        void shouldSortEnumsByName() {
+            PageResponse<MaintenanceResponseDto> page = find("active", null, null, PageRequest.of(0, 10, Sort.by("status")));
+
+            assertEquals(List.of(wiring.getPublicId(), leak.getPublicId(), garden.getPublicId()), ids(page));
+        }
+
+        @Test
+        @DisplayName("Should defer sorts on columns it does not keep")
+        void shouldDeferUnsupportedSort() {
+            assertTrue(index.find("active", null, null, PageRequest.of(0, 10, Sort.by("title"))).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Updates")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should drop maintenances that leave the active set or no longer exist")
+        void shouldDropInactiveAndRemovedMaintenances() {
+            ReflectionTestUtils.setField(leak, "status", MaintenanceStatus.COMPLETED);
+
+            index.apply(List.of(leak), Set.of(garden.getPublicId()));
+
+            assertEquals(List.of(wiring.getPublicId()), ids(find("active", null, null, FIRST_PAGE)));
+        }
+
+        @Test
+        @DisplayName("Should apply changes right away outside a transaction")
+        void shouldApplyOutsideTransaction() {
+            leak.updateDetails("Roof leak over the library", null, null);
+
+            index.applyAfterCommit(leak);
+
+            assertEquals(List.of(leak.getPublicId()), ids(find("open", null, "library", FIRST_PAGE)));
+        }
+
+        @Test
+        @DisplayName("Should unload itself when the active set outgrows the limit")
+        void shouldUnloadWhenTooLarge() {
+            Maintenance extra = maintenance(4, "Paint walls", null, MaintenanceCategory.BUILDING, MaintenanceStatus.OPEN, NOW);
+
+            index.apply(List.of(extra), List.of());
+
+            assertFalse(index.isLoaded());
+            assertTrue(index.find("active", null, null, FIRST_PAGE).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should queue announced maintenance changes for the loader, once each")
+        void shouldQueueAnnouncedChanges() {
+            index.evict(SyncEntityType.MAINTENANCE, List.of(leak.getPublicId(), garden.getPublicId()));
+            index.evict(SyncEntityType.PLEDGE, List.of(UUID.randomUUID()));
+
+            assertEquals(Set.of(leak.getPublicId(), garden.getPublicId()), index.takePendingReloads());
+            assertEquals(Set.of(), index.takePendingReloads());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.unnamed.conectareparo.maintenance.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unnamed.conectareparo.common.sqlstats.QueryBudget;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceDto;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceResponseDto;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceUpdateDto;
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.maintenance.index.ActiveMaintenanceIndexLoader;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceRepository;
+import com.unnamed.conectareparo.maintenance.service.MaintenanceService;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.service.SyncChangeLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the maintenance list against the in-memory active index, which the test profile otherwise disables.
+ */
+@SpringBootTest(properties = "conectareparo.active-index.enabled=true")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DisplayName("Active Maintenance Index Integration Tests")
+class ActiveMaintenanceIndexIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MaintenanceService maintenanceService;
+    @Autowired
+    private MaintenanceRepository maintenanceRepository;
+    @Autowired
+    private SyncChangeLog syncChangeLog;
+    @Autowired
+    private ActiveMaintenanceIndexLoader loader;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        loader.refresh();
+    }
+
+    private MaintenanceResponseDto create(String title) {
+        return maintenanceService.createMaintenance(new MaintenanceDto(
+                title, "Indexed description", MaintenanceCategory.PLUMBING, ZonedDateTime.now().plusDays(2)));
+    }
+
+    @Test
+    @QueryBudget(0)
+    @DisplayName("Should serve filtered active lists without touching the database")
+    void shouldServeActiveListFromMemory() throws Exception {
+        MaintenanceResponseDto created = create("Index Test: Burst pipe");
+
+        mockMvc.perform(get("/api/v1/maintenances")
+                        .param("status", "active")
+                        .param("category", "plumbing")
+                        .param("search", "burst pipe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(created.id().toString()))
+                .andExpect(jsonPath("$.content[0].description").value("Indexed description"))
+                .andExpect(jsonPath("$.countMode").value("EXACT"));
+    }
+
+    @Test
+    @DisplayName("Should drop a maintenance from the active list once it is completed")
+    void shouldDropCompletedMaintenance() throws Exception {
+        MaintenanceResponseDto created = create("Index Test: Clogged drain");
+
+        mockMvc.perform(patch("/api/v1/maintenances/{publicId}", created.id())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MaintenanceUpdateDto(null, null, null, MaintenanceStatus.COMPLETED))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/maintenances").param("status", "active").param("search", "clogged drain"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty());
+        mockMvc.perform(get("/api/v1/maintenances").param("status", "all").param("search", "clogged drain"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].status").value("COMPLETED"));
+    }
+
+    @Test
+    @DisplayName("Should pick up maintenances written by another instance from the sync change log")
+    void shouldCatchUpWithOtherInstances() throws Exception {
+        // Writes straight through the repository, as another instance would, so this instance's index is not told.
+        Maintenance written = transactionTemplate.execute(status -> {
+            Maintenance maintenance = maintenanceRepository.save(new Maintenance(
+                    "Index Test: Leaking tap", "Elsewhere", MaintenanceCategory.PLUMBING, ZonedDateTime.now().plusDays(1)));
+            syncChangeLog.recordChange(SyncEntityType.MAINTENANCE, maintenance.getPublicId());
+            return maintenance;
+        });
+
+        mockMvc.perform(get("/api/v1/maintenances").param("status", "active").param("search", "leaking tap"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty());
+
+        loader.refresh();
+
+        mockMvc.perform(get("/api/v1/maintenances").param("status", "active").param("search", "leaking tap"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(written.getPublicId().toString()));
+    }
+}
@@ -0,0 +1,148 @@
+package com.unnamed.conectareparo.maintenance.integration;
+
+import com.unnamed.conectareparo.common.sqlstats.QueryBudget;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceDto;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceResponseDto;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceUpdateDto;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.maintenance.service.MaintenanceService;
+import com.unnamed.conectareparo.pledge.dto.PledgeDto;
+import com.unnamed.conectareparo.pledge.dto.PledgeResponseDto;
+import com.unnamed.conectareparo.pledge.dto.PledgeUpdateDto;
+import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import com.unnamed.conectareparo.pledge.service.PledgeService;
+import com.unnamed.conectareparo.statustransition.dto.StatusTransitionResponseDto;
+import com.unnamed.conectareparo.statustransition.entity.StatusEntityType;
+import com.unnamed.conectareparo.statustransition.service.StatusTransitionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DisplayName("Bulk Status Integration Tests")
+class BulkStatusIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MaintenanceService maintenanceService;
+    @Autowired
+    private PledgeService pledgeService;
+    @Autowired
+    private StatusTransitionService statusTransitionService;
+
+    private MaintenanceResponseDto open;
+    private MaintenanceResponseDto inProgress;
+    private MaintenanceResponseDto completed;
+
+    @BeforeEach
+    void setUp() {
+        open = maintenance("Bulk Test: Broken window");
+        inProgress = maintenance("Bulk Test: Leaking pipe");
+        completed = maintenance("Bulk Test: Faulty socket");
+        maintenanceService.updateMaintenance(inProgress.id(), new MaintenanceUpdateDto(null, null, null, MaintenanceStatus.IN_PROGRESS));
+        maintenanceService.updateMaintenance(completed.id(), new MaintenanceUpdateDto(null, null, null, MaintenanceStatus.COMPLETED));
+    }
+
+    private MaintenanceResponseDto maintenance(String title) {
+        return maintenanceService.createMaintenance(new MaintenanceDto(
+                title, "Bulk status test", MaintenanceCategory.BUILDING, ZonedDateTime.now().plusDays(2)));
+    }
+
+    private PledgeResponseDto pledge(MaintenanceResponseDto maintenance) {
+        return pledgeService.createPledge(new PledgeDto(
+                maintenance.id(), "Volunteer Name", "volunteer@example.com", "Cement bags", PledgeCategory.MATERIAL, null));
+    }
+
+    private static String body(MaintenanceStatus status, UUID... ids) {
+        StringBuilder json = new StringBuilder("{\"status\":\"").append(status).append("\",\"ids\":[");
+        for (int i = 0; i < ids.length; i++) {
+            json.append(i == 0 ? "\"" : ",\"").append(ids[i]).append('"');
+        }
+        return json.append("]}").toString();
+    }
+
+    @Test
+    @QueryBudget(10)
+    @DisplayName("Should close allowed maintenances, cancel their open pledges and report the others")
+    void shouldCloseMaintenancesAndCancelPledges() throws Exception {
+        PledgeResponseDto offered = pledge(inProgress);
+        PledgeResponseDto rejected = pledge(open);
+        pledgeService.updatePledge(rejected.id(), new PledgeUpdateDto(null, null, null, null, PledgeStatus.REJECTED));
+        UUID unknown = UUID.randomUUID();
+
+        mockMvc.perform(post("/api/v1/maintenances/bulk-status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(MaintenanceStatus.COMPLETED, inProgress.id(), open.id(), completed.id(), unknown, open.id())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.canceledPledges").value(1))
+                .andExpect(jsonPath("$.results.length()").value(4))
+                .andExpect(jsonPath("$.results[0].id").value(inProgress.id().toString()))
+                .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[0].previousStatus").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.results[0].canceledPledges").value(1))
+                .andExpect(jsonPath("$.results[1].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[1].canceledPledges").value(0))
+                .andExpect(jsonPath("$.results[2].outcome").value("UNCHANGED"))
+                .andExpect(jsonPath("$.results[3].outcome").value("NOT_FOUND"));
+
+        assertEquals(MaintenanceStatus.COMPLETED, maintenanceService.getMaintenanceByPublicId(inProgress.id(), false).status());
+        assertEquals(PledgeStatus.CANCELED, pledgeService.getPledgeByPublicId(offered.id(), false).status());
+        assertEquals(PledgeStatus.REJECTED, pledgeService.getPledgeByPublicId(rejected.id(), false).status());
+
+        List<StatusTransitionResponseDto> transitions = statusTransitionService
+                .getEntityTimeline(StatusEntityType.PLEDGE, offered.id(), null, 10).content();
+        assertEquals("OFFERED", transitions.get(0).fromStatus());
+        assertEquals("CANCELED", transitions.get(0).toStatus());
+    }
+
+    @Test
+    @DisplayName("Should report maintenances the transition rules do not allow to move")
+    void shouldRejectForbiddenTransitions() throws Exception {
+        mockMvc.perform(post("/api/v1/maintenances/bulk-status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(MaintenanceStatus.OPEN, inProgress.id(), completed.id())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(0))
+                .andExpect(jsonPath("$.results[0].outcome").value("REJECTED"))
+                .andExpect(jsonPath("$.results[0].status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.results[0].message").value("Cannot revert status from IN_PROGRESS to OPEN."))
+                .andExpect(jsonPath("$.results[1].outcome").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].message").value("Cannot change status of a completed maintenance."));
+
+        assertEquals(MaintenanceStatus.IN_PROGRESS, maintenanceService.getMaintenanceByPublicId(inProgress.id(), false).status());
+    }
+
+    @Test
+    @DisplayName("Should reject requests without ids or status")
+    void shouldRejectInvalidRequests() throws Exception {
+        mockMvc.perform(post("/api/v1/maintenances/bulk-status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(MaintenanceStatus.COMPLETED)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/maintenances/bulk-status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"" + open.id() + "\"]}"))
+                .andExpect(status().isBadRequest());
+    }
+}
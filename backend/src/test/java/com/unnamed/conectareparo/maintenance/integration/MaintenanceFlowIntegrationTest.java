@@ -21,6 +21,8 @@ import java.time.ZonedDateTime;
 import java.util.UUID;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -83,6 +85,40 @@ public class MaintenanceFlowIntegrationTest {
     }
 
 
+    @Test
+    @DisplayName("Should deliver only maintenances changed after the sync token")
+    void sync_shouldReturnChangesSinceToken() throws Exception {
+        MvcResult bootstrap = mockMvc.perform(get("/api/v1/sync"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maintenances").isEmpty())
+                .andReturn();
+        String token = objectMapper.readTree(bootstrap.getResponse().getContentAsString()).get("nextToken").asText();
+
+        MaintenanceDto createDto = new MaintenanceDto(
+                "Sync Test: Fix Roof",
+                "Roof is leaking.",
+                MaintenanceCategory.BUILDING,
+                ZonedDateTime.now().plusDays(3)
+        );
+        MvcResult createResult = mockMvc.perform(post("/api/v1/maintenances")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createDto)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        UUID createdId = objectMapper.readValue(createResult.getResponse().getContentAsString(), MaintenanceResponseDto.class).id();
+
+        MvcResult delta = mockMvc.perform(get("/api/v1/sync").param("since", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maintenances[?(@.id == '" + createdId + "')].title").value("Sync Test: Fix Roof"))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andReturn();
+        String nextToken = objectMapper.readTree(delta.getResponse().getContentAsString()).get("nextToken").asText();
+
+        mockMvc.perform(get("/api/v1/sync").param("since", nextToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maintenances[?(@.id == '" + createdId + "')]").isEmpty());
+    }
+
     @Test
     @DisplayName("Unhappy Path: Should return 400 for invalid creation request")
     void createMaintenance_withInvalidData_shouldReturn400() throws Exception {
@@ -99,6 +135,45 @@ public class MaintenanceFlowIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("Should create a maintenance only once when a request is retried with the same Idempotency-Key")
+    void createMaintenance_retriedWithSameIdempotencyKey_shouldCreateOnce() throws Exception {
+        MaintenanceDto createDto = new MaintenanceDto(
+                "Idempotency Test: Fix Gate",
+                "Gate does not close.",
+                MaintenanceCategory.BUILDING,
+                ZonedDateTime.now().plusDays(3)
+        );
+        String body = objectMapper.writeValueAsString(createDto);
+        String idempotencyKey = UUID.randomUUID().toString();
+        long countBefore = maintenanceRepository.count();
+
+        MvcResult first = mockMvc.perform(post("/api/v1/maintenances")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        MvcResult retry = mockMvc.perform(post("/api/v1/maintenances")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn();
+
+        assertEquals(first.getResponse().getContentAsString(), retry.getResponse().getContentAsString());
+        assertEquals(first.getResponse().getHeader("Location"), retry.getResponse().getHeader("Location"));
+        assertEquals(countBefore + 1, maintenanceRepository.count());
+
+        mockMvc.perform(post("/api/v1/maintenances")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.replace("Fix Gate", "Fix Fence")))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     @DisplayName("Unhappy Path: Should return 404 for non-existent ID on GET")
     void getMaintenance_withNonExistentId_shouldReturn404() throws Exception {
@@ -483,4 +558,27 @@ public class MaintenanceFlowIntegrationTest {
         maintenanceRepository.findByPublicId(targetId).ifPresent(maintenanceRepository::delete);
         maintenanceRepository.findByPublicId(otherId).ifPresent(maintenanceRepository::delete);
     }
+
+    @Test
+    @DisplayName("Should return created maintenance in the calendar day of the requested zone")
+    void getCalendar_shouldGroupCreatedMaintenanceByZoneDay() throws Exception {
+        MaintenanceDto calendarDto = new MaintenanceDto("Calendar Task", "Desc", MaintenanceCategory.SECURITY,
+                ZonedDateTime.parse("2040-03-15T01:30:00Z"));
+
+        MvcResult createResult = mockMvc.perform(post("/api/v1/maintenances")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(calendarDto)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        UUID createdId = objectMapper.readValue(createResult.getResponse().getContentAsString(), MaintenanceResponseDto.class).id();
+
+        mockMvc.perform(get("/api/v1/maintenances/calendar")
+                        .param("from", "2040-03-01")
+                        .param("to", "2040-03-31")
+                        .param("zone", "America/Sao_Paulo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.date == '2040-03-14')].maintenances[0].id").value(createdId.toString()));
+
+        maintenanceRepository.findByPublicId(createdId).ifPresent(maintenanceRepository::delete);
+    }
 }
@@ -0,0 +1,261 @@
+package com.unnamed.conectareparo.maintenance.integration;
+
+import com.unnamed.conectareparo.common.postgres.PostgresIntegrationTest;
+import com.unnamed.conectareparo.maintenance.dto.BulkStatusUpdateDto;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceDto;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceUpdateDto;
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.maintenance.exception.MaintenanceAlreadyCompletedException;
+import com.unnamed.conectareparo.maintenance.repository.ClosedMaintenanceConstraint;
+import com.unnamed.conectareparo.maintenance.service.MaintenanceBulkStatusService;
+import com.unnamed.conectareparo.maintenance.service.MaintenanceService;
+import com.unnamed.conectareparo.maintenanceaction.dto.MaintenanceActionDto;
+import com.unnamed.conectareparo.maintenanceaction.entity.ActionStatus;
+import com.unnamed.conectareparo.maintenanceaction.service.MaintenanceActionService;
+import com.unnamed.conectareparo.pledge.dto.PledgeDto;
+import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import com.unnamed.conectareparo.pledge.mapper.PledgeMapper;
+import com.unnamed.conectareparo.pledge.repository.PledgeRepository;
+import com.unnamed.conectareparo.pledge.service.PledgeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Races writers that add pledges or actions against a request completing their maintenance, on PostgreSQL,
+ * where {@code reject_child_of_closed_maintenance} and the lock taken by the closing transaction decide which
+ * writes commit. Every writer must be turned away, and no pledge may be left open once the completion commits.
+ */
+@PostgresIntegrationTest
+@DisplayName("Terminal Status Concurrency Tests")
+class TerminalStatusConcurrencyIntegrationTest {
+
+    private static final int WRITERS = 16;
+    private static final int MAX_WRITES_PER_WRITER = 2000;
+
+    @Autowired
+    private MaintenanceService maintenanceService;
+    @Autowired
+    private MaintenanceBulkStatusService maintenanceBulkStatusService;
+    @Autowired
+    private PledgeService pledgeService;
+    @Autowired
+    private PledgeRepository pledgeRepository;
+    @Autowired
+    private PledgeMapper pledgeMapper;
+    @Autowired
+    private MaintenanceActionService maintenanceActionService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+
+    @RepeatedTest(3)
+    @DisplayName("Should leave no open pledge once its maintenance is completed")
+    void shouldNotLeaveOpenPledgesAfterCompletion() throws Exception {
+        UUID maintenanceId = createMaintenance();
+        PledgeDto pledge = new PledgeDto(maintenanceId, "Volunteer Racer", "racer@example.com",
+                "Racing the completion", PledgeCategory.LABOR, PledgeStatus.OFFERED);
+
+        race(maintenanceId, () -> pledgeService.createPledge(pledge), IllegalStateException.class,
+                () -> pledgeRepository.findAllByMaintenancePublicId(maintenanceId, Pageable.unpaged()).getNumberOfElements());
+
+        List<Pledge> pledges = pledgeRepository.findAllByMaintenancePublicId(maintenanceId, Pageable.unpaged()).getContent();
+        assertTrue(pledges.stream().noneMatch(p -> p.getStatus() == PledgeStatus.OFFERED || p.getStatus() == PledgeStatus.PENDING),
+                "no pledge commits after the completion cancelled the open ones");
+    }
+
+    @RepeatedTest(3)
+    @DisplayName("Should turn away every action writer once its maintenance is completed")
+    void shouldRejectActionsAfterCompletion() throws Exception {
+        UUID maintenanceId = createMaintenance();
+        MaintenanceActionDto action = new MaintenanceActionDto("Racing Crew", ZonedDateTime.now(), ZonedDateTime.now().plusHours(1),
+                "Racing the completion", List.of(), ActionStatus.SUCCESS);
+
+        race(maintenanceId, () -> maintenanceActionService.createMaintenanceAction(maintenanceId, action),
+                MaintenanceAlreadyCompletedException.class,
+                () -> maintenanceActionService.getMaintenanceActions(maintenanceId, false).size());
+    }
+
+    @Test
+    @DisplayName("Should make a completion wait for a pledge that passed the check and then cancel it")
+    void shouldCancelPledgeCheckedBeforeCompletion() throws Exception {
+        UUID maintenanceId = createMaintenance();
+        long id = maintenanceService.getMaintenanceEntityByPublicId(maintenanceId).getId();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try (Connection writer = dataSource.getConnection()) {
+            writer.setAutoCommit(false);
+            UUID pledgeId = insertPledge(writer, id);
+
+            Future<?> completion = pool.submit(() -> maintenanceBulkStatusService.updateStatuses(
+                    new BulkStatusUpdateDto(List.of(maintenanceId), MaintenanceStatus.COMPLETED)));
+            awaitLockWait(completion);
+            writer.commit();
+            completion.get(30, TimeUnit.SECONDS);
+
+            assertEquals(PledgeStatus.CANCELED, pledgeRepository.findByPublicId(pledgeId).orElseThrow().getStatus());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should make a pledge wait for a completion in progress and then reject it")
+    void shouldRejectPledgeCheckedDuringCompletion() throws Exception {
+        UUID maintenanceId = createMaintenance();
+        long id = maintenanceService.getMaintenanceEntityByPublicId(maintenanceId).getId();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try (Connection closer = dataSource.getConnection()) {
+            closer.setAutoCommit(false);
+            try (Statement statement = closer.createStatement()) {
+                statement.execute("SELECT id FROM maintenance WHERE id = " + id + " FOR UPDATE");
+                statement.execute("UPDATE maintenance SET status = 'COMPLETED' WHERE id = " + id);
+            }
+
+            Future<?> pledge = pool.submit(() -> {
+                try (Connection writer = dataSource.getConnection()) {
+                    writer.setAutoCommit(false);
+                    insertPledge(writer, id);
+                    writer.commit();
+                }
+                return null;
+            });
+            awaitLockWait(pledge);
+            closer.commit();
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> pledge.get(30, TimeUnit.SECONDS));
+            SQLException rejection = assertInstanceOf(SQLException.class, e.getCause());
+            assertEquals("23514", rejection.getSQLState());
+            assertTrue(rejection.getMessage().contains(ClosedMaintenanceConstraint.NAME));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a pledge whose maintenance was completed after its status was read")
+    void shouldRejectPledgeOfStaleOpenMaintenance() {
+        UUID maintenanceId = createMaintenance();
+        Maintenance stale = maintenanceService.getMaintenanceEntityByPublicId(maintenanceId);
+        maintenanceService.updateMaintenance(maintenanceId, new MaintenanceUpdateDto(null, null, null, MaintenanceStatus.COMPLETED));
+
+        Pledge pledge = pledgeMapper.toEntity(stale, new PledgeDto(maintenanceId, "Late Volunteer", "late@example.com",
+                "Read the status too early", PledgeCategory.LABOR, PledgeStatus.OFFERED));
+        DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class, () -> pledgeRepository.save(pledge));
+        assertTrue(ClosedMaintenanceConstraint.isViolatedBy(e));
+    }
+
+    private UUID createMaintenance() {
+        return maintenanceService.createMaintenance(new MaintenanceDto(
+                "Concurrency Test", "Completed while children are added", MaintenanceCategory.BUILDING,
+                ZonedDateTime.now().plusDays(1))).id();
+    }
+
+    private static UUID insertPledge(Connection connection, long maintenanceId) throws SQLException {
+        UUID pledgeId = UUID.randomUUID();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO pledge (public_id, maintenance_id, "
+                + "volunteer_name, volunteer_contact, description, type, status) VALUES (?, ?, 'Volunteer', "
+                + "'volunteer@example.com', 'Checked while the maintenance is being completed', 'LABOR', 'OFFERED')")) {
+            insert.setObject(1, pledgeId);
+            insert.setLong(2, maintenanceId);
+            insert.executeUpdate();
+        }
+        return pledgeId;
+    }
+
+    /**
+     * Waits until some session is blocked on a lock, which in these tests is the task's, and checks that the
+     * task did not finish without waiting.
+     */
+    private void awaitLockWait(Future<?> task) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock' "
+                + "AND datname = current_database()", Integer.class) == 0) {
+            assertFalse(task.isDone(), "the task must wait for the other transaction");
+            assertTrue(System.nanoTime() < deadline, "the task never waited for a lock");
+            Thread.sleep(10);
+        }
+        assertFalse(task.isDone());
+    }
+
+    /**
+     * Every writer adds children until it is turned away; meanwhile the maintenance is completed once a
+     * few children exist. Every child a writer was told about must exist once the writers are done.
+     */
+    private void race(UUID maintenanceId, Runnable write, Class<? extends RuntimeException> rejection,
+                      Supplier<Integer> count) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        try {
+            List<Future<Boolean>> writers = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                writers.add(pool.submit(() -> {
+                    start.await();
+                    for (int n = 0; n < MAX_WRITES_PER_WRITER; n++) {
+                        try {
+                            write.run();
+                            created.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            if (rejection.isInstance(e)) {
+                                return true;
+                            }
+                            throw e;
+                        }
+                    }
+                    return false;
+                }));
+            }
+            Future<?> completion = pool.submit(() -> {
+                start.await();
+                while (created.get() < WRITERS * 5) {
+                    Thread.onSpinWait();
+                }
+                maintenanceService.updateMaintenance(maintenanceId, new MaintenanceUpdateDto(null, null, null, MaintenanceStatus.COMPLETED));
+                return null;
+            });
+
+            start.countDown();
+            completion.get(60, TimeUnit.SECONDS);
+            for (Future<Boolean> writer : writers) {
+                assertTrue(writer.get(60, TimeUnit.SECONDS), "every writer is eventually turned away");
+            }
+
+            assertEquals(created.get(), count.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.unnamed.conectareparo.maintenance.repository;
+
+import com.unnamed.conectareparo.common.id.PublicIds;
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceBulkStatusRepository.PledgeStatusRow;
+import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Maintenance Bulk Status Repository Tests")
+class MaintenanceBulkStatusRepositoryTest {
+
+    @Autowired
+    private MaintenanceBulkStatusRepository bulkStatusRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Should cancel open pledges that predate their maintenance's creation time")
+    void shouldCancelPledgesOlderThanTheirMaintenance() {
+        Maintenance maintenance = new Maintenance("Roof leak", "Migrated", MaintenanceCategory.BUILDING,
+                ZonedDateTime.now().plusDays(1));
+        entityManager.persist(maintenance);
+        Pledge legacy = new Pledge(PublicIds.next(), maintenance, "Volunteer", "volunteer@example.com",
+                "Copied from before partitioning", PledgeCategory.LABOR, maintenance.getCreatedAt().minusDays(30));
+        entityManager.persist(legacy);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<PledgeStatusRow> open = bulkStatusRepository.lockOpenPledges(List.of(maintenance.getId()));
+        assertEquals(1, open.size());
+        assertEquals(legacy.getId(), open.get(0).getId());
+
+        assertEquals(1, bulkStatusRepository.cancelPledges(List.of(legacy.getId()), ZonedDateTime.now()));
+        entityManager.clear();
+        assertEquals(PledgeStatus.CANCELED, entityManager.find(Pledge.class, legacy.getId()).getStatus());
+    }
+}
@@ -0,0 +1,117 @@
+package com.unnamed.conectareparo.maintenance.repository;
+
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceCalendarEntryDto;
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@code description} is a lazy attribute of the enhanced {@link Maintenance} entity. These tests pin down
+ * which lookups load it up front and which leave it for later.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Maintenance Repository Tests")
+class MaintenanceRepositoryTest {
+
+    @Autowired
+    private MaintenanceRepository maintenanceRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private UUID publicId;
+
+    @BeforeEach
+    void setUp() {
+        Maintenance maintenance = new Maintenance("Roof leak", "A long description", MaintenanceCategory.BUILDING,
+                ZonedDateTime.now().plusDays(1));
+        entityManager.persist(maintenance);
+        entityManager.flush();
+        entityManager.clear();
+        publicId = maintenance.getPublicId();
+    }
+
+    @Test
+    @DisplayName("Reference lookups should leave the description unloaded until it is read")
+    void findReferenceByPublicId_shouldNotLoadDescription() {
+        Maintenance maintenance = maintenanceRepository.findReferenceByPublicId(publicId).orElseThrow();
+
+        assertFalse(Hibernate.isPropertyInitialized(maintenance, "description"));
+        assertEquals("A long description", maintenance.getDescription());
+        assertTrue(Hibernate.isPropertyInitialized(maintenance, "description"));
+    }
+
+    @Test
+    @DisplayName("Lookups mapped to DTOs should load the description with the row")
+    void findByPublicId_shouldLoadDescription() {
+        Maintenance maintenance = maintenanceRepository.findByPublicId(publicId).orElseThrow();
+
+        assertTrue(Hibernate.isPropertyInitialized(maintenance, "description"));
+    }
+
+    @Test
+    @DisplayName("List pages should load the description with the rows")
+    void findAll_shouldLoadDescription() {
+        List<Maintenance> page = maintenanceRepository.findAll(Specification.unrestricted(), PageRequest.of(0, 10)).getContent();
+
+        assertEquals(1, page.size());
+        assertTrue(Hibernate.isPropertyInitialized(page.get(0), "description"));
+    }
+
+    @Test
+    @DisplayName("Should persist a description change made without loading the old one")
+    void shouldUpdateUnloadedDescription() {
+        Maintenance maintenance = maintenanceRepository.findReferenceByPublicId(publicId).orElseThrow();
+        maintenance.updateDetails(null, "Updated", null);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals("Updated", maintenanceRepository.findByPublicId(publicId).orElseThrow().getDescription());
+    }
+
+    @Test
+    @DisplayName("Calendar entries should include the start of the window and exclude its end")
+    void findCalendarEntries_shouldUseHalfOpenWindow() {
+        ZonedDateTime start = ZonedDateTime.parse("2030-01-10T00:00:00Z");
+        ZonedDateTime end = ZonedDateTime.parse("2030-01-11T00:00:00Z");
+        Maintenance atStart = new Maintenance("At Start", "Desc", MaintenanceCategory.OTHERS, start);
+        entityManager.persist(atStart);
+        entityManager.persist(new Maintenance("At End", "Desc", MaintenanceCategory.OTHERS, end));
+        entityManager.flush();
+
+        List<MaintenanceCalendarEntryDto> entries = maintenanceRepository.findCalendarEntries(start, end);
+
+        assertEquals(1, entries.size());
+        assertEquals(atStart.getPublicId(), entries.get(0).id());
+    }
+
+    @Test
+    @DisplayName("Calendar entries should compare instants regardless of the bounds' time zone")
+    void findCalendarEntries_shouldCompareInstantsAcrossTimeZones() {
+        entityManager.persist(new Maintenance("Late Evening", "Desc", MaintenanceCategory.OTHERS,
+                ZonedDateTime.parse("2030-01-10T01:30:00Z")));
+        entityManager.flush();
+        ZonedDateTime dayStartInSaoPaulo = ZonedDateTime.parse("2030-01-09T00:00:00-03:00[America/Sao_Paulo]");
+
+        List<MaintenanceCalendarEntryDto> entries =
+                maintenanceRepository.findCalendarEntries(dayStartInSaoPaulo, dayStartInSaoPaulo.plusDays(1));
+
+        assertEquals(1, entries.size());
+        assertEquals("Late Evening", entries.get(0).title());
+    }
+}
@@ -0,0 +1,168 @@
+package com.unnamed.conectareparo.maintenance.service;
+
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceRecord;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceRecordRepository;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceRepository;
+import com.unnamed.conectareparo.maintenance.specification.MaintenanceSpecification;
+import com.unnamed.conectareparo.maintenanceaction.entity.ActionMaterial;
+import com.unnamed.conectareparo.maintenanceaction.entity.ActionStatus;
+import com.unnamed.conectareparo.maintenanceaction.entity.MaintenanceAction;
+import com.unnamed.conectareparo.maintenanceaction.entity.MaintenanceActionRecord;
+import com.unnamed.conectareparo.maintenanceaction.repository.MaintenanceActionRecordRepository;
+import com.unnamed.conectareparo.maintenanceaction.repository.MaintenanceActionRepository;
+import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
+import com.unnamed.conectareparo.pledge.entity.PledgeRecord;
+import com.unnamed.conectareparo.pledge.repository.PledgeRecordRepository;
+import com.unnamed.conectareparo.pledge.repository.PledgeRepository;
+import com.unnamed.conectareparo.pledge.specification.PledgeSpecification;
+import com.unnamed.conectareparo.sync.entity.SyncChange;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.repository.SyncChangeRepository;
+import com.unnamed.conectareparo.sync.repository.SyncPosition;
+import com.unnamed.conectareparo.sync.service.SyncChangeLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({MaintenanceArchivalService.class, SyncChangeLog.class})
+@DisplayName("MaintenanceArchivalService Tests")
+class MaintenanceArchivalServiceTest {
+
+    @Autowired
+    private MaintenanceArchivalService maintenanceArchivalService;
+    @Autowired
+    private MaintenanceRepository maintenanceRepository;
+    @Autowired
+    private PledgeRepository pledgeRepository;
+    @Autowired
+    private MaintenanceActionRepository maintenanceActionRepository;
+    @Autowired
+    private MaintenanceRecordRepository maintenanceRecordRepository;
+    @Autowired
+    private PledgeRecordRepository pledgeRecordRepository;
+    @Autowired
+    private MaintenanceActionRecordRepository maintenanceActionRecordRepository;
+    @Autowired
+    private SyncChangeRepository syncChangeRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private ZonedDateTime cutoff;
+
+    @BeforeEach
+    void setUp() {
+        cutoff = ZonedDateTime.now().minusDays(30);
+    }
+
+    private Maintenance persistMaintenance(String title, MaintenanceStatus status, ZonedDateTime updatedAt) {
+        Maintenance maintenance = new Maintenance(title, "Description", MaintenanceCategory.ELECTRICAL, ZonedDateTime.now().minusDays(90));
+        ReflectionTestUtils.setField(maintenance, "status", status);
+        ReflectionTestUtils.setField(maintenance, "updatedAt", updatedAt);
+        return maintenanceRepository.save(maintenance);
+    }
+
+    @Test
+    @DisplayName("Should move an old terminal maintenance and all of its children into the archive")
+    void archiveChunk_shouldMoveTerminalMaintenanceWithChildren() {
+        Maintenance completed = persistMaintenance("Old completed", MaintenanceStatus.COMPLETED, cutoff.minusDays(1));
+        Pledge pledge = pledgeRepository.save(new Pledge(completed, "John", "john@example.com", "Wiring", PledgeCategory.LABOR));
+        MaintenanceAction action = new MaintenanceAction(completed, "Jane", cutoff.minusDays(3), cutoff.minusDays(2), "Rewired", ActionStatus.SUCCESS);
+        action.addMaterial(new ActionMaterial("Cable", BigDecimal.TEN, "m"));
+        maintenanceActionRepository.save(action);
+        entityManager.flush();
+        entityManager.clear();
+
+        int archived = maintenanceArchivalService.archiveChunk(cutoff, 10);
+        entityManager.clear();
+
+        assertEquals(1, archived);
+        assertTrue(maintenanceRepository.findByPublicId(completed.getPublicId()).isEmpty());
+        assertTrue(pledgeRepository.findByPublicId(pledge.getPublicId()).isEmpty());
+        assertEquals(0, maintenanceActionRepository.count());
+
+        MaintenanceRecord record = maintenanceRecordRepository.findByPublicId(completed.getPublicId()).orElseThrow();
+        assertTrue(record.isArchived());
+        assertEquals("Old completed", record.getTitle());
+        PledgeRecord pledgeRecord = pledgeRecordRepository.findByPublicId(pledge.getPublicId()).orElseThrow();
+        assertTrue(pledgeRecord.isArchived());
+        assertEquals(completed.getPublicId(), pledgeRecord.getMaintenance().getPublicId());
+        List<MaintenanceActionRecord> actions = maintenanceActionRecordRepository.findAllByMaintenanceWithMaterials(record);
+        assertEquals(1, actions.size());
+        assertEquals("Cable", actions.get(0).getMaterialsUsed().get(0).getItemName());
+
+        List<SyncChange> tombstones = syncChangeRepository.findSettledAfter(SyncPosition.START, 10);
+        assertEquals(3, tombstones.size());
+        assertTrue(tombstones.stream().allMatch(SyncChange::isDeleted));
+        assertTrue(tombstones.stream().anyMatch(change -> change.getEntityType() == SyncEntityType.PLEDGE
+                && change.getEntityPublicId().equals(pledge.getPublicId())));
+        assertTrue(tombstones.stream().anyMatch(change -> change.getEntityType() == SyncEntityType.ACTION
+                && change.getEntityPublicId().equals(action.getPublicId())));
+    }
+
+    @Test
+    @DisplayName("Should leave active and recently closed maintenances in the hot table")
+    void archiveChunk_shouldSkipActiveAndRecentMaintenances() {
+        Maintenance open = persistMaintenance("Old open", MaintenanceStatus.OPEN, cutoff.minusDays(1));
+        Maintenance recent = persistMaintenance("Recent cancel", MaintenanceStatus.CANCELED, cutoff.plusDays(1));
+        entityManager.flush();
+
+        int archived = maintenanceArchivalService.archiveChunk(cutoff, 10);
+
+        assertEquals(0, archived);
+        assertTrue(maintenanceRepository.findByPublicId(open.getPublicId()).isPresent());
+        assertTrue(maintenanceRepository.findByPublicId(recent.getPublicId()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should archive at most one chunk per call")
+    void archiveChunk_shouldRespectChunkSize() {
+        persistMaintenance("First", MaintenanceStatus.COMPLETED, cutoff.minusDays(2));
+        persistMaintenance("Second", MaintenanceStatus.CANCELED, cutoff.minusDays(1));
+        entityManager.flush();
+
+        assertEquals(1, maintenanceArchivalService.archiveChunk(cutoff, 1));
+        assertEquals(1, maintenanceArchivalService.archiveChunk(cutoff, 1));
+        assertEquals(0, maintenanceArchivalService.archiveChunk(cutoff, 1));
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive chunk size")
+    void archiveChunk_shouldRejectInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> maintenanceArchivalService.archiveChunk(cutoff, 0));
+    }
+
+    @Test
+    @DisplayName("Record views should union hot and archived rows under the shared specifications")
+    void recordRepositories_shouldUnionHotAndArchivedRows() {
+        Maintenance completed = persistMaintenance("Archived one", MaintenanceStatus.COMPLETED, cutoff.minusDays(1));
+        Maintenance open = persistMaintenance("Hot one", MaintenanceStatus.OPEN, cutoff.minusDays(1));
+        pledgeRepository.save(new Pledge(completed, "John", "john@example.com", "Wiring", PledgeCategory.LABOR));
+        entityManager.flush();
+        maintenanceArchivalService.archiveChunk(cutoff, 10);
+        entityManager.clear();
+
+        assertEquals(2, maintenanceRecordRepository.count(MaintenanceSpecification.hasStatus("all")));
+        assertEquals(1, maintenanceRecordRepository.count(MaintenanceSpecification.hasStatus("inactive")));
+        assertEquals(1, maintenanceRecordRepository.count(MaintenanceSpecification.searchByTerm("hot")));
+        assertEquals(1, pledgeRecordRepository.count(PledgeSpecification.belongsToMaintenance(completed.getPublicId())));
+        assertEquals(0, pledgeRecordRepository.count(PledgeSpecification.belongsToMaintenance(open.getPublicId())));
+    }
+}
@@ -0,0 +1,137 @@
+package com.unnamed.conectareparo.maintenance.service;
+
+import com.unnamed.conectareparo.maintenance.dto.BulkStatusOutcome;
+import com.unnamed.conectareparo.maintenance.dto.BulkStatusResponseDto;
+import com.unnamed.conectareparo.maintenance.dto.BulkStatusUpdateDto;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.maintenance.index.ActiveMaintenanceIndex;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceBulkStatusRepository;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceBulkStatusRepository.StatusRow;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceRepository;
+import com.unnamed.conectareparo.statustransition.entity.StatusEntityType;
+import com.unnamed.conectareparo.statustransition.service.StatusTransitionService;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.service.SyncChangeLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MaintenanceBulkStatusService Tests")
+class MaintenanceBulkStatusServiceTest {
+
+    @Mock
+    private MaintenanceBulkStatusRepository bulkStatusRepository;
+    @Mock
+    private MaintenanceRepository maintenanceRepository;
+    @Mock
+    private StatusTransitionService statusTransitionService;
+    @Mock
+    private SyncChangeLog syncChangeLog;
+    @Mock
+    private ActiveMaintenanceIndex activeMaintenanceIndex;
+    @Mock
+    private OpenPledgeCanceller openPledgeCanceller;
+    @InjectMocks
+    private MaintenanceBulkStatusService maintenanceBulkStatusService;
+
+    private static StatusRow row(long id, UUID publicId, MaintenanceStatus status) {
+        return new StatusRow() {
+            public Long getId() { return id; }
+            public UUID getPublicId() { return publicId; }
+            public MaintenanceStatus getStatus() { return status; }
+        };
+    }
+
+    @Test
+    @DisplayName("Should only accept the statuses the transition rules allow to move from")
+    void updateStatuses_shouldUpdateFromAllowedStatusesOnly() {
+        UUID open = UUID.randomUUID();
+        UUID inProgress = UUID.randomUUID();
+        when(bulkStatusRepository.lockStatuses(anyCollection()))
+                .thenReturn(List.of(row(1, open, MaintenanceStatus.OPEN), row(2, inProgress, MaintenanceStatus.IN_PROGRESS)));
+
+        BulkStatusResponseDto response = maintenanceBulkStatusService.updateStatuses(
+                new BulkStatusUpdateDto(List.of(open, inProgress), MaintenanceStatus.OPEN));
+
+        assertEquals(0, response.updated());
+        assertEquals(BulkStatusOutcome.UNCHANGED, response.results().get(0).outcome());
+        assertEquals(BulkStatusOutcome.REJECTED, response.results().get(1).outcome());
+        verify(bulkStatusRepository, never()).updateStatuses(any(), any(), any(), any());
+        verifyNoInteractions(statusTransitionService, syncChangeLog);
+    }
+
+    @Test
+    @DisplayName("Should leave pledges alone when the maintenances stay open")
+    void updateStatuses_whenNotClosing_shouldNotCancelPledges() {
+        UUID open = UUID.randomUUID();
+        when(bulkStatusRepository.lockStatuses(anyCollection())).thenReturn(List.of(row(1, open, MaintenanceStatus.OPEN)));
+        when(bulkStatusRepository.updateStatuses(eq(List.of(1L)), eq(List.of("OPEN")), eq("IN_PROGRESS"), any())).thenReturn(1);
+
+        BulkStatusResponseDto response = maintenanceBulkStatusService.updateStatuses(
+                new BulkStatusUpdateDto(List.of(open), MaintenanceStatus.IN_PROGRESS));
+
+        assertEquals(1, response.updated());
+        verify(statusTransitionService).recordChanges(StatusEntityType.MAINTENANCE, Map.of(open, MaintenanceStatus.OPEN), MaintenanceStatus.IN_PROGRESS);
+        verify(syncChangeLog).recordChanges(SyncEntityType.MAINTENANCE, Set.of(open));
+        verifyNoInteractions(openPledgeCanceller);
+    }
+
+    @Test
+    @DisplayName("Should fail when a locked maintenance was not updated")
+    void updateStatuses_whenCountDiffers_shouldThrow() {
+        UUID open = UUID.randomUUID();
+        when(bulkStatusRepository.lockStatusesForClosing(anyCollection())).thenReturn(List.of(row(1, open, MaintenanceStatus.OPEN)));
+        when(bulkStatusRepository.updateStatuses(any(), any(), any(), any())).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> maintenanceBulkStatusService.updateStatuses(
+                new BulkStatusUpdateDto(List.of(open), MaintenanceStatus.CANCELED)));
+    }
+
+    @Test
+    @DisplayName("Should cancel the open pledges of the maintenances it closes")
+    void updateStatuses_whenClosing_shouldCancelOpenPledges() {
+        UUID open = UUID.randomUUID();
+        when(bulkStatusRepository.lockStatusesForClosing(anyCollection())).thenReturn(List.of(row(1, open, MaintenanceStatus.OPEN)));
+        when(bulkStatusRepository.updateStatuses(eq(List.of(1L)), any(), eq("CANCELED"), any())).thenReturn(1);
+        when(openPledgeCanceller.cancelOpenPledges(eq(List.of(1L)), any())).thenReturn(Map.of(1L, 2));
+
+        BulkStatusResponseDto response = maintenanceBulkStatusService.updateStatuses(
+                new BulkStatusUpdateDto(List.of(open), MaintenanceStatus.CANCELED));
+
+        assertEquals(1, response.updated());
+        assertEquals(2, response.canceledPledges());
+        assertEquals(2, response.results().get(0).canceledPledges());
+        verify(bulkStatusRepository, never()).lockStatuses(any());
+    }
+
+    @Test
+    @DisplayName("Should leave maintenances that already had the closed status alone")
+    void updateStatuses_whenAlreadyClosed_shouldNotCancelAgain() {
+        UUID completed = UUID.randomUUID();
+        when(bulkStatusRepository.lockStatusesForClosing(anyCollection())).thenReturn(List.of(row(1, completed, MaintenanceStatus.COMPLETED)));
+
+        BulkStatusResponseDto response = maintenanceBulkStatusService.updateStatuses(
+                new BulkStatusUpdateDto(List.of(completed), MaintenanceStatus.COMPLETED));
+
+        assertEquals(0, response.updated());
+        assertEquals(0, response.canceledPledges());
+        assertEquals(BulkStatusOutcome.UNCHANGED, response.results().get(0).outcome());
+        verify(bulkStatusRepository, never()).updateStatuses(any(), any(), any(), any());
+        verifyNoInteractions(openPledgeCanceller);
+    }
+}
@@ -1,20 +1,34 @@
 package com.unnamed.conectareparo.maintenance.service;
 
+import com.unnamed.conectareparo.common.exception.BadRequestException;
 import com.unnamed.conectareparo.common.exception.ResourceNotFoundException;
+import com.unnamed.conectareparo.common.pagination.CountMode;
+import com.unnamed.conectareparo.common.pagination.PageQueryExecutor;
+import com.unnamed.conectareparo.common.pagination.PageResponse;
+import com.unnamed.conectareparo.common.pagination.RowCountEstimator;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceCalendarDayDto;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceCalendarEntryDto;
 import com.unnamed.conectareparo.maintenance.dto.MaintenanceDto;
 import com.unnamed.conectareparo.maintenance.dto.MaintenanceResponseDto;
 import com.unnamed.conectareparo.maintenance.dto.MaintenanceUpdateDto;
 import com.unnamed.conectareparo.maintenance.entity.Maintenance;
 import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceRecord;
 import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.maintenance.index.ActiveMaintenanceIndex;
 import com.unnamed.conectareparo.maintenance.mapper.MaintenanceMapper;
+import com.unnamed.conectareparo.maintenance.repository.MaintenanceRecordRepository;
 import com.unnamed.conectareparo.maintenance.repository.MaintenanceRepository;
+import com.unnamed.conectareparo.statustransition.entity.StatusEntityType;
+import com.unnamed.conectareparo.statustransition.service.StatusTransitionService;
+import com.unnamed.conectareparo.sync.service.SyncChangeLog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
@@ -24,6 +38,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +47,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.times;
 
@@ -40,7 +57,19 @@ class MaintenanceServiceTest {
     @Mock
     private MaintenanceRepository maintenanceRepository;
     @Mock
+    private MaintenanceRecordRepository maintenanceRecordRepository;
+    @Mock
     private MaintenanceMapper maintenanceMapper;
+    @Spy
+    private PageQueryExecutor pageQueryExecutor = new PageQueryExecutor(mock(RowCountEstimator.class));
+    @Mock
+    private StatusTransitionService statusTransitionService;
+    @Mock
+    private SyncChangeLog syncChangeLog;
+    @Mock
+    private ActiveMaintenanceIndex activeMaintenanceIndex;
+    @Mock
+    private OpenPledgeCanceller openPledgeCanceller;
     @InjectMocks
     private MaintenanceService maintenanceService;
 
@@ -70,7 +99,8 @@ class MaintenanceServiceTest {
                 scheduledDate,
                 MaintenanceStatus.OPEN,
                 fixedCreationTime,
-                fixedCreationTime
+                fixedCreationTime,
+                null
         );
     }
 
@@ -82,7 +112,7 @@ class MaintenanceServiceTest {
         when(maintenanceRepository.findByPublicId(publicId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
-            maintenanceService.getMaintenanceByPublicId(publicId);
+            maintenanceService.getMaintenanceByPublicId(publicId, false);
         });
         verify(maintenanceRepository, times(1)).findByPublicId(publicId);
         verify(maintenanceMapper, never()).toResponseDto(any());
@@ -97,10 +127,10 @@ class MaintenanceServiceTest {
 
         when(maintenanceRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(emptyPage);
 
-        Page<MaintenanceResponseDto> resultPage = maintenanceService.getAllMaintenances(null, null, null, pageable);
+        PageResponse<MaintenanceResponseDto> resultPage = maintenanceService.getAllMaintenances(null, null, null, false, CountMode.EXACT, pageable);
 
         assertNotNull(resultPage);
-        assertTrue(resultPage.isEmpty());
+        assertTrue(resultPage.content().isEmpty());
         verify(maintenanceRepository, times(1)).findAll(any(Specification.class), eq(pageable));
         verify(maintenanceMapper, never()).toResponseDto(any());
     }
@@ -125,13 +155,13 @@ class MaintenanceServiceTest {
     void getMaintenanceEntityByPublicId_whenFound_shouldReturnEntity() {
         UUID publicId = UUID.randomUUID();
 
-        when(maintenanceRepository.findByPublicId(publicId)).thenReturn(Optional.of(persistedMaintenance));
+        when(maintenanceRepository.findReferenceByPublicId(publicId)).thenReturn(Optional.of(persistedMaintenance));
 
         Maintenance actualMaintenance = maintenanceService.getMaintenanceEntityByPublicId(publicId);
 
         assertNotNull(actualMaintenance);
         assertSame(persistedMaintenance, actualMaintenance);
-        verify(maintenanceRepository, times(1)).findByPublicId(publicId);
+        verify(maintenanceRepository, times(1)).findReferenceByPublicId(publicId);
     }
 
     @DisplayName("Get Maintenance Entity by Public ID - Not Found Exception")
@@ -139,12 +169,12 @@ class MaintenanceServiceTest {
     void getMaintenanceEntityByPublicId_whenNotFound_shouldThrowResourceNotFoundException() {
         UUID publicId = UUID.randomUUID();
 
-        when(maintenanceRepository.findByPublicId(publicId)).thenReturn(Optional.empty());
+        when(maintenanceRepository.findReferenceByPublicId(publicId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
             maintenanceService.getMaintenanceEntityByPublicId(publicId);
         });
-        verify(maintenanceRepository, times(1)).findByPublicId(publicId);
+        verify(maintenanceRepository, times(1)).findReferenceByPublicId(publicId);
     }
 
     @Test
@@ -160,6 +190,8 @@ class MaintenanceServiceTest {
         assertEquals(persistedMaintenanceResponseDto, actualDto);
         verify(maintenanceRepository).save(any(Maintenance.class));
         verify(maintenanceMapper).toResponseDto(any(Maintenance.class));
+        verify(statusTransitionService).recordCreation(eq(StatusEntityType.MAINTENANCE), any(UUID.class), eq(MaintenanceStatus.OPEN), any(ZonedDateTime.class));
+        verify(activeMaintenanceIndex).applyAfterCommit(any(Maintenance.class));
     }
 
     @Test
@@ -168,7 +200,7 @@ class MaintenanceServiceTest {
         when(maintenanceRepository.findByPublicId(publicId)).thenReturn(Optional.of(persistedMaintenance));
         when(maintenanceMapper.toResponseDto(persistedMaintenance)).thenReturn(persistedMaintenanceResponseDto);
 
-        MaintenanceResponseDto actualDto = maintenanceService.getMaintenanceByPublicId(publicId);
+        MaintenanceResponseDto actualDto = maintenanceService.getMaintenanceByPublicId(publicId, false);
 
         assertNotNull(actualDto);
         assertEquals(persistedMaintenanceResponseDto, actualDto);
@@ -180,11 +212,39 @@ class MaintenanceServiceTest {
         when(maintenanceRepository.findByPublicId(publicId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () ->
-                maintenanceService.getMaintenanceByPublicId(publicId)
+                maintenanceService.getMaintenanceByPublicId(publicId, false)
         );
         verify(maintenanceMapper, never()).toResponseDto(any());
     }
 
+    @Test
+    @DisplayName("Should read from the hot and archive tables when includeArchived is set")
+    void getMaintenanceByPublicId_whenIncludeArchived_shouldUseRecords() {
+        MaintenanceRecord archivedRecord = mock(MaintenanceRecord.class);
+        when(maintenanceRecordRepository.findByPublicId(publicId)).thenReturn(Optional.of(archivedRecord));
+        when(maintenanceMapper.fromRecord(archivedRecord)).thenReturn(persistedMaintenanceResponseDto);
+
+        MaintenanceResponseDto actualDto = maintenanceService.getMaintenanceByPublicId(publicId, true);
+
+        assertEquals(persistedMaintenanceResponseDto, actualDto);
+        verify(maintenanceRepository, never()).findByPublicId(any());
+    }
+
+    @Test
+    @DisplayName("Should list archived maintenances through the record repository")
+    void getAllMaintenances_whenIncludeArchived_shouldUseRecords() {
+        Pageable pageable = PageRequest.of(0, 10);
+        MaintenanceRecord archivedRecord = mock(MaintenanceRecord.class);
+        when(maintenanceRecordRepository.findAll(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(archivedRecord), pageable, 1));
+        when(maintenanceMapper.fromRecord(archivedRecord)).thenReturn(persistedMaintenanceResponseDto);
+
+        PageResponse<MaintenanceResponseDto> resultPage = maintenanceService.getAllMaintenances("inactive", null, null, true, CountMode.EXACT, pageable);
+
+        assertEquals(List.of(persistedMaintenanceResponseDto), resultPage.content());
+        verify(maintenanceRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
     @Test
     @DisplayName("Should return a page of maintenance DTOs")
     void getAllMaintenances_shouldReturnPageOfDtos() {
@@ -194,15 +254,30 @@ class MaintenanceServiceTest {
         ))).thenReturn(maintenancePage);
         when(maintenanceMapper.toResponseDto(persistedMaintenance)).thenReturn(persistedMaintenanceResponseDto);
 
-        Page<MaintenanceResponseDto> resultPage = maintenanceService.getAllMaintenances(null, null, null, pageable);
+        PageResponse<MaintenanceResponseDto> resultPage = maintenanceService.getAllMaintenances(null, null, null, false, CountMode.EXACT, pageable);
 
         assertAll(
                 () -> assertNotNull(resultPage),
-                () -> assertEquals(1, resultPage.getTotalElements()),
-                () -> assertEquals(persistedMaintenanceResponseDto, resultPage.getContent().get(0))
+                () -> assertEquals(1L, resultPage.totalElements()),
+                () -> assertEquals(CountMode.EXACT, resultPage.countMode()),
+                () -> assertEquals(persistedMaintenanceResponseDto, resultPage.content().get(0))
         );
     }
 
+    @Test
+    @DisplayName("Should answer active-list requests from the in-memory index")
+    void getAllMaintenances_whenIndexed_shouldNotQueryRepository() {
+        Pageable pageable = PageRequest.of(0, 10);
+        PageResponse<MaintenanceResponseDto> indexed = PageResponse.of(
+                new PageImpl<>(List.of(persistedMaintenanceResponseDto), pageable, 1), CountMode.EXACT);
+        when(activeMaintenanceIndex.find("active", null, null, pageable)).thenReturn(Optional.of(indexed));
+
+        PageResponse<MaintenanceResponseDto> resultPage = maintenanceService.getAllMaintenances("active", null, null, false, CountMode.NONE, pageable);
+
+        assertSame(indexed, resultPage);
+        verify(maintenanceRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
     @Test
     @DisplayName("Should successfully update a maintenance record")
     void updateMaintenance_whenFound_shouldUpdateAndReturnDto() {
@@ -215,7 +290,7 @@ class MaintenanceServiceTest {
         Maintenance spiedMaintenance = spy(persistedMaintenance);
         MaintenanceResponseDto expectedResponseDto = new MaintenanceResponseDto(
                 publicId, "Updated Title", "Updated Desc", MaintenanceCategory.HVAC,
-                scheduledDate, MaintenanceStatus.IN_PROGRESS, fixedCreationTime, ZonedDateTime.now() // `updatedAt` will be different
+                scheduledDate, MaintenanceStatus.IN_PROGRESS, fixedCreationTime, ZonedDateTime.now(), null // `updatedAt` will be different
         );
         when(maintenanceRepository.findByPublicId(publicId)).thenReturn(Optional.of(spiedMaintenance));
         when(maintenanceRepository.save(spiedMaintenance)).thenReturn(spiedMaintenance);
@@ -228,6 +303,22 @@ class MaintenanceServiceTest {
         verify(spiedMaintenance).updateDetails(updateDto.title(), updateDto.description(), updateDto.category());
         verify(spiedMaintenance).changeStatus(updateDto.status());
         verify(maintenanceRepository).save(spiedMaintenance);
+        verify(statusTransitionService).recordChange(StatusEntityType.MAINTENANCE, publicId, MaintenanceStatus.OPEN, MaintenanceStatus.IN_PROGRESS);
+        verifyNoInteractions(openPledgeCanceller);
+    }
+
+    @Test
+    @DisplayName("Should cancel the open pledges when the update closes the maintenance")
+    void updateMaintenance_whenClosing_shouldCancelOpenPledges() {
+        MaintenanceUpdateDto updateDto = new MaintenanceUpdateDto(null, null, null, MaintenanceStatus.CANCELED);
+        ReflectionTestUtils.setField(persistedMaintenance, "id", 7L);
+        when(maintenanceRepository.findForClosingByPublicId(publicId)).thenReturn(Optional.of(persistedMaintenance));
+        when(maintenanceRepository.save(persistedMaintenance)).thenReturn(persistedMaintenance);
+
+        maintenanceService.updateMaintenance(publicId, updateDto);
+
+        verify(maintenanceRepository, never()).findByPublicId(any());
+        verify(openPledgeCanceller).cancelOpenPledges(eq(List.of(7L)), any(ZonedDateTime.class));
     }
 
     @Test
@@ -245,6 +336,7 @@ class MaintenanceServiceTest {
         });
 
         verify(maintenanceRepository, never()).save(any());
+        verifyNoInteractions(statusTransitionService);
     }
 
     @Test
@@ -314,7 +406,8 @@ class MaintenanceServiceTest {
                 openMaintenance.getScheduledDate(),
                 MaintenanceStatus.OPEN,
                 openMaintenance.getCreatedAt(),
-                openMaintenance.getUpdatedAt()
+                openMaintenance.getUpdatedAt(),
+                null
         );
 
         Page<Maintenance> activePage = new PageImpl<>(List.of(openMaintenance));
@@ -327,4 +420,50 @@ class MaintenanceServiceTest {
         assertEquals(1, resultPage.getTotalElements());
         assertEquals(expectedDto, resultPage.getContent().get(0));
     }
+
+    @Test
+    @DisplayName("Should group calendar entries by day in the caller's time zone")
+    void getCalendar_shouldGroupEntriesByLocalDay() {
+        ZoneId saoPaulo = ZoneId.of("America/Sao_Paulo");
+        MaintenanceCalendarEntryDto earlyUtc = new MaintenanceCalendarEntryDto(UUID.randomUUID(), "Early", MaintenanceCategory.HVAC,
+                MaintenanceStatus.OPEN, ZonedDateTime.parse("2030-01-10T01:00:00Z"));
+        MaintenanceCalendarEntryDto noonUtc = new MaintenanceCalendarEntryDto(UUID.randomUUID(), "Noon", MaintenanceCategory.HVAC,
+                MaintenanceStatus.OPEN, ZonedDateTime.parse("2030-01-10T12:00:00Z"));
+        when(maintenanceRepository.findCalendarEntries(any(ZonedDateTime.class), any(ZonedDateTime.class)))
+                .thenReturn(List.of(earlyUtc, noonUtc));
+
+        List<MaintenanceCalendarDayDto> days = maintenanceService.getCalendar(LocalDate.parse("2030-01-01"), LocalDate.parse("2030-01-31"), saoPaulo);
+
+        assertEquals(2, days.size());
+        assertEquals(LocalDate.parse("2030-01-09"), days.get(0).date());
+        assertEquals("Early", days.get(0).maintenances().get(0).title());
+        assertEquals(saoPaulo, days.get(0).maintenances().get(0).scheduledDate().getZone());
+        assertEquals(LocalDate.parse("2030-01-10"), days.get(1).date());
+        assertEquals(1, days.get(1).total());
+    }
+
+    @Test
+    @DisplayName("Should query the calendar window from the first day's start to the day after the last")
+    void getCalendar_shouldQueryHalfOpenWindowInZone() {
+        ZoneId saoPaulo = ZoneId.of("America/Sao_Paulo");
+        when(maintenanceRepository.findCalendarEntries(any(ZonedDateTime.class), any(ZonedDateTime.class))).thenReturn(List.of());
+
+        maintenanceService.getCalendar(LocalDate.parse("2030-01-01"), LocalDate.parse("2030-01-31"), saoPaulo);
+
+        verify(maintenanceRepository).findCalendarEntries(
+                LocalDate.parse("2030-01-01").atStartOfDay(saoPaulo),
+                LocalDate.parse("2030-02-01").atStartOfDay(saoPaulo));
+    }
+
+    @Test
+    @DisplayName("Should reject an inverted or oversized calendar window")
+    void getCalendar_whenWindowIsInvalid_shouldThrowException() {
+        ZoneId utc = ZoneId.of("UTC");
+
+        assertThrows(BadRequestException.class, () ->
+                maintenanceService.getCalendar(LocalDate.parse("2030-01-31"), LocalDate.parse("2030-01-01"), utc));
+        assertThrows(BadRequestException.class, () ->
+                maintenanceService.getCalendar(LocalDate.parse("2030-01-01"), LocalDate.parse("2030-06-01"), utc));
+        verify(maintenanceRepository, never()).findCalendarEntries(any(), any());
+    }
 }
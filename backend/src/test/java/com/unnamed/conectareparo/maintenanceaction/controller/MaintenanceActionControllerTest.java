@@ -101,7 +101,7 @@ class MaintenanceActionControllerTest {
         @Test
         @DisplayName("Should return 200 OK with a list of actions")
         void shouldReturn200_withListOfActions() throws Exception {
-            when(maintenanceActionService.getMaintenanceActions(validMaintenanceId)).thenReturn(List.of(actionResponseDto));
+            when(maintenanceActionService.getMaintenanceActions(validMaintenanceId, false)).thenReturn(List.of(actionResponseDto));
 
             mockMvc.perform(get("/api/v1/maintenances/{maintenancePublicId}/actions", validMaintenanceId))
                     .andExpect(status().isOk())
@@ -116,7 +116,7 @@ class MaintenanceActionControllerTest {
         @Test
         @DisplayName("Should return 200 OK when both IDs are valid and associated")
         void shouldReturn200_whenIdsAreValid() throws Exception {
-            when(maintenanceActionService.getSingleMaintenanceAction(validMaintenanceId, validActionId)).thenReturn(actionResponseDto);
+            when(maintenanceActionService.getSingleMaintenanceAction(validMaintenanceId, validActionId, false)).thenReturn(actionResponseDto);
 
             mockMvc.perform(get("/api/v1/maintenances/{maintenancePublicId}/actions/{actionPublicId}", validMaintenanceId, validActionId))
                     .andExpect(status().isOk())
@@ -126,7 +126,7 @@ class MaintenanceActionControllerTest {
         @Test
         @DisplayName("Should return 404 Not Found when action is not found for the maintenance")
         void shouldReturn404_whenActionIsNotFound() throws Exception {
-            when(maintenanceActionService.getSingleMaintenanceAction(validMaintenanceId, notFoundActionId)).thenThrow(new ResourceNotFoundException("Not found"));
+            when(maintenanceActionService.getSingleMaintenanceAction(validMaintenanceId, notFoundActionId, false)).thenThrow(new ResourceNotFoundException("Not found"));
 
             mockMvc.perform(get("/api/v1/maintenances/{maintenancePublicId}/actions/{actionPublicId}", validMaintenanceId, notFoundActionId))
                     .andExpect(status().isNotFound());
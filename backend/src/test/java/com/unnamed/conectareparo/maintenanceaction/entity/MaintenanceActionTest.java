@@ -1,10 +1,12 @@
 package com.unnamed.conectareparo.maintenanceaction.entity;
 
 import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
@@ -182,4 +184,22 @@ class MaintenanceActionTest {
             assertTrue(maintenanceAction.getMaterialsUsed().isEmpty());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Creation Timestamp")
+    class CreationTimestampTests {
+
+        @Test
+        @DisplayName("Should never date an action before its maintenance")
+        void shouldClampCreatedAt_toMaintenanceCreation() {
+            Maintenance maintenance = new Maintenance("Title", "Description", MaintenanceCategory.ELECTRICAL, now);
+            ZonedDateTime maintenanceCreatedAt = ZonedDateTime.now().plusMinutes(5);
+            ReflectionTestUtils.setField(maintenance, "createdAt", maintenanceCreatedAt);
+
+            MaintenanceAction action = new MaintenanceAction(maintenance, "Executor", now, now, "Description", ActionStatus.SUCCESS);
+
+            assertEquals(maintenanceCreatedAt, action.getCreatedAt());
+            assertEquals(maintenanceCreatedAt, action.getUpdatedAt());
+        }
+    }
+}
@@ -13,11 +13,13 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,6 +37,9 @@ class MaintenanceActionRepositoryTest {
     @Autowired
     private MaintenanceRepository maintenanceRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Maintenance maintenance1;
     private Maintenance maintenance2;
     private MaintenanceAction action1;
@@ -125,6 +130,29 @@ class MaintenanceActionRepositoryTest {
             result.forEach(action -> assertEquals(maintenance1PublicId, action.getMaintenance().getPublicId()));
         }
 
+        @Test
+        @DisplayName("Should only return actions created on or after the lower bound")
+        void findAllByMaintenanceWithMaterials_shouldApplyCreatedAtLowerBound() {
+            // The column keeps microseconds, so the stored value may round below the in-memory nanoseconds.
+            List<MaintenanceAction> result = maintenanceActionRepository.findAllByMaintenanceWithMaterials(
+                    maintenance1, action2.getCreatedAt().truncatedTo(ChronoUnit.MICROS));
+
+            assertEquals(1, result.size());
+            assertEquals(action2.getPublicId(), result.get(0).getPublicId());
+        }
+
+        @Test
+        @DisplayName("Should skip the lower bound when the maintenance has no creation time")
+        void findAllByMaintenanceWithMaterials_whenMaintenanceHasNoCreatedAt_shouldReturnAllActions() {
+            entityManager.flush();
+            entityManager.detach(maintenance1);
+            ReflectionTestUtils.setField(maintenance1, "createdAt", null);
+
+            List<MaintenanceAction> result = maintenanceActionRepository.findAllByMaintenanceWithMaterials(maintenance1);
+
+            assertEquals(2, result.size());
+        }
+
         @Test
         @DisplayName("Should return actions with materials")
         void findAllByMaintenanceWithMaterials_shouldReturnActionsWithMaterials() {
@@ -183,6 +211,18 @@ class MaintenanceActionRepositoryTest {
             assertFalse(result.isPresent());
         }
 
+        @Test
+        @DisplayName("Should skip the lower bound when the maintenance has no creation time")
+        void findByMaintenanceAndActionPublicId_whenMaintenanceHasNoCreatedAt_shouldReturnAction() {
+            entityManager.flush();
+            entityManager.detach(maintenance1);
+            ReflectionTestUtils.setField(maintenance1, "createdAt", null);
+
+            Optional<MaintenanceAction> result = maintenanceActionRepository.findByMaintenanceAndActionPublicId(maintenance1, action1.getPublicId());
+
+            assertTrue(result.isPresent());
+        }
+
         @Test
         @DisplayName("Should find action belonging to different maintenance")
         void findByMaintenanceAndActionPublicId_shouldFindActionForDifferentMaintenance() {
@@ -9,6 +9,7 @@ import com.unnamed.conectareparo.maintenanceaction.entity.*;
 import com.unnamed.conectareparo.maintenanceaction.mapper.MaintenanceActionMapper;
 import com.unnamed.conectareparo.maintenanceaction.repository.MaintenanceActionRepository;
 import com.unnamed.conectareparo.common.exception.ResourceNotFoundException;
+import com.unnamed.conectareparo.sync.service.SyncChangeLog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
@@ -34,6 +36,8 @@ class MaintenanceActionServiceTest {
     @Mock
     private MaintenanceActionMapper maintenanceActionMapper;
 
+    @Mock
+    private SyncChangeLog syncChangeLog;
     @InjectMocks
     private MaintenanceActionService maintenanceActionService;
 
@@ -111,6 +115,30 @@ class MaintenanceActionServiceTest {
         verify(maintenanceActionRepository).save(maintenanceAction);
     }
 
+    @Test
+    @DisplayName("Should throw MaintenanceAlreadyCompletedException when the maintenance is closed before the action is inserted")
+    void createMaintenanceAction_whenMaintenanceClosedConcurrently_shouldThrowException() {
+        ReflectionTestUtils.setField(maintenance, "status", MaintenanceStatus.OPEN);
+        MaintenanceActionDto requestDto = new MaintenanceActionDto(
+                "John Doe",
+                startDate,
+                completionDate,
+                "Fixed it",
+                Collections.emptyList(),
+                ActionStatus.SUCCESS
+        );
+
+        when(maintenanceService.getMaintenanceEntityByPublicId(maintenancePublicId)).thenReturn(maintenance);
+        when(maintenanceActionMapper.toEntity(requestDto, maintenance)).thenReturn(maintenanceAction);
+        when(maintenanceActionRepository.save(maintenanceAction)).thenThrow(new DataIntegrityViolationException(
+                "new row for relation \"maintenance_action\" violates check constraint \"maintenance_not_closed\""));
+
+        assertThrows(MaintenanceAlreadyCompletedException.class, () ->
+                maintenanceActionService.createMaintenanceAction(maintenancePublicId, requestDto)
+        );
+        verifyNoInteractions(syncChangeLog);
+    }
+
     @Test
     @DisplayName("Should throw MaintenanceAlreadyCompletedException when creating action for a completed Maintenance")
     void createMaintenanceAction_whenMaintenanceIsCompleted_shouldThrowException() {
@@ -154,7 +182,7 @@ class MaintenanceActionServiceTest {
                 .thenReturn(Optional.of(maintenanceAction));
         when(maintenanceActionMapper.toResponseDto(maintenanceAction)).thenReturn(responseDto);
 
-        MaintenanceActionResponseDto result = maintenanceActionService.getSingleMaintenanceAction(maintenancePublicId, actionPublicId);
+        MaintenanceActionResponseDto result = maintenanceActionService.getSingleMaintenanceAction(maintenancePublicId, actionPublicId, false);
 
         assertNotNull(result);
         assertEquals(responseDto, result);
@@ -169,7 +197,7 @@ class MaintenanceActionServiceTest {
                 .thenThrow(new ResourceNotFoundException("Action with ID " + actionPublicId + " not found for the specified maintenance."));
 
         assertThrows(ResourceNotFoundException.class, () ->
-                maintenanceActionService.getSingleMaintenanceAction(maintenancePublicId, actionPublicId)
+                maintenanceActionService.getSingleMaintenanceAction(maintenancePublicId, actionPublicId, false)
         );
     }
 
@@ -209,13 +237,15 @@ class MaintenanceActionServiceTest {
         when(maintenanceService.getMaintenanceEntityByPublicId(maintenancePublicId)).thenReturn(maintenance);
         when(maintenanceActionRepository.findByMaintenanceAndActionPublicId(maintenance, actionPublicId))
                 .thenReturn(Optional.of(maintenanceAction));
-        when(maintenanceActionRepository.save(maintenanceAction)).thenReturn(maintenanceAction);
+        when(maintenanceActionMapper.toMaterialEntity(any(MaterialDto.class)))
+                .thenReturn(new ActionMaterial("Sample Material 03", BigDecimal.ONE, "ltr"));
+        when(maintenanceActionRepository.saveAndFlush(maintenanceAction)).thenReturn(maintenanceAction);
         when(maintenanceActionMapper.toResponseDto(maintenanceAction)).thenReturn(responseDto);
 
         MaintenanceActionResponseDto result = maintenanceActionService.updateMaintenanceAction(maintenancePublicId, actionPublicId, updateDto);
 
         assertNotNull(result);
-        verify(maintenanceActionRepository).save(maintenanceAction);
+        verify(maintenanceActionRepository).saveAndFlush(maintenanceAction);
     }
 
     @Test
@@ -236,7 +266,7 @@ class MaintenanceActionServiceTest {
         assertThrows(MaintenanceAlreadyCompletedException.class, () ->
                 maintenanceActionService.updateMaintenanceAction(maintenancePublicId, actionPublicId, requestDto)
         );
-        verify(maintenanceActionRepository, never()).save(any());
+        verify(maintenanceActionRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -398,7 +428,7 @@ class MaintenanceActionServiceTest {
         when(maintenanceActionRepository.findAllByMaintenanceWithMaterials(maintenance)).thenReturn(List.of(maintenanceAction));
         when(maintenanceActionMapper.toResponseDto(maintenanceAction)).thenReturn(responseDto);
 
-        List<MaintenanceActionResponseDto> result = maintenanceActionService.getMaintenanceActions(maintenancePublicId);
+        List<MaintenanceActionResponseDto> result = maintenanceActionService.getMaintenanceActions(maintenancePublicId, false);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -412,7 +442,7 @@ class MaintenanceActionServiceTest {
                 .thenThrow(new ResourceNotFoundException("Maintenance not found"));
 
         assertThrows(ResourceNotFoundException.class, () ->
-                maintenanceActionService.getMaintenanceActions(maintenancePublicId)
+                maintenanceActionService.getMaintenanceActions(maintenancePublicId, false)
         );
     }
 
@@ -434,6 +464,6 @@ class MaintenanceActionServiceTest {
         assertThrows(MaintenanceAlreadyCompletedException.class, () ->
                 maintenanceActionService.updateMaintenanceAction(maintenancePublicId, actionPublicId, requestDto)
         );
-        verify(maintenanceActionRepository, never()).save(any());
+        verify(maintenanceActionRepository, never()).saveAndFlush(any());
     }
 }
\ No newline at end of file
@@ -3,11 +3,16 @@ package com.unnamed.conectareparo.pledge.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.unnamed.conectareparo.pledge.dto.PledgeDto;
 import com.unnamed.conectareparo.pledge.dto.PledgeResponseDto;
+import com.unnamed.conectareparo.pledge.dto.PledgeSubmissionDto;
+import com.unnamed.conectareparo.pledge.dto.PledgeSubmissionStatus;
 import com.unnamed.conectareparo.pledge.dto.PledgeUpdateDto;
 import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
 import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
 import com.unnamed.conectareparo.pledge.service.PledgeService;
+import com.unnamed.conectareparo.pledge.service.PledgeWriteBehindQueue;
 import com.unnamed.conectareparo.common.exception.ResourceNotFoundException;
+import com.unnamed.conectareparo.common.pagination.CountMode;
+import com.unnamed.conectareparo.common.pagination.PageResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -24,12 +29,16 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -47,6 +56,9 @@ class PledgeControllerTest {
     @MockitoBean
     private PledgeService pledgeService;
 
+    @MockitoBean
+    private PledgeWriteBehindQueue pledgeWriteBehindQueue;
+
     private UUID validMaintenanceId;
     private UUID validPledgeId;
     private UUID notFoundPledgeId;
@@ -94,6 +106,30 @@ class PledgeControllerTest {
                     .andExpect(jsonPath("$.volunteerName").value("John Doe"));
         }
 
+        @Test
+        @DisplayName("Should return 202 Accepted with a status URL when the write-behind queue accepts the pledge")
+        void shouldReturn202_whenQueued() throws Exception {
+            PledgeDto requestDto = new PledgeDto(
+                    validMaintenanceId,
+                    "John Doe",
+                    "555-1234",
+                    "I can help",
+                    PledgeCategory.LABOR,
+                    PledgeStatus.OFFERED);
+            String statusUrl = PledgeWriteBehindQueue.statusUrl(validPledgeId);
+            when(pledgeWriteBehindQueue.submit(any(PledgeDto.class)))
+                    .thenReturn(Optional.of(new PledgeSubmissionDto(validPledgeId, PledgeSubmissionStatus.QUEUED, null, statusUrl)));
+
+            mockMvc.perform(post("/api/v1/pledges")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(requestDto)))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", "http://localhost" + statusUrl))
+                    .andExpect(jsonPath("$.id").value(validPledgeId.toString()))
+                    .andExpect(jsonPath("$.status").value("QUEUED"));
+            verify(pledgeService, never()).createPledge(any());
+        }
+
         @Test
         @DisplayName("Should return 400 Bad Request when maintenanceId is null")
         void shouldReturn400_whenMaintenanceIdIsNull() throws Exception {
@@ -112,6 +148,31 @@ class PledgeControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/v1/pledges/submissions/{pledgeId}")
+    class GetSubmissionTests {
+        @Test
+        @DisplayName("Should return 200 OK with the submission status")
+        void shouldReturn200_withSubmissionStatus() throws Exception {
+            when(pledgeWriteBehindQueue.getSubmission(validPledgeId)).thenReturn(new PledgeSubmissionDto(
+                    validPledgeId, PledgeSubmissionStatus.PERSISTED, null, PledgeWriteBehindQueue.statusUrl(validPledgeId)));
+
+            mockMvc.perform(get("/api/v1/pledges/submissions/{pledgeId}", validPledgeId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("PERSISTED"));
+        }
+
+        @Test
+        @DisplayName("Should return 404 Not Found for an unknown submission")
+        void shouldReturn404_whenUnknown() throws Exception {
+            when(pledgeWriteBehindQueue.getSubmission(notFoundPledgeId))
+                    .thenThrow(new ResourceNotFoundException("Pledge submission not found"));
+
+            mockMvc.perform(get("/api/v1/pledges/submissions/{pledgeId}", notFoundPledgeId))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/v1/pledges")
     class GetPledgesForMaintenanceTests {
@@ -119,7 +180,8 @@ class PledgeControllerTest {
         @DisplayName("Should return 200 OK with a page of pledges")
         void shouldReturn200_withPageOfPledges() throws Exception {
             Page<PledgeResponseDto> page = new PageImpl<>(List.of(pledgeResponseDto), PageRequest.of(0, 5), 1);
-            when(pledgeService.getPledgesByMaintenanceId(any(), eq(validMaintenanceId))).thenReturn(page);
+            when(pledgeService.getPledgesByMaintenanceId(any(), eq(validMaintenanceId), eq(false), eq(CountMode.EXACT)))
+                    .thenReturn(PageResponse.of(page, CountMode.EXACT));
 
             // When & Then
             mockMvc.perform(get("/api/v1/pledges")
@@ -132,6 +194,38 @@ class PledgeControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/v1/pledges with filters")
+    class GetAllPledgesTests {
+        @Test
+        @DisplayName("Should pass filters to the service and return 200 OK")
+        void shouldReturn200_withFilteredPage() throws Exception {
+            Page<PledgeResponseDto> page = new PageImpl<>(List.of(pledgeResponseDto), PageRequest.of(0, 10), 1);
+            when(pledgeService.getAllPledges(eq("PENDING"), eq("LABOR"), eq("john"),
+                    eq(ZonedDateTime.parse("2024-10-01T00:00:00Z")), eq(ZonedDateTime.parse("2024-11-01T00:00:00Z")), eq(false), eq(CountMode.ESTIMATED), any()))
+                    .thenReturn(PageResponse.of(page, CountMode.EXACT));
+
+            mockMvc.perform(get("/api/v1/pledges")
+                            .param("status", "PENDING")
+                            .param("type", "LABOR")
+                            .param("search", "john")
+                            .param("createdFrom", "2024-10-01T00:00:00Z")
+                            .param("createdTo", "2024-11-01T00:00:00Z")
+                            .param("count", "estimated"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(validPledgeId.toString()))
+                    .andExpect(jsonPath("$.totalElements").value(1));
+        }
+
+        @Test
+        @DisplayName("Should return 400 Bad Request when createdFrom is malformed")
+        void shouldReturn400_whenCreatedFromIsMalformed() throws Exception {
+            mockMvc.perform(get("/api/v1/pledges")
+                            .param("createdFrom", "yesterday"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("PATCH /api/v1/pledges/{pledgeId}")
     class UpdatePledgeTests {
@@ -188,7 +282,7 @@ class PledgeControllerTest {
         @Test
         @DisplayName("Should return 200 OK with pledge data when ID is found")
         void shouldReturn200_whenPledgeIdIsFound() throws Exception {
-            when(pledgeService.getPledgeByPublicId(validPledgeId)).thenReturn(pledgeResponseDto);
+            when(pledgeService.getPledgeByPublicId(validPledgeId, false)).thenReturn(pledgeResponseDto);
 
             mockMvc.perform(get("/api/v1/pledges/{pledgeId}", validPledgeId))
                     .andExpect(status().isOk())
@@ -199,7 +293,7 @@ class PledgeControllerTest {
         @Test
         @DisplayName("Should return 404 Not Found when pledge ID does not exist")
         void shouldReturn404_whenPledgeIdDoesNotExist() throws Exception {
-            when(pledgeService.getPledgeByPublicId(notFoundPledgeId)).thenThrow(new ResourceNotFoundException("Pledge not found"));
+            when(pledgeService.getPledgeByPublicId(notFoundPledgeId, false)).thenThrow(new ResourceNotFoundException("Pledge not found"));
 
             mockMvc.perform(get("/api/v1/pledges/{pledgeId}", notFoundPledgeId))
                     .andExpect(status().isNotFound());
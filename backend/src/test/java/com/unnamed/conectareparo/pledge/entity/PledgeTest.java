@@ -1,6 +1,7 @@
 package com.unnamed.conectareparo.pledge.entity;
 
 import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -9,6 +10,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Pledge Entity Business Logic")
@@ -52,7 +56,7 @@ class PledgeTest {
         }
 
         @ParameterizedTest
-        @EnumSource(value = PledgeStatus.class, names = {"CANCELED", "COMPLETED", "REJECTED"})
+        @EnumSource(value = PledgeStatus.class, names = {"CANCELED", "COMPLETED", "REJECTED", "EXPIRED"})
         @DisplayName("Should throw IllegalStateException when changing status from a terminal state")
         void shouldThrowException_whenChangingFromTerminalState(PledgeStatus terminalStatus) {
             ReflectionTestUtils.setField(pledge, "status", terminalStatus);
@@ -232,4 +236,32 @@ class PledgeTest {
             assertEquals(initialStatus, pledge.getStatus());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Creation Timestamp")
+    class CreationTimestampTests {
+
+        @Test
+        @DisplayName("Should keep the accepted creation time even when it predates the maintenance")
+        void shouldKeepCreatedAt_whenBeforeMaintenanceCreation() {
+            Maintenance maintenance = new Maintenance("Title", "Description", MaintenanceCategory.ELECTRICAL, ZonedDateTime.now());
+            ZonedDateTime skewedClock = maintenance.getCreatedAt().minusSeconds(5);
+
+            Pledge skewed = new Pledge(UUID.randomUUID(), maintenance, "Volunteer", "contact", "Description", PledgeCategory.LABOR, skewedClock);
+
+            assertEquals(skewedClock, skewed.getCreatedAt());
+            assertEquals(skewedClock, skewed.getUpdatedAt());
+        }
+
+        @Test
+        @DisplayName("Should keep a creation time after the maintenance unchanged")
+        void shouldKeepCreatedAt_whenAfterMaintenanceCreation() {
+            Maintenance maintenance = new Maintenance("Title", "Description", MaintenanceCategory.ELECTRICAL, ZonedDateTime.now());
+            ZonedDateTime later = maintenance.getCreatedAt().plusMinutes(1);
+
+            Pledge created = new Pledge(UUID.randomUUID(), maintenance, "Volunteer", "contact", "Description", PledgeCategory.LABOR, later);
+
+            assertEquals(later, created.getCreatedAt());
+        }
+    }
+}
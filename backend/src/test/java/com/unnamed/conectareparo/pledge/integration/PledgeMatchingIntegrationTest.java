@@ -0,0 +1,115 @@
+package com.unnamed.conectareparo.pledge.integration;
+
+import com.unnamed.conectareparo.common.sqlstats.QueryBudget;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceDto;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceResponseDto;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.service.MaintenanceService;
+import com.unnamed.conectareparo.maintenanceaction.dto.MaintenanceActionDto;
+import com.unnamed.conectareparo.maintenanceaction.dto.MaterialDto;
+import com.unnamed.conectareparo.maintenanceaction.entity.ActionStatus;
+import com.unnamed.conectareparo.maintenanceaction.service.MaintenanceActionService;
+import com.unnamed.conectareparo.pledge.dto.PledgeDto;
+import com.unnamed.conectareparo.pledge.dto.PledgeResponseDto;
+import com.unnamed.conectareparo.pledge.dto.PledgeUpdateDto;
+import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import com.unnamed.conectareparo.pledge.matching.MaterialPledgeIndexLoader;
+import com.unnamed.conectareparo.pledge.service.PledgeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DisplayName("Pledge Matching Integration Tests")
+class PledgeMatchingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MaintenanceService maintenanceService;
+    @Autowired
+    private MaintenanceActionService maintenanceActionService;
+    @Autowired
+    private PledgeService pledgeService;
+    @Autowired
+    private MaterialPledgeIndexLoader loader;
+
+    private MaintenanceResponseDto needing;
+    private MaintenanceResponseDto offering;
+
+    @BeforeEach
+    void setUp() {
+        loader.refresh();
+        needing = maintenanceService.createMaintenance(new MaintenanceDto(
+                "Matching Test: Leaking roof", "Roof slab needs waterproofing", MaintenanceCategory.BUILDING,
+                ZonedDateTime.now().plusDays(2)));
+        offering = maintenanceService.createMaintenance(new MaintenanceDto(
+                "Matching Test: School wall", "Paint the wall", MaintenanceCategory.BUILDING,
+                ZonedDateTime.now().plusDays(2)));
+        maintenanceActionService.createMaintenanceAction(needing.id(), new MaintenanceActionDto(
+                "Crew", ZonedDateTime.now().minusDays(1), ZonedDateTime.now(), "Sealed the first half",
+                List.of(new MaterialDto("Impermeabilizante asfáltico", BigDecimal.TEN, "litros")), ActionStatus.PARTIAL_SUCCESS));
+    }
+
+    private PledgeResponseDto pledge(String description, PledgeCategory type) {
+        return pledgeService.createPledge(new PledgeDto(
+                offering.id(), "Volunteer Name", "volunteer@example.com", description, type, null));
+    }
+
+    @Test
+    @QueryBudget(3)
+    @DisplayName("Should rank open MATERIAL pledges by the materials a maintenance used")
+    void shouldRankMaterialPledges() throws Exception {
+        PledgeResponseDto precise = pledge("18 litros de impermeabilizantes", PledgeCategory.MATERIAL);
+        PledgeResponseDto vague = pledge("impermeabilizante, cimento, areia, brita e tijolo", PledgeCategory.MATERIAL);
+        PledgeResponseDto labor = pledge("Posso aplicar o impermeabilizante", PledgeCategory.LABOR);
+
+        mockMvc.perform(get("/api/v1/maintenances/{id}/matching-pledges", needing.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].pledge.id").value(precise.id().toString()))
+                .andExpect(jsonPath("$[0].maintenanceId").value(offering.id().toString()))
+                .andExpect(jsonPath("$[0].matchedTerms[0]").value("impermeabilizante"))
+                .andExpect(jsonPath("$[0].matchedTerms[1]").value("l"))
+                .andExpect(jsonPath("$[1].pledge.id").value(vague.id().toString()))
+                .andExpect(jsonPath("$[*].pledge.id", not(hasItem(labor.id().toString()))));
+    }
+
+    @Test
+    @DisplayName("Should drop pledges once they are no longer offered")
+    void shouldDropClosedPledges() throws Exception {
+        PledgeResponseDto pledge = pledge("Impermeabilizante acrílico", PledgeCategory.MATERIAL);
+        pledgeService.updatePledge(pledge.id(), new PledgeUpdateDto(null, null, null, null, PledgeStatus.REJECTED));
+
+        mockMvc.perform(get("/api/v1/maintenances/{id}/matching-pledges", needing.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].pledge.id", not(hasItem(pledge.id().toString()))));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown maintenances and invalid limits")
+    void shouldRejectInvalidRequests() throws Exception {
+        mockMvc.perform(get("/api/v1/maintenances/{id}/matching-pledges", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/maintenances/{id}/matching-pledges", needing.id()).param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,43 @@
+package com.unnamed.conectareparo.pledge.matching;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Item Tokens Tests")
+class ItemTokensTest {
+
+    @Test
+    @DisplayName("Should split numbers from units and drop numbers and filler words")
+    void shouldSplitUnitsFromNumbers() {
+        ItemTokens tokens = ItemTokens.parse("Posso doar 2 sacos de cimento 50kg");
+
+        assertEquals(Set.of("cimento"), tokens.items());
+        assertEquals(Set.of("saco", "kg"), tokens.units());
+    }
+
+    @Test
+    @DisplayName("Should strip accents and fold plurals to the singular")
+    void shouldNormalizeAccentsAndPlurals() {
+        assertEquals(ItemTokens.parse("tubulação").items(), ItemTokens.parse("Tubulações").items());
+        assertEquals(ItemTokens.parse("tijolo").items(), ItemTokens.parse("TIJOLOS").items());
+        assertEquals(ItemTokens.parse("pipe").items(), ItemTokens.parse("pipes").items());
+    }
+
+    @Test
+    @DisplayName("Should map unit spellings to one canonical unit")
+    void shouldCanonicalizeUnits() {
+        assertEquals(Set.of("kg"), ItemTokens.parse("quilos", "Kg", "kilograms").units());
+        assertEquals(Set.of("l"), ItemTokens.parse("3 litros", "5L").units());
+    }
+
+    @Test
+    @DisplayName("Should skip missing and blank texts")
+    void shouldSkipMissingTexts() {
+        assertTrue(ItemTokens.parse(null, " ").isEmpty());
+    }
+}
@@ -0,0 +1,145 @@
+package com.unnamed.conectareparo.pledge.matching;
+
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.pledge.dto.MatchingPledgeDto;
+import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import com.unnamed.conectareparo.pledge.mapper.PledgeMapper;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Material Pledge Index Tests")
+class MaterialPledgeIndexTest {
+
+    private static final Map<String, Double> CEMENT = Map.of("cimento", 2.0);
+
+    private MaterialPledgeIndex index;
+    private Maintenance maintenance;
+    private Pledge cement;
+    private Pledge cementAndMore;
+    private Pledge bricks;
+    private Pledge labor;
+
+    @BeforeEach
+    void setUp() {
+        index = new MaterialPledgeIndex(new PledgeMapper());
+        maintenance = new Maintenance("Rebuild wall", "Wall fell", MaintenanceCategory.BUILDING, ZonedDateTime.now());
+        cement = pledge("3 sacos de cimento", PledgeCategory.MATERIAL);
+        cementAndMore = pledge("cimento, areia, brita, tinta, pincel e lixa", PledgeCategory.MATERIAL);
+        bricks = pledge("200 tijolos", PledgeCategory.MATERIAL);
+        labor = pledge("Posso ajudar a misturar o cimento", PledgeCategory.LABOR);
+        index.startLoading();
+        index.loadBatch(List.of(cement, cementAndMore, bricks, labor));
+        index.finishLoading();
+    }
+
+    private Pledge pledge(String description, PledgeCategory type) {
+        return new Pledge(maintenance, "Volunteer Name", "volunteer@example.com", description, type);
+    }
+
+    private static List<UUID> ids(List<MatchingPledgeDto> matches) {
+        return matches.stream().map(match -> match.pledge().id()).toList();
+    }
+
+    @Test
+    @DisplayName("Should only index open MATERIAL pledges")
+    void shouldIndexOpenMaterialPledges() {
+        assertTrue(index.isLoaded());
+        assertEquals(3, index.size());
+    }
+
+    @Nested
+    @DisplayName("Ranking")
+    class RankingTests {
+
+        @Test
+        @DisplayName("Should rank a precise offer above one listing many items")
+        void shouldPreferPreciseOffers() {
+            List<MatchingPledgeDto> matches = index.match(CEMENT, Set.of(), 10);
+
+            assertEquals(List.of(cement.getPublicId(), cementAndMore.getPublicId()), ids(matches));
+            assertTrue(matches.get(0).score() > matches.get(1).score());
+            assertEquals(List.of("cimento"), matches.get(0).matchedTerms());
+            assertEquals(maintenance.getPublicId(), matches.get(0).maintenanceId());
+        }
+
+        @Test
+        @DisplayName("Should add a bonus for a shared unit and report it")
+        void shouldRewardSharedUnits() {
+            List<MatchingPledgeDto> withoutUnit = index.match(CEMENT, Set.of(), 10);
+            List<MatchingPledgeDto> withUnit = index.match(CEMENT, Set.of("saco"), 10);
+
+            assertEquals(withoutUnit.get(0).score() + MaterialPledgeIndex.UNIT_BONUS, withUnit.get(0).score(), 0.001);
+            assertEquals(List.of("cimento", "saco"), withUnit.get(0).matchedTerms());
+        }
+
+        @Test
+        @DisplayName("Should never return pledges sharing only a unit, and honor the limit")
+        void shouldRequireSharedItem() {
+            assertTrue(index.match(Map.of("telha", 1.0), Set.of("saco"), 10).isEmpty());
+            assertEquals(List.of(cement.getPublicId()), ids(index.match(CEMENT, Set.of(), 1)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Updates")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should reindex changed descriptions and drop closed or removed pledges")
+        void shouldApplyChanges() {
+            bricks.updateDetails(null, null, "2 sacos de cimento e tijolos", null);
+            cement.updateStatus(PledgeStatus.REJECTED);
+
+            index.apply(List.of(bricks, cement), List.of(cementAndMore.getPublicId()));
+
+            assertEquals(List.of(bricks.getPublicId()), ids(index.match(CEMENT, Set.of(), 10)));
+            assertEquals(1, index.size());
+        }
+
+        @Test
+        @DisplayName("Should reuse freed slots")
+        void shouldReuseFreedSlots() {
+            index.apply(List.of(), List.of(cement.getPublicId()));
+            Pledge replacement = pledge("cimento", PledgeCategory.MATERIAL);
+
+            index.applyAfterCommit(replacement);
+
+            assertEquals(List.of(replacement.getPublicId(), cementAndMore.getPublicId()), ids(index.match(CEMENT, Set.of(), 10)));
+        }
+
+        @Test
+        @DisplayName("Should ignore changes until loaded")
+        void shouldIgnoreChangesUntilLoaded() {
+            index.clear();
+
+            index.applyAfterCommit(pledge("cimento", PledgeCategory.MATERIAL));
+
+            assertFalse(index.isLoaded());
+            assertEquals(0, index.size());
+        }
+
+        @Test
+        @DisplayName("Should queue announced pledge changes for the loader, once each")
+        void shouldQueueAnnouncedChanges() {
+            index.evict(SyncEntityType.PLEDGE, List.of(cement.getPublicId(), bricks.getPublicId()));
+            index.evict(SyncEntityType.MAINTENANCE, List.of(maintenance.getPublicId()));
+
+            assertEquals(Set.of(cement.getPublicId(), bricks.getPublicId()), index.takePendingReloads());
+            assertEquals(Set.of(), index.takePendingReloads());
+        }
+    }
+}
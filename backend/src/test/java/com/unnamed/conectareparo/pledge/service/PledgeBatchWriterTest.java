@@ -0,0 +1,100 @@
+package com.unnamed.conectareparo.pledge.service;
+
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.maintenance.service.MaintenanceService;
+import com.unnamed.conectareparo.pledge.dto.PledgeDto;
+import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import com.unnamed.conectareparo.pledge.matching.MaterialPledgeIndex;
+import com.unnamed.conectareparo.pledge.repository.PledgeRepository;
+import com.unnamed.conectareparo.statustransition.service.StatusTransitionService;
+import com.unnamed.conectareparo.sync.service.SyncChangeLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pledge Batch Writer Tests")
+class PledgeBatchWriterTest {
+
+    @Mock
+    private PledgeRepository pledgeRepository;
+    @Mock
+    private MaintenanceService maintenanceService;
+    @Mock
+    private StatusTransitionService statusTransitionService;
+    @Mock
+    private SyncChangeLog syncChangeLog;
+    @Mock
+    private MaterialPledgeIndex materialPledgeIndex;
+    @InjectMocks
+    private PledgeBatchWriter pledgeBatchWriter;
+
+    private Maintenance maintenance(MaintenanceStatus status) {
+        Maintenance maintenance = new Maintenance();
+        ReflectionTestUtils.setField(maintenance, "publicId", UUID.randomUUID());
+        ReflectionTestUtils.setField(maintenance, "status", status);
+        return maintenance;
+    }
+
+    private QueuedPledge queued(Maintenance maintenance) {
+        PledgeDto request = new PledgeDto(maintenance.getPublicId(), "John Doe", "555-1234", "I can help",
+                PledgeCategory.LABOR, PledgeStatus.OFFERED);
+        return new QueuedPledge(UUID.randomUUID(), request, ZonedDateTime.parse("2025-10-10T10:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("Should save the whole batch with the ids and timestamps fixed at acceptance")
+    @SuppressWarnings("unchecked")
+    void persist_shouldSaveBatchWithAcceptedIds() {
+        Maintenance open = maintenance(MaintenanceStatus.OPEN);
+        QueuedPledge first = queued(open);
+        QueuedPledge second = queued(open);
+        when(pledgeRepository.findExistingPublicIds(anyCollection())).thenReturn(List.of());
+        when(maintenanceService.getMaintenanceEntitiesByPublicIds(anyCollection())).thenReturn(Map.of(open.getPublicId(), open));
+
+        Map<UUID, String> rejected = pledgeBatchWriter.persist(List.of(first, second));
+
+        ArgumentCaptor<List<Pledge>> saved = ArgumentCaptor.forClass(List.class);
+        verify(pledgeRepository).saveAll(saved.capture());
+        assertTrue(rejected.isEmpty());
+        assertEquals(List.of(first.publicId(), second.publicId()), saved.getValue().stream().map(Pledge::getPublicId).toList());
+        assertEquals(first.acceptedAt(), saved.getValue().get(0).getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should skip pledges that were already persisted and reject those of terminal maintenances")
+    @SuppressWarnings("unchecked")
+    void persist_shouldSkipExistingAndRejectTerminal() {
+        Maintenance open = maintenance(MaintenanceStatus.OPEN);
+        Maintenance completed = maintenance(MaintenanceStatus.COMPLETED);
+        QueuedPledge replayed = queued(open);
+        QueuedPledge late = queued(completed);
+        when(pledgeRepository.findExistingPublicIds(anyCollection())).thenReturn(List.of(replayed.publicId()));
+        when(maintenanceService.getMaintenanceEntitiesByPublicIds(anyCollection()))
+                .thenReturn(Map.of(open.getPublicId(), open, completed.getPublicId(), completed));
+
+        Map<UUID, String> rejected = pledgeBatchWriter.persist(List.of(replayed, late));
+
+        ArgumentCaptor<List<Pledge>> saved = ArgumentCaptor.forClass(List.class);
+        verify(pledgeRepository).saveAll(saved.capture());
+        assertTrue(saved.getValue().isEmpty());
+        assertEquals(Map.of(late.publicId(), "Cannot create a pledge for a maintenance that is in a terminal state."), rejected);
+    }
+}
@@ -8,19 +8,30 @@ import com.unnamed.conectareparo.pledge.dto.PledgeResponseDto;
 import com.unnamed.conectareparo.pledge.dto.PledgeUpdateDto;
 import com.unnamed.conectareparo.pledge.entity.*;
 import com.unnamed.conectareparo.pledge.mapper.PledgeMapper;
+import com.unnamed.conectareparo.pledge.matching.MaterialPledgeIndex;
+import com.unnamed.conectareparo.pledge.repository.PledgeRecordRepository;
 import com.unnamed.conectareparo.pledge.repository.PledgeRepository;
 import com.unnamed.conectareparo.common.exception.ResourceNotFoundException;
+import com.unnamed.conectareparo.common.pagination.CountMode;
+import com.unnamed.conectareparo.common.pagination.PageQueryExecutor;
+import com.unnamed.conectareparo.common.pagination.PageResponse;
+import com.unnamed.conectareparo.common.pagination.RowCountEstimator;
+import com.unnamed.conectareparo.statustransition.service.StatusTransitionService;
+import com.unnamed.conectareparo.sync.service.SyncChangeLog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.ZonedDateTime;
@@ -37,10 +48,21 @@ class PledgeServiceTest {
     @Mock
     private PledgeRepository pledgeRepository;
     @Mock
+    private PledgeRecordRepository pledgeRecordRepository;
+    @Mock
     private PledgeMapper pledgeMapper;
     @Mock
     private MaintenanceService maintenanceService;
+    @Spy
+    private PageQueryExecutor pageQueryExecutor = new PageQueryExecutor(mock(RowCountEstimator.class));
+
+    @Mock
+    private StatusTransitionService statusTransitionService;
 
+    @Mock
+    private SyncChangeLog syncChangeLog;
+    @Mock
+    private MaterialPledgeIndex materialPledgeIndex;
     @InjectMocks
     private PledgeService pledgeService;
 
@@ -106,6 +128,26 @@ class PledgeServiceTest {
         verify(pledgeMapper).toResponseDto(pledge);
     }
 
+    @Test
+    @DisplayName("Should throw IllegalStateException when the maintenance is closed before the pledge is inserted")
+    void createPledge_whenMaintenanceClosedConcurrently_shouldThrowException() {
+        PledgeDto requestDto = new PledgeDto(
+                maintenancePublicId,
+                "John Doe",
+                "555-1234",
+                "I can help",
+                PledgeCategory.LABOR,
+                PledgeStatus.OFFERED);
+
+        when(maintenanceService.getMaintenanceEntityByPublicId(maintenancePublicId)).thenReturn(maintenance);
+        when(pledgeMapper.toEntity(maintenance, requestDto)).thenReturn(pledge);
+        when(pledgeRepository.save(pledge)).thenThrow(new DataIntegrityViolationException(
+                "new row for relation \"pledge\" violates check constraint \"maintenance_not_closed\""));
+
+        assertThrows(IllegalStateException.class, () -> pledgeService.createPledge(requestDto));
+        verifyNoInteractions(statusTransitionService, syncChangeLog, materialPledgeIndex);
+    }
+
     @Test
     @DisplayName("Should throw ResourceNotFoundException when creating a pledge for a non-existent maintenance")
     void createPledge_whenMaintenanceNotFound_shouldThrowException() {
@@ -132,18 +174,33 @@ class PledgeServiceTest {
         Pageable pageable = PageRequest.of(0, 5);
         Page<Pledge> pledgePage = new PageImpl<>(List.of(pledge), pageable, 1);
 
-        when(pledgeRepository.findAllByMaintenancePublicId(maintenancePublicId, pageable)).thenReturn(pledgePage);
+        when(pledgeRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(pledgePage);
         when(pledgeMapper.toResponseDto(pledge)).thenReturn(pledgeResponseDto);
 
-        Page<PledgeResponseDto> resultPage = pledgeService.getPledgesByMaintenanceId(pageable, maintenancePublicId);
+        PageResponse<PledgeResponseDto> resultPage = pledgeService.getPledgesByMaintenanceId(pageable, maintenancePublicId, false, CountMode.EXACT);
 
         assertAll(
                 () -> assertNotNull(resultPage),
-                () -> assertEquals(1, resultPage.getTotalElements()),
-                () -> assertEquals(pledgeResponseDto, resultPage.getContent().get(0))
+                () -> assertEquals(1L, resultPage.totalElements()),
+                () -> assertEquals(pledgeResponseDto, resultPage.content().get(0))
         );
     }
 
+    @Test
+    @DisplayName("Should list the pledges of an archived maintenance when includeArchived is set")
+    void getPledgesByMaintenanceId_whenIncludeArchived_shouldUseRecords() {
+        Pageable pageable = PageRequest.of(0, 5);
+        PledgeRecord archivedPledge = mock(PledgeRecord.class);
+        when(pledgeRecordRepository.findAll(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(archivedPledge), pageable, 1));
+        when(pledgeMapper.fromRecord(archivedPledge)).thenReturn(pledgeResponseDto);
+
+        PageResponse<PledgeResponseDto> resultPage = pledgeService.getPledgesByMaintenanceId(pageable, maintenancePublicId, true, CountMode.EXACT);
+
+        assertEquals(List.of(pledgeResponseDto), resultPage.content());
+        verify(pledgeRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
     @Test
     @DisplayName("Should update a pledge successfully when found")
     void updatePledge_whenFound_shouldUpdateAndReturnDto() {
@@ -165,7 +222,7 @@ class PledgeServiceTest {
                 fixedCreationTime,
                 fixedCreationTime);
 
-        when(pledgeRepository.findByPublicId(pledgePublicId)).thenReturn(Optional.of(spiedPledge));
+        when(pledgeRepository.findWithMaintenanceByPublicId(pledgePublicId)).thenReturn(Optional.of(spiedPledge));
         when(pledgeMapper.toResponseDto(spiedPledge)).thenReturn(updatedResponseDto);
 
         PledgeResponseDto result = pledgeService.updatePledge(pledgePublicId, updateDto);
@@ -182,7 +239,7 @@ class PledgeServiceTest {
     void updatePledge_whenNotFound_shouldThrowException() {
         PledgeUpdateDto updateDto = new PledgeUpdateDto(null, null, null, null, PledgeStatus.COMPLETED);
 
-        when(pledgeRepository.findByPublicId(pledgePublicId)).thenReturn(Optional.empty());
+        when(pledgeRepository.findWithMaintenanceByPublicId(pledgePublicId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () ->
                 pledgeService.updatePledge(pledgePublicId, updateDto)
@@ -196,7 +253,7 @@ class PledgeServiceTest {
         PledgeUpdateDto updateDto = new PledgeUpdateDto(null, null, null, null, PledgeStatus.REJECTED);
         ReflectionTestUtils.setField(pledge, "status", PledgeStatus.COMPLETED);
 
-        when(pledgeRepository.findByPublicId(pledgePublicId)).thenReturn(Optional.of(pledge));
+        when(pledgeRepository.findWithMaintenanceByPublicId(pledgePublicId)).thenReturn(Optional.of(pledge));
 
         assertThrows(IllegalStateException.class, () ->
                 pledgeService.updatePledge(pledgePublicId, updateDto)
@@ -243,14 +300,14 @@ class PledgeServiceTest {
     void getAllPledges_shouldReturnPageOfDtos() {
         Pageable pageable = PageRequest.of(0, 10);
         Page<Pledge> pledgePage = new PageImpl<>(List.of(pledge), pageable, 1);
-        when(pledgeRepository.findAll(pageable)).thenReturn(pledgePage);
+        when(pledgeRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(pledgePage);
         when(pledgeMapper.toResponseDto(pledge)).thenReturn(pledgeResponseDto);
 
-        Page<PledgeResponseDto> resultPage = pledgeService.getAllPledges(pageable);
+        PageResponse<PledgeResponseDto> resultPage = pledgeService.getAllPledges(null, null, null, null, null, false, CountMode.EXACT, pageable);
 
         assertNotNull(resultPage);
-        assertEquals(1, resultPage.getTotalElements());
-        assertEquals(pledgeResponseDto, resultPage.getContent().get(0));
+        assertEquals(1L, resultPage.totalElements());
+        assertEquals(pledgeResponseDto, resultPage.content().get(0));
     }
 
     @Test
@@ -258,12 +315,12 @@ class PledgeServiceTest {
     void getAllPledges_whenNoPledges_shouldReturnEmptyPage() {
         Pageable pageable = PageRequest.of(0, 10);
         Page<Pledge> emptyPage = Page.empty(pageable);
-        when(pledgeRepository.findAll(pageable)).thenReturn(emptyPage);
+        when(pledgeRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(emptyPage);
 
-        Page<PledgeResponseDto> resultPage = pledgeService.getAllPledges(pageable);
+        PageResponse<PledgeResponseDto> resultPage = pledgeService.getAllPledges("PENDING", "LABOR", "john", null, null, false, CountMode.EXACT, pageable);
 
         assertNotNull(resultPage);
-        assertTrue(resultPage.isEmpty());
+        assertTrue(resultPage.content().isEmpty());
         verify(pledgeMapper, never()).toResponseDto(any());
     }
 
@@ -274,7 +331,7 @@ class PledgeServiceTest {
         when(pledgeRepository.findByPublicId(randomId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () ->
-                pledgeService.getPledgeByPublicId(randomId)
+                pledgeService.getPledgeByPublicId(randomId, false)
         );
         verify(pledgeMapper, never()).toResponseDto(any());
     }
@@ -285,7 +342,7 @@ class PledgeServiceTest {
         when(pledgeRepository.findByPublicId(pledgePublicId)).thenReturn(Optional.of(pledge));
         when(pledgeMapper.toResponseDto(pledge)).thenReturn(pledgeResponseDto);
 
-        PledgeResponseDto result = pledgeService.getPledgeByPublicId(pledgePublicId);
+        PledgeResponseDto result = pledgeService.getPledgeByPublicId(pledgePublicId, false);
 
         assertNotNull(result);
         assertEquals(pledgeResponseDto, result);
@@ -297,7 +354,7 @@ class PledgeServiceTest {
         PledgeUpdateDto updateDto = new PledgeUpdateDto(null, null, null, null, PledgeStatus.COMPLETED);
         ReflectionTestUtils.setField(pledge, "status", PledgeStatus.REJECTED);
 
-        when(pledgeRepository.findByPublicId(pledgePublicId)).thenReturn(Optional.of(pledge));
+        when(pledgeRepository.findWithMaintenanceByPublicId(pledgePublicId)).thenReturn(Optional.of(pledge));
 
         assertThrows(IllegalStateException.class, () ->
                 pledgeService.updatePledge(pledgePublicId, updateDto)
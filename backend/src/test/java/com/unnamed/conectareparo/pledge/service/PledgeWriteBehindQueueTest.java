@@ -0,0 +1,304 @@
+package com.unnamed.conectareparo.pledge.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.unnamed.conectareparo.common.exception.ResourceNotFoundException;
+import com.unnamed.conectareparo.pledge.dto.PledgeDto;
+import com.unnamed.conectareparo.pledge.dto.PledgeSubmissionDto;
+import com.unnamed.conectareparo.pledge.dto.PledgeSubmissionStatus;
+import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pledge Write-Behind Queue Tests")
+class PledgeWriteBehindQueueTest {
+
+    @Mock
+    private PledgeService pledgeService;
+    @Mock
+    private PledgeBatchWriter batchWriter;
+
+    @TempDir
+    private Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private PledgeWriteBehindQueue queue;
+    private PledgeDto request;
+
+    @BeforeEach
+    void setUp() {
+        request = new PledgeDto(UUID.randomUUID(), "John Doe", "555-1234", "I can help", PledgeCategory.LABOR, PledgeStatus.OFFERED);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (queue != null) {
+            queue.stop();
+        }
+    }
+
+    private PledgeWriteBehindQueue start(boolean enabled, int queueCapacity, int batchSize) throws Exception {
+        return start(enabled, queueCapacity, batchSize, DataSize.ofMegabytes(8));
+    }
+
+    private PledgeWriteBehindQueue start(boolean enabled, int queueCapacity, int batchSize, DataSize compactionSize) throws Exception {
+        PledgeWriteBehindProperties properties = new PledgeWriteBehindProperties(
+                enabled, queueCapacity, batchSize, Duration.ofMillis(20), tempDir.resolve("journal.log"), compactionSize);
+        queue = new PledgeWriteBehindQueue(properties, pledgeService, batchWriter, objectMapper);
+        queue.start();
+        return queue;
+    }
+
+    @Test
+    @DisplayName("Should decline submissions when write-behind is disabled")
+    void submit_whenDisabled_shouldReturnEmpty() throws Exception {
+        start(false, 10, 10);
+
+        assertTrue(queue.submit(request).isEmpty());
+        verifyNoInteractions(pledgeService, batchWriter);
+    }
+
+    @Test
+    @DisplayName("Should accept a pledge and commit it in the background")
+    void submit_shouldQueueAndPersist() throws Exception {
+        when(batchWriter.persist(anyList())).thenReturn(Map.of());
+        when(pledgeService.pledgeExists(any())).thenReturn(true);
+        start(true, 10, 10);
+
+        PledgeSubmissionDto submission = queue.submit(request).orElseThrow();
+
+        assertEquals(PledgeSubmissionStatus.QUEUED, submission.status());
+        assertEquals("/api/v1/pledges/submissions/" + submission.id(), submission.statusUrl());
+        verify(pledgeService).getMaintenanceOpenForPledges(request.maintenanceId());
+        verify(batchWriter, timeout(2000)).persist(argThat(batch ->
+                batch.size() == 1 && batch.get(0).publicId().equals(submission.id())));
+        waitUntil(() -> queue.getSubmission(submission.id()).status() == PledgeSubmissionStatus.PERSISTED);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid pledges synchronously without queueing them")
+    void submit_whenMaintenanceIsTerminal_shouldThrow() throws Exception {
+        when(pledgeService.getMaintenanceOpenForPledges(request.maintenanceId()))
+                .thenThrow(new IllegalStateException("Cannot create a pledge for a maintenance that is in a terminal state."));
+        start(true, 10, 10);
+
+        assertThrows(IllegalStateException.class, () -> queue.submit(request));
+        verifyNoInteractions(batchWriter);
+    }
+
+    @Test
+    @DisplayName("Should fall back to synchronous creation when the queue is full")
+    void submit_whenQueueIsFull_shouldReturnEmpty() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchWriter.persist(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Map.of();
+        });
+        start(true, 1, 1);
+
+        assertTrue(queue.submit(request).isPresent());
+        assertTrue(writing.await(2, TimeUnit.SECONDS));
+        assertTrue(queue.submit(request).isPresent());
+
+        Optional<PledgeSubmissionDto> overflow = queue.submit(request);
+
+        release.countDown();
+        assertTrue(overflow.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should report pledges rejected at commit time as failed")
+    void flush_whenRejected_shouldReportFailure() throws Exception {
+        start(true, 10, 10);
+        QueuedPledge queued = new QueuedPledge(UUID.randomUUID(), request, ZonedDateTime.now());
+        when(batchWriter.persist(List.of(queued))).thenReturn(Map.of(queued.publicId(), "Maintenance not found"));
+
+        queue.flush(List.of(queued));
+
+        PledgeSubmissionDto submission = queue.getSubmission(queued.publicId());
+        assertEquals(PledgeSubmissionStatus.FAILED, submission.status());
+        assertEquals("Maintenance not found", submission.message());
+    }
+
+    @Test
+    @DisplayName("Should report pledges that violate a constraint as failed")
+    void flush_whenConstraintViolated_shouldReportFailure() throws Exception {
+        start(true, 10, 10);
+        QueuedPledge queued = new QueuedPledge(UUID.randomUUID(), request, ZonedDateTime.now());
+        when(batchWriter.persist(List.of(queued))).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertTrue(queue.flush(List.of(queued)).isEmpty());
+
+        assertEquals(PledgeSubmissionStatus.FAILED, queue.getSubmission(queued.publicId()).status());
+    }
+
+    @Test
+    @DisplayName("Should hand back pledges that hit a transient failure instead of failing them")
+    void flush_whenDatabaseUnavailable_shouldReturnPledgesForRetry() throws Exception {
+        start(true, 10, 10);
+        QueuedPledge rejected = new QueuedPledge(UUID.randomUUID(), request, ZonedDateTime.now());
+        QueuedPledge unlucky = new QueuedPledge(UUID.randomUUID(), request, ZonedDateTime.now());
+        when(batchWriter.persist(List.of(rejected, unlucky))).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(batchWriter.persist(List.of(rejected))).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(batchWriter.persist(List.of(unlucky))).thenThrow(new QueryTimeoutException("timeout"));
+
+        List<QueuedPledge> retry = queue.flush(List.of(rejected, unlucky));
+
+        assertEquals(List.of(unlucky), retry);
+        assertEquals(PledgeSubmissionStatus.FAILED, queue.getSubmission(rejected.publicId()).status());
+        // Never journaled by this test, so a pledge that was not failed is simply unknown.
+        assertThrows(ResourceNotFoundException.class, () -> queue.getSubmission(unlucky.publicId()));
+    }
+
+    @Test
+    @DisplayName("Should retry in the background once the database is back")
+    void submit_whenDatabaseTemporarilyUnavailable_shouldRetry() throws Exception {
+        when(batchWriter.persist(anyList()))
+                .thenThrow(new CannotCreateTransactionException("Could not open JDBC connection"))
+                .thenReturn(Map.of());
+        when(pledgeService.pledgeExists(any())).thenReturn(true);
+        start(true, 10, 10);
+
+        PledgeSubmissionDto submission = queue.submit(request).orElseThrow();
+
+        verify(batchWriter, timeout(2000).times(2)).persist(anyList());
+        waitUntil(() -> queue.getSubmission(submission.id()).status() == PledgeSubmissionStatus.PERSISTED);
+    }
+
+    @Test
+    @DisplayName("Should keep pledges journaled while the database is unavailable")
+    void stop_whenDatabaseUnavailable_shouldKeepPledgesJournaled() throws Exception {
+        when(batchWriter.persist(anyList())).thenThrow(new CannotCreateTransactionException("Could not open JDBC connection"));
+        start(true, 10, 10);
+        PledgeSubmissionDto submission = queue.submit(request).orElseThrow();
+        verify(batchWriter, timeout(2000).atLeast(2)).persist(anyList());
+        assertEquals(PledgeSubmissionStatus.QUEUED, queue.getSubmission(submission.id()).status());
+        queue.stop();
+
+        reset(batchWriter);
+        when(batchWriter.persist(anyList())).thenReturn(Map.of());
+        start(true, 10, 10);
+
+        verify(batchWriter, timeout(2000)).persist(argThat(batch ->
+                batch.size() == 1 && batch.get(0).publicId().equals(submission.id())));
+    }
+
+    @Test
+    @DisplayName("Should compact the journal down to the pending pledges")
+    void flush_whenJournalOverCompactionSize_shouldRewriteJournal() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchWriter.persist(anyList())).thenAnswer(invocation -> {
+            // Only the writer's first batch stays in flight; later batches commit at once.
+            if (writing.getCount() > 0) {
+                writing.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return Map.of();
+        });
+        start(true, 10, 1, DataSize.ofBytes(1));
+        PledgeSubmissionDto stuck = queue.submit(request).orElseThrow();
+        assertTrue(writing.await(2, TimeUnit.SECONDS));
+        PledgeSubmissionDto committed = queue.submit(request).orElseThrow();
+        QueuedPledge queued = new QueuedPledge(committed.id(), request, ZonedDateTime.now());
+
+        try {
+            queue.flush(List.of(queued));
+
+            List<String> lines = Files.readAllLines(tempDir.resolve("journal.log"));
+            assertEquals(1, lines.size());
+            assertTrue(lines.get(0).contains(stuck.id().toString()));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the journal whole when a rewrite fails and append to the rewritten one")
+    void rewrite_shouldReplaceJournalAtomically() throws Exception {
+        QueuedPledge completed = new QueuedPledge(UUID.randomUUID(), request, ZonedDateTime.now());
+        QueuedPledge pending = new QueuedPledge(UUID.randomUUID(), request, ZonedDateTime.now());
+        QueuedPledge acceptedAfterFailure = new QueuedPledge(UUID.randomUUID(), request, ZonedDateTime.now());
+        QueuedPledge acceptedAfterRewrite = new QueuedPledge(UUID.randomUUID(), request, ZonedDateTime.now());
+        Path path = tempDir.resolve("journal.log");
+        Path temporary = tempDir.resolve("journal.log.tmp");
+        try (PledgeJournal journal = new PledgeJournal(path, objectMapper)) {
+            journal.open();
+            journal.appendAccepted(List.of(completed, pending));
+            journal.appendCompleted(List.of(completed.publicId()));
+
+            Files.createDirectory(temporary);
+            assertThrows(IOException.class, () -> journal.rewrite(List.of(pending)));
+            journal.appendAccepted(acceptedAfterFailure);
+            Files.delete(temporary);
+
+            journal.rewrite(List.of(pending, acceptedAfterFailure));
+            journal.appendAccepted(acceptedAfterRewrite);
+        }
+
+        assertFalse(Files.exists(temporary));
+        try (PledgeJournal journal = new PledgeJournal(path, objectMapper)) {
+            assertEquals(List.of(pending.publicId(), acceptedAfterFailure.publicId(), acceptedAfterRewrite.publicId()),
+                    journal.open().stream().map(QueuedPledge::publicId).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay journaled pledges that were never committed")
+    void start_shouldRecoverJournaledPledges() throws Exception {
+        QueuedPledge committed = new QueuedPledge(UUID.randomUUID(), request, ZonedDateTime.now());
+        QueuedPledge lost = new QueuedPledge(UUID.randomUUID(), request, ZonedDateTime.now());
+        try (PledgeJournal journal = new PledgeJournal(tempDir.resolve("journal.log"), objectMapper)) {
+            journal.open();
+            journal.appendAccepted(committed);
+            journal.appendAccepted(lost);
+            journal.appendCompleted(List.of(committed.publicId()));
+        }
+        when(batchWriter.persist(anyList())).thenReturn(Map.of());
+
+        start(true, 10, 10);
+
+        verify(batchWriter, timeout(2000)).persist(argThat(batch ->
+                batch.size() == 1 && batch.get(0).publicId().equals(lost.publicId())
+                        && batch.get(0).request().equals(request)));
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
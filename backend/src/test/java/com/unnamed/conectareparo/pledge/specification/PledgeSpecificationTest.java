@@ -0,0 +1,233 @@
+package com.unnamed.conectareparo.pledge.specification;
+
+import com.unnamed.conectareparo.maintenance.entity.Maintenance;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.pledge.entity.Pledge;
+import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import com.unnamed.conectareparo.pledge.repository.PledgeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Pledge Specification Tests")
+class PledgeSpecificationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PledgeRepository repository;
+
+    private Maintenance maintenance;
+    private ZonedDateTime baseTime;
+
+    @BeforeEach
+    void setUp() {
+        baseTime = ZonedDateTime.parse("2030-05-10T12:00:00Z");
+        maintenance = new Maintenance("Roof Repair", "Description", MaintenanceCategory.BUILDING, baseTime.plusDays(30));
+        entityManager.persist(maintenance);
+
+        createAndPersistPledge("Maria Souza", "maria@example.com", PledgeCategory.LABOR, PledgeStatus.OFFERED, baseTime.minusDays(3));
+        createAndPersistPledge("João Pereira", "+55 49 99999-0000", PledgeCategory.MATERIAL, PledgeStatus.PENDING, baseTime.minusDays(2));
+        createAndPersistPledge("Ana Lima", "ana_lima@example.com", PledgeCategory.MATERIAL, PledgeStatus.COMPLETED, baseTime.minusDays(1));
+        createAndPersistPledge("Carlos Souza", "carlos@example.com", PledgeCategory.LABOR, PledgeStatus.CANCELED, baseTime);
+        entityManager.flush();
+    }
+
+    private Pledge createAndPersistPledge(String name, String contact, PledgeCategory type, PledgeStatus status, ZonedDateTime createdAt) {
+        Pledge pledge = new Pledge(maintenance, name, contact, "Description from " + name, type);
+        pledge.updateStatus(status);
+        ReflectionTestUtils.setField(pledge, "createdAt", createdAt);
+        entityManager.persist(pledge);
+        return pledge;
+    }
+
+    @Nested
+    @DisplayName("hasStatus(String status)")
+    class HasStatusTests {
+
+        @Test
+        @DisplayName("Should return all pledges when status is null or 'all'")
+        void shouldReturnAll_whenStatusIsNullOrAll() {
+            assertEquals(4, repository.findAll(PledgeSpecification.hasStatus(null)).size());
+            assertEquals(4, repository.findAll(PledgeSpecification.hasStatus("all")).size());
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"PENDING", "pending", "Pending"})
+        @DisplayName("Should return a specific status regardless of case")
+        void shouldReturnSpecificStatus_caseInsensitive(String statusValue) {
+            List<Pledge> results = repository.findAll(PledgeSpecification.hasStatus(statusValue));
+
+            assertEquals(1, results.size());
+            assertEquals(PledgeStatus.PENDING, results.get(0).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should return OFFERED and PENDING when status is 'open'")
+        void shouldReturnOpenGroup() {
+            List<Pledge> results = repository.findAll(PledgeSpecification.hasStatus("open"));
+
+            assertEquals(2, results.size());
+            assertTrue(results.stream().allMatch(p -> p.getStatus() == PledgeStatus.OFFERED || p.getStatus() == PledgeStatus.PENDING));
+        }
+
+        @Test
+        @DisplayName("Should return terminal statuses when status is 'closed'")
+        void shouldReturnClosedGroup() {
+            List<Pledge> results = repository.findAll(PledgeSpecification.hasStatus("closed"));
+
+            assertEquals(2, results.size());
+        }
+
+        @Test
+        @DisplayName("Should ignore an unknown status")
+        void shouldIgnoreUnknownStatus() {
+            assertEquals(4, repository.findAll(PledgeSpecification.hasStatus("UNKNOWN")).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("hasType(String type)")
+    class HasTypeTests {
+
+        @Test
+        @DisplayName("Should filter by type case insensitive")
+        void shouldFilterByType() {
+            List<Pledge> results = repository.findAll(PledgeSpecification.hasType("material"));
+
+            assertEquals(2, results.size());
+            assertTrue(results.stream().allMatch(p -> p.getType() == PledgeCategory.MATERIAL));
+        }
+
+        @Test
+        @DisplayName("Should return all pledges when type is blank")
+        void shouldReturnAll_whenTypeIsBlank() {
+            assertEquals(4, repository.findAll(PledgeSpecification.hasType(" ")).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("searchByVolunteer(String search)")
+    class SearchByVolunteerTests {
+
+        @Test
+        @DisplayName("Should match volunteer name case insensitive")
+        void shouldMatchName() {
+            List<Pledge> results = repository.findAll(PledgeSpecification.searchByVolunteer("SOUZA"));
+
+            assertEquals(2, results.size());
+        }
+
+        @Test
+        @DisplayName("Should match volunteer contact")
+        void shouldMatchContact() {
+            List<Pledge> results = repository.findAll(PledgeSpecification.searchByVolunteer("99999"));
+
+            assertEquals(1, results.size());
+            assertEquals("João Pereira", results.get(0).getVolunteerName());
+        }
+
+        @Test
+        @DisplayName("Should treat LIKE wildcards in the term literally")
+        void shouldEscapeWildcards() {
+            List<Pledge> results = repository.findAll(PledgeSpecification.searchByVolunteer("a_l"));
+
+            assertEquals(1, results.size());
+            assertEquals("Ana Lima", results.get(0).getVolunteerName());
+            assertTrue(repository.findAll(PledgeSpecification.searchByVolunteer("%")).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("createdBetween(ZonedDateTime start, ZonedDateTime end)")
+    class CreatedBetweenTests {
+
+        @Test
+        @DisplayName("Should use a half-open window")
+        void shouldUseHalfOpenWindow() {
+            List<Pledge> results = repository.findAll(PledgeSpecification.createdBetween(baseTime.minusDays(2), baseTime));
+
+            assertEquals(2, results.size());
+        }
+
+        @Test
+        @DisplayName("Should accept an open lower or upper bound")
+        void shouldAcceptOpenBounds() {
+            assertEquals(2, repository.findAll(PledgeSpecification.createdBetween(null, baseTime.minusDays(1))).size());
+            assertEquals(2, repository.findAll(PledgeSpecification.createdBetween(baseTime.minusDays(1), null)).size());
+            assertEquals(4, repository.findAll(PledgeSpecification.createdBetween(null, null)).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("createdSinceMaintenance(UUID maintenancePublicId)")
+    class CreatedSinceMaintenanceTests {
+
+        @Test
+        @DisplayName("Should keep pledges created on or after the maintenance")
+        void shouldKeepPledgesCreatedAfterMaintenance() {
+            assertEquals(4, repository.findAll(PledgeSpecification.createdSinceMaintenance(maintenance.getPublicId())).size());
+        }
+
+        @Test
+        @DisplayName("Should drop pledges dated before the maintenance")
+        void shouldDropPledgesDatedBeforeMaintenance() {
+            // Field writes through reflection bypass the enhanced dirty tracking, so update the row directly.
+            entityManager.getEntityManager()
+                    .createQuery("UPDATE Maintenance m SET m.createdAt = :createdAt WHERE m.id = :id")
+                    .setParameter("createdAt", baseTime.minusDays(1).minusHours(1))
+                    .setParameter("id", maintenance.getId())
+                    .executeUpdate();
+
+            assertEquals(2, repository.findAll(PledgeSpecification.createdSinceMaintenance(maintenance.getPublicId())).size());
+        }
+
+        @Test
+        @DisplayName("Should not filter when the maintenance has no creation time")
+        void shouldNotFilter_whenMaintenanceCreatedAtIsMissing() {
+            // The column is NOT NULL, so an unknown maintenance stands in for one without a creation time.
+            assertEquals(4, repository.findAll(PledgeSpecification.createdSinceMaintenance(UUID.randomUUID())).size());
+        }
+
+        @Test
+        @DisplayName("Should not filter when the maintenance ID is null")
+        void shouldNotFilter_whenMaintenanceIdIsNull() {
+            assertEquals(4, repository.findAll(PledgeSpecification.createdSinceMaintenance(null)).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should combine all filters")
+    void shouldCombineFilters() {
+        Specification<Pledge> spec = Specification.allOf(
+                PledgeSpecification.hasStatus("open"),
+                PledgeSpecification.hasType("LABOR"),
+                PledgeSpecification.searchByVolunteer("souza"),
+                PledgeSpecification.createdBetween(baseTime.minusDays(5), null)
+        );
+
+        List<Pledge> results = repository.findAll(spec);
+
+        assertEquals(1, results.size());
+        assertEquals("Maria Souza", results.get(0).getVolunteerName());
+    }
+}
@@ -0,0 +1,161 @@
+package com.unnamed.conectareparo.search.integration;
+
+import com.unnamed.conectareparo.common.sqlstats.QueryBudget;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceDto;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceResponseDto;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceUpdateDto;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.maintenance.service.MaintenanceService;
+import com.unnamed.conectareparo.maintenanceaction.dto.MaintenanceActionDto;
+import com.unnamed.conectareparo.maintenanceaction.dto.MaintenanceActionResponseDto;
+import com.unnamed.conectareparo.maintenanceaction.dto.MaterialDto;
+import com.unnamed.conectareparo.maintenanceaction.entity.ActionStatus;
+import com.unnamed.conectareparo.maintenanceaction.service.MaintenanceActionService;
+import com.unnamed.conectareparo.pledge.dto.PledgeDto;
+import com.unnamed.conectareparo.pledge.dto.PledgeResponseDto;
+import com.unnamed.conectareparo.pledge.dto.PledgeUpdateDto;
+import com.unnamed.conectareparo.pledge.entity.PledgeCategory;
+import com.unnamed.conectareparo.pledge.entity.PledgeStatus;
+import com.unnamed.conectareparo.pledge.service.PledgeService;
+import com.unnamed.conectareparo.search.index.SearchIndexer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs searches against the embedded index, which the test profile otherwise disables.
+ */
+@SpringBootTest(properties = "conectareparo.search.enabled=true")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DisplayName("Search Integration Tests")
+class SearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MaintenanceService maintenanceService;
+    @Autowired
+    private MaintenanceActionService maintenanceActionService;
+    @Autowired
+    private PledgeService pledgeService;
+    @Autowired
+    private SearchIndexer indexer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        indexer.refresh();
+    }
+
+    private MaintenanceResponseDto maintenance(String title, String description) {
+        return maintenanceService.createMaintenance(new MaintenanceDto(
+                title, description, MaintenanceCategory.BUILDING, ZonedDateTime.now().plusDays(2)));
+    }
+
+    private PledgeResponseDto pledge(MaintenanceResponseDto maintenance, String volunteerName, String description) {
+        return pledgeService.createPledge(new PledgeDto(
+                maintenance.id(), volunteerName, "volunteer@example.com", description, PledgeCategory.MATERIAL, null));
+    }
+
+    private MaintenanceActionResponseDto action(MaintenanceResponseDto maintenance, String description, String material) {
+        return maintenanceActionService.createMaintenanceAction(maintenance.id(), new MaintenanceActionDto(
+                "Search Crew", ZonedDateTime.now().minusDays(1), ZonedDateTime.now(), description,
+                List.of(new MaterialDto(material, BigDecimal.ONE, "un")), ActionStatus.SUCCESS));
+    }
+
+    @Test
+    @QueryBudget(0)
+    @DisplayName("Should find every kind of entity without touching the database and count them per facet")
+    void shouldSearchAllEntitiesWithFacets() throws Exception {
+        MaintenanceResponseDto maintenance = maintenance("Search Test: Claraboia quebrada", "Vidro da claraboia rachou na chuva");
+        PledgeResponseDto pledge = pledge(maintenance, "Joana Vidraceira", "Posso doar vidro para a claraboia");
+        MaintenanceActionResponseDto action = action(maintenance, "Removido o vidro da claraboia", "Silicone");
+        indexer.refresh();
+
+        mockMvc.perform(get("/api/v1/search").param("q", "claraboia"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits.totalElements").value(3))
+                .andExpect(jsonPath("$.hits.countMode").value("EXACT"))
+                .andExpect(jsonPath("$.facets.type.MAINTENANCE").value(1))
+                .andExpect(jsonPath("$.facets.type.PLEDGE").value(1))
+                .andExpect(jsonPath("$.facets.type.ACTION").value(1))
+                .andExpect(jsonPath("$.facets.status.OPEN").value(1))
+                .andExpect(jsonPath("$.facets.status.OFFERED").value(1))
+                .andExpect(jsonPath("$.facets.status.SUCCESS").value(1));
+
+        mockMvc.perform(get("/api/v1/search").param("q", "claraboia").param("type", "PLEDGE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits.content.length()").value(1))
+                .andExpect(jsonPath("$.hits.content[0].id").value(pledge.id().toString()))
+                .andExpect(jsonPath("$.hits.content[0].maintenanceId").value(maintenance.id().toString()))
+                .andExpect(jsonPath("$.hits.content[0].title").value("Joana Vidraceira"))
+                .andExpect(jsonPath("$.hits.content[0].excerpt").value("Posso doar vidro para a claraboia"))
+                // Each facet ignores its own filter.
+                .andExpect(jsonPath("$.facets.type.ACTION").value(1))
+                .andExpect(jsonPath("$.facets.status.OFFERED").value(1))
+                .andExpect(jsonPath("$.facets.status.OPEN").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/search").param("q", "silicone").param("type", "ACTION"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits.content[0].id").value(action.id().toString()))
+                .andExpect(jsonPath("$.hits.content[0].title").value("Search Crew"));
+    }
+
+    @Test
+    @DisplayName("Should ignore accents, case and plurals")
+    void shouldNormalizeWords() throws Exception {
+        MaintenanceResponseDto maintenance = maintenance("Search Test: Calhas", "Trocar as calhas e os rufos de alumínio");
+        indexer.refresh();
+
+        mockMvc.perform(get("/api/v1/search").param("q", "RUFO aluminio").param("type", "MAINTENANCE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits.content.length()").value(1))
+                .andExpect(jsonPath("$.hits.content[0].id").value(maintenance.id().toString()));
+        mockMvc.perform(get("/api/v1/search").param("q", "alumín*").param("type", "MAINTENANCE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits.content[0].id").value(maintenance.id().toString()));
+    }
+
+    @Test
+    @DisplayName("Should reflect status changes once they commit")
+    void shouldReindexChanges() throws Exception {
+        MaintenanceResponseDto maintenance = maintenance("Search Test: Escada de incêndio", "Corrimão solto");
+        PledgeResponseDto pledge = pledge(maintenance, "Carlos Serralheiro", "Solda para o corrimão");
+        indexer.refresh();
+        pledgeService.updatePledge(pledge.id(), new PledgeUpdateDto(null, null, null, null, PledgeStatus.REJECTED));
+        maintenanceService.updateMaintenance(maintenance.id(), new MaintenanceUpdateDto(null, null, null, MaintenanceStatus.CANCELED));
+        indexer.refresh();
+
+        mockMvc.perform(get("/api/v1/search").param("q", "corrimao").param("status", "rejected"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits.content.length()").value(1))
+                .andExpect(jsonPath("$.hits.content[0].id").value(pledge.id().toString()))
+                .andExpect(jsonPath("$.facets.status.CANCELED").value(1))
+                .andExpect(jsonPath("$.facets.status.OFFERED").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should reject missing queries, unknown types and deep pages")
+    void shouldRejectInvalidRequests() throws Exception {
+        mockMvc.perform(get("/api/v1/search"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/search").param("q", "claraboia").param("type", "ROOF"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/search").param("q", "claraboia").param("page", "50").param("size", "100"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,79 @@
+package com.unnamed.conectareparo.search.service;
+
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import com.unnamed.conectareparo.search.exception.SearchUnavailableException;
+import com.unnamed.conectareparo.search.index.SearchIndex;
+import com.unnamed.conectareparo.search.index.SearchProperties;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Search Service Tests")
+class SearchServiceTest {
+
+    @Mock
+    private SearchIndex searchIndex;
+
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        SearchProperties properties = new SearchProperties(true, Path.of("unused"), Duration.ofSeconds(1),
+                Duration.ofSeconds(30), 500, 20, 50, 200);
+        searchService = new SearchService(searchIndex, properties);
+    }
+
+    @Test
+    @DisplayName("Should apply the default page and normalize the status")
+    void shouldApplyDefaults() {
+        when(searchIndex.isReady()).thenReturn(true);
+
+        searchService.search("cimento", SyncEntityType.PLEDGE, " offered ", null, null);
+
+        verify(searchIndex).search("cimento", SyncEntityType.PLEDGE, "OFFERED", 0, 20);
+    }
+
+    @Test
+    @DisplayName("Should reject blank queries and sizes out of range")
+    void shouldRejectInvalidArguments() {
+        assertThrows(BadRequestException.class, () -> searchService.search(" ", null, null, null, null));
+        assertThrows(BadRequestException.class, () -> searchService.search("x".repeat(201), null, null, null, null));
+        assertThrows(BadRequestException.class, () -> searchService.search("cimento", null, null, null, 0));
+        assertThrows(BadRequestException.class, () -> searchService.search("cimento", null, null, null, 51));
+        assertThrows(BadRequestException.class, () -> searchService.search("cimento", null, null, -1, null));
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    @DisplayName("Should reject pages beyond the result window")
+    void shouldRejectDeepPages() {
+        when(searchIndex.isReady()).thenReturn(true);
+
+        searchService.search("cimento", null, null, 3, 50);
+
+        assertThrows(BadRequestException.class, () -> searchService.search("cimento", null, null, 4, 50));
+    }
+
+    @Test
+    @DisplayName("Should refuse searches until the index is built")
+    void shouldRefuseUntilReady() {
+        when(searchIndex.isReady()).thenReturn(false);
+
+        assertThrows(SearchUnavailableException.class, () -> searchService.search("cimento", null, null, null, null));
+        verify(searchIndex, never()).search(anyString(), any(), any(), anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,81 @@
+package com.unnamed.conectareparo.statustransition.controller;
+
+import com.unnamed.conectareparo.statustransition.dto.StatusTimelineResponseDto;
+import com.unnamed.conectareparo.statustransition.dto.StatusTransitionResponseDto;
+import com.unnamed.conectareparo.statustransition.entity.StatusEntityType;
+import com.unnamed.conectareparo.statustransition.service.StatusTransitionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@WebMvcTest(StatusTransitionController.class)
+@DisplayName("Status Transition Controller Tests")
+class StatusTransitionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private StatusTransitionService statusTransitionService;
+
+    private final UUID entityId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("GET /api/v1/status-transitions with entityId - Should return the entity timeline")
+    void getTimeline_withEntity_shouldReturnEntityTimeline() throws Exception {
+        StatusTimelineResponseDto timeline = new StatusTimelineResponseDto(List.of(new StatusTransitionResponseDto(
+                StatusEntityType.PLEDGE, entityId, "PENDING", "COMPLETED", ZonedDateTime.parse("2025-10-10T10:10:10Z"))),
+                true, "next");
+        when(statusTransitionService.getEntityTimeline(StatusEntityType.PLEDGE, entityId, null, 1)).thenReturn(timeline);
+
+        mockMvc.perform(get("/api/v1/status-transitions")
+                        .param("entityType", "PLEDGE")
+                        .param("entityId", entityId.toString())
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].toStatus").value("COMPLETED"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/status-transitions without entityId - Should return the time window")
+    void getTimeline_withoutEntity_shouldReturnWindow() throws Exception {
+        when(statusTransitionService.getWindow(eq(StatusEntityType.MAINTENANCE), any(ZonedDateTime.class), isNull(), isNull(), isNull()))
+                .thenReturn(new StatusTimelineResponseDto(List.of(), false, null));
+
+        mockMvc.perform(get("/api/v1/status-transitions")
+                        .param("entityType", "MAINTENANCE")
+                        .param("from", "2025-10-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty())
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/status-transitions - Should return 400 when entityId is given without entityType")
+    void getTimeline_withEntityIdOnly_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/status-transitions").param("entityId", entityId.toString()))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(statusTransitionService);
+    }
+}
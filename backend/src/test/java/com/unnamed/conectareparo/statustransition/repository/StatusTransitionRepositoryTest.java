@@ -0,0 +1,94 @@
+package com.unnamed.conectareparo.statustransition.repository;
+
+import com.unnamed.conectareparo.statustransition.entity.StatusEntityType;
+import com.unnamed.conectareparo.statustransition.entity.StatusTransition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Status Transition Repository Tests")
+class StatusTransitionRepositoryTest {
+
+    private static final ZonedDateTime END_OF_TIME = ZonedDateTime.of(9999, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC);
+    private static final ZonedDateTime BASE = ZonedDateTime.parse("2025-10-01T12:00:00Z");
+
+    @Autowired
+    private StatusTransitionRepository statusTransitionRepository;
+
+    private final UUID maintenanceId = UUID.randomUUID();
+    private final UUID pledgeId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        statusTransitionRepository.saveAll(List.of(
+                new StatusTransition(StatusEntityType.MAINTENANCE, maintenanceId, null, "OPEN", BASE),
+                new StatusTransition(StatusEntityType.MAINTENANCE, maintenanceId, "OPEN", "IN_PROGRESS", BASE.plusDays(1)),
+                new StatusTransition(StatusEntityType.MAINTENANCE, maintenanceId, "IN_PROGRESS", "COMPLETED", BASE.plusDays(2)),
+                new StatusTransition(StatusEntityType.PLEDGE, pledgeId, null, "PENDING", BASE.plusDays(1)),
+                new StatusTransition(StatusEntityType.PLEDGE, pledgeId, "PENDING", "COMPLETED", BASE.plusDays(3))
+        ));
+    }
+
+    @Test
+    @DisplayName("Should page through one entity's timeline newest first without overlap")
+    void findEntityTimeline_shouldSeekPastCursor() {
+        List<StatusTransition> firstPage = statusTransitionRepository.findEntityTimeline(
+                StatusEntityType.MAINTENANCE.name(), maintenanceId, END_OF_TIME, Long.MAX_VALUE, 2);
+        StatusTransition last = firstPage.get(1);
+        List<StatusTransition> secondPage = statusTransitionRepository.findEntityTimeline(
+                StatusEntityType.MAINTENANCE.name(), maintenanceId, last.getChangedAt(), last.getId(), 2);
+
+        assertEquals(List.of("COMPLETED", "IN_PROGRESS"), firstPage.stream().map(StatusTransition::getToStatus).toList());
+        assertEquals(1, secondPage.size());
+        assertEquals("OPEN", secondPage.get(0).getToStatus());
+        assertNull(secondPage.get(0).getFromStatus());
+    }
+
+    @Test
+    @DisplayName("Should keep ties on changed_at apart by id")
+    void findEntityTimeline_shouldBreakTiesById() {
+        statusTransitionRepository.save(new StatusTransition(StatusEntityType.MAINTENANCE, maintenanceId, "COMPLETED", "COMPLETED", BASE.plusDays(2)));
+
+        List<StatusTransition> firstPage = statusTransitionRepository.findEntityTimeline(
+                StatusEntityType.MAINTENANCE.name(), maintenanceId, END_OF_TIME, Long.MAX_VALUE, 1);
+        StatusTransition last = firstPage.get(0);
+        List<StatusTransition> secondPage = statusTransitionRepository.findEntityTimeline(
+                StatusEntityType.MAINTENANCE.name(), maintenanceId, last.getChangedAt(), last.getId(), 1);
+
+        assertEquals(last.getChangedAt().toInstant(), secondPage.get(0).getChangedAt().toInstant());
+        assertTrue(secondPage.get(0).getId() < last.getId());
+    }
+
+    @Test
+    @DisplayName("Should return the transitions of a time window across entity types")
+    void findWindow_withoutType_shouldReturnAllTypesInWindow() {
+        List<StatusTransition> window = statusTransitionRepository.findWindow(
+                null, BASE.plusDays(1), BASE.plusDays(3), END_OF_TIME, Long.MAX_VALUE, 10);
+
+        assertEquals(3, window.size());
+        assertEquals(BASE.plusDays(2).toInstant(), window.get(0).getChangedAt().toInstant());
+        assertTrue(window.stream().noneMatch(transition -> transition.getChangedAt().toInstant().equals(BASE.plusDays(3).toInstant())));
+    }
+
+    @Test
+    @DisplayName("Should restrict a time window to one entity type")
+    void findWindow_withType_shouldFilterByType() {
+        List<StatusTransition> window = statusTransitionRepository.findWindow(
+                StatusEntityType.PLEDGE.name(), BASE, BASE.plusDays(4), END_OF_TIME, Long.MAX_VALUE, 10);
+
+        assertEquals(2, window.size());
+        assertTrue(window.stream().allMatch(transition -> transition.getEntityType() == StatusEntityType.PLEDGE));
+    }
+}
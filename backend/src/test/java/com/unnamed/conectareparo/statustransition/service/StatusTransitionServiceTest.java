@@ -0,0 +1,110 @@
+package com.unnamed.conectareparo.statustransition.service;
+
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.statustransition.dto.StatusTimelineResponseDto;
+import com.unnamed.conectareparo.statustransition.entity.StatusEntityType;
+import com.unnamed.conectareparo.statustransition.entity.StatusTransition;
+import com.unnamed.conectareparo.statustransition.repository.StatusTransitionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Status Transition Service Tests")
+class StatusTransitionServiceTest {
+
+    @Mock
+    private StatusTransitionRepository statusTransitionRepository;
+    @InjectMocks
+    private StatusTransitionService statusTransitionService;
+
+    private final UUID entityId = UUID.randomUUID();
+
+    private StatusTransition transition(long id, ZonedDateTime changedAt) {
+        StatusTransition transition = new StatusTransition(StatusEntityType.MAINTENANCE, entityId, "OPEN", "IN_PROGRESS", changedAt);
+        ReflectionTestUtils.setField(transition, "id", id);
+        return transition;
+    }
+
+    @Test
+    @DisplayName("Should record a change with the previous and new status")
+    void recordChange_shouldSaveTransition() {
+        statusTransitionService.recordChange(StatusEntityType.MAINTENANCE, entityId, MaintenanceStatus.OPEN, MaintenanceStatus.IN_PROGRESS);
+
+        ArgumentCaptor<StatusTransition> captor = ArgumentCaptor.forClass(StatusTransition.class);
+        verify(statusTransitionRepository).save(captor.capture());
+        assertEquals("OPEN", captor.getValue().getFromStatus());
+        assertEquals("IN_PROGRESS", captor.getValue().getToStatus());
+        assertEquals(entityId, captor.getValue().getEntityPublicId());
+    }
+
+    @Test
+    @DisplayName("Should not record anything when the status did not change")
+    void recordChange_whenUnchanged_shouldNotSave() {
+        statusTransitionService.recordChange(StatusEntityType.MAINTENANCE, entityId, MaintenanceStatus.OPEN, MaintenanceStatus.OPEN);
+
+        verifyNoInteractions(statusTransitionRepository);
+    }
+
+    @Test
+    @DisplayName("Should fetch one extra row and hand out a cursor that resumes after the last one returned")
+    void getEntityTimeline_shouldDeriveNextCursor() {
+        ZonedDateTime changedAt = ZonedDateTime.parse("2025-10-10T10:10:10Z");
+        when(statusTransitionRepository.findEntityTimeline(eq("MAINTENANCE"), eq(entityId), any(), anyLong(), eq(3)))
+                .thenReturn(List.of(transition(9, changedAt.plusHours(2)), transition(7, changedAt), transition(5, changedAt.minusHours(1))));
+
+        StatusTimelineResponseDto firstPage = statusTransitionService.getEntityTimeline(StatusEntityType.MAINTENANCE, entityId, null, 2);
+
+        assertTrue(firstPage.hasNext());
+        assertEquals(2, firstPage.content().size());
+
+        when(statusTransitionRepository.findEntityTimeline(eq("MAINTENANCE"), eq(entityId), any(), anyLong(), anyInt()))
+                .thenReturn(List.of());
+        statusTransitionService.getEntityTimeline(StatusEntityType.MAINTENANCE, entityId, firstPage.nextCursor(), 2);
+
+        verify(statusTransitionRepository).findEntityTimeline("MAINTENANCE", entityId, changedAt, 7L, 3);
+    }
+
+    @Test
+    @DisplayName("Should not hand out a cursor on the last page")
+    void getEntityTimeline_onLastPage_shouldHaveNoCursor() {
+        when(statusTransitionRepository.findEntityTimeline(any(), any(), any(), anyLong(), anyInt()))
+                .thenReturn(List.of(transition(1, ZonedDateTime.now())));
+
+        StatusTimelineResponseDto page = statusTransitionService.getEntityTimeline(StatusEntityType.MAINTENANCE, entityId, null, null);
+
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+        verify(statusTransitionRepository).findEntityTimeline(any(), any(), any(), anyLong(), eq(StatusTransitionService.DEFAULT_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor, an out of range size and an inverted window")
+    void shouldRejectInvalidArguments() {
+        assertThrows(BadRequestException.class,
+                () -> statusTransitionService.getEntityTimeline(StatusEntityType.PLEDGE, entityId, "not-a-cursor", null));
+        assertThrows(BadRequestException.class,
+                () -> statusTransitionService.getEntityTimeline(StatusEntityType.PLEDGE, entityId, null, StatusTransitionService.MAX_PAGE_SIZE + 1));
+        ZonedDateTime now = ZonedDateTime.now();
+        assertThrows(BadRequestException.class,
+                () -> statusTransitionService.getWindow(null, now, now.minusDays(1), null, null));
+        verifyNoInteractions(statusTransitionRepository);
+    }
+}
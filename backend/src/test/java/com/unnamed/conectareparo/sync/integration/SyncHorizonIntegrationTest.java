@@ -0,0 +1,66 @@
+package com.unnamed.conectareparo.sync.integration;
+
+import com.unnamed.conectareparo.common.postgres.PostgresIntegrationTest;
+import com.unnamed.conectareparo.sync.dto.SyncResponseDto;
+import com.unnamed.conectareparo.sync.dto.SyncTombstoneDto;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.service.SyncService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Changes recorded for entities that do not exist come back as tombstones, so the delta shows which changes a
+ * sync returned without loading anything.
+ */
+@PostgresIntegrationTest
+@DisplayName("Sync Horizon Tests")
+class SyncHorizonIntegrationTest {
+
+    @Autowired
+    private SyncService syncService;
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Should hold back changes behind a running transaction and deliver its change once it commits")
+    void shouldNotSkipChangesThatCommitLate() throws SQLException {
+        String token = syncService.getChanges(null, null).nextToken();
+        UUID late = UUID.randomUUID();
+        UUID early = UUID.randomUUID();
+
+        try (Connection slow = dataSource.getConnection(); Connection fast = dataSource.getConnection()) {
+            slow.setAutoCommit(false);
+            fast.setAutoCommit(false);
+            recordChange(slow, late);
+            recordChange(fast, early);
+            fast.commit();
+
+            SyncResponseDto held = syncService.getChanges(token, 100);
+            assertTrue(held.deleted().isEmpty(), "a change after the running transaction's is not settled yet");
+
+            slow.commit();
+            SyncResponseDto delivered = syncService.getChanges(held.nextToken(), 100);
+            assertEquals(List.of(new SyncTombstoneDto(SyncEntityType.MAINTENANCE, late),
+                    new SyncTombstoneDto(SyncEntityType.MAINTENANCE, early)), delivered.deleted());
+        }
+    }
+
+    private static void recordChange(Connection connection, UUID publicId) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO sync_change "
+                + "(entity_type, entity_public_id, deleted, changed_at) VALUES ('MAINTENANCE', ?, FALSE, now())")) {
+            insert.setObject(1, publicId);
+            insert.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.unnamed.conectareparo.sync.invalidation;
+
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.service.SyncChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Cache Invalidation Bus Tests")
+class CacheInvalidationBusTest {
+
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+    private final UUID third = UUID.randomUUID();
+
+    @Nested
+    @DisplayName("InvalidationMessage")
+    class MessageTests {
+
+        @Test
+        @DisplayName("Should split ids over several payloads and parse them back")
+        void encode_shouldChunkAndRoundTrip() {
+            List<String> payloads = InvalidationMessage.encode("node1", SyncEntityType.PLEDGE, List.of(first, second, third), 2);
+
+            assertEquals(2, payloads.size());
+            assertEquals("node1|P|" + first + "," + second, payloads.get(0));
+            InvalidationMessage last = InvalidationMessage.parse(payloads.get(1));
+            assertEquals("node1", last.nodeId());
+            assertEquals(SyncEntityType.PLEDGE, last.entityType());
+            assertEquals(List.of(third), last.entityPublicIds());
+        }
+
+        @Test
+        @DisplayName("Should reject malformed payloads")
+        void parse_shouldRejectMalformedPayloads() {
+            assertThrows(IllegalArgumentException.class, () -> InvalidationMessage.parse("node1|P"));
+            assertThrows(IllegalArgumentException.class, () -> InvalidationMessage.parse("node1|X|" + first));
+            assertThrows(IllegalArgumentException.class, () -> InvalidationMessage.parse("node1|M|not-a-uuid"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bus")
+    class BusTests {
+
+        private InvalidatableCache cache;
+        private JdbcTemplate jdbcTemplate;
+        private CacheInvalidationBus bus;
+
+        @BeforeEach
+        void setUp() {
+            cache = mock(InvalidatableCache.class);
+            jdbcTemplate = mock(JdbcTemplate.class);
+            bus = new CacheInvalidationBus(List.of(cache), jdbcTemplate, mock(PlatformTransactionManager.class),
+                    new DataSourceProperties(),
+                    new CacheInvalidationProperties(true, "test_channel", Duration.ofMillis(100), Duration.ofSeconds(1), 150));
+        }
+
+        @Test
+        @DisplayName("Should evict locally and then notify other nodes once the change commits")
+        void shouldEvictAndNotifyOnCommit() {
+            bus.onCommitted(new SyncChangeEvent(SyncEntityType.MAINTENANCE, List.of(first)));
+
+            InOrder order = inOrder(cache, jdbcTemplate);
+            order.verify(cache).evict(SyncEntityType.MAINTENANCE, List.of(first));
+            order.verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class), eq("test_channel"), anyString());
+        }
+
+        @Test
+        @DisplayName("Should not fail the committed write when the notification fails")
+        void shouldSwallowNotificationFailures() {
+            doThrow(new DataAccessResourceFailureException("connection lost"))
+                    .when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any());
+
+            assertDoesNotThrow(() -> bus.onCommitted(new SyncChangeEvent(SyncEntityType.PLEDGE, List.of(first))));
+            verify(cache).evict(SyncEntityType.PLEDGE, List.of(first));
+        }
+
+        @Test
+        @DisplayName("Should evict what other nodes changed and ignore its own notifications")
+        void receive_shouldIgnoreOwnNotifications() {
+            bus.onCommitted(new SyncChangeEvent(SyncEntityType.ACTION, List.of(first)));
+            ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+            verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq("test_channel"), payload.capture());
+            clearInvocations(cache);
+
+            bus.receive((String) payload.getValue());
+            verifyNoInteractions(cache);
+
+            bus.receive("othernode|A|" + second);
+            verify(cache).evict(SyncEntityType.ACTION, List.of(second));
+        }
+
+        @Test
+        @DisplayName("Should reject channel names that are not plain identifiers")
+        void shouldRejectInvalidChannel() {
+            assertThrows(IllegalArgumentException.class, () -> new CacheInvalidationBus(List.of(cache), jdbcTemplate,
+                    mock(PlatformTransactionManager.class), new DataSourceProperties(), new CacheInvalidationProperties(true, "x; DROP TABLE maintenance", Duration.ofMillis(100),
+                            Duration.ofSeconds(1), 150)));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.unnamed.conectareparo.sync.repository;
+
+/**
+ * Stand-ins for the transaction id functions of V15__sync_change_xid.sql, registered by the H2 test schema.
+ * H2 tests read the change log only after the writes they check have committed, so every change gets the
+ * same transaction id, which leaves {@code seq} to order them, and every change is settled.
+ */
+public final class H2SyncXactFunctions {
+
+    private H2SyncXactFunctions() {
+    }
+
+    public static long xactId() {
+        return 1;
+    }
+
+    public static long xactHorizon() {
+        return Long.MAX_VALUE;
+    }
+}
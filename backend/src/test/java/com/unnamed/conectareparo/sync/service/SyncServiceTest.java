@@ -0,0 +1,148 @@
+package com.unnamed.conectareparo.sync.service;
+
+import com.unnamed.conectareparo.common.exception.BadRequestException;
+import com.unnamed.conectareparo.maintenance.dto.MaintenanceResponseDto;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceCategory;
+import com.unnamed.conectareparo.maintenance.entity.MaintenanceStatus;
+import com.unnamed.conectareparo.maintenance.service.MaintenanceService;
+import com.unnamed.conectareparo.maintenanceaction.service.MaintenanceActionService;
+import com.unnamed.conectareparo.pledge.service.PledgeService;
+import com.unnamed.conectareparo.sync.dto.SyncResponseDto;
+import com.unnamed.conectareparo.sync.dto.SyncTombstoneDto;
+import com.unnamed.conectareparo.sync.entity.SyncChange;
+import com.unnamed.conectareparo.sync.entity.SyncEntityType;
+import com.unnamed.conectareparo.sync.exception.SyncTokenExpiredException;
+import com.unnamed.conectareparo.sync.repository.SyncChangeRepository;
+import com.unnamed.conectareparo.sync.repository.SyncPosition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sync Service Tests")
+class SyncServiceTest {
+
+    @Mock
+    private SyncChangeRepository syncChangeRepository;
+    @Mock
+    private MaintenanceService maintenanceService;
+    @Mock
+    private PledgeService pledgeService;
+    @Mock
+    private MaintenanceActionService maintenanceActionService;
+
+    private SyncService syncService;
+
+    private final UUID maintenanceId = UUID.randomUUID();
+    private final UUID pledgeId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        SyncProperties properties = new SyncProperties(2, 10, Duration.ofDays(30), Duration.ofHours(1));
+        syncService = new SyncService(syncChangeRepository, maintenanceService, pledgeService, maintenanceActionService, properties);
+    }
+
+    private static SyncChange change(long xid, long seq, SyncEntityType type, UUID id, boolean deleted) {
+        SyncChange change = new SyncChange(type, id, deleted, ZonedDateTime.now());
+        ReflectionTestUtils.setField(change, "xid", xid);
+        ReflectionTestUtils.setField(change, "seq", seq);
+        return change;
+    }
+
+    private static String token(long xid, long seq) {
+        return new SyncToken(new SyncPosition(xid, seq), Instant.now()).encode();
+    }
+
+    private MaintenanceResponseDto maintenanceDto(UUID id) {
+        ZonedDateTime now = ZonedDateTime.now();
+        return new MaintenanceResponseDto(id, "Title", "Description", MaintenanceCategory.BUILDING, now, MaintenanceStatus.OPEN, now, now, null);
+    }
+
+    @Test
+    @DisplayName("Should start with an empty delta and a token at the last settled change")
+    void getChanges_withoutToken_shouldReturnBootstrapToken() {
+        when(syncChangeRepository.findSettledPosition()).thenReturn(new SyncPosition(7, 41));
+
+        SyncResponseDto response = syncService.getChanges(null, null);
+
+        assertTrue(response.maintenances().isEmpty());
+        assertFalse(response.hasMore());
+        assertEquals(new SyncPosition(7, 41), SyncToken.decode(response.nextToken()).position());
+        verify(syncChangeRepository, never()).findSettledAfter(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should collapse repeated changes, load live entities and return tombstones")
+    void getChanges_shouldCollapseAndSplitLiveFromDeleted() {
+        when(syncChangeRepository.findSettledAfter(new SyncPosition(7, 10), 3)).thenReturn(List.of(
+                change(7, 11, SyncEntityType.MAINTENANCE, maintenanceId, false),
+                change(9, 4, SyncEntityType.PLEDGE, pledgeId, true)));
+        when(maintenanceService.getMaintenancesByPublicIds(List.of(maintenanceId))).thenReturn(List.of(maintenanceDto(maintenanceId)));
+        when(pledgeService.getPledgesByPublicIds(anyCollection())).thenReturn(List.of());
+        when(maintenanceActionService.getActionsByPublicIds(anyCollection())).thenReturn(List.of());
+
+        SyncResponseDto response = syncService.getChanges(token(7, 10), null);
+
+        assertEquals(1, response.maintenances().size());
+        assertEquals(List.of(new SyncTombstoneDto(SyncEntityType.PLEDGE, pledgeId)), response.deleted());
+        assertFalse(response.hasMore());
+        assertEquals(new SyncPosition(9, 4), SyncToken.decode(response.nextToken()).position());
+    }
+
+    @Test
+    @DisplayName("Should keep the client's position while no change after it is settled")
+    void getChanges_whenNothingSettled_shouldKeepPosition() {
+        when(syncChangeRepository.findSettledAfter(new SyncPosition(7, 10), 3)).thenReturn(List.of());
+
+        SyncResponseDto response = syncService.getChanges(token(7, 10), null);
+
+        assertEquals(new SyncPosition(7, 10), SyncToken.decode(response.nextToken()).position());
+        assertFalse(response.hasMore());
+        assertTrue(response.deleted().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should report more changes when the page is full and tombstone entities that vanished")
+    void getChanges_whenPageIsFull_shouldReportHasMore() {
+        when(syncChangeRepository.findSettledAfter(SyncPosition.START, 3)).thenReturn(List.of(
+                change(5, 1, SyncEntityType.MAINTENANCE, maintenanceId, false),
+                change(5, 2, SyncEntityType.MAINTENANCE, maintenanceId, false),
+                change(6, 3, SyncEntityType.PLEDGE, pledgeId, false)));
+        when(maintenanceService.getMaintenancesByPublicIds(List.of(maintenanceId))).thenReturn(List.of());
+        when(pledgeService.getPledgesByPublicIds(anyCollection())).thenReturn(List.of());
+        when(maintenanceActionService.getActionsByPublicIds(anyCollection())).thenReturn(List.of());
+
+        SyncResponseDto response = syncService.getChanges(token(0, 0), null);
+
+        assertTrue(response.hasMore());
+        assertEquals(new SyncPosition(5, 2), SyncToken.decode(response.nextToken()).position());
+        assertEquals(List.of(new SyncTombstoneDto(SyncEntityType.MAINTENANCE, maintenanceId)), response.deleted());
+    }
+
+    @Test
+    @DisplayName("Should reject expired and malformed tokens and out of range limits")
+    void getChanges_shouldRejectInvalidArguments() {
+        String expired = new SyncToken(new SyncPosition(3, 5), Instant.now().minus(Duration.ofDays(31))).encode();
+
+        assertThrows(SyncTokenExpiredException.class, () -> syncService.getChanges(expired, null));
+        assertThrows(BadRequestException.class, () -> syncService.getChanges("not-a-token", null));
+        assertThrows(BadRequestException.class, () -> syncService.getChanges(token(1, 1), 11));
+        verifyNoInteractions(syncChangeRepository);
+    }
+}
@@ -0,0 +1,77 @@
+-- Stand-ins for the functions of V15__sync_change_xid.sql; the sync_change table Hibernate creates uses the first
+-- as its xid default.
+CREATE ALIAS IF NOT EXISTS sync_xact_id FOR "com.unnamed.conectareparo.sync.repository.H2SyncXactFunctions.xactId";
+CREATE ALIAS IF NOT EXISTS sync_xact_horizon FOR "com.unnamed.conectareparo.sync.repository.H2SyncXactFunctions.xactHorizon";
+
+-- Tables that are not mapped by JPA entities, so Hibernate does not create them for the H2 test database.
+-- Archive tables (read through @Subselect entities) mirror V7__archive_tables.sql.
+CREATE TABLE IF NOT EXISTS maintenance_archive (
+    id BIGINT PRIMARY KEY,
+    public_id UUID NOT NULL UNIQUE,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    category VARCHAR(100),
+    scheduled_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    overdue_since TIMESTAMP WITH TIME ZONE,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS pledge_archive (
+    id BIGINT PRIMARY KEY,
+    public_id UUID NOT NULL UNIQUE,
+    maintenance_id BIGINT NOT NULL,
+    volunteer_name VARCHAR(255) NOT NULL,
+    volunteer_contact VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    type VARCHAR(100) NOT NULL,
+    status VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_pledge_archive_maintenance_id ON pledge_archive (maintenance_id);
+
+CREATE TABLE IF NOT EXISTS maintenance_action_archive (
+    id BIGINT PRIMARY KEY,
+    public_id UUID NOT NULL UNIQUE,
+    maintenance_id BIGINT NOT NULL,
+    executed_by VARCHAR(255),
+    start_date TIMESTAMP WITH TIME ZONE,
+    completion_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    action_description VARCHAR(255) NOT NULL,
+    outcome_status VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_action_archive_maintenance_id ON maintenance_action_archive (maintenance_id);
+
+CREATE TABLE IF NOT EXISTS action_material_archive (
+    id BIGINT PRIMARY KEY,
+    public_id UUID NOT NULL UNIQUE,
+    maintenance_action_id BIGINT NOT NULL,
+    item_name VARCHAR(255) NOT NULL,
+    quantity NUMERIC(10, 2) NOT NULL,
+    unit_of_measure VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_material_archive_action_id ON action_material_archive (maintenance_action_id);
+
+-- Mirrors V9__idempotency_key.sql.
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    scope VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    response_status INT,
+    response_content_type VARCHAR(255),
+    response_location VARCHAR(2048),
+    response_body CLOB,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (scope, idempotency_key)
+);
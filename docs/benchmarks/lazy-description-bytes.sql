@@ -0,0 +1,143 @@
+-- Bytes returned per request with the description columns loaded eagerly vs lazily.
+--
+-- Run against a scratch PostgreSQL 15 database (the docker-compose one works):
+--   psql -h localhost -p "$DB_PORT" -U "$DB_USERNAME" -d "$DB_NAME" -f docs/benchmarks/lazy-description-bytes.sql
+--
+-- Everything is created in the schema "lazy_description_bench", which is dropped at the start and at the end.
+-- The tables mirror maintenance, pledge, maintenance_action and action_material; every description is
+-- :text_length characters of random hex, so TOAST cannot compress it away. The statements are the ones
+-- Hibernate issues for each request, copied from the SQL log before and after descriptions became lazy:
+--   * lookup:  getMaintenanceEntityByPublicId, which pledge and action writers use to check the status;
+--   * list:    GET /api/v1/maintenances?size=20 (both versions fetch the description, in the same statement);
+--   * actions: GET /api/v1/actions, where the joined maintenance repeats on every action and material row.
+-- Compare:
+--   * rows and bytes per request in the first result: bytes is the length of every returned row in text
+--     form, the format the driver receives these columns in, without the protocol framing;
+--   * the shared buffers of each EXPLAIN (ANALYZE, BUFFERS): the outer sum forces every returned value to
+--     be detoasted, so the eager statements also count the pg_toast pages they read.
+
+\set maintenances 20
+\set pledges_per_maintenance 10
+\set actions_per_maintenance 5
+\set materials_per_action 2
+\set text_length 4000
+
+DROP SCHEMA IF EXISTS lazy_description_bench CASCADE;
+CREATE SCHEMA lazy_description_bench;
+SET search_path = lazy_description_bench, public;
+
+CREATE FUNCTION random_text(length int) RETURNS text AS $$
+    SELECT left(string_agg(md5(random()::text), ''), length) FROM generate_series(1, length / 32 + 1);
+$$ LANGUAGE sql VOLATILE;
+
+CREATE TABLE maintenance (
+    id BIGSERIAL PRIMARY KEY,
+    public_id UUID NOT NULL UNIQUE DEFAULT gen_random_uuid(),
+    title VARCHAR(255) NOT NULL,
+    description TEXT NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    scheduled_date TIMESTAMP WITH TIME ZONE,
+    status VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+CREATE TABLE pledge (
+    id BIGSERIAL PRIMARY KEY,
+    public_id UUID NOT NULL UNIQUE DEFAULT gen_random_uuid(),
+    maintenance_id BIGINT NOT NULL REFERENCES maintenance (id),
+    volunteer_name VARCHAR(255) NOT NULL,
+    volunteer_contact VARCHAR(255) NOT NULL,
+    description TEXT NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+CREATE TABLE maintenance_action (
+    id BIGSERIAL PRIMARY KEY,
+    public_id UUID NOT NULL UNIQUE DEFAULT gen_random_uuid(),
+    maintenance_id BIGINT NOT NULL REFERENCES maintenance (id),
+    executed_by VARCHAR(255) NOT NULL,
+    start_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    completion_date TIMESTAMP WITH TIME ZONE,
+    action_description TEXT NOT NULL,
+    outcome_status VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT clock_timestamp(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+CREATE TABLE action_material (
+    id BIGSERIAL PRIMARY KEY,
+    public_id UUID NOT NULL UNIQUE DEFAULT gen_random_uuid(),
+    maintenance_action_id BIGINT NOT NULL REFERENCES maintenance_action (id),
+    item_name VARCHAR(255) NOT NULL,
+    quantity NUMERIC(10, 2) NOT NULL,
+    unit_of_measure VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+INSERT INTO maintenance (title, description, category, scheduled_date, status)
+SELECT 'Maintenance ' || n, random_text(:text_length), 'BUILDING', now() + interval '1 day', 'OPEN'
+FROM generate_series(1, :maintenances) n;
+INSERT INTO pledge (maintenance_id, volunteer_name, volunteer_contact, description, type, status)
+SELECT m.id, 'Volunteer ' || n, 'v' || n || '@example.com', random_text(:text_length), 'LABOR', 'OFFERED'
+FROM maintenance m CROSS JOIN generate_series(1, :pledges_per_maintenance) n;
+INSERT INTO maintenance_action (maintenance_id, executed_by, start_date, completion_date, action_description, outcome_status)
+SELECT m.id, 'Crew ' || n, now(), now() + interval '1 hour', random_text(:text_length), 'SUCCESS'
+FROM maintenance m CROSS JOIN generate_series(1, :actions_per_maintenance) n;
+INSERT INTO action_material (maintenance_action_id, item_name, quantity, unit_of_measure)
+SELECT a.id, 'Material ' || n, n, 'un'
+FROM maintenance_action a CROSS JOIN generate_series(1, :materials_per_action) n;
+
+VACUUM ANALYZE maintenance;
+VACUUM ANALYZE pledge;
+VACUUM ANALYZE maintenance_action;
+VACUUM ANALYZE action_material;
+
+SELECT public_id AS lookup_id FROM maintenance ORDER BY id OFFSET 7 LIMIT 1 \gset
+
+CREATE VIEW lookup_before AS
+SELECT m1_0.id,m1_0.category,m1_0.created_at,m1_0.description,m1_0.public_id,m1_0.scheduled_date,m1_0.status,m1_0.title,m1_0.updated_at
+FROM maintenance m1_0 WHERE m1_0.public_id = :'lookup_id';
+CREATE VIEW lookup_after AS
+SELECT m1_0.id,m1_0.category,m1_0.created_at,m1_0.public_id,m1_0.scheduled_date,m1_0.status,m1_0.title,m1_0.updated_at
+FROM maintenance m1_0 WHERE m1_0.public_id = :'lookup_id';
+
+CREATE VIEW list_page AS
+SELECT m1_0.id,m1_0.category,m1_0.created_at,m1_0.description,m1_0.public_id,m1_0.scheduled_date,m1_0.status,m1_0.title,m1_0.updated_at
+FROM maintenance m1_0 OFFSET 0 ROWS FETCH FIRST 20 ROWS ONLY;
+
+CREATE VIEW actions_before AS
+SELECT ma1_0.id,ma1_0.action_description,ma1_0.completion_date,ma1_0.created_at,ma1_0.executed_by,
+       m1_0.id AS m_id,m1_0.category,m1_0.created_at AS m_created_at,m1_0.description,m1_0.public_id AS m_public_id,
+       m1_0.scheduled_date,m1_0.status,m1_0.title,m1_0.updated_at AS m_updated_at,
+       mu1_0.maintenance_action_id,mu1_0.id AS mu_id,mu1_0.created_at AS mu_created_at,mu1_0.item_name,
+       mu1_0.public_id AS mu_public_id,mu1_0.quantity,mu1_0.unit_of_measure,mu1_0.updated_at AS mu_updated_at,
+       ma1_0.outcome_status,ma1_0.public_id,ma1_0.start_date,ma1_0.updated_at
+FROM maintenance_action ma1_0 JOIN maintenance m1_0 ON m1_0.id = ma1_0.maintenance_id
+LEFT JOIN action_material mu1_0 ON ma1_0.id = mu1_0.maintenance_action_id
+ORDER BY ma1_0.created_at DESC;
+CREATE VIEW actions_after AS
+SELECT ma1_0.id,ma1_0.action_description,ma1_0.completion_date,ma1_0.created_at,ma1_0.executed_by,
+       m1_0.id AS m_id,m1_0.category,m1_0.created_at AS m_created_at,m1_0.public_id AS m_public_id,
+       m1_0.scheduled_date,m1_0.status,m1_0.title,m1_0.updated_at AS m_updated_at,
+       mu1_0.maintenance_action_id,mu1_0.id AS mu_id,mu1_0.created_at AS mu_created_at,mu1_0.item_name,
+       mu1_0.public_id AS mu_public_id,mu1_0.quantity,mu1_0.unit_of_measure,mu1_0.updated_at AS mu_updated_at,
+       ma1_0.outcome_status,ma1_0.public_id,ma1_0.start_date,ma1_0.updated_at
+FROM maintenance_action ma1_0 JOIN maintenance m1_0 ON m1_0.id = ma1_0.maintenance_id
+LEFT JOIN action_material mu1_0 ON ma1_0.id = mu1_0.maintenance_action_id
+ORDER BY ma1_0.created_at DESC;
+
+SELECT 'lookup' AS request, 'before' AS version, count(*) AS rows, sum(octet_length(r::text)) AS bytes FROM lookup_before r
+UNION ALL SELECT 'lookup', 'after', count(*), sum(octet_length(r::text)) FROM lookup_after r
+UNION ALL SELECT 'list', 'before/after', count(*), sum(octet_length(r::text)) FROM list_page r
+UNION ALL SELECT 'actions', 'before', count(*), sum(octet_length(r::text)) FROM actions_before r
+UNION ALL SELECT 'actions', 'after', count(*), sum(octet_length(r::text)) FROM actions_after r;
+
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT sum(octet_length(r::text)) FROM lookup_before r;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT sum(octet_length(r::text)) FROM lookup_after r;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT sum(octet_length(r::text)) FROM list_page r;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT sum(octet_length(r::text)) FROM actions_before r;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT sum(octet_length(r::text)) FROM actions_after r;
+
+DROP SCHEMA lazy_description_bench CASCADE;
@@ -0,0 +1,122 @@
+-- Recent-window queries on pledge / maintenance_action: single heap vs monthly range partitions.
+--
+-- Run against a scratch PostgreSQL 15 database (the docker-compose one works):
+--   psql -h localhost -p "$DB_PORT" -U "$DB_USERNAME" -d "$DB_NAME" -f docs/benchmarks/partitioning-recent-window.sql
+--
+-- Everything is created in the schema "partition_bench", which is dropped at the start and at the end.
+-- The data set is 24 months of pledges (rows_per_month each) and the same amount of actions, spread
+-- over 2000 maintenances. Compare "Execution Time" and "Buffers" of each flat/partitioned pair: the
+-- partitioned plans should list only the partitions inside the window ("Subplans Removed" for the
+-- runtime-pruned ones) and touch far fewer buffers as history grows.
+
+\set rows_per_month 200000
+\timing on
+
+DROP SCHEMA IF EXISTS partition_bench CASCADE;
+CREATE SCHEMA partition_bench;
+SET search_path = partition_bench;
+
+CREATE TABLE maintenance (
+    id INT PRIMARY KEY,
+    public_id UUID NOT NULL UNIQUE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+INSERT INTO maintenance
+SELECT g, gen_random_uuid(), date_trunc('month', now()) - interval '24 months' + (g * interval '8 hours')
+FROM generate_series(1, 2000) g;
+
+-- Same columns as the application tables, without the text payload that does not affect the plans.
+CREATE TABLE pledge_flat (
+    id INT NOT NULL,
+    public_id UUID NOT NULL,
+    maintenance_id INT NOT NULL,
+    status VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE TABLE pledge_part (LIKE pledge_flat INCLUDING DEFAULTS) PARTITION BY RANGE (created_at);
+ALTER TABLE pledge_part ADD PRIMARY KEY (id, created_at);
+
+CREATE TABLE maintenance_action_flat (
+    id INT NOT NULL,
+    public_id UUID NOT NULL,
+    maintenance_id INT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE TABLE maintenance_action_part (LIKE maintenance_action_flat INCLUDING DEFAULTS) PARTITION BY RANGE (created_at);
+ALTER TABLE maintenance_action_part ADD PRIMARY KEY (id, created_at);
+
+-- Same partition layout as V8__partition_pledge_and_action.sql (ensure_monthly_partitions must exist,
+-- i.e. run this against a database migrated by Flyway).
+SELECT public.ensure_monthly_partitions('pledge_part', (now() - interval '24 months')::date, 1);
+SELECT public.ensure_monthly_partitions('maintenance_action_part', (now() - interval '24 months')::date, 1);
+
+INSERT INTO pledge_flat
+SELECT g,
+       gen_random_uuid(),
+       m.id,
+       (ARRAY['OFFERED', 'PENDING', 'COMPLETED', 'CANCELED'])[1 + g % 4],
+       m.created_at + (random() * (now() - m.created_at))
+FROM generate_series(1, 24 * :rows_per_month) g
+JOIN maintenance m ON m.id = 1 + g % 2000;
+INSERT INTO pledge_part SELECT * FROM pledge_flat;
+
+INSERT INTO maintenance_action_flat
+SELECT id, public_id, maintenance_id, created_at FROM pledge_flat;
+INSERT INTO maintenance_action_part SELECT * FROM maintenance_action_flat;
+
+-- Indexes matching the application (V6 and V8).
+CREATE INDEX ON pledge_flat (created_at DESC);
+CREATE INDEX ON pledge_flat (status, created_at DESC);
+CREATE INDEX ON pledge_flat (maintenance_id);
+CREATE INDEX ON pledge_part (created_at DESC);
+CREATE INDEX ON pledge_part (status, created_at DESC);
+CREATE INDEX ON pledge_part (maintenance_id);
+CREATE INDEX ON maintenance_action_flat (maintenance_id, created_at);
+CREATE INDEX ON maintenance_action_part (maintenance_id, created_at);
+
+VACUUM ANALYZE;
+
+-- 1. Admin pledge list: newest pledges of the last 7 days, first page (createdFrom filter).
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM pledge_flat WHERE created_at >= now() - interval '7 days' ORDER BY created_at DESC LIMIT 20;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM pledge_part WHERE created_at >= now() - interval '7 days' ORDER BY created_at DESC LIMIT 20;
+
+-- 2. Count of open pledges created in the last 30 days (count=exact on a filtered list).
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM pledge_flat WHERE status IN ('OFFERED', 'PENDING') AND created_at >= now() - interval '30 days';
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM pledge_part WHERE status IN ('OFFERED', 'PENDING') AND created_at >= now() - interval '30 days';
+
+-- 3. Pledges of a recent maintenance, bounded by the maintenance's creation time through a scalar
+--    subquery (PledgeSpecification.createdSinceMaintenance); pruned at execution time.
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM pledge_flat p
+WHERE p.maintenance_id = 1990
+  AND p.created_at >= (SELECT created_at FROM maintenance WHERE id = 1990);
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM pledge_part p
+WHERE p.maintenance_id = 1990
+  AND p.created_at >= (SELECT created_at FROM maintenance WHERE id = 1990);
+
+-- 4. Actions of a recent maintenance with the bound passed as a parameter
+--    (MaintenanceActionRepository.findAllByMaintenanceWithMaterials); pruned at plan time.
+PREPARE actions_flat(int, timestamptz) AS
+    SELECT * FROM maintenance_action_flat WHERE maintenance_id = $1 AND created_at >= $2 ORDER BY created_at DESC;
+PREPARE actions_part(int, timestamptz) AS
+    SELECT * FROM maintenance_action_part WHERE maintenance_id = $1 AND created_at >= $2 ORDER BY created_at DESC;
+SELECT created_at AS maintenance_created_at FROM maintenance WHERE id = 1990 \gset
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+EXECUTE actions_flat(1990, :'maintenance_created_at');
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+EXECUTE actions_part(1990, :'maintenance_created_at');
+
+-- 5. Maintenance cost: vacuum of the flat table vs vacuum of the current month's partition only.
+VACUUM (VERBOSE, ANALYZE) pledge_flat;
+\set current_partition 'pledge_part_' `date +%Y_%m`
+VACUUM (VERBOSE, ANALYZE) :"current_partition";
+
+RESET search_path;
+DROP SCHEMA partition_bench CASCADE;
@@ -0,0 +1,74 @@
+-- Inserts into a unique public_id index: random UUIDv4 vs time-ordered UUIDv7.
+--
+-- Run against a scratch PostgreSQL 15 database (the docker-compose one works):
+--   psql -h localhost -p "$DB_PORT" -U "$DB_USERNAME" -d "$DB_NAME" -f docs/benchmarks/public-id-uuid-v7.sql
+--
+-- Everything is created in the schema "public_id_bench", which is dropped at the start and at the end.
+-- Each table mirrors pledge (bigserial id, unique public_id) and receives the same number of rows in
+-- batches, like the application does. Compare:
+--   * the \timing of each INSERT batch: v4 slows down once the index no longer fits in shared_buffers,
+--     because every insert lands on a random leaf page; v7 keeps appending to the rightmost leaf.
+--   * the index size and leaf density reported at the end: v4 leaves pages about 70% full after random
+--     splits, v7 about 90% (rightmost splits), so the v7 index is smaller for the same rows.
+-- uuid_v7() below builds ids the same way as UuidV7Generator (48-bit Unix millis, version 7, RFC variant),
+-- minus the per-millisecond sequence, which does not change the page access pattern.
+
+\set batches 20
+\set batch_size 250000
+\timing on
+
+DROP SCHEMA IF EXISTS public_id_bench CASCADE;
+CREATE SCHEMA public_id_bench;
+SET search_path = public_id_bench, public;
+
+CREATE EXTENSION IF NOT EXISTS pgstattuple;
+
+CREATE FUNCTION uuid_v7() RETURNS uuid AS $$
+    SELECT encode(
+        set_bit(set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                    PLACING substring(int8send((extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                    FROM 1 FOR 6),
+            52, 1), 53, 1),
+        'hex')::uuid;
+$$ LANGUAGE sql VOLATILE;
+
+CREATE TABLE pledge_v4 (
+    id BIGSERIAL PRIMARY KEY,
+    public_id UUID NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT uk_pledge_v4_public_id UNIQUE (public_id)
+);
+CREATE TABLE pledge_v7 (
+    id BIGSERIAL PRIMARY KEY,
+    public_id UUID NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT uk_pledge_v7_public_id UNIQUE (public_id)
+);
+
+-- Alternate the two tables batch by batch so both see the same cache and checkpoint conditions
+-- (\gexec runs the columns of each row left to right).
+SELECT format('INSERT INTO pledge_v4 (public_id) SELECT gen_random_uuid() FROM generate_series(1, %s)', :batch_size),
+       format('INSERT INTO pledge_v7 (public_id) SELECT uuid_v7() FROM generate_series(1, %s)', :batch_size)
+FROM generate_series(1, :batches) \gexec
+
+VACUUM ANALYZE pledge_v4;
+VACUUM ANALYZE pledge_v7;
+
+SELECT i.indexrelid::regclass                          AS index,
+       pg_size_pretty(pg_relation_size(i.indexrelid))  AS size,
+       s.leaf_pages,
+       round(s.avg_leaf_density::numeric, 1)           AS avg_leaf_density,
+       round(s.leaf_fragmentation::numeric, 1)         AS leaf_fragmentation
+FROM pg_index i
+CROSS JOIN LATERAL pgstatindex(i.indexrelid) s
+WHERE i.indexrelid IN ('uk_pledge_v4_public_id'::regclass, 'uk_pledge_v7_public_id'::regclass)
+ORDER BY 1;
+
+-- Point lookups must stay equally cheap for both versions, including the v4 ids created before the switch.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM pledge_v4 WHERE public_id = (SELECT public_id FROM pledge_v4 WHERE id = 1234567);
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM pledge_v7 WHERE public_id = (SELECT public_id FROM pledge_v7 WHERE id = 1234567);
+
+DROP SCHEMA public_id_bench CASCADE;
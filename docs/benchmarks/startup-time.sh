@@ -0,0 +1,61 @@
+#!/usr/bin/env sh
+# Cold start of the backend image: time from "docker run" to the first 200 on /actuator/health and to the
+# first 200 on the maintenance list, averaged over several restarts.
+#
+# Build the images to compare from backend/:
+#   docker build -t conecta-reparo:jar .
+#   docker build -f Dockerfile.cds -t conecta-reparo:cds .
+#   docker build -f Dockerfile.cds --build-arg SPRING_AOT=true -t conecta-reparo:cds-aot .
+# then, with the docker-compose PostgreSQL running and the usual DB_* variables exported:
+#   docs/benchmarks/startup-time.sh conecta-reparo:jar conecta-reparo:cds conecta-reparo:cds-aot
+#
+# RUNS (default 5) sets the restarts per image and PORT (default 18080) the host port used.
+
+set -eu
+
+RUNS="${RUNS:-5}"
+PORT="${PORT:-18080}"
+NAME=startup-bench
+
+now_ms() {
+    date +%s%3N
+}
+
+# Polls a URL until it answers 200 and prints the milliseconds elapsed since $1.
+wait_for_200() {
+    started="$1"
+    url="$2"
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$url")" = "200" ]; do
+        if [ $(( $(now_ms) - started )) -gt 120000 ]; then
+            echo "timeout waiting for $url" >&2
+            docker logs "$NAME" >&2 || true
+            exit 1
+        fi
+        sleep 0.05
+    done
+    echo $(( $(now_ms) - started ))
+}
+
+printf '%-30s %6s %12s %12s\n' image run health_ms first_list_ms
+for image in "$@"; do
+    health_total=0
+    list_total=0
+    for run in $(seq 1 "$RUNS"); do
+        docker rm -f "$NAME" >/dev/null 2>&1 || true
+        started=$(now_ms)
+        docker run -d --name "$NAME" --network host \
+            -e SPRING_PROFILES_ACTIVE=prod -e SPRING_SERVER_PORT="$PORT" \
+            -e DB_HOST="${DB_HOST:-localhost}" -e DB_PORT="$DB_PORT" -e DB_NAME="$DB_NAME" \
+            -e DB_USERNAME="$DB_USERNAME" -e DB_PASSWORD="$DB_PASSWORD" \
+            -e SCHEMAS="${SCHEMAS:-public}" -e DEFAULT_SCHEMA="${DEFAULT_SCHEMA:-public}" \
+            -e SPRING_JPA_HIBERNATE_DDL_AUTO="${SPRING_JPA_HIBERNATE_DDL_AUTO:-validate}" \
+            "$image" >/dev/null
+        health_ms=$(wait_for_200 "$started" "http://localhost:$PORT/actuator/health")
+        list_ms=$(wait_for_200 "$started" "http://localhost:$PORT/api/v1/maintenances?size=20")
+        printf '%-30s %6s %12s %12s\n' "$image" "$run" "$health_ms" "$list_ms"
+        health_total=$((health_total + health_ms))
+        list_total=$((list_total + list_ms))
+    done
+    printf '%-30s %6s %12s %12s\n' "$image" avg $((health_total / RUNS)) $((list_total / RUNS))
+    docker rm -f "$NAME" >/dev/null 2>&1 || true
+done
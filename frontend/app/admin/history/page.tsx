@@ -1,16 +1,141 @@
+'use client';
+
+import { useState, useEffect, useCallback } from 'react';
+import Link from 'next/link';
+import { ArrowRight, RefreshCw } from 'lucide-react';
 import { Card, CardContent } from '@/components/ui/card';
+import { Badge } from '@/components/ui/badge';
+import { Button } from '@/components/ui/button';
+import { statusTransitionApi } from '@/lib/api/status-transition';
+import { StatusEntityType, StatusTransitionResponseDto } from '@/lib/types/status-transition';
+
+const PAGE_SIZE = 50;
+
+const entityTypeOptions: { value: StatusEntityType | ''; label: string }[] = [
+  { value: '', label: 'Todos' },
+  { value: 'MAINTENANCE', label: 'Manutenções' },
+  { value: 'PLEDGE', label: 'Pledges' },
+];
+
+const statusLabels: Record<string, string> = {
+  OPEN: 'Aberto',
+  IN_PROGRESS: 'Em Andamento',
+  OFFERED: 'Oferecido',
+  PENDING: 'Pendente',
+  REJECTED: 'Rejeitado',
+  COMPLETED: 'Concluído',
+  CANCELED: 'Cancelado',
+  EXPIRED: 'Expirado',
+};
+
+function entityLink(transition: StatusTransitionResponseDto) {
+  return transition.entityType === 'MAINTENANCE'
+    ? `/admin/maintenances/${transition.entityId}`
+    : `/admin/pledges/${transition.entityId}`;
+}
 
 export default function History() {
+  const [entityType, setEntityType] = useState<StatusEntityType | ''>('');
+  const [transitions, setTransitions] = useState<StatusTransitionResponseDto[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loading, setLoading] = useState(true);
+  const [error, setError] = useState<string | null>(null);
+
+  const fetchPage = useCallback(async (cursor: string | null) => {
+    setLoading(true);
+    setError(null);
+    try {
+      const response = await statusTransitionApi.getTimeline({ entityType, cursor, size: PAGE_SIZE });
+      setTransitions(prev => (cursor ? [...prev, ...response.content] : response.content));
+      setNextCursor(response.nextCursor);
+    } catch (err) {
+      setError(err instanceof Error ? err.message : 'Erro ao carregar histórico');
+    } finally {
+      setLoading(false);
+    }
+  }, [entityType]);
+
+  useEffect(() => {
+    fetchPage(null);
+  }, [fetchPage]);
+
   return (
-    <div>
-      <h1 className="text-3xl font-bold mb-8 text-foreground">Histórico de Manutenções</h1>
-      <p className="text-lg mb-4 text-muted-foreground">Visualize o histórico de todas as manutenções</p>
-      
+    <div className="space-y-6">
+      <div className="flex items-center justify-between">
+        <div>
+          <h1 className="text-3xl font-bold text-foreground">Histórico de Status</h1>
+          <p className="text-muted-foreground mt-1">Mudanças de status de manutenções e pledges nos últimos 30 dias</p>
+        </div>
+        <Button variant="outline" onClick={() => fetchPage(null)} disabled={loading}>
+          <RefreshCw className={`w-4 h-4 ${loading ? 'animate-spin' : ''}`} />
+        </Button>
+      </div>
+
+      <div className="flex gap-2">
+        {entityTypeOptions.map(option => (
+          <Button
+            key={option.value}
+            variant={entityType === option.value ? 'default' : 'outline'}
+            onClick={() => setEntityType(option.value)}
+          >
+            {option.label}
+          </Button>
+        ))}
+      </div>
+
+      {error && (
+        <div className="bg-destructive/10 border border-destructive/20 rounded-lg p-4">
+          <p className="text-destructive text-sm">{error}</p>
+        </div>
+      )}
+
       <Card>
-        <CardContent className="pt-6 p-0">
-          <p>Lista de manutenções históricas será exibida aqui.</p>
+        <CardContent className="p-0">
+          {transitions.length === 0 && !loading ? (
+            <p className="p-6 text-muted-foreground">Nenhuma mudança de status no período.</p>
+          ) : (
+            <ul className="divide-y divide-border">
+              {transitions.map(transition => (
+                <li
+                  key={`${transition.entityId}-${transition.changedAt}-${transition.toStatus}`}
+                  className="flex items-center justify-between gap-4 p-4"
+                >
+                  <div className="flex items-center gap-3">
+                    <Badge variant="secondary">
+                      {transition.entityType === 'MAINTENANCE' ? 'Manutenção' : 'Pledge'}
+                    </Badge>
+                    <Link href={entityLink(transition)} className="font-mono text-sm hover:underline">
+                      {transition.entityId.slice(0, 8)}
+                    </Link>
+                  </div>
+                  <div className="flex items-center gap-2 text-sm">
+                    {transition.fromStatus ? (
+                      <>
+                        <Badge variant="outline">{statusLabels[transition.fromStatus] ?? transition.fromStatus}</Badge>
+                        <ArrowRight className="w-4 h-4 text-muted-foreground" />
+                      </>
+                    ) : (
+                      <span className="text-muted-foreground">Criado como</span>
+                    )}
+                    <Badge>{statusLabels[transition.toStatus] ?? transition.toStatus}</Badge>
+                  </div>
+                  <time className="text-sm text-muted-foreground" dateTime={transition.changedAt}>
+                    {new Date(transition.changedAt).toLocaleString('pt-BR')}
+                  </time>
+                </li>
+              ))}
+            </ul>
+          )}
         </CardContent>
       </Card>
+
+      {nextCursor && (
+        <div className="flex justify-center">
+          <Button variant="outline" onClick={() => fetchPage(nextCursor)} disabled={loading}>
+            Carregar mais
+          </Button>
+        </div>
+      )}
     </div>
   );
 }
@@ -1,8 +1,9 @@
 'use client';
 
-import { useState, useEffect, useCallback } from 'react';
+import { useState, useEffect, useCallback, useRef } from 'react';
 import { useRouter, useSearchParams } from 'next/navigation';
 import { Loader2 } from 'lucide-react';
+import { createIdempotencyKeys } from '@/lib/idempotency';
 import { maintenanceApi } from '@/lib/api/maintenance';
 import { MaintenanceForm } from '@/components/maintenance/MaintenanceForm';
 import { MaintenanceResponseDto, MaintenanceUpdateDto } from '@/lib/types/maintenance';
@@ -17,6 +18,7 @@ export default function MaintenanceFormPage() {
   const [loading, setLoading] = useState(mode === 'edit');
   const [error, setError] = useState<string | null>(null);
   const [isSubmitting, setIsSubmitting] = useState(false);
+  const idempotencyKeys = useRef(createIdempotencyKeys());
 
   const fetchMaintenance = useCallback(async () => {
     if (!id) {
@@ -51,7 +53,7 @@ export default function MaintenanceFormPage() {
           ...data,
           scheduledDate: new Date(data.scheduledDate).toISOString(),
         };
-        const created = await maintenanceApi.create(createData);
+        const created = await maintenanceApi.create(createData, idempotencyKeys.current(createData));
         router.push(`/admin/maintenances/${created.id}`);
       } else {
         const updateDto: MaintenanceUpdateDto = {};
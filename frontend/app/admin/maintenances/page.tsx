@@ -65,6 +65,7 @@ export default function MaintenancesPage() {
     page: 0,
     size: PAGE_SIZE,
     sort: 'createdAt,desc',
+    fields: 'title,description,category,status,scheduledDate,createdAt',
   });
   
   const [pagination, setPagination] = useState({
@@ -83,8 +84,8 @@ export default function MaintenancesPage() {
       const response = await maintenanceApi.getAll(filter);
       setData(response.content);
       setPagination({
-        totalPages: response.totalPages,
-        totalElements: response.totalElements,
+        totalPages: response.totalPages ?? 0,
+        totalElements: response.totalElements ?? 0,
         currentPage: response.number,
       });
     } catch (err) {
@@ -1,8 +1,9 @@
 'use client';
 
-import { useState, useEffect, useCallback } from 'react';
+import { useState, useEffect, useCallback, useRef } from 'react';
 import { useRouter, useSearchParams } from 'next/navigation';
 import { Loader2 } from 'lucide-react';
+import { createIdempotencyKeys } from '@/lib/idempotency';
 import { pledgeApi } from '@/lib/api/pledge';
 import { maintenanceApi } from '@/lib/api/maintenance';
 import { PledgeForm } from '@/components/pledge/PledgeForm';
@@ -20,6 +21,7 @@ export default function PledgeFormPage() {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [isSubmitting, setIsSubmitting] = useState(false);
+  const idempotencyKeys = useRef(createIdempotencyKeys());
 
   const fetchData = useCallback(async () => {
     setLoading(true);
@@ -27,7 +29,7 @@ export default function PledgeFormPage() {
 
     try {
       const [maintenancesData, pledgeData] = await Promise.all([
-        maintenanceApi.getAll({ status: 'active', size: 100 }),
+        maintenanceApi.getAll({ status: 'active', size: 100, fields: 'title,status' }),
         id ? pledgeApi.getById(id) : null,
       ]);
 
@@ -57,7 +59,7 @@ export default function PledgeFormPage() {
           type: data.type,
           maintenanceId: data.maintenanceId,
         };
-        const created = await pledgeApi.create(createData);
+        const created = await pledgeApi.create(createData, idempotencyKeys.current(createData));
         router.push(`/admin/pledges/${created.id}`);
       } else {
         const updateDto: PledgeUpdateDto = {};
@@ -20,6 +20,7 @@ const statusOptions: { value: string; label: string }[] = [
   { value: 'REJECTED', label: 'Rejeitado' },
   { value: 'COMPLETED', label: 'Concluído' },
   { value: 'CANCELED', label: 'Cancelado' },
+  { value: 'EXPIRED', label: 'Expirado' },
 ];
 
 const typeOptions: { value: string; label: string }[] = [
@@ -42,6 +43,7 @@ export default function PledgesPage() {
     page: 0,
     size: PAGE_SIZE,
     sort: 'createdAt,desc',
+    fields: 'volunteerName,volunteerContact,description,type,status,createdAt',
   });
   
   const [pagination, setPagination] = useState({
@@ -60,8 +62,8 @@ export default function PledgesPage() {
       const response = await pledgeApi.getAll(filter);
       setData(response.content);
       setPagination({
-        totalPages: response.totalPages,
-        totalElements: response.totalElements,
+        totalPages: response.totalPages ?? 0,
+        totalElements: response.totalElements ?? 0,
         currentPage: response.number,
       });
     } catch (err) {
@@ -116,7 +118,7 @@ export default function PledgesPage() {
       </div>
 
       <FilterBar
-        searchPlaceholder="Buscar por voluntário, contato ou descrição..."
+        searchPlaceholder="Buscar por voluntário ou contato..."
         searchValue={filter.search}
         onSearchChange={(value) => setFilter(prev => ({ ...prev, search: value, page: 0 }))}
         filters={[
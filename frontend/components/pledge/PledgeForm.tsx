@@ -72,7 +72,7 @@ const createFormSchema = z.object({
 });
 
 const editFormSchema = createFormSchema.extend({
-  status: z.enum(['OFFERED', 'PENDING', 'REJECTED', 'COMPLETED', 'CANCELED']),
+  status: z.enum(['OFFERED', 'PENDING', 'REJECTED', 'COMPLETED', 'CANCELED', 'EXPIRED']),
 });
 
 type CreateFormValues = z.infer<typeof createFormSchema>;
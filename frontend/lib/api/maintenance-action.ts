@@ -49,11 +49,12 @@ export const maintenanceActionApi = {
     return handleResponse<MaintenanceActionResponseDto[]>(response);
   },
 
-  async create(maintenanceId: string, data: MaintenanceActionDto): Promise<MaintenanceActionResponseDto> {
+  async create(maintenanceId: string, data: MaintenanceActionDto, idempotencyKey?: string): Promise<MaintenanceActionResponseDto> {
     const response = await fetch(`${API_BASE_URL}/api/v1/maintenances/${maintenanceId}/actions`, {
       method: 'POST',
       headers: {
         'Content-Type': 'application/json',
+        ...(idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : {}),
       },
       body: JSON.stringify(data),
     });
@@ -1,6 +1,7 @@
 import { 
   MaintenanceResponseDto, 
   MaintenanceDetailResponseDto,
+  MaintenanceCalendarDayDto,
   MaintenanceDto, 
   MaintenanceUpdateDto,
   MaintenanceActionResponseDto,
@@ -27,6 +28,9 @@ export const maintenanceApi = {
     if (filter.status) params.append('status', filter.status);
     if (filter.category) params.append('category', filter.category);
     if (filter.search) params.append('search', filter.search);
+    if (filter.count) params.append('count', filter.count);
+    if (filter.includeArchived) params.append('includeArchived', 'true');
+    if (filter.fields) params.append('fields', filter.fields);
     if (filter.page !== undefined) params.append('page', filter.page.toString());
     if (filter.size !== undefined) params.append('size', filter.size.toString());
     if (filter.sort) params.append('sort', filter.sort);
@@ -55,6 +59,18 @@ export const maintenanceApi = {
     return handleResponse<MaintenanceResponseDto>(response);
   },
 
+  async getCalendar(from: string, to: string, zone: string = Intl.DateTimeFormat().resolvedOptions().timeZone): Promise<MaintenanceCalendarDayDto[]> {
+    const params = new URLSearchParams({ from, to, zone });
+    const response = await fetch(`${API_BASE_URL}/api/v1/maintenances/calendar?${params.toString()}`, {
+      method: 'GET',
+      headers: {
+        'Content-Type': 'application/json',
+      },
+    });
+
+    return handleResponse<MaintenanceCalendarDayDto[]>(response);
+  },
+
   async getDetail(id: string): Promise<MaintenanceDetailResponseDto> {
     const [maintenance, actions, pledges] = await Promise.all([
       this.getById(id),
@@ -69,11 +85,12 @@ export const maintenanceApi = {
     };
   },
 
-  async create(data: MaintenanceDto): Promise<MaintenanceResponseDto> {
+  async create(data: MaintenanceDto, idempotencyKey?: string): Promise<MaintenanceResponseDto> {
     const response = await fetch(`${API_BASE_URL}/api/v1/maintenances`, {
       method: 'POST',
       headers: {
         'Content-Type': 'application/json',
+        ...(idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : {}),
       },
       body: JSON.stringify(data),
     });
@@ -105,7 +122,7 @@ export const maintenanceApi = {
   },
 
   async getPledges(maintenanceId: string): Promise<PledgeResponseDto[]> {
-    const response = await fetch(`${API_BASE_URL}/api/v1/pledges?maintenanceId=${maintenanceId}`, {
+    const response = await fetch(`${API_BASE_URL}/api/v1/pledges?maintenanceId=${maintenanceId}&count=none`, {
       method: 'GET',
       headers: {
         'Content-Type': 'application/json',
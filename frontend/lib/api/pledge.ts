@@ -6,6 +6,7 @@ import {
   PageResponse,
   PledgeFilter 
 } from '@/lib/types/maintenance';
+import { PledgeSubmissionDto } from '@/lib/types/pledges';
 
 const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080';
 
@@ -24,6 +25,11 @@ export const pledgeApi = {
     if (filter.status) params.append('status', filter.status);
     if (filter.type) params.append('type', filter.type);
     if (filter.search) params.append('search', filter.search);
+    if (filter.createdFrom) params.append('createdFrom', filter.createdFrom);
+    if (filter.createdTo) params.append('createdTo', filter.createdTo);
+    if (filter.count) params.append('count', filter.count);
+    if (filter.includeArchived) params.append('includeArchived', 'true');
+    if (filter.fields) params.append('fields', filter.fields);
     if (filter.page !== undefined) params.append('page', filter.page.toString());
     if (filter.size !== undefined) params.append('size', filter.size.toString());
     if (filter.sort) params.append('sort', filter.sort);
@@ -55,6 +61,7 @@ export const pledgeApi = {
   async getByMaintenanceId(maintenanceId: string, filter: PledgeFilter = {}): Promise<PledgeResponseDto[]> {
     const params = new URLSearchParams();
     params.append('maintenanceId', maintenanceId);
+    params.append('count', 'none');
     
     if (filter.page !== undefined) params.append('page', filter.page.toString());
     if (filter.size !== undefined) params.append('size', filter.size.toString());
@@ -74,16 +81,28 @@ export const pledgeApi = {
     return pageResponse.content;
   },
 
-  async create(data: PledgeDto): Promise<PledgeResponseDto> {
+  async create(data: PledgeDto, idempotencyKey?: string): Promise<PledgeResponseDto | PledgeSubmissionDto> {
     const response = await fetch(`${API_BASE_URL}/api/v1/pledges`, {
       method: 'POST',
       headers: {
         'Content-Type': 'application/json',
+        ...(idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : {}),
       },
       body: JSON.stringify(data),
     });
 
-    return handleResponse<PledgeResponseDto>(response);
+    return handleResponse<PledgeResponseDto | PledgeSubmissionDto>(response);
+  },
+
+  async getSubmission(id: string): Promise<PledgeSubmissionDto> {
+    const response = await fetch(`${API_BASE_URL}/api/v1/pledges/submissions/${id}`, {
+      method: 'GET',
+      headers: {
+        'Content-Type': 'application/json',
+      },
+    });
+
+    return handleResponse<PledgeSubmissionDto>(response);
   },
 
   async update(id: string, data: PledgeUpdateDto): Promise<PledgeResponseDto> {
@@ -0,0 +1,32 @@
+import { StatusTimelineFilter, StatusTimelineResponseDto } from '@/lib/types/status-transition';
+
+const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080';
+
+async function handleResponse<T>(response: Response): Promise<T> {
+  if (!response.ok) {
+    const error = await response.json().catch(() => ({ message: 'An error occurred' }));
+    throw new Error(error.message || `HTTP error! status: ${response.status}`);
+  }
+  return response.json();
+}
+
+export const statusTransitionApi = {
+  async getTimeline(filter: StatusTimelineFilter = {}): Promise<StatusTimelineResponseDto> {
+    const params = new URLSearchParams();
+    if (filter.entityType) params.append('entityType', filter.entityType);
+    if (filter.entityId) params.append('entityId', filter.entityId);
+    if (filter.from) params.append('from', filter.from);
+    if (filter.to) params.append('to', filter.to);
+    if (filter.cursor) params.append('cursor', filter.cursor);
+    if (filter.size) params.append('size', filter.size.toString());
+
+    const response = await fetch(`${API_BASE_URL}/api/v1/status-transitions?${params.toString()}`, {
+      method: 'GET',
+      headers: {
+        'Content-Type': 'application/json',
+      },
+    });
+
+    return handleResponse<StatusTimelineResponseDto>(response);
+  },
+};
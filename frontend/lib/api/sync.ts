@@ -0,0 +1,34 @@
+import { SyncResponseDto } from '@/lib/types/sync';
+
+const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080';
+
+/** Thrown when the sync token is too old: reload all data and start over without a token. */
+export class SyncTokenExpiredError extends Error {}
+
+async function handleResponse<T>(response: Response): Promise<T> {
+  if (response.status === 410) {
+    throw new SyncTokenExpiredError('Sync token expired');
+  }
+  if (!response.ok) {
+    const error = await response.json().catch(() => ({ message: 'An error occurred' }));
+    throw new Error(error.message || `HTTP error! status: ${response.status}`);
+  }
+  return response.json();
+}
+
+export const syncApi = {
+  async getChanges(since?: string, limit?: number): Promise<SyncResponseDto> {
+    const params = new URLSearchParams();
+    if (since) params.append('since', since);
+    if (limit) params.append('limit', limit.toString());
+
+    const response = await fetch(`${API_BASE_URL}/api/v1/sync?${params.toString()}`, {
+      method: 'GET',
+      headers: {
+        'Content-Type': 'application/json',
+      },
+    });
+
+    return handleResponse<SyncResponseDto>(response);
+  },
+};
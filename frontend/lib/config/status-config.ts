@@ -11,6 +11,7 @@ export const PLEDGE_STATUS_CONFIG: Record<string, { variant: "default" | "second
   REJECTED: { variant: "destructive", label: "Rejeitado" },
   COMPLETED: { variant: "success", label: "Concluído" },
   CANCELED: { variant: "secondary", label: "Cancelado" },
+  EXPIRED: { variant: "outline", label: "Expirado" },
 }
 
 export const ACTION_STATUS_CONFIG: Record<string, { variant: "default" | "secondary" | "destructive" | "success" | "warning" | "outline"; label: string }> = {
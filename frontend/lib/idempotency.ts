@@ -0,0 +1,16 @@
+/**
+ * Hands out Idempotency-Key values for a create form. Resubmitting the same payload (for example after a
+ * timeout or a double click) reuses the key, so the backend replays the first response instead of creating
+ * a duplicate; a changed payload gets a fresh key.
+ */
+export function createIdempotencyKeys() {
+  let last: { payload: string; key: string } | null = null;
+
+  return (data: unknown): string => {
+    const payload = JSON.stringify(data);
+    if (last?.payload !== payload) {
+      last = { payload, key: crypto.randomUUID() };
+    }
+    return last.key;
+  };
+}
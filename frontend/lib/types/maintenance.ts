@@ -45,6 +45,20 @@ export interface MaintenanceResponseDto {
   updatedAt: string;
 }
 
+export interface MaintenanceCalendarEntryDto {
+  id: string;
+  title: string;
+  category: MaintenanceCategory;
+  status: MaintenanceStatus;
+  scheduledDate: string;
+}
+
+export interface MaintenanceCalendarDayDto {
+  date: string;
+  total: number;
+  maintenances: MaintenanceCalendarEntryDto[];
+}
+
 export interface MaintenanceDetailResponseDto extends MaintenanceResponseDto {
   actions: MaintenanceActionResponseDto[];
   pledges: PledgeResponseDto[];
@@ -130,6 +144,10 @@ export type MaintenanceFilter = {
   status?: string;
   search?: string;
   category?: string;
+  count?: 'exact' | 'estimated' | 'none';
+  includeArchived?: boolean;
+  /** Comma-separated response fields to return besides id; omitted fields are not read or sent. */
+  fields?: string;
   page?: number;
   size?: number;
   sort?: string;
@@ -1,29 +1,15 @@
+export type CountMode = 'EXACT' | 'ESTIMATED' | 'NONE';
+
 export interface PageResponse<T> {
     content: T[];
-    pageable: {
-      pageNumber: number;
-      pageSize: number;
-      sort: {
-        empty: boolean;
-        sorted: boolean;
-        unsorted: boolean;
-      };
-      offset: number;
-      paged: boolean;
-      unpaged: boolean;
-    };
-    last: boolean;
-    totalPages: number;
-    totalElements: number;
-    first: boolean;
-    size: number;
     number: number;
-    sort: {
-      empty: boolean;
-      sorted: boolean;
-      unsorted: boolean;
-    };
+    size: number;
     numberOfElements: number;
-    empty: boolean;
+    first: boolean;
+    last: boolean;
+    hasNext: boolean;
+    // null when countMode is NONE; approximate when countMode is ESTIMATED
+    totalElements: number | null;
+    totalPages: number | null;
+    countMode: CountMode;
 }
-  
\ No newline at end of file
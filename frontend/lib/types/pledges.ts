@@ -1,6 +1,6 @@
 import { MaintenanceCategory, MaintenanceStatus } from "./maintenance";
 
-export type PledgeStatus = 'OFFERED' | 'PENDING' | 'REJECTED' | 'COMPLETED' | 'CANCELED';
+export type PledgeStatus = 'OFFERED' | 'PENDING' | 'REJECTED' | 'COMPLETED' | 'CANCELED' | 'EXPIRED';
 export type PledgeCategory = 'MATERIAL' | 'LABOR';
 
 export type CategorySelectOptions = { 
@@ -28,6 +28,14 @@ export interface PledgeResponseDto {
     maintenanceTitle?: string;
 }
 
+// Returned with 202 when the backend accepts a pledge for asynchronous persistence.
+export interface PledgeSubmissionDto {
+    id: string;
+    status: 'QUEUED' | 'PERSISTED' | 'FAILED';
+    message: string | null;
+    statusUrl: string;
+}
+
 
 
 export interface PledgeDetailResponseDto extends PledgeResponseDto {
@@ -68,6 +76,12 @@ export type PledgeFilter = {
     status?: string;
     type?: string;
     search?: string;
+    createdFrom?: string;
+    createdTo?: string;
+    count?: 'exact' | 'estimated' | 'none';
+    includeArchived?: boolean;
+    /** Comma-separated response fields to return besides id; omitted fields are not read or sent. */
+    fields?: string;
     page?: number;
     size?: number;
     sort?: string;
@@ -0,0 +1,26 @@
+export type StatusEntityType = 'MAINTENANCE' | 'PLEDGE';
+
+export interface StatusTransitionResponseDto {
+    entityType: StatusEntityType;
+    entityId: string;
+    // null for the transition recorded when the entity was created
+    fromStatus: string | null;
+    toStatus: string;
+    changedAt: string;
+}
+
+export interface StatusTimelineResponseDto {
+    content: StatusTransitionResponseDto[];
+    hasNext: boolean;
+    // opaque; pass back as cursor to load the next (older) page
+    nextCursor: string | null;
+}
+
+export interface StatusTimelineFilter {
+    entityType?: StatusEntityType | '';
+    entityId?: string;
+    from?: string;
+    to?: string;
+    cursor?: string | null;
+    size?: number;
+}
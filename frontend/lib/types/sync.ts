@@ -0,0 +1,20 @@
+import { MaintenanceActionResponseDto, MaintenanceResponseDto } from '@/lib/types/maintenance';
+import { PledgeResponseDto } from '@/lib/types/pledges';
+
+export type SyncEntityType = 'MAINTENANCE' | 'PLEDGE' | 'ACTION';
+
+export interface SyncTombstoneDto {
+    entityType: SyncEntityType;
+    id: string;
+}
+
+export interface SyncResponseDto {
+    maintenances: MaintenanceResponseDto[];
+    pledges: PledgeResponseDto[];
+    actions: MaintenanceActionResponseDto[];
+    deleted: SyncTombstoneDto[];
+    // opaque; send as since on the next sync
+    nextToken: string;
+    // more changes are waiting; sync again right away
+    hasMore: boolean;
+}